@@ -127,13 +127,17 @@ public class SecurityConfig {
         configuration.setAllowedMethods(corsAllowedMethods);
         configuration.setAllowedHeaders(Arrays.asList("*"));
 
-        // Expose rate limit headers and authentication headers to clients
+        // Expose rate limit, authentication, pagination and content validation headers to clients
         configuration.setExposedHeaders(Arrays.asList(
                 "Authorization",
                 "X-RateLimit-Limit",
                 "X-RateLimit-Remaining",
                 "X-RateLimit-Reset",
-                "Retry-After"
+                "Retry-After",
+                "X-Next-Cursor",
+                "ETag",
+                "Accept-Ranges",
+                "Content-Range"
         ));
 
         // Use the corsAllowCredentials value from application.properties
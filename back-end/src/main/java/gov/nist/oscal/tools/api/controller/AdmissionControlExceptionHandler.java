@@ -0,0 +1,31 @@
+package gov.nist.oscal.tools.api.controller;
+
+import gov.nist.oscal.tools.api.service.AdmissionRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps admission control rejections to 429/503 responses with a Retry-After header,
+ * using the same error body as the rate limit filter.
+ */
+@RestControllerAdvice
+public class AdmissionControlExceptionHandler {
+
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handleAdmissionRejected(AdmissionRejectedException e) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("error", e.getStatus().getReasonPhrase());
+        errorResponse.put("message", e.getMessage());
+        errorResponse.put("retryAfter", e.getRetryAfterSeconds());
+        errorResponse.put("timestamp", System.currentTimeMillis());
+
+        return ResponseEntity.status(e.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+}
@@ -0,0 +1,170 @@
+package gov.nist.oscal.tools.api.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import gov.nist.oscal.tools.api.service.CatalogSourceService;
+import gov.nist.oscal.tools.api.service.ResolvedProfileCache;
+import gov.nist.oscal.tools.api.service.StorageReadCache;
+import gov.nist.oscal.tools.api.service.ValidationResultCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Controller for administering server-side caches
+ */
+@RestController
+@RequestMapping("/api/admin/cache")
+@Tag(name = "Cache Admin", description = "APIs for inspecting and flushing server-side caches")
+public class CacheAdminController {
+
+    private final ValidationResultCache validationResultCache;
+    private final StorageReadCache storageReadCache;
+    private final CatalogSourceService catalogSourceService;
+    private final ResolvedProfileCache resolvedProfileCache;
+
+    @Autowired
+    public CacheAdminController(ValidationResultCache validationResultCache, StorageReadCache storageReadCache,
+                                CatalogSourceService catalogSourceService, ResolvedProfileCache resolvedProfileCache) {
+        this.validationResultCache = validationResultCache;
+        this.storageReadCache = storageReadCache;
+        this.catalogSourceService = catalogSourceService;
+        this.resolvedProfileCache = resolvedProfileCache;
+    }
+
+    @Operation(
+        summary = "Get validation cache statistics",
+        description = "Returns size and hit/miss statistics for the validation result cache. SUPER_ADMIN role required."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully"),
+        @ApiResponse(responseCode = "403", description = "Access denied - SUPER_ADMIN role required")
+    })
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @GetMapping("/validation")
+    public ResponseEntity<Map<String, Object>> getValidationCacheStats() {
+        CacheStats stats = validationResultCache.getNativeCache().stats();
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("enabled", validationResultCache.isEnabled());
+        response.put("size", validationResultCache.size());
+        response.put("hitCount", stats.hitCount());
+        response.put("missCount", stats.missCount());
+        response.put("hitRate", stats.hitRate());
+        response.put("evictionCount", stats.evictionCount());
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+        summary = "Flush validation cache",
+        description = "Removes all cached validation results. SUPER_ADMIN role required."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cache flushed successfully"),
+        @ApiResponse(responseCode = "403", description = "Access denied - SUPER_ADMIN role required")
+    })
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @DeleteMapping("/validation")
+    public ResponseEntity<Map<String, Object>> flushValidationCache() {
+        long removed = validationResultCache.invalidateAll();
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("message", "Validation cache flushed");
+        response.put("entriesRemoved", removed);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+        summary = "Get storage read cache statistics",
+        description = "Returns size and hit/miss statistics for the heap and disk tiers of the storage read cache. SUPER_ADMIN role required."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully"),
+        @ApiResponse(responseCode = "403", description = "Access denied - SUPER_ADMIN role required")
+    })
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @GetMapping("/storage")
+    public ResponseEntity<Map<String, Object>> getStorageCacheStats() {
+        return ResponseEntity.ok(storageReadCache.stats());
+    }
+
+    @Operation(
+        summary = "Flush storage read cache",
+        description = "Removes all content cached from storage, on heap and on disk. SUPER_ADMIN role required."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cache flushed successfully"),
+        @ApiResponse(responseCode = "403", description = "Access denied - SUPER_ADMIN role required")
+    })
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @DeleteMapping("/storage")
+    public ResponseEntity<Map<String, Object>> flushStorageCache() {
+        long removed = storageReadCache.invalidateAll();
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("message", "Storage read cache flushed");
+        response.put("entriesRemoved", removed);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+        summary = "Get profile resolution cache statistics",
+        description = "Returns size and hit/miss statistics for the parsed source catalog cache and the resolved profile cache. SUPER_ADMIN role required."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully"),
+        @ApiResponse(responseCode = "403", description = "Access denied - SUPER_ADMIN role required")
+    })
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @GetMapping("/profiles")
+    public ResponseEntity<Map<String, Object>> getProfileCacheStats() {
+        Map<String, Object> sources = statsOf(catalogSourceService.getNativeCache().stats());
+        sources.put("enabled", catalogSourceService.isEnabled());
+        sources.put("size", catalogSourceService.size());
+
+        Map<String, Object> resolved = statsOf(resolvedProfileCache.getNativeCache().stats());
+        resolved.put("enabled", resolvedProfileCache.isEnabled());
+        resolved.put("storageEnabled", resolvedProfileCache.isStorageEnabled());
+        resolved.put("size", resolvedProfileCache.size());
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("sources", sources);
+        response.put("resolved", resolved);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+        summary = "Flush profile resolution caches",
+        description = "Removes all parsed source catalogs and resolved profiles held in memory. Stored resolved profiles are revalidated against their sources when next read. SUPER_ADMIN role required."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cache flushed successfully"),
+        @ApiResponse(responseCode = "403", description = "Access denied - SUPER_ADMIN role required")
+    })
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @DeleteMapping("/profiles")
+    public ResponseEntity<Map<String, Object>> flushProfileCaches() {
+        long removed = catalogSourceService.invalidateAll() + resolvedProfileCache.invalidateAll();
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("message", "Profile resolution caches flushed");
+        response.put("entriesRemoved", removed);
+        return ResponseEntity.ok(response);
+    }
+
+    private static Map<String, Object> statsOf(CacheStats stats) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("hitCount", stats.hitCount());
+        response.put("missCount", stats.missCount());
+        response.put("hitRate", stats.hitRate());
+        response.put("evictionCount", stats.evictionCount());
+        return response;
+    }
+}
@@ -0,0 +1,78 @@
+package gov.nist.oscal.tools.api.controller;
+
+import gov.nist.oscal.tools.api.service.CatalogIndex;
+import gov.nist.oscal.tools.api.service.CatalogIndexService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/catalogs")
+@Tag(name = "Catalogs", description = "Control lookups in library catalogs")
+public class CatalogController {
+
+    private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(CatalogController.class);
+
+    private final CatalogIndexService catalogIndexService;
+
+    @Autowired
+    public CatalogController(CatalogIndexService catalogIndexService) {
+        this.catalogIndexService = catalogIndexService;
+    }
+
+    @Operation(
+        summary = "Get a catalog control",
+        description = "Look up a control of the current version of a library catalog by id, with its family " +
+                      "(the catalog group it is in), parent and child controls, params and parts"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Control found"),
+        @ApiResponse(responseCode = "400", description = "Library item is not a catalog"),
+        @ApiResponse(responseCode = "404", description = "Catalog or control not found")
+    })
+    @GetMapping("/{itemId}/controls/{controlId}")
+    public ResponseEntity<CatalogIndex.Control> getControl(@PathVariable String itemId,
+                                                           @PathVariable String controlId) {
+        try {
+            return catalogIndexService.findControl(itemId, controlId)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IOException e) {
+            logger.debug("Catalog {} not available: {}", itemId, e.getMessage());
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(
+        summary = "Get catalog families",
+        description = "List the control families (top-level groups) of the current version of a library catalog"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Families listed"),
+        @ApiResponse(responseCode = "400", description = "Library item is not a catalog"),
+        @ApiResponse(responseCode = "404", description = "Catalog not found")
+    })
+    @GetMapping("/{itemId}/families")
+    public ResponseEntity<List<CatalogIndex.Family>> getFamilies(@PathVariable String itemId) {
+        try {
+            return ResponseEntity.ok(catalogIndexService.getLibraryIndex(itemId).families());
+        } catch (IOException e) {
+            logger.debug("Catalog {} not available: {}", itemId, e.getMessage());
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -16,6 +16,8 @@ import software.amazon.awssdk.services.s3.model.*;
 import gov.nist.oscal.tools.api.model.OscalFormat;
 import gov.nist.oscal.tools.api.model.OscalModelType;
 import gov.nist.oscal.tools.api.model.SavedFile;
+import gov.nist.oscal.tools.api.model.SavedFilePage;
+import gov.nist.oscal.tools.api.model.StoredContent;
 import gov.nist.oscal.tools.api.service.FileStorageService;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
@@ -52,6 +54,10 @@ public class FileController {
     private static final Logger logger = LoggerFactory.getLogger(FileController.class);
     private static final String UPLOAD_DIR = "uploads";
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
     @Autowired
     private FileStorageService fileStorageService;
 
@@ -330,16 +336,38 @@ public class FileController {
     // ========================================
 
     /**
-     * Get all saved files for the current user
+     * Get saved files for the current user.
+     *
+     * Without paging parameters all files are returned, most recent first. With limit and/or
+     * cursor one page is returned in storage order, and the cursor for the next page (if any)
+     * is sent in the X-Next-Cursor header.
      */
     @GetMapping
-    public ResponseEntity<List<SavedFile>> getSavedFiles() {
+    public ResponseEntity<List<SavedFile>> getSavedFiles(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
             String username = authentication.getName();
 
-            List<SavedFile> files = fileStorageService.listFiles(username);
-            return ResponseEntity.ok(files);
+            if (limit == null && cursor == null) {
+                List<SavedFile> files = fileStorageService.listFiles(username);
+                return ResponseEntity.ok(files);
+            }
+
+            int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+            if (pageSize < 1) {
+                return ResponseEntity.badRequest().build();
+            }
+            SavedFilePage page = fileStorageService.listFiles(username, cursor, Math.min(pageSize, MAX_PAGE_SIZE));
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return response.body(page.getFiles());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid saved files page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             logger.error("Failed to get saved files", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -364,22 +392,60 @@ public class FileController {
     }
 
     /**
-     * Get file content by ID
+     * Get file content by ID, wrapped in JSON or, with raw=true, as the stored document streamed
+     * with byte range support. Responses carry a strong ETag, and a matching If-None-Match is
+     * answered with 304 Not Modified.
      */
     @GetMapping("/{fileId}/content")
-    public ResponseEntity<Map<String, String>> getFileContent(@PathVariable String fileId) {
+    public ResponseEntity<?> getFileContent(
+            @PathVariable String fileId,
+            @RequestParam(defaultValue = "false") boolean raw,
+            @RequestHeader HttpHeaders headers) {
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
             String username = authentication.getName();
 
-            String content = fileStorageService.getFileContent(fileId, username);
-            return ResponseEntity.ok(Map.of("content", content));
+            String contentHash = fileStorageService.getContentHash(fileId, username);
+            if (!raw) {
+                return StoredContentResponses.content(contentHash, headers.getFirst(HttpHeaders.IF_NONE_MATCH),
+                    () -> fileStorageService.getFileContent(fileId, username));
+            }
+            SavedFile file = fileStorageService.getFile(fileId, username);
+            if (file == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+            }
+            return StoredContentResponses.stream(contentHash, headers, file.getFileName(),
+                () -> fileStorageService.openStoredFile(fileId, username));
         } catch (Exception e) {
             logger.error("Failed to get file content: {}", fileId, e);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
     }
 
+    /**
+     * Download a saved file by ID. Files stored compressed are sent as is, with a Content-Encoding
+     * header, to clients that accept the encoding.
+     */
+    @GetMapping("/{fileId}/download")
+    public ResponseEntity<byte[]> downloadFile(
+            @PathVariable String fileId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            String username = authentication.getName();
+
+            SavedFile file = fileStorageService.getFile(fileId, username);
+            if (file == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+            }
+            StoredContent stored = fileStorageService.getStoredFileContent(fileId, username);
+            return StoredContentResponses.download(stored, acceptEncoding, file.getFileName());
+        } catch (Exception e) {
+            logger.error("Failed to download file: {}", fileId, e);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+
     /**
      * Delete a saved file by ID
      */
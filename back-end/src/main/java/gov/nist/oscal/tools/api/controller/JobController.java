@@ -0,0 +1,161 @@
+package gov.nist.oscal.tools.api.controller;
+
+import gov.nist.oscal.tools.api.model.*;
+import gov.nist.oscal.tools.api.service.ConversionService;
+import gov.nist.oscal.tools.api.service.JobService;
+import gov.nist.oscal.tools.api.service.JobService.JobTask;
+import gov.nist.oscal.tools.api.service.ValidationService;
+import gov.nist.oscal.tools.api.service.VisualizationService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.net.URI;
+import java.security.Principal;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/jobs")
+@Tag(name = "Async Jobs", description = "APIs for running validation, conversion and visualization as background jobs")
+public class JobController {
+
+    private final JobService jobService;
+    private final ValidationService validationService;
+    private final ConversionService conversionService;
+    private final VisualizationService visualizationService;
+
+    @Autowired
+    public JobController(
+        JobService jobService,
+        ValidationService validationService,
+        ConversionService conversionService,
+        VisualizationService visualizationService
+    ) {
+        this.jobService = jobService;
+        this.validationService = validationService;
+        this.conversionService = conversionService;
+        this.visualizationService = visualizationService;
+    }
+
+    @Operation(
+        summary = "Submit validation job",
+        description = "Validates an OSCAL document in the background. Returns a job whose result is the ValidationResult once it succeeds."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Job accepted"),
+        @ApiResponse(responseCode = "429", description = "Too many jobs queued (see Retry-After header)")
+    })
+    @PostMapping("/validate")
+    public ResponseEntity<Job> submitValidation(@Valid @RequestBody ValidationRequest request, Principal principal) {
+        String username = principal.getName();
+        return accepted(JobType.VALIDATE, username, request.getContent(), () -> validationService.validate(request, username));
+    }
+
+    @Operation(
+        summary = "Submit conversion job",
+        description = "Converts an OSCAL document in the background. Returns a job whose result is the ConversionResult once it succeeds."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Job accepted"),
+        @ApiResponse(responseCode = "429", description = "Too many jobs queued (see Retry-After header)")
+    })
+    @PostMapping("/convert")
+    public ResponseEntity<Job> submitConversion(@Valid @RequestBody ConversionRequest request, Principal principal) {
+        String username = principal.getName();
+        return accepted(JobType.CONVERT, username, request.getContent(), () -> conversionService.convert(request, username));
+    }
+
+    @Operation(
+        summary = "Submit SSP visualization job",
+        description = "Analyzes a System Security Plan in the background. Returns a job whose result is the SspVisualizationResult once it succeeds."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Job accepted"),
+        @ApiResponse(responseCode = "429", description = "Too many jobs queued (see Retry-After header)")
+    })
+    @PostMapping("/visualization/ssp")
+    public ResponseEntity<Job> submitSspVisualization(@Valid @RequestBody SspVisualizationRequest request,
+                                                      Principal principal) {
+        String username = principal.getName();
+        return accepted(JobType.VISUALIZE_SSP, username, request.getContent(), () -> visualizationService.analyzeSSP(request, username));
+    }
+
+    @Operation(
+        summary = "Submit Profile visualization job",
+        description = "Analyzes a Profile in the background. Returns a job whose result is the ProfileVisualizationResult once it succeeds."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Job accepted"),
+        @ApiResponse(responseCode = "429", description = "Too many jobs queued (see Retry-After header)")
+    })
+    @PostMapping("/visualization/profile")
+    public ResponseEntity<Job> submitProfileVisualization(@Valid @RequestBody ProfileVisualizationRequest request,
+                                                          Principal principal) {
+        String username = principal.getName();
+        return accepted(JobType.VISUALIZE_PROFILE, username, request.getContent(),
+            () -> visualizationService.analyzeProfile(request, username));
+    }
+
+    @Operation(
+        summary = "Submit SAR visualization job",
+        description = "Analyzes Security Assessment Results in the background. Returns a job whose result is the SarVisualizationResult once it succeeds."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Job accepted"),
+        @ApiResponse(responseCode = "429", description = "Too many jobs queued (see Retry-After header)")
+    })
+    @PostMapping("/visualization/sar")
+    public ResponseEntity<Job> submitSarVisualization(@Valid @RequestBody SarVisualizationRequest request,
+                                                      Principal principal) {
+        String username = principal.getName();
+        return accepted(JobType.VISUALIZE_SAR, username, request.getContent(), () -> visualizationService.analyzeSAR(request, username));
+    }
+
+    @Operation(
+        summary = "Get job status",
+        description = "Get the status and (once finished) result of a job"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Job found"),
+        @ApiResponse(responseCode = "404", description = "Job not found or expired")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<Job> getJob(@PathVariable String id, Principal principal) {
+        Optional<Job> job = jobService.getJob(id, principal.getName());
+        return job.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @Operation(
+        summary = "Subscribe to job events",
+        description = "Server-Sent Events stream of 'job' events carrying the job state. The current state is sent first; the stream completes when the job succeeds or fails."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Event stream opened"),
+        @ApiResponse(responseCode = "404", description = "Job not found or expired")
+    })
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamJobEvents(@PathVariable String id, Principal principal) {
+        Optional<Job> job = jobService.getJob(id, principal.getName());
+        if (job.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(jobService.subscribe(job.get()));
+    }
+
+    private ResponseEntity<Job> accepted(JobType type, String username, String content, JobTask task) {
+        // Same size measure as the admission control applied when the job runs
+        Job job = jobService.submit(type, username, content != null ? content.length() : 0, task);
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/jobs/" + job.getId()))
+            .body(job);
+    }
+}
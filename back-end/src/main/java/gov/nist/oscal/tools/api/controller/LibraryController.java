@@ -5,10 +5,12 @@ import gov.nist.oscal.tools.api.entity.LibraryVersion;
 import gov.nist.oscal.tools.api.model.*;
 import gov.nist.oscal.tools.api.service.LibraryService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -145,17 +147,50 @@ public class LibraryController {
 
     @Operation(
         summary = "Get library item file content",
-        description = "Download the current version file content of a library item"
+        description = "Download the current version file content of a library item. The response carries a strong " +
+                      "ETag; a matching If-None-Match is answered with 304 Not Modified."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "File content retrieved"),
+        @ApiResponse(responseCode = "206", description = "Byte range of the file retrieved (raw only)"),
+        @ApiResponse(responseCode = "304", description = "File content not modified"),
         @ApiResponse(responseCode = "404", description = "Library item not found")
     })
     @GetMapping("/{itemId}/content")
-    public ResponseEntity<Map<String, String>> getLibraryItemContent(@PathVariable String itemId) {
+    public ResponseEntity<?> getLibraryItemContent(
+            @PathVariable String itemId,
+            @Parameter(description = "Stream the stored file instead of wrapping it in JSON; supports byte ranges")
+            @RequestParam(defaultValue = "false") boolean raw,
+            @RequestHeader HttpHeaders headers) {
+        try {
+            ResponseEntity<?> response = versionContent(libraryService.getCurrentVersion(itemId), raw, headers);
+            // Revalidations (304) and byte ranges (206) are not counted as downloads
+            if (response.getStatusCode() == HttpStatus.OK) {
+                libraryService.recordDownload(itemId);
+            }
+            return response;
+        } catch (Exception e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @Operation(
+        summary = "Download library item file",
+        description = "Download the current version file of a library item. Files stored compressed are sent as is, " +
+                      "with a Content-Encoding header, to clients that accept the encoding."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "File downloaded"),
+        @ApiResponse(responseCode = "404", description = "Library item not found")
+    })
+    @GetMapping("/{itemId}/download")
+    public ResponseEntity<byte[]> downloadLibraryItem(
+            @PathVariable String itemId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         try {
-            String content = libraryService.getCurrentVersionContent(itemId);
-            return ResponseEntity.ok(Map.of("content", content));
+            LibraryVersion version = libraryService.downloadCurrentVersion(itemId);
+            return StoredContentResponses.download(
+                    libraryService.getStoredContent(version), acceptEncoding, version.getFileName());
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
         }
@@ -184,17 +219,45 @@ public class LibraryController {
 
     @Operation(
         summary = "Get specific version content",
-        description = "Download the file content of a specific version"
+        description = "Download the file content of a specific version. The response carries a strong ETag; " +
+                      "a matching If-None-Match is answered with 304 Not Modified."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Version content retrieved"),
+        @ApiResponse(responseCode = "206", description = "Byte range of the file retrieved (raw only)"),
+        @ApiResponse(responseCode = "304", description = "Version content not modified"),
         @ApiResponse(responseCode = "404", description = "Version not found")
     })
     @GetMapping("/versions/{versionId}/content")
-    public ResponseEntity<Map<String, String>> getVersionContent(@PathVariable String versionId) {
+    public ResponseEntity<?> getVersionContent(
+            @PathVariable String versionId,
+            @Parameter(description = "Stream the stored file instead of wrapping it in JSON; supports byte ranges")
+            @RequestParam(defaultValue = "false") boolean raw,
+            @RequestHeader HttpHeaders headers) {
         try {
-            String content = libraryService.getVersionContent(versionId);
-            return ResponseEntity.ok(Map.of("content", content));
+            return versionContent(libraryService.getVersion(versionId), raw, headers);
+        } catch (Exception e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @Operation(
+        summary = "Download specific version file",
+        description = "Download the file of a specific version. Files stored compressed are sent as is, " +
+                      "with a Content-Encoding header, to clients that accept the encoding."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "File downloaded"),
+        @ApiResponse(responseCode = "404", description = "Version not found")
+    })
+    @GetMapping("/versions/{versionId}/download")
+    public ResponseEntity<byte[]> downloadVersion(
+            @PathVariable String versionId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        try {
+            LibraryVersion version = libraryService.getVersion(versionId);
+            return StoredContentResponses.download(
+                    libraryService.getStoredContent(version), acceptEncoding, version.getFileName());
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
         }
@@ -383,4 +446,17 @@ public class LibraryController {
             return ResponseEntity.internalServerError().build();
         }
     }
+
+    /**
+     * Content of a version, wrapped in JSON or streamed as stored
+     */
+    private ResponseEntity<?> versionContent(LibraryVersion version, boolean raw, HttpHeaders headers) {
+        String contentHash = libraryService.getContentHash(version);
+        if (!raw) {
+            return StoredContentResponses.content(contentHash, headers.getFirst(HttpHeaders.IF_NONE_MATCH),
+                    () -> libraryService.getContent(version));
+        }
+        return StoredContentResponses.stream(contentHash, headers, version.getFileName(),
+                () -> libraryService.openStoredContent(version));
+    }
 }
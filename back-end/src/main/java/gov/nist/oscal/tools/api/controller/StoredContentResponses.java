@@ -0,0 +1,257 @@
+package gov.nist.oscal.tools.api.controller;
+
+import gov.nist.oscal.tools.api.model.StoredContent;
+import gov.nist.oscal.tools.api.model.StoredObject;
+import gov.nist.oscal.tools.api.util.CompressionCodec;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Responses carrying stored documents and the content-coding negotiation they share
+ *
+ * Content responses carry strong ETags built from the SHA-256 digest of the document, with a
+ * suffix per representation ("-json" for the JSON wrapper, the content-coding for compressed data
+ * passed through), so unchanged documents are answered with 304 Not Modified without reading them.
+ */
+final class StoredContentResponses {
+
+    private static final String JSON_TAG_SUFFIX = "json";
+
+    // Documents may change under the same URL, so clients revalidate before each use
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private StoredContentResponses() {
+    }
+
+    /**
+     * Respond with a stored document. Compressed data is passed through as is, with a
+     * Content-Encoding header, when the client accepts the codec it was stored with; otherwise
+     * it is decompressed.
+     *
+     * @param stored The document as held in storage
+     * @param acceptEncoding The request's Accept-Encoding header, or null
+     * @param fileName File name for the Content-Disposition header, also used to pick the media type
+     */
+    static ResponseEntity<byte[]> download(StoredContent stored, String acceptEncoding, String fileName) {
+        CompressionCodec codec = stored.getCodec();
+        boolean passthrough = codec != CompressionCodec.NONE && accepts(acceptEncoding, codec.getName());
+        byte[] body = passthrough ? stored.getData() : stored.decode().getBytes(StandardCharsets.UTF_8);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(mediaTypeFor(fileName))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(fileName, StandardCharsets.UTF_8).build().toString())
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (passthrough) {
+            response.header(HttpHeaders.CONTENT_ENCODING, codec.getName());
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Respond with a document wrapped in JSON, as {"content": "..."}
+     *
+     * @param contentHash SHA-256 digest of the document
+     * @param ifNoneMatch The request's If-None-Match header, or null
+     * @param content Reads the document; not called when the client's copy is current
+     */
+    static ResponseEntity<Map<String, String>> content(String contentHash, String ifNoneMatch, Supplier<String> content) {
+        String eTag = eTag(contentHash, JSON_TAG_SUFFIX);
+        if (matches(ifNoneMatch, eTag)) {
+            return notModified(eTag);
+        }
+        return ResponseEntity.ok()
+            .eTag(eTag)
+            .cacheControl(REVALIDATE)
+            .body(Map.of("content", content.get()));
+    }
+
+    /**
+     * Respond with a document streamed from storage, without reading it into memory. Compressed
+     * data is passed through when the client accepts its encoding, as in
+     * {@link #download(StoredContent, String, String)}.
+     *
+     * A single byte range (Range header, honouring If-Range) is answered with 206 Partial Content
+     * and only that range is read from storage. Multiple ranges, and documents decompressed on the
+     * way out, are answered with the whole document.
+     *
+     * @param contentHash SHA-256 digest of the document
+     * @param requestHeaders Headers of the request
+     * @param fileName File name used to pick the media type
+     * @param opener Opens the stored document; not called when the client's copy is current
+     */
+    static ResponseEntity<Resource> stream(String contentHash, HttpHeaders requestHeaders, String fileName,
+                                           Supplier<StoredObject> opener) {
+        String acceptEncoding = requestHeaders.getFirst(HttpHeaders.ACCEPT_ENCODING);
+        String ifNoneMatch = requestHeaders.getFirst(HttpHeaders.IF_NONE_MATCH);
+
+        // Whatever codec the document is stored with, the client's copy is current if it has the
+        // same digest in a representation it still accepts
+        String plainTag = eTag(contentHash, null);
+        for (CompressionCodec codec : CompressionCodec.values()) {
+            String eTag = codec == CompressionCodec.NONE ? plainTag : eTag(contentHash, codec.getName());
+            if ((codec == CompressionCodec.NONE || accepts(acceptEncoding, codec.getName()))
+                    && matches(ifNoneMatch, eTag)) {
+                return notModified(eTag);
+            }
+        }
+
+        StoredObject stored = opener.get();
+        CompressionCodec codec = stored.getCodec();
+        boolean passthrough = codec != CompressionCodec.NONE && accepts(acceptEncoding, codec.getName());
+        String eTag = passthrough ? eTag(contentHash, codec.getName()) : plainTag;
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(mediaTypeFor(fileName))
+            .eTag(eTag)
+            .cacheControl(REVALIDATE)
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (codec != CompressionCodec.NONE && !passthrough) {
+            // The decompressed length is not known up front, so neither are byte ranges
+            return response.body(new InputStreamResource(stored::openDecoded));
+        }
+
+        response.header(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (passthrough) {
+            response.header(HttpHeaders.CONTENT_ENCODING, codec.getName());
+        }
+
+        long length = stored.getLength();
+        HttpRange range = requestedRange(requestHeaders, eTag);
+        if (range == null) {
+            return response.contentLength(length)
+                .body(new InputStreamResource(() -> stored.open(0, length)));
+        }
+
+        long start;
+        long end;
+        try {
+            start = range.getRangeStart(length);
+            end = range.getRangeEnd(length);
+        } catch (IllegalArgumentException e) {
+            start = length;
+            end = length - 1;
+        }
+        if (start >= length || end < start) {
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                .header(HttpHeaders.CONTENT_RANGE, "bytes */" + length)
+                .build();
+        }
+
+        long rangeStart = start;
+        long rangeLength = end - start + 1;
+        return response.status(HttpStatus.PARTIAL_CONTENT)
+            .header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length)
+            .contentLength(rangeLength)
+            .body(new InputStreamResource(() -> stored.open(rangeStart, rangeLength)));
+    }
+
+    /**
+     * The single byte range requested, or null to send the whole document: when there is no
+     * Range header, an If-Range header names another version, or several ranges are requested
+     */
+    private static HttpRange requestedRange(HttpHeaders requestHeaders, String eTag) {
+        String rangeHeader = requestHeaders.getFirst(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return null;
+        }
+        String ifRange = requestHeaders.getFirst(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.trim().equals(eTag)) {
+            return null;
+        }
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            // An invalid Range header is ignored
+            return null;
+        }
+        return ranges.size() == 1 ? ranges.get(0) : null;
+    }
+
+    private static String eTag(String contentHash, String suffix) {
+        return "\"" + contentHash + (suffix != null ? "-" + suffix : "") + "\"";
+    }
+
+    /**
+     * Whether an If-None-Match header matches an ETag. Weak validators match by their opaque
+     * tag, as If-None-Match uses weak comparison.
+     */
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .eTag(eTag)
+            .cacheControl(REVALIDATE)
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+            .build();
+    }
+
+    /**
+     * Whether an Accept-Encoding header accepts a content-coding. A coding with q=0 is refused.
+     */
+    static boolean accepts(String acceptEncoding, String coding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase(coding)) {
+                continue;
+            }
+            // "gzip;q=0" means the client refuses it
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static MediaType mediaTypeFor(String fileName) {
+        String lowerFileName = fileName != null ? fileName.toLowerCase(Locale.ROOT) : "";
+        if (lowerFileName.endsWith(".xml")) {
+            return MediaType.APPLICATION_XML;
+        } else if (lowerFileName.endsWith(".yaml") || lowerFileName.endsWith(".yml")) {
+            return MediaType.parseMediaType("application/yaml");
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+}
@@ -3,50 +3,89 @@ package gov.nist.oscal.tools.api.controller;
 import gov.nist.oscal.tools.api.model.*;
 import gov.nist.oscal.tools.api.service.BatchOperationService;
 import gov.nist.oscal.tools.api.service.ConversionService;
+import gov.nist.oscal.tools.api.service.OscalDeserializationService;
 import gov.nist.oscal.tools.api.service.ProfileResolutionService;
+import gov.nist.oscal.tools.api.service.StreamedConversion;
+import gov.nist.oscal.tools.api.service.StreamedMultiConversion;
 import gov.nist.oscal.tools.api.service.ValidationService;
+import gov.nist.oscal.tools.api.util.SizeLimitedInputStream;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.security.Principal;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.io.Writer;
+import java.util.zip.ZipOutputStream;
 
 @RestController
 @RequestMapping("/api")
 @Tag(name = "OSCAL Operations", description = "APIs for OSCAL document validation, conversion, and profile resolution")
 public class ValidationController {
 
+    private static final String ZIP_VALUE = "application/zip";
+
     private final ValidationService validationService;
     private final ConversionService conversionService;
     private final ProfileResolutionService profileResolutionService;
     private final BatchOperationService batchOperationService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${validation.stream.max-size:536870912}")
+    private long maxStreamSize;
+
+    @Value("${conversion.stream.gzip-enabled:true}")
+    private boolean streamGzipEnabled;
 
     @Autowired
     public ValidationController(
         ValidationService validationService,
         ConversionService conversionService,
         ProfileResolutionService profileResolutionService,
-        BatchOperationService batchOperationService
+        BatchOperationService batchOperationService,
+        ObjectMapper objectMapper
     ) {
         this.validationService = validationService;
         this.conversionService = conversionService;
         this.profileResolutionService = profileResolutionService;
         this.batchOperationService = batchOperationService;
+        this.objectMapper = objectMapper;
     }
 
     @Operation(
         summary = "Validate OSCAL document",
-        description = "Validates an OSCAL document against its schema. Supports JSON, XML, and YAML formats for all OSCAL model types (Catalog, Profile, Component Definition, SSP, Assessment Plan, Assessment Results, POA&M)."
+        description = "Validates an OSCAL document against its schema. Supports JSON, XML, and YAML formats for all OSCAL model types (Catalog, Profile, Component Definition, SSP, Assessment Plan, Assessment Results, POA&M). Model type and format are detected from the document when omitted."
     )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Validation completed (check 'valid' field in response)")
+        @ApiResponse(responseCode = "200", description = "Validation completed (check 'valid' field in response)"),
+        @ApiResponse(responseCode = "429", description = "Server busy; too many documents waiting (see Retry-After header)"),
+        @ApiResponse(responseCode = "503", description = "Timed out waiting for capacity (see Retry-After header)")
     })
     @PostMapping("/validate")
     public ResponseEntity<ValidationResult> validate(@Valid @RequestBody ValidationRequest request, Principal principal) {
@@ -54,12 +93,68 @@ public class ValidationController {
         return ResponseEntity.ok(result);
     }
 
+    @Operation(
+        summary = "Validate large OSCAL document (streaming)",
+        description = "Validates an OSCAL document sent as the raw request body. The body is piped straight into the " +
+                      "parser without being buffered as a string, so documents far larger than the JSON request limit " +
+                      "can be validated. Model type and format may be passed as query parameters; when omitted they are " +
+                      "detected from the start of the document. Built-in rules are not evaluated for streamed documents; " +
+                      "the stages that did not run are listed in 'skippedStages'. The body is bounded by " +
+                      "validation.stream.max-size rather than the multipart upload limits."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Validation completed (check 'valid' field in response)"),
+        @ApiResponse(responseCode = "400", description = "Invalid model type or format"),
+        @ApiResponse(responseCode = "413", description = "Document exceeds the maximum streaming size"),
+        @ApiResponse(responseCode = "429", description = "Server busy; too many documents waiting (see Retry-After header)"),
+        @ApiResponse(responseCode = "503", description = "Timed out waiting for capacity (see Retry-After header)")
+    })
+    @PostMapping(value = "/validate/stream", consumes = {
+        MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.TEXT_XML_VALUE,
+        "application/yaml", "application/x-yaml", "text/yaml",
+        MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE
+    })
+    public ResponseEntity<ValidationResult> validateStream(
+            @RequestParam(required = false) String modelType,
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) String fileName,
+            HttpServletRequest request,
+            Principal principal) throws IOException {
+        return streamValidation(request.getInputStream(), request.getContentLengthLong(),
+            modelType, format, fileName, principal);
+    }
+
+    private ResponseEntity<ValidationResult> streamValidation(InputStream input, long contentLength,
+                                                              String modelType, String format, String fileName,
+                                                              Principal principal) {
+        OscalModelType type;
+        OscalFormat oscalFormat;
+        try {
+            // Null when omitted, in which case the service detects them
+            type = OscalModelType.fromString(modelType);
+            oscalFormat = OscalFormat.fromString(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        if (contentLength > maxStreamSize) {
+            return ResponseEntity.status(413).build();
+        }
+
+        ValidationResult result = validationService.validateStream(
+            new SizeLimitedInputStream(input, maxStreamSize), contentLength,
+            type, oscalFormat, fileName, principal.getName());
+        return ResponseEntity.ok(result);
+    }
+
     @Operation(
         summary = "Convert OSCAL document format",
-        description = "Converts an OSCAL document from one format to another. Supports conversion between JSON, XML, and YAML formats for all OSCAL model types."
+        description = "Converts an OSCAL document from one format to another. Supports conversion between JSON, XML, and YAML formats for all OSCAL model types. The source format and model type are detected from the document when omitted."
     )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Conversion completed (check 'success' field in response)")
+        @ApiResponse(responseCode = "200", description = "Conversion completed (check 'success' field in response)"),
+        @ApiResponse(responseCode = "429", description = "Server busy; too many documents waiting (see Retry-After header)"),
+        @ApiResponse(responseCode = "503", description = "Timed out waiting for capacity (see Retry-After header)")
     })
     @PostMapping("/convert")
     public ResponseEntity<ConversionResult> convert(@Valid @RequestBody ConversionRequest request, Principal principal) {
@@ -67,9 +162,203 @@ public class ValidationController {
         return ResponseEntity.ok(result);
     }
 
+    @Operation(
+        summary = "Convert OSCAL document to several formats",
+        description = "Converts an OSCAL document to every format in 'toFormats', parsing it only once. Each target is " +
+                      "serialized straight into the response. The converted documents are returned as a zip archive, or as a multipart/mixed " +
+                      "response when the client accepts 'multipart/mixed'. The source format and model type are detected " +
+                      "from the document when omitted."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Converted documents (application/zip or multipart/mixed)"),
+        @ApiResponse(responseCode = "400", description = "Invalid request, or a target could not be converted (MultiConversionResult body)"),
+        @ApiResponse(responseCode = "429", description = "Server busy; too many documents waiting (see Retry-After header)"),
+        @ApiResponse(responseCode = "503", description = "Timed out waiting for capacity (see Retry-After header)")
+    })
+    @PostMapping("/convert/multi")
+    public ResponseEntity<StreamingResponseBody> convertMulti(
+            @Valid @RequestBody MultiConversionRequest request,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            HttpServletRequest httpRequest,
+            Principal principal) {
+        StreamedMultiConversion conversion = conversionService.convertMultiStream(request, principal.getName());
+        if (!conversion.isSuccess()) {
+            MultiConversionResult result = conversion.getResult();
+            return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(output -> objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .writeValue(output, result));
+        }
+
+        // Release the conversion when the request completes, including on timeout or client
+        // disconnect before the body was written; a no-op once the body has run
+        WebAsyncUtils.getAsyncManager(httpRequest).registerCallableInterceptor(
+            StreamedMultiConversion.class.getName(), new CallableProcessingInterceptor() {
+                @Override
+                public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                    conversion.close();
+                }
+            });
+
+        String baseName = request.getFileName() != null
+            ? request.getFileName().replaceFirst("\\.[^.]+$", "")
+            : "document";
+        if (accept != null && accept.toLowerCase().contains(MediaType.MULTIPART_MIXED_VALUE)) {
+            String boundary = UUID.randomUUID().toString();
+            return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(MediaType.MULTIPART_MIXED_VALUE + "; boundary=" + boundary))
+                .body(output -> writeMultipart(output, boundary, baseName, conversion));
+        }
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(ZIP_VALUE))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(baseName + ".zip").build().toString())
+            .body(output -> writeZip(output, baseName, conversion));
+    }
+
+    private static void writeZip(OutputStream output, String baseName, StreamedMultiConversion conversion)
+            throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(output, StandardCharsets.UTF_8);
+        conversion.writeTo((format, body) -> {
+            zip.putNextEntry(new ZipEntry(baseName + OscalDeserializationService.getFileExtension(format)));
+            body.write(zip);
+            zip.closeEntry();
+        });
+        // Completes the archive without closing the response stream
+        zip.finish();
+    }
+
+    private static void writeMultipart(OutputStream output, String boundary, String baseName,
+                                       StreamedMultiConversion conversion) throws IOException {
+        Writer headers = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+        conversion.writeTo((format, body) -> {
+            headers.write("--" + boundary + "\r\n"
+                + HttpHeaders.CONTENT_TYPE + ": " + mediaTypeFor(format) + "; charset=UTF-8\r\n"
+                + HttpHeaders.CONTENT_DISPOSITION + ": "
+                + ContentDisposition.attachment().filename(baseName + OscalDeserializationService.getFileExtension(format)).build()
+                + "\r\n\r\n");
+            headers.flush();
+            body.write(output);
+            headers.write("\r\n");
+        });
+        headers.write("--" + boundary + "--\r\n");
+        headers.flush();
+    }
+
+    @Operation(
+        summary = "Convert large OSCAL document (streaming)",
+        description = "Converts an OSCAL document sent as the raw request body and streams the converted document back " +
+                      "as the response body, with the Content-Type of the target format. Neither the source nor the " +
+                      "output is held in memory as a string; JSON <-> YAML conversions run in constant memory. The " +
+                      "response is gzip-compressed when the client sends 'Accept-Encoding: gzip'. The source format and " +
+                      "model type are detected from the document when omitted."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Converted document"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameters, or the document could not be converted (ConversionResult body)"),
+        @ApiResponse(responseCode = "413", description = "Document exceeds the maximum streaming size"),
+        @ApiResponse(responseCode = "429", description = "Server busy; too many documents waiting (see Retry-After header)"),
+        @ApiResponse(responseCode = "503", description = "Timed out waiting for capacity (see Retry-After header)")
+    })
+    @PostMapping(value = "/convert/stream", consumes = {
+        MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.TEXT_XML_VALUE,
+        "application/yaml", "application/x-yaml", "text/yaml",
+        MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE
+    })
+    public ResponseEntity<StreamingResponseBody> convertStream(
+            @RequestParam String toFormat,
+            @RequestParam(required = false) String fromFormat,
+            @RequestParam(required = false) String modelType,
+            @RequestParam(required = false) String fileName,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletRequest request,
+            Principal principal) throws IOException {
+        return streamConversion(request, request.getInputStream(), request.getContentLengthLong(),
+            fromFormat, toFormat, modelType, fileName, acceptEncoding, principal);
+    }
+
+    private ResponseEntity<StreamingResponseBody> streamConversion(HttpServletRequest request, InputStream input,
+                                               long contentLength, String fromFormat,
+                                               String toFormat, String modelType, String fileName,
+                                               String acceptEncoding, Principal principal) {
+        OscalFormat from;
+        OscalFormat to;
+        OscalModelType type;
+        try {
+            from = OscalFormat.fromString(fromFormat);
+            to = OscalFormat.fromString(toFormat);
+            type = OscalModelType.fromString(modelType);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (to == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        if (contentLength > maxStreamSize) {
+            return ResponseEntity.status(413).build();
+        }
+
+        // The source is consumed before this returns; only the output is written asynchronously
+        StreamedConversion conversion = conversionService.convertStream(
+            new SizeLimitedInputStream(input, maxStreamSize), contentLength,
+            from, to, type, fileName, principal.getName());
+        if (!conversion.isSuccess()) {
+            // The declared body type must stay StreamingResponseBody for Spring to stream the success case
+            ConversionResult result = conversion.getResult();
+            return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(output -> objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .writeValue(output, result));
+        }
+
+        // Release the conversion when the request completes, including on timeout or client
+        // disconnect before the body was written; a no-op once the body has run
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(StreamedConversion.class.getName(),
+            new CallableProcessingInterceptor() {
+                @Override
+                public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                    conversion.close();
+                }
+            });
+
+        boolean gzip = streamGzipEnabled && StoredContentResponses.accepts(acceptEncoding, "gzip");
+        StreamingResponseBody body = output -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(output, 8192);
+                conversion.writeTo(compressed);
+                compressed.finish();
+            } else {
+                conversion.writeTo(output);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(mediaTypeFor(to))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(conversion.getFileName()).build().toString())
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    private static MediaType mediaTypeFor(OscalFormat format) {
+        switch (format) {
+            case XML:
+                return MediaType.APPLICATION_XML;
+            case YAML:
+                return MediaType.parseMediaType("application/yaml");
+            case JSON:
+            default:
+                return MediaType.APPLICATION_JSON;
+        }
+    }
+
     @Operation(
         summary = "Resolve OSCAL profile",
-        description = "Resolves an OSCAL profile by applying imports and modifications. Note: Full resolution with external catalog fetching is not yet implemented."
+        description = "Resolves an OSCAL profile into a catalog by applying its imports, merge and modifications. Imports are resolved against library catalogs (by library:<itemId> href or file name) and the local catalog directory; remote catalogs are not fetched."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Profile resolution attempted (check 'success' field in response)")
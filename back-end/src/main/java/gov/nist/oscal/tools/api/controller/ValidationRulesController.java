@@ -83,7 +83,8 @@ public class ValidationRulesController {
     @Operation(
         summary = "Get validation rules statistics",
         description = "Retrieves summary statistics about validation rules including total count, " +
-                     "built-in vs custom rules, and distribution across model types and categories."
+                     "built-in vs custom rules, distribution across model types and categories, and " +
+                     "per-rule evaluation time for the built-in rule checks."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved statistics")
@@ -97,6 +98,8 @@ public class ValidationRulesController {
         stats.setCustomRules(allRules.getCustomRules());
         stats.setRulesByModelType(allRules.getRulesByModelType());
         stats.setRulesByCategory(allRules.getRulesByCategory());
+        stats.setDocumentsEvaluated(validationRulesService.getDocumentsEvaluated());
+        stats.setRuleEvaluation(validationRulesService.getRuleEvaluationStats());
         return ResponseEntity.ok(stats);
     }
 }
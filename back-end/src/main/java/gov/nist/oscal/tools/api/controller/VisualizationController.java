@@ -37,7 +37,9 @@ public class VisualizationController {
         description = "Analyzes an OSCAL SSP document and extracts key information for visualization including categorization, information types, personnel/roles, control status by family, and assets."
     )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "SSP analyzed successfully (check 'success' field in response)")
+        @ApiResponse(responseCode = "200", description = "SSP analyzed successfully (check 'success' field in response)"),
+        @ApiResponse(responseCode = "429", description = "Server busy; too many documents waiting (see Retry-After header)"),
+        @ApiResponse(responseCode = "503", description = "Timed out waiting for capacity (see Retry-After header)")
     })
     @PostMapping("/ssp")
     public ResponseEntity<SspVisualizationResult> visualizeSSP(
@@ -53,7 +55,9 @@ public class VisualizationController {
         description = "Analyzes an OSCAL Profile document and extracts key information for visualization including imports, control counts by family, and modifications."
     )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Profile analyzed successfully (check 'success' field in response)")
+        @ApiResponse(responseCode = "200", description = "Profile analyzed successfully (check 'success' field in response)"),
+        @ApiResponse(responseCode = "429", description = "Server busy; too many documents waiting (see Retry-After header)"),
+        @ApiResponse(responseCode = "503", description = "Timed out waiting for capacity (see Retry-After header)")
     })
     @PostMapping("/profile")
     public ResponseEntity<ProfileVisualizationResult> visualizeProfile(
@@ -69,7 +73,9 @@ public class VisualizationController {
         description = "Analyzes an OSCAL Assessment Results document and extracts key information for visualization including controls assessed, findings, observations, and risks."
     )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "SAR analyzed successfully (check 'success' field in response)")
+        @ApiResponse(responseCode = "200", description = "SAR analyzed successfully (check 'success' field in response)"),
+        @ApiResponse(responseCode = "429", description = "Server busy; too many documents waiting (see Retry-After header)"),
+        @ApiResponse(responseCode = "503", description = "Timed out waiting for capacity (see Retry-After header)")
     })
     @PostMapping("/sar")
     public ResponseEntity<SarVisualizationResult> visualizeSAR(
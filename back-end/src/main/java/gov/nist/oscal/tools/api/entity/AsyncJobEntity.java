@@ -0,0 +1,149 @@
+package gov.nist.oscal.tools.api.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "async_jobs", indexes = {
+    @Index(name = "idx_async_jobs_updated_at", columnList = "updated_at")
+})
+public class AsyncJobEntity {
+
+    @Id
+    @Column(length = 36)
+    private String id; // UUID
+
+    @Column(nullable = false, length = 50)
+    private String jobType; // VALIDATE, CONVERT, VISUALIZE_SSP, ...
+
+    @Column(nullable = false, length = 20)
+    private String status; // QUEUED, RUNNING, SUCCEEDED, FAILED
+
+    @Column(nullable = false, length = 100)
+    private String username; // User who submitted the job
+
+    @Column(nullable = false)
+    private Integer progress = 0;
+
+    @Column(length = 1000)
+    private String message;
+
+    @Column(columnDefinition = "TEXT")
+    private String result; // Result serialized as JSON
+
+    @Column(length = 2000)
+    private String error;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "job_version", nullable = false)
+    private Long jobVersion = 0L;
+
+    // Constructors
+    public AsyncJobEntity() {
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getJobType() {
+        return jobType;
+    }
+
+    public void setJobType(String jobType) {
+        this.jobType = jobType;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public Integer getProgress() {
+        return progress;
+    }
+
+    public void setProgress(Integer progress) {
+        this.progress = progress;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    public void setResult(String result) {
+        this.result = result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public Long getJobVersion() {
+        return jobVersion;
+    }
+
+    public void setJobVersion(Long jobVersion) {
+        this.jobVersion = jobVersion;
+    }
+}
@@ -0,0 +1,83 @@
+package gov.nist.oscal.tools.api.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Reference count of a content-addressed blob shared by saved files
+ */
+@Entity
+@Table(name = "content_blobs", indexes = {
+    @Index(name = "idx_content_blobs_orphaned_at", columnList = "orphaned_at")
+})
+public class ContentBlobEntity {
+
+    @Id
+    @Column(length = 64)
+    private String digest; // Hex SHA-256 of the content
+
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+
+    @Column(name = "ref_count", nullable = false)
+    private Long refCount = 0L; // 0 = unreferenced, -1 = being deleted by the sweeper
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "orphaned_at")
+    private LocalDateTime orphanedAt; // When the last reference was released
+
+    // Constructors
+    public ContentBlobEntity() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public ContentBlobEntity(String digest, long sizeBytes, long refCount) {
+        this();
+        this.digest = digest;
+        this.sizeBytes = sizeBytes;
+        this.refCount = refCount;
+    }
+
+    // Getters and Setters
+    public String getDigest() {
+        return digest;
+    }
+
+    public void setDigest(String digest) {
+        this.digest = digest;
+    }
+
+    public Long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(Long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public Long getRefCount() {
+        return refCount;
+    }
+
+    public void setRefCount(Long refCount) {
+        this.refCount = refCount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getOrphanedAt() {
+        return orphanedAt;
+    }
+
+    public void setOrphanedAt(LocalDateTime orphanedAt) {
+        this.orphanedAt = orphanedAt;
+    }
+}
@@ -57,6 +57,9 @@ public class LibraryVersion {
     @Column(length = 50)
     private String oscalTypeSnapshot;
 
+    @Column(name = "content_hash", length = 64)
+    private String contentHash; // SHA-256 of the file content, used as its ETag
+
     // Constructors
     public LibraryVersion() {
         this.uploadedAt = LocalDateTime.now();
@@ -196,4 +199,12 @@ public class LibraryVersion {
     public void setOscalTypeSnapshot(String oscalTypeSnapshot) {
         this.oscalTypeSnapshot = oscalTypeSnapshot;
     }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
 }
@@ -3,6 +3,7 @@ package gov.nist.oscal.tools.api.model;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import java.util.List;
+import java.util.Set;
 
 public class BatchOperationRequest {
     @NotNull(message = "Operation type is required")
@@ -12,13 +13,17 @@ public class BatchOperationRequest {
     @Size(min = 1, max = 10, message = "Between 1 and 10 files are required")
     private List<FileContent> files;
 
-    @NotNull(message = "Model type is required (for validation operations)")
+    // Optional: detected per file from the document root when omitted
     private OscalModelType modelType;
 
     // For conversion operations
     private OscalFormat fromFormat;
     private OscalFormat toFormat;
 
+    // For conversion operations: convert each file to all of these formats, parsing it once.
+    // Takes precedence over toFormat when set.
+    private Set<OscalFormat> toFormats;
+
     public enum BatchOperationType {
         VALIDATE,
         CONVERT
@@ -103,4 +108,12 @@ public class BatchOperationRequest {
     public void setToFormat(OscalFormat toFormat) {
         this.toFormat = toFormat;
     }
+
+    public Set<OscalFormat> getToFormats() {
+        return toFormats;
+    }
+
+    public void setToFormats(Set<OscalFormat> toFormats) {
+        this.toFormats = toFormats;
+    }
 }
@@ -7,13 +7,13 @@ public class ConversionRequest {
     @NotBlank(message = "Content is required")
     private String content;
 
-    @NotNull(message = "From format is required")
+    // Optional: detected from the document content when omitted
     private OscalFormat fromFormat;
 
     @NotNull(message = "To format is required")
     private OscalFormat toFormat;
 
-    @NotNull(message = "Model type is required")
+    // Optional: detected from the document root when omitted
     private OscalModelType modelType;
 
     private String fileName;
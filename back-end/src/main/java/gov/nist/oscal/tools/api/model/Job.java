@@ -0,0 +1,154 @@
+package gov.nist.oscal.tools.api.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of an asynchronous operation. The result holds the same payload the synchronous
+ * endpoint would have returned (ValidationResult, ConversionResult, ...).
+ */
+public class Job {
+    private String id;
+    private JobType type;
+    private JobStatus status;
+    private String username;
+    private int progress;
+    private String message;
+    private Object result;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+    private long version;
+
+    public Job() {
+    }
+
+    public Job(String id, JobType type, String username) {
+        this.id = id;
+        this.type = type;
+        this.username = username;
+        this.status = JobStatus.QUEUED;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    /**
+     * Copy a job, so stored snapshots are not mutated by the worker updating it
+     */
+    public Job(Job other) {
+        this.id = other.id;
+        this.type = other.type;
+        this.status = other.status;
+        this.username = other.username;
+        this.progress = other.progress;
+        this.message = other.message;
+        this.result = other.result;
+        this.error = other.error;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+        this.completedAt = other.completedAt;
+        this.version = other.version;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public JobType getType() {
+        return type;
+    }
+
+    public void setType(JobType type) {
+        this.type = type;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(JobStatus status) {
+        this.status = status;
+    }
+
+    @JsonIgnore
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public int getProgress() {
+        return progress;
+    }
+
+    public void setProgress(int progress) {
+        this.progress = progress;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public Object getResult() {
+        return result;
+    }
+
+    public void setResult(Object result) {
+        this.result = result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    /**
+     * Incremented on every update, so subscribers can tell whether anything changed
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
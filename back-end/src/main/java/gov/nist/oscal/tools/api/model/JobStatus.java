@@ -0,0 +1,15 @@
+package gov.nist.oscal.tools.api.model;
+
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED;
+
+    /**
+     * Whether the job has finished and will not change again
+     */
+    public boolean isTerminal() {
+        return this == SUCCEEDED || this == FAILED;
+    }
+}
@@ -0,0 +1,9 @@
+package gov.nist.oscal.tools.api.model;
+
+public enum JobType {
+    VALIDATE,
+    CONVERT,
+    VISUALIZE_SSP,
+    VISUALIZE_PROFILE,
+    VISUALIZE_SAR
+}
@@ -0,0 +1,67 @@
+package gov.nist.oscal.tools.api.model;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.Set;
+
+/**
+ * Converts one document to several formats, parsing it once
+ */
+public class MultiConversionRequest {
+
+    @NotBlank(message = "Content is required")
+    private String content;
+
+    // Optional: detected from the document content when omitted
+    private OscalFormat fromFormat;
+
+    @NotEmpty(message = "At least one target format is required")
+    private Set<OscalFormat> toFormats;
+
+    // Optional: detected from the document root when omitted
+    private OscalModelType modelType;
+
+    private String fileName;
+
+    // Getters and Setters
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public OscalFormat getFromFormat() {
+        return fromFormat;
+    }
+
+    public void setFromFormat(OscalFormat fromFormat) {
+        this.fromFormat = fromFormat;
+    }
+
+    public Set<OscalFormat> getToFormats() {
+        return toFormats;
+    }
+
+    public void setToFormats(Set<OscalFormat> toFormats) {
+        this.toFormats = toFormats;
+    }
+
+    public OscalModelType getModelType() {
+        return modelType;
+    }
+
+    public void setModelType(OscalModelType modelType) {
+        this.modelType = modelType;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+}
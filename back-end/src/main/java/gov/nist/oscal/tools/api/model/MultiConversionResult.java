@@ -0,0 +1,73 @@
+package gov.nist.oscal.tools.api.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a multi-target conversion: one ConversionResult per target format, in format order
+ */
+public class MultiConversionResult {
+    private boolean success;
+    private String error;
+    private OscalFormat fromFormat;
+    private OscalModelType modelType;
+    private List<ConversionResult> results = new ArrayList<>();
+    private long durationMs;
+
+    public MultiConversionResult() {
+    }
+
+    public MultiConversionResult(OscalFormat fromFormat, OscalModelType modelType) {
+        this.fromFormat = fromFormat;
+        this.modelType = modelType;
+    }
+
+    // Getters and Setters
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public OscalFormat getFromFormat() {
+        return fromFormat;
+    }
+
+    public void setFromFormat(OscalFormat fromFormat) {
+        this.fromFormat = fromFormat;
+    }
+
+    public OscalModelType getModelType() {
+        return modelType;
+    }
+
+    public void setModelType(OscalModelType modelType) {
+        this.modelType = modelType;
+    }
+
+    public List<ConversionResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<ConversionResult> results) {
+        this.results = results;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+}
@@ -0,0 +1,67 @@
+package gov.nist.oscal.tools.api.model;
+
+public class RuleEvaluationStats {
+    private String ruleId;
+    private long documentsEvaluated;
+    private long invocations;
+    private long totalTimeMicros;
+    private long findings;
+
+    // Constructors
+    public RuleEvaluationStats() {
+    }
+
+    public RuleEvaluationStats(String ruleId, long documentsEvaluated, long invocations,
+                               long totalTimeMicros, long findings) {
+        this.ruleId = ruleId;
+        this.documentsEvaluated = documentsEvaluated;
+        this.invocations = invocations;
+        this.totalTimeMicros = totalTimeMicros;
+        this.findings = findings;
+    }
+
+    // Getters and Setters
+    public String getRuleId() {
+        return ruleId;
+    }
+
+    public void setRuleId(String ruleId) {
+        this.ruleId = ruleId;
+    }
+
+    public long getDocumentsEvaluated() {
+        return documentsEvaluated;
+    }
+
+    public void setDocumentsEvaluated(long documentsEvaluated) {
+        this.documentsEvaluated = documentsEvaluated;
+    }
+
+    public long getInvocations() {
+        return invocations;
+    }
+
+    public void setInvocations(long invocations) {
+        this.invocations = invocations;
+    }
+
+    public long getTotalTimeMicros() {
+        return totalTimeMicros;
+    }
+
+    public void setTotalTimeMicros(long totalTimeMicros) {
+        this.totalTimeMicros = totalTimeMicros;
+    }
+
+    public long getFindings() {
+        return findings;
+    }
+
+    public void setFindings(long findings) {
+        this.findings = findings;
+    }
+
+    public double getAverageTimeMicros() {
+        return documentsEvaluated > 0 ? (double) totalTimeMicros / documentsEvaluated : 0;
+    }
+}
@@ -0,0 +1,37 @@
+package gov.nist.oscal.tools.api.model;
+
+import java.util.List;
+
+/**
+ * One page of a user's saved files
+ */
+public class SavedFilePage {
+    private List<SavedFile> files;
+    private String nextCursor;
+
+    public SavedFilePage() {}
+
+    public SavedFilePage(List<SavedFile> files, String nextCursor) {
+        this.files = files;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<SavedFile> getFiles() {
+        return files;
+    }
+
+    public void setFiles(List<SavedFile> files) {
+        this.files = files;
+    }
+
+    /**
+     * Cursor for the following page, or null if this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,41 @@
+package gov.nist.oscal.tools.api.model;
+
+import gov.nist.oscal.tools.api.util.CompressionCodec;
+
+/**
+ * Content exactly as held in storage, together with the codec it was compressed with
+ */
+public class StoredContent {
+    private final byte[] data;
+    private final CompressionCodec codec;
+
+    public StoredContent(byte[] data, CompressionCodec codec) {
+        this.data = data;
+        this.codec = codec;
+    }
+
+    /**
+     * Stored data detected from its leading bytes, as for objects without a recorded codec
+     */
+    public static StoredContent of(byte[] data) {
+        return new StoredContent(data, CompressionCodec.detect(data, data.length));
+    }
+
+    /**
+     * The stored (possibly compressed) bytes
+     */
+    public byte[] getData() {
+        return data;
+    }
+
+    public CompressionCodec getCodec() {
+        return codec;
+    }
+
+    /**
+     * Decompressed content as a UTF-8 string
+     */
+    public String decode() {
+        return CompressionCodec.decodeToString(data);
+    }
+}
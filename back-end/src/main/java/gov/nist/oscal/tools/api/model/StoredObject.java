@@ -0,0 +1,152 @@
+package gov.nist.oscal.tools.api.model;
+
+import gov.nist.oscal.tools.api.util.CompressionCodec;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An object in storage that is streamed rather than loaded whole. Any byte range can be read on
+ * its own, without reading the data before it.
+ */
+public class StoredObject {
+
+    /**
+     * Opens a stream of a range of the stored data. Only called for non-empty ranges within
+     * the object.
+     */
+    @FunctionalInterface
+    public interface RangeReader {
+        InputStream open(long offset, long length) throws IOException;
+    }
+
+    private final long length;
+    private final CompressionCodec codec;
+    private final RangeReader reader;
+
+    public StoredObject(long length, CompressionCodec codec, RangeReader reader) {
+        this.length = length;
+        this.codec = codec;
+        this.reader = reader;
+    }
+
+    /**
+     * Local file, read through a file channel positioned at the requested offset. The codec is
+     * detected from the file's leading bytes.
+     */
+    public static StoredObject ofFile(Path path) throws IOException {
+        CompressionCodec codec;
+        try (InputStream head = Files.newInputStream(path)) {
+            codec = CompressionCodec.detect(head);
+        }
+        return new StoredObject(Files.size(path), codec, (offset, length) -> {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+            try {
+                channel.position(offset);
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+            return new BoundedInputStream(Channels.newInputStream(channel), length);
+        });
+    }
+
+    /**
+     * Data that is already in memory
+     */
+    public static StoredObject of(StoredContent content) {
+        byte[] data = content.getData();
+        return new StoredObject(data.length, content.getCodec(),
+                (offset, length) -> new ByteArrayInputStream(data, (int) offset, (int) length));
+    }
+
+    /**
+     * Size of the stored (possibly compressed) data in bytes
+     */
+    public long getLength() {
+        return length;
+    }
+
+    public CompressionCodec getCodec() {
+        return codec;
+    }
+
+    /**
+     * Stream a range of the stored (possibly compressed) data. The range is cut off at the end
+     * of the object.
+     */
+    public InputStream open(long offset, long count) throws IOException {
+        long available = Math.min(count, length - offset);
+        if (offset < 0 || available <= 0) {
+            return InputStream.nullInputStream();
+        }
+        return reader.open(offset, available);
+    }
+
+    /**
+     * Stream the decompressed content
+     */
+    public InputStream openDecoded() throws IOException {
+        return codec.decompress(open(0, length));
+    }
+
+    /**
+     * Ends a stream after a number of bytes
+     */
+    private static class BoundedInputStream extends FilterInputStream {
+        private long remaining;
+
+        BoundedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b != -1) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = super.read(b, off, (int) Math.min(len, remaining));
+            if (n > 0) {
+                remaining -= n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), remaining);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
@@ -1,17 +1,16 @@
 package gov.nist.oscal.tools.api.model;
 
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotNull;
 
 public class ValidationRequest {
 
     @NotBlank(message = "Content is required")
     private String content;
 
-    @NotNull(message = "Model type is required")
+    // Optional: detected from the document root when omitted
     private OscalModelType modelType;
 
-    @NotNull(message = "Format is required")
+    // Optional: detected from the document content when omitted
     private OscalFormat format;
 
     private String fileName;
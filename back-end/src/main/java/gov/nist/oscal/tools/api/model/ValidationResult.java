@@ -2,7 +2,9 @@ package gov.nist.oscal.tools.api.model;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class ValidationResult {
     private boolean valid;
@@ -11,6 +13,10 @@ public class ValidationResult {
     private OscalModelType modelType;
     private OscalFormat format;
     private String timestamp;
+    // Wall-clock time per validation stage in milliseconds, in execution order
+    private Map<String, Long> stageTimings = new LinkedHashMap<>();
+    // Validation stages that were not run for this document, e.g. for streamed documents
+    private List<String> skippedStages = new ArrayList<>();
 
     // Constructors
     public ValidationResult() {
@@ -71,6 +77,22 @@ public class ValidationResult {
         this.timestamp = timestamp;
     }
 
+    public Map<String, Long> getStageTimings() {
+        return stageTimings;
+    }
+
+    public void setStageTimings(Map<String, Long> stageTimings) {
+        this.stageTimings = stageTimings;
+    }
+
+    public List<String> getSkippedStages() {
+        return skippedStages;
+    }
+
+    public void setSkippedStages(List<String> skippedStages) {
+        this.skippedStages = skippedStages;
+    }
+
     // Helper methods
     public void addError(ValidationError error) {
         this.errors.add(error);
@@ -79,4 +101,12 @@ public class ValidationResult {
     public void addWarning(ValidationError warning) {
         this.warnings.add(warning);
     }
+
+    public void addStageTiming(String stage, long durationMs) {
+        this.stageTimings.put(stage, durationMs);
+    }
+
+    public void addSkippedStage(String stage) {
+        this.skippedStages.add(stage);
+    }
 }
@@ -1,6 +1,7 @@
 package gov.nist.oscal.tools.api.model;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class ValidationRulesStats {
@@ -9,6 +10,8 @@ public class ValidationRulesStats {
     private int customRules;
     private Map<String, Integer> rulesByModelType = new HashMap<>();
     private Map<String, Integer> rulesByCategory = new HashMap<>();
+    private long documentsEvaluated;
+    private Map<String, RuleEvaluationStats> ruleEvaluation = new LinkedHashMap<>();
 
     // Constructors
     public ValidationRulesStats() {
@@ -54,4 +57,20 @@ public class ValidationRulesStats {
     public void setRulesByCategory(Map<String, Integer> rulesByCategory) {
         this.rulesByCategory = rulesByCategory;
     }
+
+    public long getDocumentsEvaluated() {
+        return documentsEvaluated;
+    }
+
+    public void setDocumentsEvaluated(long documentsEvaluated) {
+        this.documentsEvaluated = documentsEvaluated;
+    }
+
+    public Map<String, RuleEvaluationStats> getRuleEvaluation() {
+        return ruleEvaluation;
+    }
+
+    public void setRuleEvaluation(Map<String, RuleEvaluationStats> ruleEvaluation) {
+        this.ruleEvaluation = ruleEvaluation;
+    }
 }
@@ -0,0 +1,19 @@
+package gov.nist.oscal.tools.api.repository;
+
+import gov.nist.oscal.tools.api.entity.AsyncJobEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface AsyncJobRepository extends JpaRepository<AsyncJobEntity, String> {
+
+    // Delete jobs that have not been updated since the cutoff
+    @Modifying
+    @Query("DELETE FROM AsyncJobEntity j WHERE j.updatedAt < :cutoff")
+    int deleteExpired(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,57 @@
+package gov.nist.oscal.tools.api.repository;
+
+import gov.nist.oscal.tools.api.entity.ContentBlobEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ContentBlobRepository extends JpaRepository<ContentBlobEntity, String> {
+
+    // Add a reference unless the sweeper has claimed the blob; returns rows updated
+    @Modifying
+    @Transactional
+    @Query("UPDATE ContentBlobEntity b SET b.refCount = b.refCount + 1, b.orphanedAt = NULL " +
+           "WHERE b.digest = :digest AND b.refCount >= 0")
+    int acquire(@Param("digest") String digest);
+
+    // Create the record of a new blob with one reference; fails if the digest already exists
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO content_blobs (digest, size_bytes, ref_count, created_at) " +
+                   "VALUES (:digest, :size, 1, :now)", nativeQuery = true)
+    int insertReferenced(@Param("digest") String digest, @Param("size") long size,
+                         @Param("now") LocalDateTime now);
+
+    // Drop a reference, recording when the blob became unreferenced
+    @Modifying
+    @Transactional
+    @Query("UPDATE ContentBlobEntity b SET b.refCount = b.refCount - 1, " +
+           "b.orphanedAt = CASE WHEN b.refCount = 1 THEN :now ELSE b.orphanedAt END " +
+           "WHERE b.digest = :digest AND b.refCount > 0")
+    int release(@Param("digest") String digest, @Param("now") LocalDateTime now);
+
+    // Unreferenced blobs whose grace period has passed
+    @Query("SELECT b.digest FROM ContentBlobEntity b WHERE b.refCount = 0 AND b.orphanedAt < :cutoff")
+    List<String> findOrphanedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    // Claim an orphan for deletion so no new reference can be added meanwhile; returns rows updated
+    @Modifying
+    @Transactional
+    @Query("UPDATE ContentBlobEntity b SET b.refCount = -1 " +
+           "WHERE b.digest = :digest AND b.refCount = 0 AND b.orphanedAt < :cutoff")
+    int claimForDeletion(@Param("digest") String digest, @Param("cutoff") LocalDateTime cutoff);
+
+    // Give a claimed blob back when its deletion failed
+    @Modifying
+    @Transactional
+    @Query("UPDATE ContentBlobEntity b SET b.refCount = 0 WHERE b.digest = :digest AND b.refCount = -1")
+    int unclaim(@Param("digest") String digest);
+}
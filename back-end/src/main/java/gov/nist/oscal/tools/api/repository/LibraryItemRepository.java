@@ -28,6 +28,9 @@ public interface LibraryItemRepository extends JpaRepository<LibraryItem, Long>
     // Search by OSCAL type
     List<LibraryItem> findByOscalTypeIn(List<String> oscalTypes);
 
+    // Items whose current version was uploaded with the given file name
+    List<LibraryItem> findByCurrentVersion_FileName(String fileName);
+
     // Full-text search across title and description
     @Query("SELECT li FROM LibraryItem li WHERE " +
            "LOWER(li.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
@@ -3,7 +3,11 @@ package gov.nist.oscal.tools.api.repository;
 import gov.nist.oscal.tools.api.entity.SavedFileEntity;
 import gov.nist.oscal.tools.api.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -20,4 +24,17 @@ public interface SavedFileRepository extends JpaRepository<SavedFileEntity, Long
     Optional<SavedFileEntity> findByFileIdAndUserId(String fileId, Long userId);
 
     void deleteByFileIdAndUserId(String fileId, Long userId);
+
+    boolean existsByFileId(String fileId);
+
+    // Storage path of a user's file, resolved through the unique file_id index
+    @Query("SELECT f.filePath FROM SavedFileEntity f WHERE f.fileId = :fileId AND f.user.username = :username")
+    Optional<String> findFilePathByFileIdAndUsername(@Param("fileId") String fileId,
+                                                     @Param("username") String username);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SavedFileEntity f WHERE f.fileId = :fileId " +
+           "AND f.user.id IN (SELECT u.id FROM User u WHERE u.username = :username)")
+    int deleteByFileIdAndUsername(@Param("fileId") String fileId, @Param("username") String username);
 }
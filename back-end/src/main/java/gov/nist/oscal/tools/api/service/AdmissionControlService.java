@@ -0,0 +1,214 @@
+package gov.nist.oscal.tools.api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bulkhead for heavy OSCAL operations (validation, conversion, visualization)
+ *
+ * Concurrency is limited by payload size rather than request count: all admitted operations
+ * share a budget of in-flight bytes, so one 50 MB catalog costs as much as fifty 1 MB ones.
+ * Requests that do not fit wait in a bounded FIFO queue. When the queue is full they are
+ * rejected immediately with 429; when they wait longer than the maximum wait they are
+ * rejected with 503. Both rejections carry a Retry-After hint.
+ *
+ * Queue depth, in-flight bytes, wait time and rejections are published to Micrometer under
+ * the "oscal.admission" prefix.
+ */
+@Service
+public class AdmissionControlService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControlService.class);
+
+    public static final String METRIC_PREFIX = "oscal.admission";
+
+    // The budget is tracked in KiB so that it fits in a semaphore's int permits
+    private static final int UNIT_BYTES = 1024;
+
+    private static final Permit NO_OP_PERMIT = () -> { };
+
+    private final boolean enabled;
+    private final long maxInFlightBytes;
+    private final int maxQueueDepth;
+    private final long maxWaitMs;
+    private final long retryAfterSeconds;
+    private final long unknownSizeBytes;
+
+    private final int capacityUnits;
+    private final Semaphore budget;
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicLong inFlightBytes = new AtomicLong();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public AdmissionControlService(
+            @Value("${admission.enabled:true}") boolean enabled,
+            @Value("${admission.max-inflight-bytes:268435456}") long maxInFlightBytes,
+            @Value("${admission.max-queue-depth:32}") int maxQueueDepth,
+            @Value("${admission.max-wait-ms:10000}") long maxWaitMs,
+            @Value("${admission.retry-after-seconds:5}") long retryAfterSeconds,
+            @Value("${admission.unknown-size-bytes:67108864}") long unknownSizeBytes,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxInFlightBytes = maxInFlightBytes;
+        this.maxQueueDepth = maxQueueDepth;
+        this.maxWaitMs = maxWaitMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.unknownSizeBytes = unknownSizeBytes;
+        this.capacityUnits = (int) Math.max(1, Math.min(Integer.MAX_VALUE, maxInFlightBytes / UNIT_BYTES));
+        // Fair, so a large request at the head of the queue is not starved by a stream of small ones
+        this.budget = new Semaphore(capacityUnits, true);
+        this.meterRegistry = meterRegistry;
+
+        if (meterRegistry != null) {
+            Gauge.builder(METRIC_PREFIX + ".queue.depth", queueDepth, AtomicInteger::get)
+                    .description("Heavy operations waiting for admission")
+                    .register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + ".inflight.bytes", inFlightBytes, AtomicLong::get)
+                    .description("Payload bytes of admitted heavy operations")
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + ".capacity.bytes", this, AdmissionControlService::getMaxInFlightBytes)
+                    .description("Payload byte budget shared by heavy operations")
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+        }
+
+        if (enabled) {
+            logger.info("Admission control enabled (budget: {} bytes, queue depth: {}, max wait: {} ms)",
+                    maxInFlightBytes, maxQueueDepth, maxWaitMs);
+        }
+    }
+
+    /**
+     * Admit an operation on a payload of the given size, waiting for budget if necessary.
+     * The returned permit must be closed when the operation completes.
+     *
+     * @param operation Operation name, used as a metric tag
+     * @param payloadBytes Payload size in bytes, or a negative value if unknown
+     * @return The permit holding the payload's share of the budget
+     * @throws AdmissionRejectedException if the wait queue is full or the wait times out
+     */
+    public Permit admit(String operation, long payloadBytes) {
+        if (!enabled) {
+            return NO_OP_PERMIT;
+        }
+
+        long bytes = payloadBytes < 0 ? unknownSizeBytes : payloadBytes;
+        // Payloads larger than the whole budget are admitted alone rather than never
+        int units = (int) Math.max(1, Math.min(capacityUnits, (bytes + UNIT_BYTES - 1) / UNIT_BYTES));
+
+        long waitStart = System.nanoTime();
+        boolean acquired;
+        try {
+            // A zero timeout still honours the fairness queue, unlike tryAcquire(int)
+            acquired = budget.tryAcquire(units, 0, TimeUnit.MILLISECONDS);
+            if (!acquired) {
+                if (queueDepth.incrementAndGet() > maxQueueDepth) {
+                    queueDepth.decrementAndGet();
+                    throw reject(operation, "queue-full", HttpStatus.TOO_MANY_REQUESTS,
+                            "Server is busy processing other documents. Please retry later.");
+                }
+                try {
+                    acquired = budget.tryAcquire(units, maxWaitMs, TimeUnit.MILLISECONDS);
+                } finally {
+                    queueDepth.decrementAndGet();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        recordWait(operation, System.nanoTime() - waitStart);
+
+        if (!acquired) {
+            throw reject(operation, "timeout", HttpStatus.SERVICE_UNAVAILABLE,
+                    "Timed out waiting for capacity to process the document. Please retry later.");
+        }
+
+        admitted.increment();
+        inFlightBytes.addAndGet(bytes);
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                inFlightBytes.addAndGet(-bytes);
+                budget.release(units);
+            }
+        };
+    }
+
+    private AdmissionRejectedException reject(String operation, String reason, HttpStatus status, String message) {
+        rejected.increment();
+        if (meterRegistry != null) {
+            Counter.builder(METRIC_PREFIX + ".rejected")
+                    .description("Heavy operations rejected by admission control")
+                    .tag("operation", operation)
+                    .tag("reason", reason)
+                    .register(meterRegistry)
+                    .increment();
+        }
+        logger.warn("Rejected {} request: {} (queue depth: {}, in-flight bytes: {})",
+                operation, reason, queueDepth.get(), inFlightBytes.get());
+        return new AdmissionRejectedException(status, message, retryAfterSeconds);
+    }
+
+    private void recordWait(String operation, long waitNanos) {
+        if (meterRegistry != null) {
+            Timer.builder(METRIC_PREFIX + ".wait")
+                    .description("Time spent waiting for admission")
+                    .tag("operation", operation)
+                    .register(meterRegistry)
+                    .record(waitNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getMaxInFlightBytes() {
+        return maxInFlightBytes;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    public long getInFlightBytes() {
+        return inFlightBytes.get();
+    }
+
+    public long getAdmittedCount() {
+        return admitted.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * A payload's share of the admission budget, released on close
+     */
+    @FunctionalInterface
+    public interface Permit extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
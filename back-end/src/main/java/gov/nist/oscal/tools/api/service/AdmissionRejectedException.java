@@ -0,0 +1,29 @@
+package gov.nist.oscal.tools.api.service;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when a heavy operation is not admitted because the server is at capacity
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final long retryAfterSeconds;
+
+    public AdmissionRejectedException(HttpStatus status, String message, long retryAfterSeconds) {
+        super(message);
+        this.status = status;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * 429 when the wait queue was full, 503 when the wait timed out
+     */
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
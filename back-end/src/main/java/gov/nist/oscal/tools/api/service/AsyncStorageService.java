@@ -0,0 +1,48 @@
+package gov.nist.oscal.tools.api.service;
+
+import gov.nist.oscal.tools.api.model.StoredContent;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link StorageService}
+ *
+ * Operations return immediately with a future that completes when the provider has finished,
+ * without holding a thread while requests are in flight. Objects are written exactly as the
+ * blocking backends write them (same keys, compression and metadata), so either can read what
+ * the other stored. Obtained from the blocking backend with {@link StorageService#async()}.
+ */
+public interface AsyncStorageService {
+
+    /**
+     * Upload content under an exact key, replacing any existing object
+     *
+     * @param key Path/key in storage
+     * @param content Content to upload
+     * @param metadata Additional metadata to attach to the object, or null
+     * @return Future completing with the storage path/key once the object is stored
+     */
+    CompletableFuture<String> uploadObject(String key, String content, Map<String, String> metadata);
+
+    /**
+     * Download an object exactly as stored, without decompressing it
+     *
+     * @param key Path/key in storage
+     * @return Future completing with the stored data, or exceptionally if it does not exist
+     */
+    CompletableFuture<StoredContent> downloadStored(String key);
+
+    /**
+     * Delete an object
+     *
+     * @param key Path/key in storage
+     * @return Future completing with true if the object existed and was deleted
+     */
+    CompletableFuture<Boolean> deleteObject(String key);
+
+    /**
+     * Get the storage provider type (for logging/debugging)
+     */
+    String getStorageProvider();
+}
@@ -0,0 +1,65 @@
+package gov.nist.oscal.tools.api.service;
+
+import com.azure.core.util.BinaryData;
+import com.azure.storage.blob.BlobContainerAsyncClient;
+import com.azure.storage.blob.models.BlobHttpHeaders;
+import com.azure.storage.blob.options.BlobParallelUploadOptions;
+import gov.nist.oscal.tools.api.model.StoredContent;
+import gov.nist.oscal.tools.api.util.CompressionCodec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Azure Blob Storage on the non-blocking {@link BlobContainerAsyncClient}
+ *
+ * Unlike the blocking backends, the blob and its metadata are written in a single request.
+ * The async client splits large blobs into blocks uploaded in parallel on its own.
+ */
+class AzureAsyncStorage implements AsyncStorageService {
+
+    private final BlobContainerAsyncClient containerClient;
+    private final String compressionCodec;
+    private final long compressionMinSize;
+
+    AzureAsyncStorage(BlobContainerAsyncClient containerClient, String compressionCodec, long compressionMinSize) {
+        this.containerClient = containerClient;
+        this.compressionCodec = compressionCodec;
+        this.compressionMinSize = compressionMinSize;
+    }
+
+    @Override
+    public CompletableFuture<String> uploadObject(String key, String content, Map<String, String> metadata) {
+        byte[] rawBytes = content.getBytes(StandardCharsets.UTF_8);
+        CompressionCodec codec = CompressionCodec.forContent(compressionCodec, rawBytes.length, compressionMinSize);
+
+        BlobParallelUploadOptions options = new BlobParallelUploadOptions(BinaryData.fromBytes(codec.encode(rawBytes)))
+                .setHeaders(new BlobHttpHeaders().setContentType("application/json"));
+        Map<String, String> blobMetadata = codec.withMetadata(metadata);
+        if (!blobMetadata.isEmpty()) {
+            options.setMetadata(blobMetadata);
+        }
+        // Without request conditions the upload overwrites an existing blob
+        return containerClient.getBlobAsyncClient(key).uploadWithResponse(options)
+                .map(response -> key)
+                .toFuture();
+    }
+
+    @Override
+    public CompletableFuture<StoredContent> downloadStored(String key) {
+        return containerClient.getBlobAsyncClient(key).downloadContent()
+                .map(content -> StoredContent.of(content.toBytes()))
+                .toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteObject(String key) {
+        return containerClient.getBlobAsyncClient(key).deleteIfExists().toFuture();
+    }
+
+    @Override
+    public String getStorageProvider() {
+        return "Azure Blob Storage (async)";
+    }
+}
@@ -1,11 +1,15 @@
 package gov.nist.oscal.tools.api.service;
 
-import com.azure.core.util.BinaryData;
 import com.azure.storage.blob.BlobClient;
+import com.azure.storage.blob.BlobContainerAsyncClient;
 import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.blob.BlobServiceClientBuilder;
 import com.azure.storage.blob.models.BlobItem;
+import com.azure.storage.blob.models.BlobStorageException;
+import gov.nist.oscal.tools.api.model.StoredContent;
+import gov.nist.oscal.tools.api.model.StoredObject;
+import gov.nist.oscal.tools.api.util.CompressionCodec;
 import gov.nist.oscal.tools.api.util.PathSanitizer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,6 +18,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -48,8 +53,25 @@ public class AzureBlobService implements StorageService {
     @Value("${file.upload-dir:./uploads}")
     private String uploadDir;
 
+    @Value("${storage.compression.codec:gzip}")
+    private String compressionCodec;
+
+    @Value("${storage.compression.min-size-bytes:1024}")
+    private long compressionMinSize;
+
+    @Value("${storage.transfer.multipart-threshold-bytes:33554432}")
+    private long multipartThreshold;
+
+    @Value("${storage.transfer.chunk-size-bytes:8388608}")
+    private int transferChunkSize;
+
+    @Value("${storage.transfer.parallelism:4}")
+    private int transferParallelism;
+
     private BlobServiceClient blobServiceClient;
     private BlobContainerClient containerClient;
+    private AsyncStorageService asyncStorage;
+    private ParallelTransfer transfer;
     private boolean useLocalStorage = false;
     private Path localBuildPath;
 
@@ -76,6 +98,7 @@ public class AzureBlobService implements StorageService {
                 logger.error("Failed to create build directory: {}", e.getMessage(), e);
                 throw new RuntimeException("Could not initialize build storage", e);
             }
+            asyncStorage = new LocalAsyncStorage(localBuildPath, buildFolder, compressionCodec, compressionMinSize);
             return;
         }
 
@@ -95,6 +118,15 @@ public class AzureBlobService implements StorageService {
                 logger.info("Using existing build blob container: {}", buildContainerName);
             }
 
+            transfer = new ParallelTransfer(new AzureBlockStore(containerClient),
+                    multipartThreshold, transferChunkSize, transferParallelism);
+
+            BlobContainerAsyncClient asyncContainerClient = new BlobServiceClientBuilder()
+                    .connectionString(connectionString)
+                    .buildAsyncClient()
+                    .getBlobContainerAsyncClient(buildContainerName);
+            asyncStorage = new AzureAsyncStorage(asyncContainerClient, compressionCodec, compressionMinSize);
+
             logger.info("Azure Blob Storage for component builder initialized successfully");
         } catch (Exception e) {
             logger.error("Failed to initialize Azure Blob Storage for component builder: {}", e.getMessage(), e);
@@ -102,6 +134,13 @@ public class AzureBlobService implements StorageService {
         }
     }
 
+    @PreDestroy
+    public void cleanup() {
+        if (transfer != null) {
+            transfer.close();
+        }
+    }
+
     /**
      * Upload a component definition to storage
      *
@@ -112,10 +151,23 @@ public class AzureBlobService implements StorageService {
      * @return The blob path where the file was stored
      */
     public String uploadComponent(String username, String filename, String jsonContent, Map<String, String> metadata) {
-        String blobPath = buildBlobPath(username, filename);
+        String blobPath = uploadObject(buildBlobPath(username, filename), jsonContent, metadata);
+        logger.info("Uploaded component to {}: {}", useLocalStorage ? "local storage" : "Azure Blob Storage", blobPath);
+        return blobPath;
+    }
 
+    /**
+     * Upload content under an exact blob path, replacing any existing blob
+     *
+     * @param blobPath Path in blob storage
+     * @param content Content to upload
+     * @param metadata Additional metadata to attach
+     * @return The blob path where the content was stored
+     */
+    @Override
+    public String uploadObject(String blobPath, String content, Map<String, String> metadata) {
         if (useLocalStorage) {
-            saveToLocalStorage(jsonContent, blobPath);
+            saveToLocalStorage(content, blobPath);
             return blobPath;
         }
 
@@ -125,17 +177,25 @@ public class AzureBlobService implements StorageService {
 
         try {
             BlobClient blobClient = containerClient.getBlobClient(blobPath);
-            byte[] contentBytes = jsonContent.getBytes(StandardCharsets.UTF_8);
+            byte[] rawBytes = content.getBytes(StandardCharsets.UTF_8);
+            CompressionCodec codec = storageCodec(rawBytes.length);
+            byte[] contentBytes = codec.encode(rawBytes);
+            Map<String, String> blobMetadata = codec.withMetadata(metadata);
+
+            // Large blobs are uploaded as blocks staged in parallel
+            if (transfer != null && transfer.isLarge(contentBytes.length)) {
+                transfer.upload(blobPath, contentBytes, blobMetadata);
+                return blobPath;
+            }
 
             // Upload file (overwrite if exists)
             blobClient.upload(new ByteArrayInputStream(contentBytes), contentBytes.length, true);
 
-            // Set metadata if provided
-            if (metadata != null && !metadata.isEmpty()) {
-                blobClient.setMetadata(metadata);
+            // Set metadata if provided, recording the codec
+            if (!blobMetadata.isEmpty()) {
+                blobClient.setMetadata(blobMetadata);
             }
 
-            logger.info("Uploaded component to Azure Blob Storage: {}", blobPath);
             return blobPath;
         } catch (Exception e) {
             logger.error("Failed to upload component to Azure Blob Storage: {}", e.getMessage(), e);
@@ -150,6 +210,16 @@ public class AzureBlobService implements StorageService {
      * @return Component JSON content
      */
     public String downloadComponent(String blobPath) {
+        return downloadStored(blobPath).decode();
+    }
+
+    /**
+     * Download a blob exactly as stored, without decompressing it
+     *
+     * @param blobPath Path in blob storage
+     * @return Stored data and the codec it was compressed with
+     */
+    public StoredContent downloadStored(String blobPath) {
         if (useLocalStorage) {
             return getFromLocalStorage(blobPath);
         }
@@ -165,15 +235,37 @@ public class AzureBlobService implements StorageService {
                 throw new RuntimeException("Component not found: " + blobPath);
             }
 
-            BinaryData content = blobClient.downloadContent();
+            // Ranged reads, in parallel for large blobs
+            byte[] content = transfer != null ? transfer.download(blobPath) : blobClient.downloadContent().toBytes();
             logger.info("Downloaded component from Azure Blob Storage: {}", blobPath);
-            return content.toString();
+            return StoredContent.of(content);
         } catch (Exception e) {
             logger.error("Failed to download component: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to download component", e);
         }
     }
 
+    @Override
+    public StoredObject openStored(String blobPath) {
+        if (useLocalStorage) {
+            return openFromLocalStorage(blobPath);
+        }
+
+        if (containerClient == null) {
+            throw new RuntimeException("Storage is not configured");
+        }
+
+        try {
+            return AzureBlockStore.openBlob(containerClient.getBlobClient(blobPath));
+        } catch (BlobStorageException e) {
+            if (e.getStatusCode() == 404) {
+                throw new RuntimeException("Component not found: " + blobPath);
+            }
+            logger.error("Failed to open component: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to open component", e);
+        }
+    }
+
     /**
      * List all components for a specific user
      *
@@ -293,6 +385,29 @@ public class AzureBlobService implements StorageService {
         }
     }
 
+    /**
+     * Get the ETag of a blob
+     *
+     * @param blobPath Path in blob storage
+     * @return ETag, or null if the blob does not exist
+     */
+    public String getVersionTag(String blobPath) {
+        if (useLocalStorage) {
+            return localVersionTag(localBuildPath.resolve(blobPath.replace(buildFolder + "/", "")));
+        }
+
+        if (containerClient == null) {
+            return null;
+        }
+
+        try {
+            return containerClient.getBlobClient(blobPath).getProperties().getETag();
+        } catch (Exception e) {
+            logger.debug("Could not read ETag of {}: {}", blobPath, e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Build blob path for component definition
      * Format: build/{username}/{filename}
@@ -336,6 +451,13 @@ public class AzureBlobService implements StorageService {
         return containerClient != null || useLocalStorage;
     }
 
+    /**
+     * Codec to store content of the given size with
+     */
+    private CompressionCodec storageCodec(long size) {
+        return CompressionCodec.forContent(compressionCodec, size, compressionMinSize);
+    }
+
     // Local storage fallback methods
 
     private void saveToLocalStorage(String content, String blobPath) {
@@ -345,7 +467,8 @@ public class AzureBlobService implements StorageService {
             // Use PathSanitizer to prevent path traversal attacks
             Path filePath = PathSanitizer.safeResolve(localBuildPath, relativePath);
             Files.createDirectories(filePath.getParent());
-            Files.writeString(filePath, content, StandardCharsets.UTF_8);
+            byte[] contentBytes = content.getBytes(StandardCharsets.UTF_8);
+            Files.write(filePath, storageCodec(contentBytes.length).encode(contentBytes));
             logger.info("Saved component to local storage: {}", filePath.toAbsolutePath());
         } catch (IOException e) {
             logger.error("Failed to save component to local storage: {}", e.getMessage(), e);
@@ -353,7 +476,7 @@ public class AzureBlobService implements StorageService {
         }
     }
 
-    private String getFromLocalStorage(String blobPath) {
+    private StoredContent getFromLocalStorage(String blobPath) {
         try {
             String relativePath = blobPath.replace(buildFolder + "/", "");
             // Use PathSanitizer to prevent path traversal attacks
@@ -361,13 +484,36 @@ public class AzureBlobService implements StorageService {
             if (!Files.exists(filePath)) {
                 throw new RuntimeException("Component not found: " + blobPath);
             }
-            return Files.readString(filePath, StandardCharsets.UTF_8);
+            return StoredContent.of(Files.readAllBytes(filePath));
         } catch (IOException e) {
             logger.error("Failed to read component from local storage: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to read component", e);
         }
     }
 
+    private StoredObject openFromLocalStorage(String blobPath) {
+        try {
+            String relativePath = blobPath.replace(buildFolder + "/", "");
+            // Use PathSanitizer to prevent path traversal attacks
+            Path filePath = PathSanitizer.safeResolve(localBuildPath, relativePath);
+            if (!Files.exists(filePath)) {
+                throw new RuntimeException("Component not found: " + blobPath);
+            }
+            return StoredObject.ofFile(filePath);
+        } catch (IOException e) {
+            logger.error("Failed to open component in local storage: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to read component", e);
+        }
+    }
+
+    private static String localVersionTag(Path filePath) {
+        try {
+            return Files.getLastModifiedTime(filePath).toMillis() + "-" + Files.size(filePath);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
     private List<String> listFromLocalStorage(String username) {
         List<String> componentPaths = new ArrayList<>();
         try {
@@ -0,0 +1,96 @@
+package gov.nist.oscal.tools.api.service;
+
+import com.azure.core.util.Context;
+import com.azure.storage.blob.BlobClient;
+import com.azure.storage.blob.BlobContainerClient;
+import com.azure.storage.blob.models.BlobDownloadResponse;
+import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.BlobRange;
+import com.azure.storage.blob.models.BlobRequestConditions;
+import com.azure.storage.blob.models.BlobStorageException;
+import gov.nist.oscal.tools.api.model.StoredObject;
+import gov.nist.oscal.tools.api.util.CompressionCodec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Azure block blob uploads (staged blocks committed as a list) and ranged downloads
+ */
+class AzureBlockStore implements MultipartObjectStore {
+
+    private static final int RANGE_NOT_SATISFIABLE = 416;
+
+    private final BlobContainerClient containerClient;
+
+    AzureBlockStore(BlobContainerClient containerClient) {
+        this.containerClient = containerClient;
+    }
+
+    @Override
+    public String startUpload(String key, Map<String, String> metadata) {
+        // Blocks are staged on the blob itself; the upload ID only keeps block IDs unique
+        return UUID.randomUUID().toString();
+    }
+
+    @Override
+    public String uploadPart(String key, String uploadId, int partNumber, byte[] data, int offset, int length) {
+        // Block IDs of a blob must all have the same length
+        String blockId = Base64.getEncoder().encodeToString(
+                String.format("%s-%06d", uploadId, partNumber).getBytes(StandardCharsets.UTF_8));
+        containerClient.getBlobClient(key).getBlockBlobClient()
+                .stageBlock(blockId, new ByteArrayInputStream(data, offset, length), length);
+        return blockId;
+    }
+
+    @Override
+    public void completeUpload(String key, String uploadId, List<String> partTags, Map<String, String> metadata) {
+        BlobClient blobClient = containerClient.getBlobClient(key);
+        blobClient.getBlockBlobClient().commitBlockList(partTags, true);
+        if (metadata != null && !metadata.isEmpty()) {
+            blobClient.setMetadata(metadata);
+        }
+    }
+
+    @Override
+    public void abortUpload(String key, String uploadId) {
+        // Uncommitted blocks are discarded by the service after a week
+    }
+
+    @Override
+    public RangeRead readRange(String key, long offset, int length, String versionTag) {
+        BlobRequestConditions conditions = versionTag != null ? new BlobRequestConditions().setIfMatch(versionTag) : null;
+        ByteArrayOutputStream output = new ByteArrayOutputStream(length);
+        try {
+            BlobDownloadResponse response = containerClient.getBlobClient(key).downloadStreamWithResponse(
+                    output, new BlobRange(offset, (long) length), null, conditions, false, null, Context.NONE);
+            return new RangeRead(output.toByteArray(),
+                    RangeRead.parseTotalSize(response.getDeserializedHeaders().getContentRange()),
+                    response.getDeserializedHeaders().getETag());
+        } catch (BlobStorageException e) {
+            // A range cannot be satisfied by an empty blob
+            if (e.getStatusCode() == RANGE_NOT_SATISFIABLE && offset == 0) {
+                return new RangeRead(new byte[0], 0, null);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Open a blob for streaming. Reads are conditional on the ETag found now, so they fail
+     * rather than mix in data from a blob overwritten meanwhile.
+     */
+    static StoredObject openBlob(BlobClient blobClient) {
+        BlobProperties properties = blobClient.getProperties();
+        BlobRequestConditions conditions = new BlobRequestConditions().setIfMatch(properties.getETag());
+        Map<String, String> metadata = properties.getMetadata();
+        CompressionCodec codec = CompressionCodec.fromName(metadata != null ? metadata.get(CompressionCodec.METADATA_KEY) : null);
+        return new StoredObject(properties.getBlobSize(), codec,
+                (offset, length) -> blobClient.openInputStream(new BlobRange(offset, length), conditions));
+    }
+}
@@ -92,6 +92,10 @@ public class BatchOperationService {
         for (BatchOperationRequest.FileContent file : request.getFiles()) {
             long startTime = System.currentTimeMillis();
 
+            // Resolved by the validation/conversion services when not given in the request
+            OscalModelType modelType = request.getModelType();
+            OscalFormat format = file.getFormat();
+
             try {
                 Object result;
                 boolean success;
@@ -105,21 +109,42 @@ public class BatchOperationService {
                     valRequest.setFormat(file.getFormat());
 
                     ValidationResult valResult = validationService.validate(valRequest, username);
+                    modelType = valRequest.getModelType();
+                    format = valRequest.getFormat();
                     result = valResult;
                     success = valResult.isValid();
                     if (!success && !valResult.getErrors().isEmpty()) {
                         error = valResult.getErrors().get(0).getMessage();
                     }
 
+                } else if (request.getOperationType() == BatchOperationRequest.BatchOperationType.CONVERT
+                        && request.getToFormats() != null && !request.getToFormats().isEmpty()) {
+                    // Multi-target conversion: one parse per file, targets serialized in parallel
+                    MultiConversionRequest convRequest = new MultiConversionRequest();
+                    convRequest.setContent(file.getContent());
+                    convRequest.setModelType(request.getModelType());
+                    convRequest.setFromFormat(request.getFromFormat() != null ? request.getFromFormat() : file.getFormat());
+                    convRequest.setToFormats(request.getToFormats());
+                    convRequest.setFileName(file.getFilename());
+
+                    MultiConversionResult convResult = conversionService.convertMulti(convRequest, username);
+                    modelType = convRequest.getModelType();
+                    format = convRequest.getFromFormat();
+                    result = convResult;
+                    success = convResult.isSuccess();
+                    error = convResult.getError();
+
                 } else if (request.getOperationType() == BatchOperationRequest.BatchOperationType.CONVERT) {
                     // Conversion operation
                     ConversionRequest convRequest = new ConversionRequest();
                     convRequest.setContent(file.getContent());
                     convRequest.setModelType(request.getModelType());
-                    convRequest.setFromFormat(request.getFromFormat());
+                    convRequest.setFromFormat(request.getFromFormat() != null ? request.getFromFormat() : file.getFormat());
                     convRequest.setToFormat(request.getToFormat());
 
                     ConversionResult convResult = conversionService.convert(convRequest, username);
+                    modelType = convRequest.getModelType();
+                    format = convRequest.getFromFormat();
                     result = convResult;
                     success = convResult.isSuccess();
                     error = convResult.getError();
@@ -132,7 +157,7 @@ public class BatchOperationService {
                 results.add(new BatchOperationResult.FileResult(file.getFilename(), success, error, result, duration));
 
                 // Save individual file to history
-                saveFileToHistory(request, file, success, error, duration, batchOperationId);
+                saveFileToHistory(request, file, modelType, format, success, error, duration, batchOperationId);
 
             } catch (Exception e) {
                 long duration = System.currentTimeMillis() - startTime;
@@ -145,7 +170,8 @@ public class BatchOperationService {
                 ));
 
                 // Save failed file to history
-                saveFileToHistory(request, file, false, e.getMessage(), duration, batchOperationId);
+                saveFileToHistory(request, file, modelType, format, false, e.getMessage(), duration,
+                        batchOperationId);
             }
         }
 
@@ -153,14 +179,15 @@ public class BatchOperationService {
     }
 
     private void saveFileToHistory(BatchOperationRequest request, BatchOperationRequest.FileContent file,
+                                   OscalModelType modelType, OscalFormat format,
                                    boolean success, String error, long durationMs, String batchOperationId) {
         try {
             OperationHistory history = new OperationHistory();
             history.setOperationType("BATCH_" + request.getOperationType().name());
             history.setFileName(file.getFilename());
             history.setSuccess(success);
-            history.setModelType(request.getModelType().getValue());
-            history.setFormat(file.getFormat().toString());
+            history.setModelType(modelType != null ? modelType.getValue() : null);
+            history.setFormat(format != null ? format.toString() : null);
             history.setDurationMs(durationMs);
             history.setBatchOperationId(batchOperationId);
 
@@ -179,7 +206,7 @@ public class BatchOperationService {
             history.setOperationType("BATCH_" + request.getOperationType().name());
             history.setFileName(String.format("Batch (%d files)", result.getTotalFiles()));
             history.setSuccess(result.getFailureCount() == 0);
-            history.setModelType(request.getModelType().getValue());
+            history.setModelType(request.getModelType() != null ? request.getModelType().getValue() : null);
             history.setDurationMs(result.getTotalDurationMs());
             history.setFileCount(result.getTotalFiles());
             history.setBatchOperationId(result.getOperationId());
@@ -0,0 +1,55 @@
+package gov.nist.oscal.tools.api.service;
+
+import gov.nist.oscal.tools.api.model.StoredContent;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a blocking {@link StorageService} on a small dedicated pool, for providers whose SDK has
+ * no non-blocking client (Google Cloud Storage). Callers still get futures and request threads
+ * are not held, but each operation in flight occupies a pool thread.
+ */
+class BlockingAsyncStorage implements AsyncStorageService, AutoCloseable {
+
+    private final StorageService delegate;
+    private final ExecutorService executor;
+
+    BlockingAsyncStorage(StorageService delegate, int threads) {
+        this.delegate = delegate;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "oscal-storage-io-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public CompletableFuture<String> uploadObject(String key, String content, Map<String, String> metadata) {
+        return CompletableFuture.supplyAsync(() -> delegate.uploadObject(key, content, metadata), executor);
+    }
+
+    @Override
+    public CompletableFuture<StoredContent> downloadStored(String key) {
+        return CompletableFuture.supplyAsync(() -> delegate.downloadStored(key), executor);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteObject(String key) {
+        return CompletableFuture.supplyAsync(() -> delegate.deleteComponent(key), executor);
+    }
+
+    @Override
+    public String getStorageProvider() {
+        return delegate.getStorageProvider() + " (thread pool)";
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
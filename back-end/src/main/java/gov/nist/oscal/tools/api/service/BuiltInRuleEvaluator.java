@@ -0,0 +1,650 @@
+package gov.nist.oscal.tools.api.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import gov.nist.oscal.tools.api.model.OscalFormat;
+import gov.nist.oscal.tools.api.model.OscalModelType;
+import gov.nist.oscal.tools.api.model.RuleEvaluationStats;
+import gov.nist.oscal.tools.api.model.ValidationError;
+import gov.nist.oscal.tools.api.model.ValidationRule;
+
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Runs the built-in rule catalog against a document in one streaming pass.
+ *
+ * The document is read with a Jackson token stream (JSON/YAML) or StAX (XML) and reduced to
+ * the same sequence of object start/end and named-value events, so one set of checks serves
+ * every format. Checks register interest by node name; at each event only the checks for that
+ * name run, so a pass is O(document size) however many rules apply. XML attributes and
+ * text-only elements are values; JSON array members take the XML element name of the group
+ * ("controls" -> "control", "addresses" -> "address") so paths line up across formats.
+ *
+ * Time spent in each rule's checks is accumulated across passes and exposed through
+ * {@link #getStats()}.
+ */
+public class BuiltInRuleEvaluator {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final YAMLFactory YAML_FACTORY = new YAMLFactory();
+    private static final XMLInputFactory XML_INPUT_FACTORY = newXmlInputFactory();
+
+    // JSON group-as names whose members carry a different XML element name
+    private static final Map<String, String> MEMBER_NAMES = memberNames();
+
+    // Dispatch key for checks on the document's root assembly
+    private static final String ROOT = "/";
+
+    private final List<RegisteredCheck> checks = new ArrayList<>();
+    private final Map<String, RuleCounters> countersByRule = new LinkedHashMap<>();
+    private final Map<OscalModelType, DispatchTable> tables = new ConcurrentHashMap<>();
+    private final LongAdder documentsEvaluated = new LongAdder();
+
+    /**
+     * Register an executable check for a catalog rule, applied to all of the rule's model types
+     */
+    public void register(ValidationRule rule, Check check) {
+        register(rule, check, rule.getApplicableModelTypes());
+    }
+
+    /**
+     * Register an executable check for a catalog rule, applied only to the given model types.
+     * A rule may have several checks (e.g. one per model type); their statistics are combined.
+     */
+    public void register(ValidationRule rule, Check check, List<OscalModelType> modelTypes) {
+        RuleCounters counters = countersByRule.computeIfAbsent(rule.getId(), RuleCounters::new);
+        checks.add(new RegisteredCheck(checks.size(), rule, check, modelTypes, counters));
+        tables.clear();
+    }
+
+    /**
+     * Evaluate every registered check applicable to the model type in a single pass
+     *
+     * @param content The document content
+     * @param format The document format
+     * @param modelType The OSCAL model type
+     * @return The findings, one per violation, carrying the rule's severity
+     */
+    public List<ValidationError> evaluate(Reader content, OscalFormat format, OscalModelType modelType) {
+        DispatchTable table = tables.computeIfAbsent(modelType, this::buildTable);
+        Pass pass = new Pass(table);
+
+        try {
+            if (format == OscalFormat.XML) {
+                walkXml(content, pass);
+            } else {
+                walkJson(content, format == OscalFormat.YAML ? YAML_FACTORY : JSON_FACTORY, pass);
+            }
+        } catch (JsonProcessingException e) {
+            JsonLocation location = e.getLocation();
+            pass.malformed(format, e.getOriginalMessage(),
+                location != null ? location.getLineNr() : null, location != null ? location.getColumnNr() : null);
+        } catch (XMLStreamException e) {
+            Location location = e.getLocation();
+            pass.malformed(format, e.getMessage(),
+                location != null ? location.getLineNumber() : null, location != null ? location.getColumnNumber() : null);
+        } catch (IOException e) {
+            pass.malformed(format, e.getMessage(), null, null);
+        }
+
+        documentsEvaluated.increment();
+        for (RuleCounters counters : table.rules) {
+            counters.documents.increment();
+        }
+        for (RegisteredCheck check : table.applicable) {
+            check.counters.record(pass.nanos[check.index], pass.invocations[check.index],
+                pass.findingCounts[check.index]);
+        }
+        return pass.findings;
+    }
+
+    /**
+     * Cumulative evaluation statistics per rule, in registration order
+     */
+    public Map<String, RuleEvaluationStats> getStats() {
+        Map<String, RuleEvaluationStats> stats = new LinkedHashMap<>();
+        for (RuleCounters counters : countersByRule.values()) {
+            stats.put(counters.ruleId, counters.snapshot());
+        }
+        return stats;
+    }
+
+    public long getDocumentsEvaluated() {
+        return documentsEvaluated.sum();
+    }
+
+    private DispatchTable buildTable(OscalModelType modelType) {
+        DispatchTable table = new DispatchTable();
+        for (RegisteredCheck registered : checks) {
+            if (registered.modelTypes.contains(modelType)) {
+                table.add(registered);
+            }
+        }
+        return table;
+    }
+
+    // ---------------------------------------------------------------------------------------
+    // Document walkers
+    // ---------------------------------------------------------------------------------------
+
+    private static void walkJson(Reader content, JsonFactory factory, Pass pass) throws IOException {
+        try (JsonParser parser = factory.createParser(content)) {
+            JsonToken token = parser.nextToken();
+            if (token != JsonToken.START_OBJECT) {
+                return;
+            }
+            // The outer object wraps the root assembly ({"catalog": {...}}); its fields are not a frame
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                jsonValue(parser, parser.nextToken(), name, pass);
+            }
+        }
+    }
+
+    private static void jsonValue(JsonParser parser, JsonToken token, String name, Pass pass) throws IOException {
+        switch (token) {
+            case START_OBJECT:
+                JsonLocation start = parser.currentTokenLocation();
+                pass.startObject(name, start.getLineNr(), start.getColumnNr());
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    jsonValue(parser, parser.nextToken(), field, pass);
+                }
+                pass.endObject();
+                break;
+            case START_ARRAY:
+                String member = singular(name);
+                JsonToken next;
+                while ((next = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    jsonValue(parser, next, member, pass);
+                }
+                break;
+            default:
+                JsonLocation location = parser.currentTokenLocation();
+                pass.value(name, parser.getText(), location.getLineNr(), location.getColumnNr());
+                break;
+        }
+    }
+
+    private static void walkXml(Reader content, Pass pass) throws XMLStreamException {
+        XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(content);
+        try {
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        Location location = reader.getLocation();
+                        int line = location.getLineNumber();
+                        int column = location.getColumnNumber();
+                        pass.startElement(reader.getLocalName(), line, column);
+                        for (int i = 0; i < reader.getAttributeCount(); i++) {
+                            pass.value(reader.getAttributeLocalName(i), reader.getAttributeValue(i), line, column);
+                        }
+                        break;
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.CDATA:
+                        pass.text(reader.getText());
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        pass.endElement();
+                        break;
+                    default:
+                        break;
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Map a JSON group-as name to the name of one member ("parties" -> "party"). Names OSCAL
+     * uses for both the JSON array and the XML element, such as "include-controls", map to
+     * themselves.
+     */
+    static String singular(String groupName) {
+        return MEMBER_NAMES.getOrDefault(groupName, groupName);
+    }
+
+    private static Map<String, String> memberNames() {
+        String[][] pairs = {
+            // metadata and common
+            {"props", "prop"}, {"links", "link"}, {"revisions", "revision"}, {"document-ids", "document-id"},
+            {"roles", "role"}, {"locations", "location"}, {"parties", "party"},
+            {"responsible-parties", "responsible-party"}, {"responsible-roles", "responsible-role"},
+            {"actions", "action"}, {"addresses", "address"}, {"addr-lines", "addr-line"},
+            {"email-addresses", "email-address"}, {"telephone-numbers", "telephone-number"},
+            {"urls", "url"}, {"external-ids", "external-id"},
+            {"member-of-organizations", "member-of-organization"}, {"location-uuids", "location-uuid"},
+            {"party-uuids", "party-uuid"}, {"role-ids", "role-id"},
+            // back-matter
+            {"resources", "resource"}, {"rlinks", "rlink"}, {"hashes", "hash"},
+            // catalog
+            {"groups", "group"}, {"controls", "control"}, {"params", "param"}, {"parts", "part"},
+            {"guidelines", "guideline"}, {"values", "value"}, {"constraints", "constraint"},
+            {"tests", "test"},
+            // profile
+            {"imports", "import"}, {"with-ids", "with-id"}, {"set-parameters", "set-parameter"},
+            {"alters", "alter"}, {"removes", "remove"}, {"adds", "add"},
+            // component definition and SSP
+            {"components", "component"}, {"capabilities", "capability"},
+            {"incorporates-components", "incorporates-component"},
+            {"import-component-definitions", "import-component-definition"},
+            {"control-implementations", "control-implementation"},
+            {"implemented-requirements", "implemented-requirement"}, {"statements", "statement"},
+            {"by-components", "by-component"}, {"protocols", "protocol"}, {"port-ranges", "port-range"},
+            {"responsibilities", "responsibility"}, {"system-ids", "system-id"},
+            {"information-types", "information-type"}, {"categorizations", "categorization"},
+            {"information-type-ids", "information-type-id"}, {"users", "user"},
+            {"authorized-privileges", "authorized-privilege"}, {"functions-performed", "function-performed"},
+            {"inventory-items", "inventory-item"}, {"implemented-components", "implemented-component"},
+            {"leveraged-authorizations", "leveraged-authorization"}, {"diagrams", "diagram"},
+            // assessment and POA&M
+            {"tasks", "task"}, {"activities", "activity"}, {"steps", "step"},
+            {"associated-activities", "associated-activity"}, {"dependencies", "dependency"},
+            {"assessment-subjects", "assessment-subject"}, {"assessment-platforms", "assessment-platform"},
+            {"uses-components", "uses-component"}, {"include-subjects", "include-subject"},
+            {"exclude-subjects", "exclude-subject"}, {"include-objectives", "include-objective"},
+            {"exclude-objectives", "exclude-objective"}, {"control-selections", "control-selection"},
+            {"control-objective-selections", "control-objective-selection"}, {"subjects", "subject"},
+            {"results", "result"}, {"findings", "finding"}, {"observations", "observation"},
+            {"risks", "risk"}, {"origins", "origin"}, {"actors", "actor"}, {"methods", "method"},
+            {"types", "type"}, {"related-tasks", "related-task"}, {"related-observations", "related-observation"},
+            {"related-risks", "related-risk"}, {"related-findings", "related-finding"},
+            {"related-responses", "related-response"}, {"threat-ids", "threat-id"},
+            {"characterizations", "characterization"}, {"facets", "facet"},
+            {"mitigating-factors", "mitigating-factor"}, {"remediations", "response"},
+            {"required-assets", "required-asset"}, {"entries", "entry"}, {"attestations", "attestation"},
+            {"poam-items", "poam-item"},
+        };
+        Map<String, String> names = new HashMap<>();
+        for (String[] pair : pairs) {
+            names.put(pair[0], pair[1]);
+        }
+        return Map.copyOf(names);
+    }
+
+    private static XMLInputFactory newXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    // ---------------------------------------------------------------------------------------
+    // Checks
+    // ---------------------------------------------------------------------------------------
+
+    /**
+     * Every object named {@code objectName} must have a child named {@code childName}
+     */
+    public static Check requireChild(String objectName, String childName) {
+        return new RequiredChild(objectName, childName);
+    }
+
+    /**
+     * The root assembly must have a child named {@code childName}
+     */
+    public static Check requireRootChild(String childName) {
+        return new RequiredChild(ROOT, childName);
+    }
+
+    /**
+     * Every value named {@code valueName} (optionally only under {@code parentName}) must match the pattern
+     */
+    public static Check matchValue(String parentName, String valueName, String regex, String description) {
+        Pattern pattern = Pattern.compile(regex);
+        return new ValueCheck(parentName, valueName) {
+            @Override
+            String check(String value, Set<String> seen) {
+                return pattern.matcher(value).matches() ? null
+                    : "Value '" + value + "' is not " + description;
+            }
+        };
+    }
+
+    /**
+     * Values named {@code valueName} under {@code parentName} must not repeat within the document
+     */
+    public static Check uniqueValue(String parentName, String valueName) {
+        return new ValueCheck(parentName, valueName) {
+            @Override
+            String check(String value, Set<String> seen) {
+                return seen.add(value) ? null : "Duplicate value '" + value + "'";
+            }
+
+            @Override
+            boolean tracksValues() {
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Values named {@code valueName} under {@code parentName} must be one of the allowed values
+     */
+    public static Check allowedValues(String parentName, String valueName, String... allowed) {
+        Set<String> values = new HashSet<>(Arrays.asList(allowed));
+        return new ValueCheck(parentName, valueName) {
+            @Override
+            String check(String value, Set<String> seen) {
+                return values.contains(value) ? null
+                    : "Value '" + value + "' is not one of " + String.join(", ", allowed);
+            }
+        };
+    }
+
+    /**
+     * The document must be well-formed in the given format
+     */
+    public static Check wellFormed(OscalFormat format) {
+        return new WellFormed(format);
+    }
+
+    /**
+     * An executable rule check. Instances are created with the static factory methods.
+     */
+    public abstract static class Check {
+        private Check() {
+        }
+    }
+
+    private static final class RequiredChild extends Check {
+        private final String objectName;
+        private final String childName;
+
+        RequiredChild(String objectName, String childName) {
+            this.objectName = objectName;
+            this.childName = childName;
+        }
+    }
+
+    private abstract static class ValueCheck extends Check {
+        private final String parentName;
+        private final String valueName;
+
+        ValueCheck(String parentName, String valueName) {
+            this.parentName = parentName;
+            this.valueName = valueName;
+        }
+
+        /**
+         * @return A violation message, or null if the value passes
+         */
+        abstract String check(String value, Set<String> seen);
+
+        boolean tracksValues() {
+            return false;
+        }
+    }
+
+    private static final class WellFormed extends Check {
+        private final OscalFormat format;
+
+        WellFormed(OscalFormat format) {
+            this.format = format;
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------
+    // Dispatch and per-pass state
+    // ---------------------------------------------------------------------------------------
+
+    private static final class RuleCounters {
+        private final String ruleId;
+        private final LongAdder documents = new LongAdder();
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder findings = new LongAdder();
+
+        RuleCounters(String ruleId) {
+            this.ruleId = ruleId;
+        }
+
+        void record(long passNanos, long passInvocations, long passFindings) {
+            invocations.add(passInvocations);
+            nanos.add(passNanos);
+            findings.add(passFindings);
+        }
+
+        RuleEvaluationStats snapshot() {
+            return new RuleEvaluationStats(ruleId, documents.sum(), invocations.sum(),
+                nanos.sum() / 1000, findings.sum());
+        }
+    }
+
+    private static final class RegisteredCheck {
+        private final int index;
+        private final String ruleId;
+        private final String ruleName;
+        private final String severity;
+        private final Set<OscalModelType> modelTypes;
+        private final Check check;
+        private final RuleCounters counters;
+
+        RegisteredCheck(int index, ValidationRule rule, Check check, List<OscalModelType> modelTypes,
+                        RuleCounters counters) {
+            this.index = index;
+            this.ruleId = rule.getId();
+            this.ruleName = rule.getName();
+            this.severity = rule.getSeverity().getValue();
+            this.modelTypes = new HashSet<>(modelTypes);
+            this.check = check;
+            this.counters = counters;
+        }
+
+        ValidationError finding(String detail, String path, Integer line, Integer column) {
+            return new ValidationError(line, column, "[" + ruleId + "] " + ruleName + ": " + detail, severity, path);
+        }
+    }
+
+    private static final class DispatchTable {
+        private final List<RegisteredCheck> applicable = new ArrayList<>();
+        private final Set<RuleCounters> rules = new LinkedHashSet<>();
+        private final Map<String, List<RegisteredCheck>> requiredByObject = new HashMap<>();
+        private final Map<String, List<RegisteredCheck>> valueChecksByName = new HashMap<>();
+        private final Map<OscalFormat, RegisteredCheck> wellFormedByFormat = new HashMap<>();
+
+        void add(RegisteredCheck registered) {
+            applicable.add(registered);
+            rules.add(registered.counters);
+            Check check = registered.check;
+            if (check instanceof RequiredChild) {
+                requiredByObject.computeIfAbsent(((RequiredChild) check).objectName, k -> new ArrayList<>())
+                    .add(registered);
+            } else if (check instanceof ValueCheck) {
+                valueChecksByName.computeIfAbsent(((ValueCheck) check).valueName, k -> new ArrayList<>())
+                    .add(registered);
+            } else if (check instanceof WellFormed) {
+                wellFormedByFormat.put(((WellFormed) check).format, registered);
+            }
+        }
+    }
+
+    private static final class Frame {
+        private final String name;
+        private final String parentName;
+        private final int line;
+        private final int column;
+        // Only allocated when some rule requires children of this object
+        private final Set<String> children;
+        // XML only: character content, collected when some rule checks this element's value
+        private StringBuilder text;
+        private boolean hasChildElements;
+
+        Frame(String name, String parentName, int line, int column, boolean trackChildren) {
+            this.name = name;
+            this.parentName = parentName;
+            this.line = line;
+            this.column = column;
+            this.children = trackChildren ? new HashSet<>() : null;
+        }
+    }
+
+    private static final class Pass {
+        private final DispatchTable table;
+        private final Deque<Frame> frames = new ArrayDeque<>();
+        private final List<ValidationError> findings = new ArrayList<>();
+        private final long[] nanos;
+        private final long[] invocations;
+        private final long[] findingCounts;
+        private final Map<Integer, Set<String>> seenValues = new HashMap<>();
+
+        Pass(DispatchTable table) {
+            this.table = table;
+            int size = table.applicable.isEmpty() ? 0
+                : table.applicable.get(table.applicable.size() - 1).index + 1;
+            this.nanos = new long[size];
+            this.invocations = new long[size];
+            this.findingCounts = new long[size];
+        }
+
+        void startObject(String name, int line, int column) {
+            Frame parent = frames.peek();
+            if (parent != null && parent.children != null) {
+                parent.children.add(name);
+            }
+            String key = parent == null ? ROOT : name;
+            frames.push(new Frame(name, parent != null ? parent.name : null, line, column,
+                table.requiredByObject.containsKey(key)));
+        }
+
+        void endObject() {
+            finish(frames.pop());
+        }
+
+        private void finish(Frame frame) {
+            if (frame.children == null) {
+                return;
+            }
+            List<RegisteredCheck> required = table.requiredByObject.get(frame.parentName == null ? ROOT : frame.name);
+            for (RegisteredCheck registered : required) {
+                long start = System.nanoTime();
+                String childName = ((RequiredChild) registered.check).childName;
+                if (!frame.children.contains(childName)) {
+                    report(registered, "Missing required '" + childName + "'", path(frame), frame.line, frame.column);
+                }
+                elapsed(registered, start);
+            }
+        }
+
+        void startElement(String name, int line, int column) {
+            Frame parent = frames.peek();
+            if (parent != null) {
+                parent.hasChildElements = true;
+            }
+            startObject(name, line, column);
+            Frame frame = frames.peek();
+            if (table.valueChecksByName.containsKey(name)) {
+                frame.text = new StringBuilder();
+            }
+        }
+
+        void text(String characters) {
+            Frame frame = frames.peek();
+            if (frame != null && frame.text != null) {
+                frame.text.append(characters);
+            }
+        }
+
+        void endElement() {
+            Frame frame = frames.pop();
+            // Text-only elements are values of their parent, like JSON scalar fields
+            if (frame.text != null && !frame.hasChildElements) {
+                dispatchValue(frame.name, frame.parentName, frame.text.toString().trim(), frame.line, frame.column);
+            }
+            finish(frame);
+        }
+
+        void value(String name, String text, int line, int column) {
+            Frame parent = frames.peek();
+            if (parent == null) {
+                return;
+            }
+            if (parent.children != null) {
+                parent.children.add(name);
+            }
+            dispatchValue(name, parent.name, text, line, column);
+        }
+
+        private void dispatchValue(String name, String parentName, String text, int line, int column) {
+            List<RegisteredCheck> checks = table.valueChecksByName.get(name);
+            if (checks == null) {
+                return;
+            }
+            for (RegisteredCheck registered : checks) {
+                ValueCheck check = (ValueCheck) registered.check;
+                if (check.parentName != null && !check.parentName.equals(parentName)) {
+                    continue;
+                }
+                long start = System.nanoTime();
+                Set<String> seen = check.tracksValues()
+                    ? seenValues.computeIfAbsent(registered.index, k -> new HashSet<>()) : null;
+                String violation = check.check(text, seen);
+                if (violation != null) {
+                    report(registered, violation, path(frames.peek()) + "/" + name, line, column);
+                }
+                elapsed(registered, start);
+            }
+        }
+
+        void malformed(OscalFormat format, String message, Integer line, Integer column) {
+            RegisteredCheck registered = table.wellFormedByFormat.get(format);
+            if (registered != null) {
+                report(registered, message, null, line, column);
+                invocations[registered.index]++;
+            }
+        }
+
+        private void report(RegisteredCheck registered, String detail, String path, Integer line, Integer column) {
+            findings.add(registered.finding(detail, path, line, column));
+            findingCounts[registered.index]++;
+        }
+
+        private void elapsed(RegisteredCheck registered, long start) {
+            nanos[registered.index] += System.nanoTime() - start;
+            invocations[registered.index]++;
+        }
+
+        /**
+         * Path of the given frame, built only when a finding is reported
+         */
+        private String path(Frame frame) {
+            StringBuilder path = new StringBuilder();
+            Iterator<Frame> iterator = frames.descendingIterator();
+            while (iterator.hasNext()) {
+                path.append('/').append(iterator.next().name);
+            }
+            // endObject() reports after popping, so the frame itself may no longer be on the stack
+            if (frame != null && frames.peek() != frame) {
+                path.append('/').append(frame.name);
+            }
+            return path.toString();
+        }
+    }
+}
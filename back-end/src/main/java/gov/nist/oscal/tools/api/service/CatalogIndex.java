@@ -0,0 +1,316 @@
+package gov.nist.oscal.tools.api.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Immutable index of the controls of one catalog version, for control id lookups without walking
+ * the catalog's JSON tree.
+ *
+ * The structure is held in parallel arrays indexed by control position, in document order:
+ * interned control ids, titles, and primitive int arrays for the parent, first child, next
+ * sibling and family of each control. A control's family is the top-level group it is in, with
+ * the group's id and title, rather than a guess from its id. The rest of each control (params,
+ * parts, props, links) is kept as compact UTF-8 JSON, without its child controls, and only
+ * decoded when the control is looked up.
+ */
+public final class CatalogIndex {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final int NONE = -1;
+
+    // Object header and reference per String, plus the array slots per control
+    private static final int STRING_OVERHEAD = 40;
+    private static final int CONTROL_OVERHEAD = 6 * Integer.BYTES + 4 * 8;
+
+    /**
+     * A looked up control
+     *
+     * @param familyId    Id of the top-level group the control is in, null if it is not in a group
+     * @param familyTitle Title of that group
+     * @param parentId    Id of the parent control, null for a control directly in a group or the catalog
+     * @param childIds    Ids of the control's child controls (enhancements)
+     * @param control     The control's content, without its child controls
+     */
+    public record Control(String id, String title, String familyId, String familyTitle, String parentId,
+                          List<String> childIds, JsonNode control) {
+
+        /**
+         * The control's params, an empty array if it has none
+         */
+        public JsonNode params() {
+            return control.path("params");
+        }
+
+        /**
+         * The control's parts, an empty array if it has none
+         */
+        public JsonNode parts() {
+            return control.path("parts");
+        }
+    }
+
+    /**
+     * A family, with the number of controls in it, child controls included
+     */
+    public record Family(String id, String title, int controlCount) {
+    }
+
+    private final String[] ids;
+    private final String[] titles;
+    private final int[] parents;
+    private final int[] firstChildren;
+    private final int[] nextSiblings;
+    private final int[] families;
+    private final String[] familyIds;
+    private final String[] familyTitles;
+    private final byte[][] contents;
+    // Control positions sorted by id, for binary search
+    private final int[] byId;
+    private final long estimatedBytes;
+
+    private CatalogIndex(Builder builder) {
+        int size = builder.ids.size();
+        this.ids = builder.ids.toArray(new String[0]);
+        this.titles = builder.titles.toArray(new String[0]);
+        this.parents = Arrays.copyOf(builder.parents, size);
+        this.firstChildren = Arrays.copyOf(builder.firstChildren, size);
+        this.nextSiblings = Arrays.copyOf(builder.nextSiblings, size);
+        this.families = Arrays.copyOf(builder.families, size);
+        this.familyIds = builder.familyIds.toArray(new String[0]);
+        this.familyTitles = builder.familyTitles.toArray(new String[0]);
+        this.contents = builder.contents.toArray(new byte[0][]);
+
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        // Stable, so the first of duplicate ids is found
+        Arrays.sort(order, Comparator.comparing(i -> ids[i]));
+        this.byId = new int[size];
+        for (int i = 0; i < size; i++) {
+            byId[i] = order[i];
+        }
+
+        long bytes = 64 + (long) size * (CONTROL_OVERHEAD + Integer.BYTES);
+        for (int i = 0; i < size; i++) {
+            bytes += STRING_OVERHEAD + ids[i].length() + contents[i].length;
+            bytes += titles[i] != null ? STRING_OVERHEAD + titles[i].length() : 0;
+        }
+        for (int i = 0; i < familyIds.length; i++) {
+            bytes += 2L * STRING_OVERHEAD + familyIds[i].length() + familyTitles[i].length();
+        }
+        this.estimatedBytes = bytes;
+    }
+
+    /**
+     * Build the index of a catalog
+     *
+     * @param catalogDocument Root of the OSCAL JSON catalog document
+     * @throws IllegalArgumentException if the document is not a catalog
+     */
+    public static CatalogIndex build(JsonNode catalogDocument) {
+        JsonNode catalog = catalogDocument.path("catalog");
+        if (!catalog.isObject()) {
+            throw new IllegalArgumentException("Document is not an OSCAL catalog");
+        }
+        Builder builder = new Builder();
+        builder.addControls(catalog.path("controls"), NONE, NONE);
+        for (JsonNode group : catalog.path("groups")) {
+            int family = builder.addFamily(group);
+            builder.addGroup(group, family);
+        }
+        return new CatalogIndex(builder);
+    }
+
+    /**
+     * Look up a control by id
+     */
+    public Optional<Control> find(String controlId) {
+        int position = indexOf(controlId);
+        return position == NONE ? Optional.empty() : Optional.of(control(position));
+    }
+
+    public boolean contains(String controlId) {
+        return indexOf(controlId) != NONE;
+    }
+
+    /**
+     * Id of the family (top-level group) a control is in, or null if the control is not indexed
+     * or not in a group
+     */
+    public String familyIdOf(String controlId) {
+        int position = indexOf(controlId);
+        return position == NONE || families[position] == NONE ? null : familyIds[families[position]];
+    }
+
+    /**
+     * Title of the family (top-level group) a control is in, or null if the control is not indexed
+     * or not in a group
+     */
+    public String familyTitleOf(String controlId) {
+        int position = indexOf(controlId);
+        return position == NONE || families[position] == NONE ? null : familyTitles[families[position]];
+    }
+
+    /**
+     * The families of the catalog, in document order
+     */
+    public List<Family> families() {
+        int[] counts = new int[familyIds.length];
+        for (int family : families) {
+            if (family != NONE) {
+                counts[family]++;
+            }
+        }
+        List<Family> result = new ArrayList<>(familyIds.length);
+        for (int i = 0; i < familyIds.length; i++) {
+            result.add(new Family(familyIds[i], familyTitles[i], counts[i]));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Number of controls, child controls included
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Approximate heap used by the index, for cache weighing
+     */
+    public long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    private int indexOf(String controlId) {
+        if (controlId == null) {
+            return NONE;
+        }
+        int low = 0;
+        int high = byId.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = ids[byId[middle]].compareTo(controlId);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                // Step back to the first control with the id
+                while (middle > 0 && ids[byId[middle - 1]].equals(controlId)) {
+                    middle--;
+                }
+                return byId[middle];
+            }
+        }
+        return NONE;
+    }
+
+    private Control control(int position) {
+        List<String> childIds = new ArrayList<>();
+        for (int child = firstChildren[position]; child != NONE; child = nextSiblings[child]) {
+            childIds.add(ids[child]);
+        }
+        int family = families[position];
+        JsonNode content;
+        try {
+            content = MAPPER.readTree(contents[position]);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Control(ids[position], titles[position],
+                family != NONE ? familyIds[family] : null,
+                family != NONE ? familyTitles[family] : null,
+                parents[position] != NONE ? ids[parents[position]] : null,
+                Collections.unmodifiableList(childIds), content);
+    }
+
+    private static final class Builder {
+
+        private final List<String> ids = new ArrayList<>();
+        private final List<String> titles = new ArrayList<>();
+        private final List<byte[]> contents = new ArrayList<>();
+        private final List<String> familyIds = new ArrayList<>();
+        private final List<String> familyTitles = new ArrayList<>();
+        private int[] parents = new int[64];
+        private int[] firstChildren = new int[64];
+        private int[] nextSiblings = new int[64];
+        private int[] families = new int[64];
+
+        int addFamily(JsonNode group) {
+            familyIds.add(intern(group.path("id").asText("")));
+            familyTitles.add(intern(group.path("title").asText("")));
+            return familyIds.size() - 1;
+        }
+
+        void addGroup(JsonNode group, int family) {
+            addControls(group.path("controls"), NONE, family);
+            for (JsonNode subgroup : group.path("groups")) {
+                addGroup(subgroup, family);
+            }
+        }
+
+        void addControls(JsonNode controls, int parent, int family) {
+            int previous = NONE;
+            for (JsonNode control : controls) {
+                int position = add(control, parent, family);
+                if (previous != NONE) {
+                    nextSiblings[previous] = position;
+                } else if (parent != NONE) {
+                    firstChildren[parent] = position;
+                }
+                previous = position;
+                addControls(control.path("controls"), position, family);
+            }
+        }
+
+        private int add(JsonNode control, int parent, int family) {
+            int position = ids.size();
+            if (position == parents.length) {
+                int capacity = position * 2;
+                parents = Arrays.copyOf(parents, capacity);
+                firstChildren = Arrays.copyOf(firstChildren, capacity);
+                nextSiblings = Arrays.copyOf(nextSiblings, capacity);
+                families = Arrays.copyOf(families, capacity);
+            }
+            ids.add(intern(control.path("id").asText("")));
+            titles.add(control.has("title") ? control.get("title").asText() : null);
+            parents[position] = parent;
+            firstChildren[position] = NONE;
+            nextSiblings[position] = NONE;
+            families[position] = family;
+
+            // Child controls are indexed on their own
+            ObjectNode content = MAPPER.createObjectNode();
+            control.fields().forEachRemaining(field -> {
+                if (!"controls".equals(field.getKey())) {
+                    content.set(field.getKey(), field.getValue());
+                }
+            });
+            try {
+                contents.add(MAPPER.writeValueAsBytes(content));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return position;
+        }
+
+        // Ids and family names repeat across catalog versions and baselines of the same catalog
+        private static String intern(String value) {
+            return value != null ? value.intern() : null;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package gov.nist.oscal.tools.api.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import gov.nist.oscal.tools.api.service.CatalogSourceService.SourceVersion;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds and caches a {@link CatalogIndex} per catalog version, for control id lookups.
+ *
+ * Catalogs are found the way profile imports are, through {@link CatalogSourceService}: a
+ * {@code library:<itemId>} href, or the file name of a catalog in the catalog directory or the
+ * library. Indexes are keyed on the source and the SHA-256 of its content, so a new version of a
+ * catalog gets a new index and the replaced one ages out. Entries are evicted by total weight,
+ * estimated from each index's size. Hit/miss/eviction metrics are published to Micrometer under
+ * the "catalog.index" cache name.
+ */
+@Service
+public class CatalogIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogIndexService.class);
+
+    public static final String CACHE_NAME = "catalog.index";
+
+    private final CatalogSourceService catalogSourceService;
+    private final boolean enabled;
+    private final Cache<String, CatalogIndex> cache;
+
+    @Autowired
+    public CatalogIndexService(
+            CatalogSourceService catalogSourceService,
+            @Value("${catalog.index.enabled:true}") boolean enabled,
+            @Value("${catalog.index.max-weight-bytes:67108864}") long maxWeightBytes,
+            @Value("${catalog.index.expire-after-access-minutes:1440}") long expireAfterAccessMinutes,
+            MeterRegistry meterRegistry) {
+        this.catalogSourceService = catalogSourceService;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher((String key, CatalogIndex index) ->
+                        (int) Math.min(Integer.MAX_VALUE, 2L * key.length() + index.estimatedBytes()))
+                .expireAfterAccess(expireAfterAccessMinutes, TimeUnit.MINUTES)
+                .recordStats()
+                .build();
+
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        }
+
+        logger.info("Catalog index cache {} (max weight: {} bytes)", enabled ? "enabled" : "disabled", maxWeightBytes);
+    }
+
+    /**
+     * The index of the current version of a library catalog
+     *
+     * @throws IOException if the item does not exist or its content cannot be read
+     * @throws IllegalArgumentException if the item is not a catalog
+     */
+    public CatalogIndex getLibraryIndex(String itemId) throws IOException {
+        return getIndex(CatalogSourceService.librarySourceId(itemId));
+    }
+
+    /**
+     * Look up a control of the current version of a library catalog
+     *
+     * @throws IOException if the item does not exist or its content cannot be read
+     * @throws IllegalArgumentException if the item is not a catalog
+     */
+    public Optional<CatalogIndex.Control> findControl(String itemId, String controlId) throws IOException {
+        return getLibraryIndex(itemId).find(controlId);
+    }
+
+    /**
+     * The index of the catalog an href refers to
+     *
+     * @param href A catalog reference as used in profile imports
+     * @throws IOException if the href cannot be resolved or the catalog cannot be read
+     * @throws IllegalArgumentException if the href refers to something other than a catalog
+     */
+    public CatalogIndex getIndex(String href) throws IOException {
+        if (!enabled) {
+            return build(href, catalogSourceService.load(href));
+        }
+        CatalogIndex index = cache.getIfPresent(cacheKey(catalogSourceService.currentVersion(href)));
+        if (index != null) {
+            return index;
+        }
+
+        // Keyed on the version actually loaded, which may be newer than the one looked up
+        SourceVersion[] loaded = new SourceVersion[1];
+        JsonNode document = catalogSourceService.load(href, version -> loaded[0] = version);
+        // Through the map view, so the lookup above stays the only one counted in the stats
+        return cache.asMap().computeIfAbsent(cacheKey(loaded[0]), ignored -> build(href, document));
+    }
+
+    /**
+     * Remove all cached indexes
+     *
+     * @return Number of entries removed
+     */
+    public long invalidateAll() {
+        long size = cache.estimatedSize();
+        cache.invalidateAll();
+        cache.cleanUp();
+        logger.info("Flushed catalog index cache ({} entries)", size);
+        return size;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    public Cache<String, CatalogIndex> getNativeCache() {
+        return cache;
+    }
+
+    private static CatalogIndex build(String href, JsonNode document) {
+        if (!document.has("catalog")) {
+            throw new IllegalArgumentException("Not an OSCAL catalog: " + href);
+        }
+        long start = System.nanoTime();
+        CatalogIndex index = CatalogIndex.build(document);
+        logger.debug("Indexed {} controls of {} in {} ms", index.size(), href,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return index;
+    }
+
+    private static String cacheKey(SourceVersion version) {
+        return version.sourceId() + "@" + version.contentHash();
+    }
+}
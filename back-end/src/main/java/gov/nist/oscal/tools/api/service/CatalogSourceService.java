@@ -0,0 +1,352 @@
+package gov.nist.oscal.tools.api.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import gov.nist.oscal.tools.api.entity.LibraryVersion;
+import gov.nist.oscal.tools.api.model.OscalFormat;
+import gov.nist.oscal.tools.api.model.OscalModelType;
+import gov.nist.oscal.tools.api.service.OscalDocumentDetector.DetectedDocument;
+import gov.nist.oscal.tools.api.util.ContentHasher;
+import gov.nist.oscal.tools.api.util.PathSanitizer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Loads the catalogs and profiles that profile imports refer to, for {@link ProfileResolver}.
+ *
+ * An import href is resolved, in order, as:
+ * <ul>
+ *   <li>{@code library:<itemId>}: the current version of a library item</li>
+ *   <li>a file in the local catalog directory with the href's file name</li>
+ *   <li>a library catalog or profile whose current version has the href's file name</li>
+ * </ul>
+ * Remote URLs are never fetched; only their file name is used for the lookups above.
+ *
+ * Parsed documents are cached, keyed on href + SHA-256(content), so resolving any number of
+ * profiles against the same catalog parses it once. A new library version or a changed file has
+ * a different hash and is parsed afresh. The hash of a catalog directory file is reused while its
+ * size and modification time are unchanged, so looking up its current version does not read it.
+ * Entries are evicted by total weight, estimated from the size of the document text.
+ * Hit/miss/eviction metrics are published to Micrometer under the "profile.sources" cache name.
+ */
+@Service
+public class CatalogSourceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSourceService.class);
+
+    public static final String CACHE_NAME = "profile.sources";
+
+    /** Prefix of hrefs naming a library item */
+    public static final String LIBRARY_SCHEME = "library:";
+
+    // A parsed tree takes several times the memory of the document text
+    private static final int TREE_WEIGHT_FACTOR = 4;
+    private static final int BASE_ENTRY_WEIGHT = 512;
+
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+    private static final ObjectMapper YAML_MAPPER = new ObjectMapper(new YAMLFactory());
+
+    private final OscalDeserializationService deserializationService;
+    private final OscalDocumentDetector documentDetector;
+    private final LibraryService libraryService;
+    private final Path catalogDirectory;
+    private final boolean enabled;
+    private final Cache<String, ParsedSource> cache;
+
+    // Catalog directory file -> hash of its content at the recorded size and modification time
+    private final Map<Path, FileVersion> fileVersions = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CatalogSourceService(
+            OscalDeserializationService deserializationService,
+            OscalDocumentDetector documentDetector,
+            LibraryService libraryService,
+            @Value("${profile.resolution.catalog-dir:}") String catalogDir,
+            @Value("${profile.resolution.source-cache.enabled:true}") boolean enabled,
+            @Value("${profile.resolution.source-cache.max-weight-bytes:268435456}") long maxWeightBytes,
+            @Value("${profile.resolution.source-cache.expire-after-access-minutes:1440}") long expireAfterAccessMinutes,
+            MeterRegistry meterRegistry) {
+        this.deserializationService = deserializationService;
+        this.documentDetector = documentDetector;
+        this.libraryService = libraryService;
+        this.catalogDirectory = catalogDir == null || catalogDir.isBlank()
+                ? null : Paths.get(catalogDir).toAbsolutePath().normalize();
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher((String key, ParsedSource parsed) -> (int) Math.min(Integer.MAX_VALUE, weigh(key, parsed)))
+                .expireAfterAccess(expireAfterAccessMinutes, TimeUnit.MINUTES)
+                .recordStats()
+                .build();
+
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        }
+
+        logger.info("Profile source cache {} (catalog dir: {}, max weight: {} bytes)",
+                enabled ? "enabled" : "disabled",
+                catalogDirectory != null ? catalogDirectory : "none", maxWeightBytes);
+    }
+
+    /**
+     * Load the document an import href refers to. The returned tree may be shared and must not
+     * be modified.
+     *
+     * @return Root of the OSCAL JSON document
+     * @throws IOException if the href cannot be resolved or the document cannot be parsed
+     */
+    public JsonNode load(String href) throws IOException {
+        return load(href, loaded -> { });
+    }
+
+    /**
+     * Load the document an import href refers to, reporting the version of the source it was
+     * loaded from
+     *
+     * @param onLoad Receives the source version before the document is returned
+     */
+    public JsonNode load(String href, Consumer<SourceVersion> onLoad) throws IOException {
+        Source source = locate(href);
+        onLoad.accept(source.version());
+        String key = href + "@" + source.version().contentHash();
+        if (!enabled) {
+            return parse(source).document();
+        }
+        try {
+            return cache.get(key, ignored -> {
+                try {
+                    return parse(source);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).document();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * The version of the source an href currently resolves to, without reading library content
+     *
+     * @throws IOException if the href cannot be resolved
+     */
+    public SourceVersion currentVersion(String href) throws IOException {
+        return locate(href).version();
+    }
+
+    /**
+     * Source id of a library item, as recorded in {@link SourceVersion#sourceId()}
+     */
+    public static String librarySourceId(String itemId) {
+        return LIBRARY_SCHEME + itemId;
+    }
+
+    /**
+     * Parse an OSCAL document into its OSCAL JSON tree. JSON and YAML are read as they are; XML
+     * is bound with liboscal and serialized as JSON, since its structure differs.
+     */
+    public JsonNode parseTree(String content, OscalFormat format, OscalModelType modelType) throws IOException {
+        switch (format) {
+            case JSON:
+                return JSON_MAPPER.readTree(content);
+            case YAML:
+                return YAML_MAPPER.readTree(content);
+            case XML:
+                Class<?> modelClass = deserializationService.getModelClass(modelType);
+                return deserializationService.toJsonTree(deserializationService.deserialize(content, format, modelClass));
+            default:
+                throw new IllegalArgumentException("Unsupported format: " + format);
+        }
+    }
+
+    /**
+     * The OSCAL JSON tree of a bound OSCAL object
+     */
+    public JsonNode toTree(Object model, Class<?> modelClass) throws IOException {
+        return deserializationService.toJsonTree(model);
+    }
+
+    /**
+     * Remove all cached source documents
+     *
+     * @return Number of entries removed
+     */
+    public long invalidateAll() {
+        long size = cache.estimatedSize();
+        cache.invalidateAll();
+        cache.cleanUp();
+        logger.info("Flushed profile source cache ({} entries)", size);
+        return size;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    public Cache<String, ParsedSource> getNativeCache() {
+        return cache;
+    }
+
+    /**
+     * The source an import href resolved to, and the SHA-256 of its content
+     *
+     * @param sourceId {@code library:<itemId>} for library items, {@code file:<name>} for catalog directory files
+     */
+    public record SourceVersion(String href, String sourceId, String contentHash) {
+    }
+
+    /**
+     * A located source document. The content is only read when it is not already cached, where
+     * the hash is known without it.
+     */
+    private record Source(SourceVersion version, ContentReader content) {
+        String href() {
+            return version.href();
+        }
+    }
+
+    /**
+     * A parsed document and the length of the text it was parsed from
+     */
+    public record ParsedSource(JsonNode document, long contentLength) {
+    }
+
+    private record FileVersion(long size, FileTime modified, String contentHash) {
+    }
+
+    @FunctionalInterface
+    private interface ContentReader {
+        String read() throws IOException;
+    }
+
+    private Source locate(String href) throws IOException {
+        if (href.startsWith(LIBRARY_SCHEME)) {
+            String itemId = href.substring(LIBRARY_SCHEME.length());
+            LibraryVersion version = libraryService != null
+                    ? libraryService.findCurrentVersion(itemId).orElse(null) : null;
+            if (version == null) {
+                throw new IOException("Library item not found: " + itemId);
+            }
+            return librarySource(href, version);
+        }
+
+        String fileName = fileName(href);
+        if (fileName.isEmpty()) {
+            throw new IOException("Cannot resolve import: " + href);
+        }
+
+        Path localFile = localFile(fileName);
+        if (localFile != null) {
+            return fileSource(href, localFile);
+        }
+
+        Optional<LibraryVersion> version = libraryService != null
+                ? libraryService.findCurrentVersionByFileName(fileName) : Optional.empty();
+        if (version.isPresent()) {
+            return librarySource(href, version.get());
+        }
+        throw new IOException("Cannot resolve import " + href + ": no catalog named " + fileName
+                + " in the library or catalog directory (remote catalogs are not fetched)");
+    }
+
+    private Source fileSource(String href, Path file) throws IOException {
+        String sourceId = "file:" + file.getFileName();
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        FileVersion known = fileVersions.get(file);
+        if (known != null && known.size() == attributes.size() && known.modified().equals(attributes.lastModifiedTime())) {
+            return new Source(new SourceVersion(href, sourceId, known.contentHash()), () -> {
+                String content = Files.readString(file);
+                if (!known.contentHash().equals(ContentHasher.sha256Hex(content))) {
+                    throw new IOException("Catalog file changed while it was being loaded: " + file.getFileName());
+                }
+                return content;
+            });
+        }
+
+        String content = Files.readString(file);
+        String contentHash = ContentHasher.sha256Hex(content);
+        fileVersions.put(file, new FileVersion(attributes.size(), attributes.lastModifiedTime(), contentHash));
+        return new Source(new SourceVersion(href, sourceId, contentHash), () -> content);
+    }
+
+    private Source librarySource(String href, LibraryVersion version) {
+        SourceVersion sourceVersion = new SourceVersion(href,
+                librarySourceId(version.getLibraryItem().getItemId()), libraryService.getContentHash(version));
+        return new Source(sourceVersion, () -> libraryService.getContent(version));
+    }
+
+    private Path localFile(String fileName) {
+        if (catalogDirectory == null) {
+            return null;
+        }
+        try {
+            Path file = PathSanitizer.safeResolve(catalogDirectory, fileName);
+            return Files.isRegularFile(file) ? file : null;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The decoded last path segment of an href, without query or fragment
+     */
+    static String fileName(String href) {
+        String path = href;
+        int end = indexOfAny(path, '?', '#');
+        if (end >= 0) {
+            path = path.substring(0, end);
+        }
+        path = path.substring(Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\')) + 1);
+        return URLDecoder.decode(path, StandardCharsets.UTF_8).trim();
+    }
+
+    private static int indexOfAny(String value, char first, char second) {
+        int a = value.indexOf(first);
+        int b = value.indexOf(second);
+        return a < 0 ? b : b < 0 ? a : Math.min(a, b);
+    }
+
+    private ParsedSource parse(Source source) throws IOException {
+        String content = source.content().read();
+        DetectedDocument detected = documentDetector.detect(content);
+        if (detected.getFormat() == null) {
+            throw new IOException("Import is not a JSON, XML or YAML document: " + source.href());
+        }
+        OscalModelType modelType = detected.getModelType() == OscalModelType.PROFILE
+                ? OscalModelType.PROFILE : OscalModelType.CATALOG;
+        logger.debug("Parsing profile import {} ({} characters)", source.href(), content.length());
+        return new ParsedSource(parseTree(content, detected.getFormat(), modelType), content.length());
+    }
+
+    private static long weigh(String key, ParsedSource parsed) {
+        return BASE_ENTRY_WEIGHT + 2L * key.length() + TREE_WEIGHT_FACTOR * parsed.contentLength();
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
@@ -34,6 +35,12 @@ public class ComponentDefinitionService {
     @Autowired
     private StorageService storageService;
 
+    @Autowired
+    private StorageReadCache readCache;
+
+    @Autowired
+    private StorageUploadQueue uploadQueue;
+
     /**
      * Create a new component definition
      */
@@ -58,17 +65,16 @@ public class ComponentDefinitionService {
             throw new RuntimeException("Component definition with UUID " + oscalUuid + " already exists");
         }
 
-        // Upload JSON content to cloud storage (Azure or S3)
+        // Enqueue the upload of the JSON content to cloud storage (Azure, S3 or GCS)
         String storagePath = storageService.buildPath(username, filename);
         Map<String, String> metadata = new HashMap<>();
         metadata.put("title", title);
         metadata.put("oscalVersion", oscalVersion);
         metadata.put("uploadedBy", username);
 
-        storageService.uploadComponent(username, filename, jsonContent, metadata);
+        uploadQueue.enqueue(StorageUploadQueue.Target.COMPONENT, storagePath, jsonContent, metadata);
 
-        // Get file size
-        long fileSize = storageService.getFileSize(storagePath);
+        long fileSize = jsonContent.getBytes(StandardCharsets.UTF_8).length;
 
         // Create component definition entity
         ComponentDefinition component = new ComponentDefinition(oscalUuid, title, storagePath, user);
@@ -131,9 +137,8 @@ public class ComponentDefinitionService {
 
         // Update JSON content if provided
         if (jsonContent != null) {
-            storageService.uploadComponent(username, component.getFilename(), jsonContent, null);
-            long fileSize = storageService.getFileSize(component.getStoragePath());
-            component.setFileSize(fileSize);
+            uploadQueue.enqueue(StorageUploadQueue.Target.COMPONENT, component.getStoragePath(), jsonContent, null);
+            component.setFileSize((long) jsonContent.getBytes(StandardCharsets.UTF_8).length);
         }
 
         component.setLastUpdatedBy(user);
@@ -160,11 +165,19 @@ public class ComponentDefinitionService {
     }
 
     /**
-     * Get component definition JSON content
+     * Get component definition JSON content. Components are overwritten in place on update, so a
+     * cached copy is only used while its ETag matches the stored one. Content whose upload is
+     * still queued is returned from the queue.
      */
     public String getComponentContent(Long componentId) {
         ComponentDefinition component = getComponentDefinition(componentId);
-        return storageService.downloadComponent(component.getStoragePath());
+        String storagePath = component.getStoragePath();
+        String pendingContent = uploadQueue.getPendingContent(StorageUploadQueue.Target.COMPONENT, storagePath);
+        if (pendingContent != null) {
+            return pendingContent;
+        }
+        return readCache.getValidated(storagePath, storageService.getVersionTag(storagePath),
+                () -> storageService.downloadComponent(storagePath));
     }
 
     /**
@@ -219,8 +232,10 @@ public class ComponentDefinitionService {
             throw new RuntimeException("Only the creator can delete this component definition");
         }
 
-        // Delete from cloud storage
+        // Delete from cloud storage, cancelling any queued upload that would recreate it
+        uploadQueue.cancelUploads(StorageUploadQueue.Target.COMPONENT, component.getStoragePath());
         storageService.deleteComponent(component.getStoragePath());
+        readCache.invalidate(component.getStoragePath());
 
         // Delete from database
         componentRepository.delete(component);
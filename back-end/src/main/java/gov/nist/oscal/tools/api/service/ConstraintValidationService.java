@@ -0,0 +1,273 @@
+package gov.nist.oscal.tools.api.service;
+
+import gov.nist.oscal.tools.api.model.OscalModelType;
+import gov.nist.oscal.tools.api.model.ValidationError;
+import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
+import gov.nist.secauto.metaschema.core.metapath.item.node.IAssemblyNodeItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.IDocumentNodeItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.IModelNodeItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
+import gov.nist.secauto.metaschema.core.model.constraint.ConstraintValidationFinding;
+import gov.nist.secauto.metaschema.core.model.constraint.DefaultConstraintValidator;
+import gov.nist.secauto.metaschema.core.model.constraint.FindingCollectingConstraintValidationHandler;
+import gov.nist.secauto.metaschema.core.model.constraint.IConstraint;
+import gov.nist.secauto.metaschema.core.model.constraint.IConstraintValidationHandler;
+import gov.nist.secauto.metaschema.core.model.constraint.IIndexHasKeyConstraint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Evaluates the Metaschema constraints shipped with liboscal (allowed-values, matches,
+ * expect, index, is-unique, has-cardinality, ...) against a bound OSCAL document.
+ *
+ * Large documents are partitioned by top-level assembly - each child of the root (and of
+ * container assemblies such as an SSP's control-implementation) is validated as its own
+ * subtree on a fork-join pool, while the root and containers themselves are evaluated once
+ * on the calling thread. Document-scoped index and uniqueness constraints are declared on the
+ * root assembly, so they are still evaluated over the whole document by that spine pass.
+ *
+ * Each partition uses its own validator, which is finalized like the single-pass one, so
+ * deferred checks (allowed-values, index-has-key against indexes built in the partition) are
+ * still made. The validator's index state is not thread-safe and cannot be shared between
+ * partitions, so an index-has-key reference from a partition to an index declared on the spine
+ * cannot be resolved; those references are left out of the partition findings and the report
+ * says so. Documents with fewer partitions than the configured minimum, or when parallelism is
+ * 1, are validated in a single pass with full cross-reference checking.
+ */
+@Service
+public class ConstraintValidationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConstraintValidationService.class);
+
+
+    /**
+     * Assemblies whose children are validated as separate partitions rather than as one subtree
+     */
+    private static final Map<OscalModelType, Set<String>> CONTAINER_ASSEMBLIES = new EnumMap<>(OscalModelType.class);
+
+    static {
+        CONTAINER_ASSEMBLIES.put(OscalModelType.SYSTEM_SECURITY_PLAN,
+            Set.of("control-implementation", "system-implementation"));
+    }
+
+    private final boolean enabled;
+    private final int minPartitions;
+    private final ForkJoinPool pool;
+
+    @Autowired
+    public ConstraintValidationService(
+            @Value("${validation.constraints.enabled:true}") boolean enabled,
+            @Value("${validation.constraints.parallelism:0}") int parallelism,
+            @Value("${validation.constraints.min-partitions:16}") int minPartitions) {
+        this.enabled = enabled;
+        this.minPartitions = Math.max(1, minPartitions);
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = threads > 1 ? new ForkJoinPool(threads) : null;
+        logger.info("Metaschema constraint validation {} (parallelism: {}, min partitions: {})",
+                enabled ? "enabled" : "disabled", threads, this.minPartitions);
+    }
+
+    /**
+     * Evaluate all Metaschema constraints against a document
+     *
+     * @param document The deserialized document node
+     * @param modelType The OSCAL model type of the document
+     * @return The constraint findings
+     */
+    public ConstraintValidationReport validate(IDocumentNodeItem document, OscalModelType modelType) {
+        IAssemblyNodeItem root = document.getRootAssemblyNodeItem();
+
+        List<IAssemblyNodeItem> spine = new ArrayList<>();
+        List<INodeItem> partitions = new ArrayList<>();
+        collectPartitions(root, CONTAINER_ASSEMBLIES.getOrDefault(modelType, Set.of()), spine, partitions);
+
+        if (pool == null || partitions.size() < minPartitions) {
+            return validateSinglePass(document);
+        }
+
+        ConstraintValidationReport report = new ConstraintValidationReport(partitions.size());
+
+        // Root and container assemblies: their own flags and constraints only, not their subtrees
+        FindingCollectingConstraintValidationHandler spineHandler = new FindingCollectingConstraintValidationHandler();
+        SpineConstraintValidator spineValidator = new SpineConstraintValidator(spineHandler);
+        DynamicContext spineContext = new DynamicContext();
+        Set<String> spineIndexes = new HashSet<>();
+        for (IAssemblyNodeItem node : spine) {
+            spineValidator.validateNode(node, spineContext);
+            node.getDefinition().getIndexConstraints().forEach(index -> spineIndexes.add(index.getName()));
+        }
+        spineValidator.finalizeValidation(spineContext);
+        report.addFindings(spineHandler.getFindings());
+
+        // Partition subtrees on the pool, collected back in document order
+        List<ForkJoinTask<List<ConstraintValidationFinding>>> tasks = new ArrayList<>(partitions.size());
+        for (INodeItem partition : partitions) {
+            tasks.add(pool.submit(() -> validateSubtree(partition)));
+        }
+        for (ForkJoinTask<List<ConstraintValidationFinding>> task : tasks) {
+            for (ConstraintValidationFinding finding : task.join()) {
+                if (referencesIndex(finding, spineIndexes)) {
+                    // The partition's validator never saw the spine's index, so this says nothing about the key
+                    report.unresolvedReferences++;
+                } else {
+                    report.addFinding(finding);
+                }
+            }
+        }
+        if (report.unresolvedReferences > 0) {
+            logger.debug("{} index-has-key reference(s) across partitions were not resolved",
+                    report.unresolvedReferences);
+        }
+
+        return report;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private ConstraintValidationReport validateSinglePass(IDocumentNodeItem document) {
+        FindingCollectingConstraintValidationHandler handler = new FindingCollectingConstraintValidationHandler();
+        DefaultConstraintValidator validator = new DefaultConstraintValidator(handler);
+        DynamicContext dynamicContext = new DynamicContext();
+        validator.validate(document, dynamicContext);
+        validator.finalizeValidation(dynamicContext);
+
+        ConstraintValidationReport report = new ConstraintValidationReport(1);
+        report.addFindings(handler.getFindings());
+        return report;
+    }
+
+    private static List<ConstraintValidationFinding> validateSubtree(INodeItem partition) {
+        FindingCollectingConstraintValidationHandler handler = new FindingCollectingConstraintValidationHandler();
+        DefaultConstraintValidator validator = new DefaultConstraintValidator(handler);
+        DynamicContext dynamicContext = new DynamicContext();
+        validator.validate(partition, dynamicContext);
+        // Deferred checks are only made here, as in the single pass
+        validator.finalizeValidation(dynamicContext);
+        return handler.getFindings();
+    }
+
+    /**
+     * Whether a finding is for an index-has-key constraint against one of the given indexes
+     */
+    private static boolean referencesIndex(ConstraintValidationFinding finding, Set<String> indexes) {
+        for (IConstraint constraint : finding.getConstraints()) {
+            if (constraint instanceof IIndexHasKeyConstraint
+                    && indexes.contains(((IIndexHasKeyConstraint) constraint).getIndexName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void collectPartitions(IAssemblyNodeItem node, Set<String> containers,
+                                          List<IAssemblyNodeItem> spine, List<INodeItem> partitions) {
+        spine.add(node);
+        node.modelItems().forEach(child -> {
+            if (child instanceof IAssemblyNodeItem && isContainer(child, containers)) {
+                collectPartitions((IAssemblyNodeItem) child, containers, spine, partitions);
+            } else {
+                partitions.add(child);
+            }
+        });
+    }
+
+    private static boolean isContainer(IModelNodeItem<?, ?> item, Set<String> containers) {
+        return containers.contains(item.getDefinition().getName());
+    }
+
+    /**
+     * Validator that evaluates a single assembly without descending into its model children
+     */
+    private static final class SpineConstraintValidator extends DefaultConstraintValidator {
+
+        SpineConstraintValidator(IConstraintValidationHandler handler) {
+            super(handler);
+        }
+
+        void validateNode(IAssemblyNodeItem item, DynamicContext dynamicContext) {
+            item.flags().forEach(flag -> validateFlag(flag, dynamicContext));
+            validateAssembly(item, dynamicContext);
+        }
+    }
+
+    /**
+     * Constraint findings for a document, split into errors and warnings
+     */
+    public static class ConstraintValidationReport {
+        private final List<ValidationError> errors = new ArrayList<>();
+        private final List<ValidationError> warnings = new ArrayList<>();
+        private final int partitionCount;
+        private int unresolvedReferences;
+
+        ConstraintValidationReport(int partitionCount) {
+            this.partitionCount = partitionCount;
+        }
+
+        public List<ValidationError> getErrors() {
+            return errors;
+        }
+
+        public List<ValidationError> getWarnings() {
+            return warnings;
+        }
+
+        public int getPartitionCount() {
+            return partitionCount;
+        }
+
+        /**
+         * Number of findings for references from a partition to an index declared on the spine,
+         * which could not be checked. Always 0 for a single pass.
+         */
+        public int getUnresolvedReferences() {
+            return unresolvedReferences;
+        }
+
+        void addFindings(List<? extends ConstraintValidationFinding> findings) {
+            for (ConstraintValidationFinding finding : findings) {
+                addFinding(finding);
+            }
+        }
+
+        void addFinding(ConstraintValidationFinding finding) {
+            String path = finding.getTarget() != null ? finding.getTarget().getMetapath() : null;
+            switch (finding.getSeverity()) {
+                case CRITICAL:
+                case ERROR:
+                    errors.add(new ValidationError(null, null, finding.getMessage(), "error", path));
+                    break;
+                case WARNING:
+                    warnings.add(new ValidationError(null, null, finding.getMessage(), "warning", path));
+                    break;
+                case INFORMATIONAL:
+                    warnings.add(new ValidationError(null, null, finding.getMessage(), "info", path));
+                    break;
+                default:
+                    // Debug-level findings are not reported
+                    break;
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package gov.nist.oscal.tools.api.service;
+
+import gov.nist.oscal.tools.api.model.StoredContent;
+import gov.nist.oscal.tools.api.model.StoredObject;
+import gov.nist.oscal.tools.api.repository.ContentBlobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Content-addressed, deduplicated store for saved file content
+ *
+ * Content is stored once under its SHA-256 digest in the configured StorageService backend
+ * (Azure, S3, GCS, or the local fallback of each), no matter how many saved files refer to it.
+ * Each reference is counted in the content_blobs table. When the last reference is released the
+ * blob is left in place for a grace period, then deleted by {@link #sweepOrphans()}.
+ *
+ * Blobs never change under their digest, so reads are served from the {@link StorageReadCache}
+ * once downloaded.
+ *
+ * The sweeper claims a blob (ref_count = -1) before deleting it, so a concurrent save cannot
+ * add a reference to a blob that is about to disappear: it waits for the claim to clear and
+ * uploads the content again.
+ */
+@Service
+public class ContentStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentStore.class);
+
+    static final String BLOB_PREFIX = "blobs/sha256/";
+
+    private static final int ACQUIRE_ATTEMPTS = 20;
+    private static final long ACQUIRE_RETRY_MS = 50;
+
+    private final StorageService storageService;
+    private final ContentBlobRepository blobRepository;
+    private final StorageReadCache readCache;
+    private final long gracePeriodMinutes;
+    private final int sweepBatchSize;
+
+    @Autowired
+    public ContentStore(StorageService storageService,
+                        ContentBlobRepository blobRepository,
+                        StorageReadCache readCache,
+                        @Value("${files.dedup.grace-period-minutes:60}") long gracePeriodMinutes,
+                        @Value("${files.dedup.sweep-batch-size:500}") int sweepBatchSize) {
+        this.storageService = storageService;
+        this.blobRepository = blobRepository;
+        this.readCache = readCache;
+        this.gracePeriodMinutes = gracePeriodMinutes;
+        this.sweepBatchSize = sweepBatchSize;
+    }
+
+    /**
+     * Store content and add a reference to it. Identical content is uploaded only once.
+     *
+     * @param content The content
+     * @return The hex SHA-256 digest identifying the content
+     * @throws RuntimeException if the content could not be stored
+     */
+    public String store(String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        String digest = digest(bytes);
+        String key = blobKey(digest);
+
+        boolean created = acquireReference(digest, bytes.length);
+        try {
+            // A new blob is always uploaded; an existing one only if an earlier upload was lost
+            if (created || !storageService.componentExists(key)) {
+                storageService.uploadObject(key, content, Map.of("sha256", digest));
+                logger.debug("Stored content blob {} ({} bytes)", digest, bytes.length);
+            } else {
+                logger.debug("Reusing content blob {}", digest);
+            }
+        } catch (RuntimeException e) {
+            release(digest);
+            throw e;
+        }
+        return digest;
+    }
+
+    /**
+     * Read stored content
+     *
+     * @param digest The digest returned by {@link #store(String)}
+     * @throws RuntimeException if the content does not exist
+     */
+    public String load(String digest) {
+        String key = blobKey(digest);
+        return readCache.getImmutable(key, () -> storageService.downloadComponent(key));
+    }
+
+    /**
+     * Read stored content exactly as held by the backend, without decompressing it
+     *
+     * @param digest The digest returned by {@link #store(String)}
+     * @throws RuntimeException if the content does not exist
+     */
+    public StoredContent loadStored(String digest) {
+        return storageService.downloadStored(blobKey(digest));
+    }
+
+    /**
+     * Open stored content for streaming, exactly as held by the backend
+     *
+     * @param digest The digest returned by {@link #store(String)}
+     * @throws RuntimeException if the content does not exist
+     */
+    public StoredObject open(String digest) {
+        return storageService.openStored(blobKey(digest));
+    }
+
+    /**
+     * Drop a reference. The blob is deleted by the sweeper once it has been unreferenced for the
+     * grace period.
+     */
+    public void release(String digest) {
+        if (blobRepository.release(digest, LocalDateTime.now()) == 0) {
+            logger.warn("Released content blob {} that had no references", digest);
+        }
+    }
+
+    /**
+     * Delete blobs that have been unreferenced for longer than the grace period
+     *
+     * @return Number of blobs deleted
+     */
+    @Scheduled(fixedDelayString = "${files.dedup.sweep-interval-ms:3600000}",
+               initialDelayString = "${files.dedup.sweep-initial-delay-ms:300000}")
+    public int sweepOrphans() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(gracePeriodMinutes);
+        List<String> orphans = blobRepository.findOrphanedBefore(cutoff, PageRequest.of(0, sweepBatchSize));
+        int deleted = 0;
+        for (String digest : orphans) {
+            if (blobRepository.claimForDeletion(digest, cutoff) == 0) {
+                continue; // Referenced again since it was listed
+            }
+            String key = blobKey(digest);
+            if (storageService.deleteComponent(key) || !storageService.componentExists(key)) {
+                readCache.invalidate(key);
+                blobRepository.deleteById(digest);
+                deleted++;
+            } else {
+                logger.warn("Failed to delete orphaned content blob {}; will retry", digest);
+                blobRepository.unclaim(digest);
+            }
+        }
+        if (deleted > 0) {
+            logger.info("Deleted {} orphaned content blob(s)", deleted);
+        }
+        return deleted;
+    }
+
+    /**
+     * Add a reference to a blob, creating its record if needed
+     *
+     * @return true if the record was created, so the content must be uploaded
+     */
+    private boolean acquireReference(String digest, long size) {
+        for (int attempt = 0; attempt < ACQUIRE_ATTEMPTS; attempt++) {
+            if (blobRepository.acquire(digest) > 0) {
+                return false;
+            }
+            try {
+                blobRepository.insertReferenced(digest, size, LocalDateTime.now());
+                return true;
+            } catch (DataIntegrityViolationException e) {
+                // Created by a concurrent save, or claimed by the sweeper; retry shortly
+            }
+            try {
+                Thread.sleep(ACQUIRE_RETRY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        throw new RuntimeException("Could not reference content blob " + digest);
+    }
+
+    static String blobKey(String digest) {
+        return BLOB_PREFIX + digest.substring(0, 2) + "/" + digest;
+    }
+
+    static String digest(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
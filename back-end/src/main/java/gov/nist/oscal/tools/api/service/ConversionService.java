@@ -2,36 +2,122 @@ package gov.nist.oscal.tools.api.service;
 
 import gov.nist.oscal.tools.api.model.ConversionRequest;
 import gov.nist.oscal.tools.api.model.ConversionResult;
+import gov.nist.oscal.tools.api.model.MultiConversionRequest;
+import gov.nist.oscal.tools.api.model.MultiConversionResult;
 import gov.nist.oscal.tools.api.model.OscalFormat;
 import gov.nist.oscal.tools.api.model.OscalModelType;
+import gov.nist.oscal.tools.api.service.OscalDocumentDetector.DetectedDocument;
 import gov.nist.secauto.metaschema.core.model.IBoundObject;
-import gov.nist.secauto.metaschema.databind.io.IDeserializer;
 import gov.nist.secauto.metaschema.databind.io.ISerializer;
-import gov.nist.secauto.oscal.lib.OscalBindingContext;
-import gov.nist.secauto.oscal.lib.model.*;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringReader;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 public class ConversionService {
 
-    private final OscalBindingContext bindingContext;
+    private static final Logger logger = LoggerFactory.getLogger(ConversionService.class);
+
     private final HistoryService historyService;
     private final FileStorageService fileStorageService;
+    private final OscalDeserializationService deserializationService;
+    private final OscalDocumentDetector documentDetector;
+    private final AdmissionControlService admissionControl;
+    private final JsonYamlTranscoder transcoder;
+    // Serializes the targets of multi-target conversions in parallel
+    private final ExecutorService serializationExecutor;
+    // Closes streamed conversions whose output was never written
+    private final ScheduledThreadPoolExecutor abandonedStreamCloser;
+    private final long streamAbandonTimeoutMs;
 
-    public ConversionService(HistoryService historyService, FileStorageService fileStorageService) {
-        this.bindingContext = OscalBindingContext.instance();
+    @Autowired
+    public ConversionService(HistoryService historyService, FileStorageService fileStorageService,
+                             OscalDeserializationService deserializationService,
+                             OscalDocumentDetector documentDetector,
+                             AdmissionControlService admissionControl,
+                             @Value("${conversion.fast-path.enabled:true}") boolean fastPathEnabled,
+                             @Value("${conversion.fast-path.validate-structure:true}") boolean validateStructure,
+                             @Value("${conversion.multi-target.threads:0}") int multiTargetThreads,
+                             @Value("${conversion.stream.abandon-timeout-ms:60000}") long streamAbandonTimeoutMs) {
         this.historyService = historyService;
         this.fileStorageService = fileStorageService;
+        this.deserializationService = deserializationService;
+        this.documentDetector = documentDetector;
+        this.admissionControl = admissionControl;
+        this.transcoder = fastPathEnabled ? new JsonYamlTranscoder(validateStructure) : null;
+
+        int threads = multiTargetThreads > 0 ? multiTargetThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.serializationExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "oscal-serialize-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.streamAbandonTimeoutMs = streamAbandonTimeoutMs;
+        this.abandonedStreamCloser = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "oscal-stream-closer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Drop the timer of a written conversion at once, rather than holding it until it is due
+        abandonedStreamCloser.setRemoveOnCancelPolicy(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        serializationExecutor.shutdownNow();
+        abandonedStreamCloser.shutdownNow();
     }
 
+    /**
+     * Convert a document between formats
+     *
+     * @throws AdmissionRejectedException if the server is at capacity
+     */
     public ConversionResult convert(ConversionRequest request, String username) {
         long startTime = System.currentTimeMillis();
+
+        // Fill in an omitted source format or model type from the document root, and reject
+        // contradicting ones without paying for a full parse
+        try {
+            DetectedDocument detected = documentDetector.resolve(request.getContent(), request.getFromFormat(),
+                request.getModelType());
+            request.setFromFormat(detected.getFormat());
+            request.setModelType(detected.getModelType());
+        } catch (IllegalArgumentException e) {
+            ConversionResult result = new ConversionResult(false, "Conversion failed: " + e.getMessage(),
+                request.getFromFormat(), request.getToFormat(), true);
+            saveToHistory(request, result, System.currentTimeMillis() - startTime);
+            return result;
+        }
+
         ConversionResult result = new ConversionResult(
             false,
             null,
@@ -39,30 +125,37 @@ public class ConversionService {
             request.getToFormat()
         );
 
+        // Rejections propagate to the caller rather than being reported as a failed conversion
+        AdmissionControlService.Permit permit = admissionControl.admit("conversion", request.getContent().length());
         try {
-            // Step 1: Deserialize the input content
-            Object oscalObject = deserializeContent(
-                request.getContent(),
-                request.getFromFormat(),
-                request.getModelType()
-            );
-
-            // Step 2: Serialize to the target format
-            String convertedContent = serializeContent(
-                oscalObject,
-                request.getToFormat(),
-                request.getModelType()
-            );
+            // JSON <-> YAML keeps the same shape, so it is transcoded without binding when possible
+            String convertedContent = transcode(request);
+
+            if (convertedContent == null) {
+                // Step 1: Deserialize the input content
+                Object oscalObject = deserializeContent(
+                    request.getContent(),
+                    request.getFromFormat(),
+                    request.getModelType()
+                );
+
+                // Step 2: Serialize to the target format
+                convertedContent = serializeContent(
+                    oscalObject,
+                    request.getToFormat(),
+                    request.getModelType()
+                );
+            }
 
             result.setSuccess(true);
             result.setContent(convertedContent);
 
             // Save both input and converted files to storage
             try {
-                String inputFileName = request.getFileName() != null ? request.getFileName() : "document" + getFileExtension(request.getFromFormat());
+                String inputFileName = request.getFileName() != null ? request.getFileName() : "document" + OscalDeserializationService.getFileExtension(request.getFromFormat());
                 String outputFileName = request.getFileName() != null
-                    ? request.getFileName().replaceFirst("\\.[^.]+$", "") + getFileExtension(request.getToFormat())
-                    : "document" + getFileExtension(request.getToFormat());
+                    ? request.getFileName().replaceFirst("\\.[^.]+$", "") + OscalDeserializationService.getFileExtension(request.getToFormat())
+                    : "document" + OscalDeserializationService.getFileExtension(request.getToFormat());
 
                 // Save the input file
                 fileStorageService.saveFile(request.getContent(), inputFileName, request.getModelType(), request.getFromFormat(), username);
@@ -71,12 +164,14 @@ public class ConversionService {
                 fileStorageService.saveFile(convertedContent, outputFileName, request.getModelType(), request.getToFormat(), username);
             } catch (Exception saveException) {
                 // Don't fail conversion if file saving fails
-                System.err.println("Failed to save files to storage: " + saveException.getMessage());
+                logger.warn("Failed to save files to storage: {}", saveException.getMessage());
             }
 
         } catch (Exception e) {
             result.setSuccess(false);
             result.setError("Conversion failed: " + e.getMessage());
+        } finally {
+            permit.close();
         }
 
         // Save to history
@@ -86,13 +181,458 @@ public class ConversionService {
         return result;
     }
 
+    /**
+     * Convert a document to several formats. The document is parsed once and every target is
+     * serialized from the same model in parallel; JSON <-> YAML targets are transcoded without
+     * binding when possible, while the document is parsed for the other targets. Each target
+     * succeeds or fails independently.
+     *
+     * @throws AdmissionRejectedException if the server is at capacity
+     */
+    public MultiConversionResult convertMulti(MultiConversionRequest request, String username) {
+        long startTime = System.currentTimeMillis();
+        List<OscalFormat> targets = new ArrayList<>(EnumSet.copyOf(request.getToFormats()));
+
+        try {
+            DetectedDocument detected = documentDetector.resolve(request.getContent(), request.getFromFormat(),
+                request.getModelType());
+            request.setFromFormat(detected.getFormat());
+            request.setModelType(detected.getModelType());
+        } catch (IllegalArgumentException e) {
+            return failMulti(request, targets, "Conversion failed: " + e.getMessage(), startTime);
+        }
+
+        OscalFormat from = request.getFromFormat();
+        OscalModelType modelType = request.getModelType();
+        MultiConversionResult result = new MultiConversionResult(from, modelType);
+        Map<OscalFormat, String> converted = new EnumMap<>(OscalFormat.class);
+        Map<OscalFormat, String> errors = new EnumMap<>(OscalFormat.class);
+
+        AdmissionControlService.Permit permit = admissionControl.admit("conversion", request.getContent().length());
+        try {
+            // Transcodable targets run on the executor while this thread binds the document for the others
+            Map<OscalFormat, Future<String>> transcoded = new EnumMap<>(OscalFormat.class);
+            List<OscalFormat> boundTargets = new ArrayList<>();
+            for (OscalFormat target : targets) {
+                if (transcoder != null && JsonYamlTranscoder.supports(from, target)) {
+                    ConversionRequest targetRequest = targetRequest(request, target);
+                    targetRequest.setContent(request.getContent());
+                    transcoded.put(target, serializationExecutor.submit(() -> transcode(targetRequest)));
+                } else {
+                    boundTargets.add(target);
+                }
+            }
+
+            Object oscalObject = null;
+            String bindError = null;
+            boolean bound = false;
+            if (!boundTargets.isEmpty()) {
+                try {
+                    oscalObject = deserializeContent(request.getContent(), from, modelType);
+                } catch (Exception e) {
+                    bindError = "Conversion failed: " + e.getMessage();
+                }
+                bound = true;
+            }
+
+            for (Map.Entry<OscalFormat, Future<String>> entry : transcoded.entrySet()) {
+                try {
+                    String content = await(entry.getValue());
+                    if (content != null) {
+                        converted.put(entry.getKey(), content);
+                    } else {
+                        boundTargets.add(entry.getKey());
+                    }
+                } catch (IOException e) {
+                    errors.put(entry.getKey(), "Conversion failed: " + e.getMessage());
+                }
+            }
+
+            if (!boundTargets.isEmpty()) {
+                // Targets the transcoder fell back on only need the document bound now
+                if (!bound) {
+                    try {
+                        oscalObject = deserializeContent(request.getContent(), from, modelType);
+                    } catch (Exception e) {
+                        bindError = "Conversion failed: " + e.getMessage();
+                    }
+                }
+                if (bindError != null) {
+                    for (OscalFormat target : boundTargets) {
+                        errors.put(target, bindError);
+                    }
+                    result.setError(bindError);
+                } else if (oscalObject != null) {
+                    Object model = oscalObject;
+                    Map<OscalFormat, Future<String>> serialized = new EnumMap<>(OscalFormat.class);
+                    for (OscalFormat target : boundTargets) {
+                        serialized.put(target, serializationExecutor.submit(
+                            () -> serializeContent(model, target, modelType)));
+                    }
+                    for (Map.Entry<OscalFormat, Future<String>> entry : serialized.entrySet()) {
+                        try {
+                            converted.put(entry.getKey(), await(entry.getValue()));
+                        } catch (IOException e) {
+                            errors.put(entry.getKey(), "Conversion failed: " + e.getMessage());
+                        }
+                    }
+                }
+            }
+        } finally {
+            permit.close();
+        }
+
+        for (OscalFormat target : targets) {
+            ConversionResult targetResult = converted.containsKey(target)
+                ? new ConversionResult(true, converted.get(target), from, target)
+                : new ConversionResult(false, errors.get(target), from, target, true);
+            result.getResults().add(targetResult);
+        }
+        result.setSuccess(errors.isEmpty());
+        if (!errors.isEmpty() && result.getError() == null) {
+            result.setError(errors.values().iterator().next());
+        }
+
+        saveMultiToStorage(request, converted, username);
+        long durationMs = System.currentTimeMillis() - startTime;
+        result.setDurationMs(durationMs);
+        for (ConversionResult targetResult : result.getResults()) {
+            saveToHistory(targetRequest(request, targetResult.getToFormat()), targetResult, durationMs);
+        }
+        return result;
+    }
+
+    private MultiConversionResult failMulti(MultiConversionRequest request, List<OscalFormat> targets, String error,
+                                            long startTime) {
+        MultiConversionResult result = new MultiConversionResult(request.getFromFormat(), request.getModelType());
+        result.setError(error);
+        long durationMs = System.currentTimeMillis() - startTime;
+        result.setDurationMs(durationMs);
+        for (OscalFormat target : targets) {
+            ConversionResult targetResult = new ConversionResult(false, error, request.getFromFormat(), target, true);
+            result.getResults().add(targetResult);
+            saveToHistory(targetRequest(request, target), targetResult, durationMs);
+        }
+        return result;
+    }
+
+    /**
+     * Convert a document to several formats, writing each target straight to the response instead
+     * of building it in memory. JSON <-> YAML targets are checked with a dry run of the transcoder
+     * on the executor while the document is bound once for the other targets, so every failure is
+     * reported in the result before output starts. The targets are then serialized one after the
+     * other as they are written. Streamed conversions are not saved to storage.
+     *
+     * @throws AdmissionRejectedException if the server is at capacity
+     */
+    public StreamedMultiConversion convertMultiStream(MultiConversionRequest request, String username) {
+        long startTime = System.currentTimeMillis();
+        List<OscalFormat> targets = new ArrayList<>(EnumSet.copyOf(request.getToFormats()));
+
+        try {
+            DetectedDocument detected = documentDetector.resolve(request.getContent(), request.getFromFormat(),
+                request.getModelType());
+            request.setFromFormat(detected.getFormat());
+            request.setModelType(detected.getModelType());
+        } catch (IllegalArgumentException e) {
+            return StreamedMultiConversion.failed(failMulti(request, targets, "Conversion failed: " + e.getMessage(),
+                startTime));
+        }
+
+        OscalFormat from = request.getFromFormat();
+        OscalModelType modelType = request.getModelType();
+        String content = request.getContent();
+
+        AdmissionControlService.Permit permit = admissionControl.admit("conversion", content.length());
+        try {
+            Map<OscalFormat, Future<Boolean>> checked = new EnumMap<>(OscalFormat.class);
+            for (OscalFormat target : targets) {
+                if (transcoder != null && JsonYamlTranscoder.supports(from, target)) {
+                    checked.put(target, serializationExecutor.submit(() -> canTranscode(content, from, target, modelType)));
+                }
+            }
+
+            Object oscalObject = null;
+            if (checked.size() < targets.size()) {
+                oscalObject = deserializeContent(content, from, modelType);
+            }
+            Map<OscalFormat, StreamedConversion.Body> bodies = new EnumMap<>(OscalFormat.class);
+            for (OscalFormat target : targets) {
+                Future<Boolean> check = checked.get(target);
+                if (check != null && await(check)) {
+                    bodies.put(target, output -> {
+                        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+                        try {
+                            transcoder.transcode(new StringReader(content), from, writer, target, modelType);
+                        } catch (JsonYamlTranscoder.UnsupportedContentException e) {
+                            // Not reachable: the same document passed the dry run
+                            throw new IOException(e.getMessage(), e);
+                        }
+                        writer.flush();
+                    });
+                    continue;
+                }
+                if (oscalObject == null) {
+                    // Only targets the transcoder fell back on need the document bound
+                    oscalObject = deserializeContent(content, from, modelType);
+                }
+                @SuppressWarnings("unchecked")
+                ISerializer<IBoundObject> serializer = (ISerializer<IBoundObject>) deserializationService.newSerializer(
+                    target, deserializationService.getModelClass(modelType));
+                IBoundObject model = (IBoundObject) oscalObject;
+                bodies.put(target, output -> {
+                    Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+                    serializer.serialize(model, writer);
+                    writer.flush();
+                });
+            }
+
+            MultiConversionResult result = new MultiConversionResult(from, modelType);
+            result.setSuccess(true);
+            Map<OscalFormat, StreamedConversion.Body> recorded = new EnumMap<>(OscalFormat.class);
+            for (Map.Entry<OscalFormat, StreamedConversion.Body> entry : bodies.entrySet()) {
+                OscalFormat target = entry.getKey();
+                StreamedConversion.Body body = entry.getValue();
+                result.getResults().add(new ConversionResult(true, null, from, target));
+                recorded.put(target, output -> {
+                    try {
+                        body.write(output);
+                    } catch (IOException | RuntimeException e) {
+                        saveToHistory(targetRequest(request, target), new ConversionResult(false,
+                            "Conversion failed: " + e.getMessage(), from, target, true),
+                            System.currentTimeMillis() - startTime);
+                        throw e;
+                    }
+                    saveToHistory(targetRequest(request, target), new ConversionResult(true, null, from, target),
+                        System.currentTimeMillis() - startTime);
+                });
+            }
+            result.setDurationMs(System.currentTimeMillis() - startTime);
+
+            StreamedMultiConversion conversion = new StreamedMultiConversion(result, recorded, permit::close);
+            conversion.closeUnlessWrittenWithin(abandonedStreamCloser, streamAbandonTimeoutMs);
+            return conversion;
+        } catch (Exception e) {
+            permit.close();
+            return StreamedMultiConversion.failed(failMulti(request, targets, "Conversion failed: " + e.getMessage(),
+                startTime));
+        }
+    }
+
+    /**
+     * Dry run of the transcoder for one target
+     *
+     * @return Whether the document can be transcoded, or has to be bound for the target
+     */
+    private boolean canTranscode(String content, OscalFormat from, OscalFormat to, OscalModelType modelType)
+            throws IOException {
+        try {
+            transcoder.transcode(new StringReader(content), from, Writer.nullWriter(), to, modelType);
+            return true;
+        } catch (JsonYamlTranscoder.UnsupportedContentException e) {
+            logger.debug("Falling back to bound conversion: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void saveMultiToStorage(MultiConversionRequest request, Map<OscalFormat, String> converted,
+                                    String username) {
+        if (converted.isEmpty()) {
+            return;
+        }
+        try {
+            String baseName = request.getFileName() != null
+                ? request.getFileName().replaceFirst("\\.[^.]+$", "")
+                : "document";
+            String inputFileName = request.getFileName() != null
+                ? request.getFileName()
+                : "document" + OscalDeserializationService.getFileExtension(request.getFromFormat());
+            fileStorageService.saveFile(request.getContent(), inputFileName, request.getModelType(),
+                request.getFromFormat(), username);
+            for (Map.Entry<OscalFormat, String> entry : converted.entrySet()) {
+                fileStorageService.saveFile(entry.getValue(),
+                    baseName + OscalDeserializationService.getFileExtension(entry.getKey()),
+                    request.getModelType(), entry.getKey(), username);
+            }
+        } catch (Exception saveException) {
+            // Don't fail conversion if file saving fails
+            logger.warn("Failed to save files to storage: {}", saveException.getMessage());
+        }
+    }
+
+    private static ConversionRequest targetRequest(MultiConversionRequest request, OscalFormat target) {
+        ConversionRequest targetRequest = new ConversionRequest();
+        targetRequest.setFromFormat(request.getFromFormat());
+        targetRequest.setToFormat(target);
+        targetRequest.setModelType(request.getModelType());
+        targetRequest.setFileName(request.getFileName());
+        return targetRequest;
+    }
+
+    /**
+     * Wait for a serialization task, unwrapping its failure
+     */
+    private static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Convert a streamed document, writing the output straight to the response instead of building
+     * it in memory. The input is spilled to disk so it is never held on the heap; JSON <-> YAML
+     * conversions are then transcoded from disk in constant memory. Other conversions are parsed
+     * before this method returns, so parse errors are reported in the result.
+     * The input stream is consumed but not closed. Streamed conversions are not saved to storage.
+     *
+     * @param input The source document
+     * @param contentLength The source length in bytes, or -1 if unknown
+     * @param fromFormat The source format, or null to detect it
+     * @param toFormat The target format
+     * @param modelType The model type, or null to detect it
+     * @param fileName The source file name, or null
+     * @param username The requesting user
+     * @return The prepared conversion; callers should write or close it. One that is still unwritten
+     *         after conversion.stream.abandon-timeout-ms is closed, so an abandoned response does not
+     *         keep its spill file and admission budget.
+     * @throws AdmissionRejectedException if the server is at capacity
+     */
+    public StreamedConversion convertStream(InputStream input, long contentLength, OscalFormat fromFormat,
+                                            OscalFormat toFormat, OscalModelType modelType, String fileName,
+                                            String username) {
+        long startTime = System.currentTimeMillis();
+        ConversionRequest request = new ConversionRequest();
+        request.setFromFormat(fromFormat);
+        request.setToFormat(toFormat);
+        request.setModelType(modelType);
+        request.setFileName(fileName);
+
+        AdmissionControlService.Permit permit = admissionControl.admit("conversion", contentLength);
+        Path source = null;
+        try {
+            Path spillDirectory = deserializationService.getSpillDirectory();
+            source = spillDirectory != null
+                ? Files.createTempFile(spillDirectory, "oscal-convert-", ".src")
+                : Files.createTempFile("oscal-convert-", ".src");
+            long size = Files.copy(input, source, StandardCopyOption.REPLACE_EXISTING);
+
+            try (InputStream head = Files.newInputStream(source)) {
+                DetectedDocument detected = documentDetector.resolve(documentDetector.detect(head), fromFormat,
+                    modelType);
+                request.setFromFormat(detected.getFormat());
+                request.setModelType(detected.getModelType());
+            }
+
+            StreamedConversion.Body body = prepareBody(request, source, size);
+            Path spilled = source;
+            String outputFileName = (fileName != null ? fileName.replaceFirst("\\.[^.]+$", "") : "document")
+                + OscalDeserializationService.getFileExtension(toFormat);
+            StreamedConversion conversion = new StreamedConversion(
+                new ConversionResult(true, null, request.getFromFormat(), toFormat),
+                outputFileName, output -> {
+                    try {
+                        body.write(output);
+                    } catch (IOException | RuntimeException e) {
+                        saveToHistory(request, new ConversionResult(false, "Conversion failed: " + e.getMessage(),
+                            request.getFromFormat(), toFormat, true), System.currentTimeMillis() - startTime);
+                        throw e;
+                    }
+                    saveToHistory(request, new ConversionResult(true, null, request.getFromFormat(), toFormat),
+                        System.currentTimeMillis() - startTime);
+                }, () -> {
+                    deleteQuietly(spilled);
+                    permit.close();
+                });
+            conversion.closeUnlessWrittenWithin(abandonedStreamCloser, streamAbandonTimeoutMs);
+            return conversion;
+        } catch (Exception e) {
+            deleteQuietly(source);
+            permit.close();
+            ConversionResult result = new ConversionResult(false, "Conversion failed: " + e.getMessage(),
+                request.getFromFormat(), toFormat, true);
+            saveToHistory(request, result, System.currentTimeMillis() - startTime);
+            return StreamedConversion.failed(result);
+        }
+    }
+
+    /**
+     * Number of streamed conversions waiting to be written before they are closed as abandoned
+     */
+    int getPendingStreamCount() {
+        return abandonedStreamCloser.getQueue().size();
+    }
+
+    /**
+     * Check the spilled source and return the writer for its converted form
+     */
+    private StreamedConversion.Body prepareBody(ConversionRequest request, Path source, long size)
+            throws IOException {
+        OscalFormat from = request.getFromFormat();
+        OscalFormat to = request.getToFormat();
+        OscalModelType modelType = request.getModelType();
+
+        if (transcoder != null && JsonYamlTranscoder.supports(from, to)) {
+            try {
+                // Dry run first: once output has started, neither an error status nor a fallback is possible
+                try (Reader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+                    transcoder.transcode(reader, from, Writer.nullWriter(), to, modelType);
+                }
+                return output -> {
+                    Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+                    try (Reader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+                        transcoder.transcode(reader, from, writer, to, modelType);
+                    } catch (JsonYamlTranscoder.UnsupportedContentException e) {
+                        // Not reachable: the same document passed the dry run
+                        throw new IOException(e.getMessage(), e);
+                    }
+                    writer.flush();
+                };
+            } catch (JsonYamlTranscoder.UnsupportedContentException e) {
+                logger.debug("Falling back to bound conversion: {}", e.getMessage());
+            }
+        }
+
+        Object oscalObject;
+        try (InputStream in = Files.newInputStream(source)) {
+            oscalObject = deserializationService.deserialize(in, size, from, modelType);
+        }
+        @SuppressWarnings("unchecked")
+        ISerializer<IBoundObject> serializer = (ISerializer<IBoundObject>) deserializationService.newSerializer(to,
+            deserializationService.getModelClass(modelType));
+        return output -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            serializer.serialize((IBoundObject) oscalObject, writer);
+            writer.flush();
+        };
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Failed to delete conversion spill file {}: {}", path, e.getMessage());
+        }
+    }
+
     private void saveToHistory(ConversionRequest request, ConversionResult result, long durationMs) {
         try {
             gov.nist.oscal.tools.api.entity.OperationHistory history = new gov.nist.oscal.tools.api.entity.OperationHistory();
             history.setOperationType("CONVERT");
             history.setFileName(request.getFileName() != null ? request.getFileName() : "Document");
             history.setSuccess(result.isSuccess());
-            history.setModelType(request.getModelType().getValue());
+            history.setModelType(request.getModelType() != null ? request.getModelType().getValue() : null);
             history.setFormat(request.getFromFormat() + " → " + request.getToFormat());
             history.setDurationMs(durationMs);
 
@@ -104,27 +644,38 @@ public class ConversionService {
             historyService.saveOperation(history);
         } catch (Exception e) {
             // Log but don't fail the conversion if history save fails
-            System.err.println("Failed to save conversion to history: " + e.getMessage());
+            logger.warn("Failed to save conversion to history: {}", e.getMessage());
         }
     }
 
-    private Object deserializeContent(String content, OscalFormat format, OscalModelType modelType) throws IOException {
-        // Get the appropriate deserializer
-        IDeserializer<?> deserializer = getDeserializer(modelType, format);
-
-        // Write content to temporary file (required by OSCAL library)
-        Path tempFile = Files.createTempFile("oscal-input-", getFileExtension(format));
+    /**
+     * Convert through the token-level transcoder
+     *
+     * @return The converted document, or null if the bound path has to be used
+     */
+    private String transcode(ConversionRequest request) throws IOException {
+        if (transcoder == null || !JsonYamlTranscoder.supports(request.getFromFormat(), request.getToFormat())) {
+            return null;
+        }
+        StringWriter writer = new StringWriter(request.getContent().length());
         try {
-            Files.writeString(tempFile, content, StandardCharsets.UTF_8);
-            return deserializer.deserialize(tempFile);
-        } finally {
-            Files.deleteIfExists(tempFile);
+            transcoder.transcode(new StringReader(request.getContent()), request.getFromFormat(), writer,
+                request.getToFormat(), request.getModelType());
+            return writer.toString();
+        } catch (JsonYamlTranscoder.UnsupportedContentException e) {
+            logger.debug("Falling back to bound conversion: {}", e.getMessage());
+            return null;
         }
     }
 
+    private Object deserializeContent(String content, OscalFormat format, OscalModelType modelType) throws IOException {
+        return deserializationService.deserialize(content, format, modelType);
+    }
+
     private String serializeContent(Object oscalObject, OscalFormat format, OscalModelType modelType) throws IOException {
         // Get the appropriate serializer
-        ISerializer<?> serializer = getSerializer(modelType, format);
+        ISerializer<?> serializer = deserializationService.newSerializer(format,
+            deserializationService.getModelClass(modelType));
 
         // Serialize to string
         StringWriter writer = new StringWriter();
@@ -136,76 +687,4 @@ public class ConversionService {
 
         return writer.toString();
     }
-
-    private IDeserializer<?> getDeserializer(OscalModelType modelType, OscalFormat format) {
-        gov.nist.secauto.metaschema.databind.io.Format metaschemaFormat = convertFormat(format);
-
-        switch (modelType) {
-            case CATALOG:
-                return bindingContext.newDeserializer(metaschemaFormat, Catalog.class);
-            case PROFILE:
-                return bindingContext.newDeserializer(metaschemaFormat, Profile.class);
-            case COMPONENT_DEFINITION:
-                return bindingContext.newDeserializer(metaschemaFormat, ComponentDefinition.class);
-            case SYSTEM_SECURITY_PLAN:
-                return bindingContext.newDeserializer(metaschemaFormat, SystemSecurityPlan.class);
-            case ASSESSMENT_PLAN:
-                return bindingContext.newDeserializer(metaschemaFormat, AssessmentPlan.class);
-            case ASSESSMENT_RESULTS:
-                return bindingContext.newDeserializer(metaschemaFormat, AssessmentResults.class);
-            case PLAN_OF_ACTION_AND_MILESTONES:
-                return bindingContext.newDeserializer(metaschemaFormat, PlanOfActionAndMilestones.class);
-            default:
-                throw new IllegalArgumentException("Unsupported model type: " + modelType);
-        }
-    }
-
-    private ISerializer<?> getSerializer(OscalModelType modelType, OscalFormat format) {
-        gov.nist.secauto.metaschema.databind.io.Format metaschemaFormat = convertFormat(format);
-
-        switch (modelType) {
-            case CATALOG:
-                return bindingContext.newSerializer(metaschemaFormat, Catalog.class);
-            case PROFILE:
-                return bindingContext.newSerializer(metaschemaFormat, Profile.class);
-            case COMPONENT_DEFINITION:
-                return bindingContext.newSerializer(metaschemaFormat, ComponentDefinition.class);
-            case SYSTEM_SECURITY_PLAN:
-                return bindingContext.newSerializer(metaschemaFormat, SystemSecurityPlan.class);
-            case ASSESSMENT_PLAN:
-                return bindingContext.newSerializer(metaschemaFormat, AssessmentPlan.class);
-            case ASSESSMENT_RESULTS:
-                return bindingContext.newSerializer(metaschemaFormat, AssessmentResults.class);
-            case PLAN_OF_ACTION_AND_MILESTONES:
-                return bindingContext.newSerializer(metaschemaFormat, PlanOfActionAndMilestones.class);
-            default:
-                throw new IllegalArgumentException("Unsupported model type: " + modelType);
-        }
-    }
-
-    private gov.nist.secauto.metaschema.databind.io.Format convertFormat(OscalFormat format) {
-        switch (format) {
-            case JSON:
-                return gov.nist.secauto.metaschema.databind.io.Format.JSON;
-            case XML:
-                return gov.nist.secauto.metaschema.databind.io.Format.XML;
-            case YAML:
-                return gov.nist.secauto.metaschema.databind.io.Format.YAML;
-            default:
-                throw new IllegalArgumentException("Unsupported format: " + format);
-        }
-    }
-
-    private String getFileExtension(OscalFormat format) {
-        switch (format) {
-            case JSON:
-                return ".json";
-            case XML:
-                return ".xml";
-            case YAML:
-                return ".yaml";
-            default:
-                return ".txt";
-        }
-    }
 }
@@ -0,0 +1,524 @@
+package gov.nist.oscal.tools.api.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
+import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
+import gov.nist.oscal.tools.api.entity.CustomValidationRule;
+import gov.nist.oscal.tools.api.model.OscalFormat;
+import gov.nist.oscal.tools.api.model.OscalModelType;
+import gov.nist.oscal.tools.api.model.ValidationError;
+import gov.nist.oscal.tools.api.repository.CustomValidationRuleRepository;
+import gov.nist.oscal.tools.api.util.ContentHasher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Executes {@link CustomValidationRule}s against OSCAL documents.
+ *
+ * Enabled rules for a model type are compiled once into a {@link CompiledRuleSet} (regexes,
+ * JSONPath and XPath expressions precompiled) and cached until a rule changes. Rules are
+ * evaluated against the document's OSCAL JSON tree, walked a single time; rules addressed by a
+ * plain path (required-field, pattern-match, and JSONPath/XPath expressions that are simple
+ * location paths) are looked up by the current path at each node, so cost grows with document
+ * size rather than with document size times rule count. Only JSONPath filters/recursive descent
+ * and non-trivial XPath expressions are evaluated individually.
+ *
+ * The tree always uses the names of the OSCAL JSON model, so a rule means the same for every
+ * format: JSON and YAML content is read as it is, while XML documents (and streamed documents,
+ * whose content is not kept) are taken from the bound document serialized as JSON, turning
+ * repeated {@code control} elements into a {@code controls} array and so on. Non-trivial XPath
+ * expressions need the XML DOM and only apply to XML content.
+ *
+ * Paths are slash-separated and relative to the model root ({@code /metadata/title}); a leading
+ * root element name, {@code $.} JSONPath prefix and array wildcards are accepted. Arrays are
+ * transparent, so {@code /groups/controls/id} addresses the id of every control in every group.
+ * JSONPath expressions are likewise evaluated against the model root, so {@code $.metadata.title}
+ * and {@code $.catalog.metadata.title} are the same rule.
+ */
+@Service
+public class CustomRuleEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomRuleEngine.class);
+
+    private static final Pattern SIMPLE_JSONPATH = Pattern.compile("^\\$(\\.[A-Za-z0-9_-]+(\\[\\*])?)+$");
+    private static final Pattern SIMPLE_XPATH = Pattern.compile("^(/@?[A-Za-z0-9_-]+)+$");
+
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+    private static final YAMLMapper YAML_MAPPER = new YAMLMapper();
+
+    private static final Configuration JSONPATH_CONFIGURATION = Configuration.builder()
+            .jsonProvider(new JacksonJsonNodeJsonProvider())
+            .mappingProvider(new JacksonMappingProvider())
+            .options(Option.ALWAYS_RETURN_LIST, Option.SUPPRESS_EXCEPTIONS)
+            .build();
+
+    private final CustomValidationRuleRepository repository;
+    private final OscalDeserializationService deserializationService;
+    private final Cache<OscalModelType, CompiledRuleSet> compiledRules;
+
+    @Autowired
+    public CustomRuleEngine(CustomValidationRuleRepository repository,
+                            OscalDeserializationService deserializationService,
+                            @Value("${validation.custom-rules.cache-ttl-seconds:300}") long cacheTtlSeconds) {
+        this.repository = repository;
+        this.deserializationService = deserializationService;
+        // The TTL only bounds staleness of rules edited on another instance; local edits invalidate immediately
+        this.compiledRules = Caffeine.newBuilder()
+                .expireAfterWrite(cacheTtlSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * Get the compiled rule set for a model type, compiling it on first use
+     */
+    public CompiledRuleSet getRuleSet(OscalModelType modelType) {
+        return compiledRules.get(modelType, this::compileRuleSet);
+    }
+
+    /**
+     * Drop all compiled rule sets. Called whenever a custom rule is created, changed or removed.
+     */
+    public void invalidate() {
+        compiledRules.invalidateAll();
+        logger.debug("Invalidated compiled custom validation rules");
+    }
+
+    /**
+     * Evaluate all enabled custom rules for a model type against a document
+     *
+     * @param content The document content, or null if it was streamed and not kept
+     * @param boundDocument The document bound by liboscal; only used for XML content or when the
+     *                      content is null
+     * @param format The document format
+     * @param modelType The OSCAL model type
+     * @return One ValidationError per violation, with the rule's severity
+     * @throws IOException if the document cannot be read as an OSCAL JSON tree
+     */
+    public List<ValidationError> evaluate(String content, Object boundDocument, OscalFormat format,
+                                          OscalModelType modelType) throws IOException {
+        CompiledRuleSet ruleSet = getRuleSet(modelType);
+        if (ruleSet.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<ValidationError> findings = new ArrayList<>(ruleSet.compileErrors);
+        JsonNode document = readTree(content, boundDocument, format);
+        JsonNode root = document.path(modelType.getValue());
+        ruleSet.evaluate(root.isMissingNode() ? document : root, content, format, findings);
+        return findings;
+    }
+
+    private CompiledRuleSet compileRuleSet(OscalModelType modelType) {
+        List<CustomValidationRule> rules = new ArrayList<>(repository.findEnabledRulesForModelType(modelType.getValue()));
+        rules.sort(Comparator.comparing(CustomValidationRule::getRuleId));
+
+        CompiledRuleSet ruleSet = new CompiledRuleSet(modelType.getValue());
+        StringBuilder fingerprint = new StringBuilder();
+        for (CustomValidationRule rule : rules) {
+            if (!appliesTo(rule, modelType)) {
+                continue;
+            }
+            fingerprint.append(rule.getRuleId()).append('|').append(rule.getUpdatedDate()).append('\n');
+            ruleSet.add(rule);
+        }
+        ruleSet.fingerprint = ContentHasher.sha256Hex(fingerprint.toString());
+
+        logger.info("Compiled {} custom validation rule(s) for {}", ruleSet.ruleCount, modelType.getValue());
+        return ruleSet;
+    }
+
+    /**
+     * The repository query matches model types by substring; re-check against the exact list
+     */
+    private static boolean appliesTo(CustomValidationRule rule, OscalModelType modelType) {
+        if (rule.getApplicableModelTypes() == null || rule.getApplicableModelTypes().isBlank()) {
+            return true;
+        }
+        for (String type : rule.getApplicableModelTypes().split(",")) {
+            if (type.trim().equalsIgnoreCase(modelType.getValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private JsonNode readTree(String content, Object boundDocument, OscalFormat format) throws IOException {
+        if (content != null && format == OscalFormat.JSON) {
+            return JSON_MAPPER.readTree(content);
+        }
+        if (content != null && format == OscalFormat.YAML) {
+            return YAML_MAPPER.readTree(content);
+        }
+        // XML element names differ from the JSON model's, so rules read the bound document instead
+        if (boundDocument == null) {
+            throw new IllegalArgumentException("A bound document is needed to evaluate rules against " + format);
+        }
+        return deserializationService.toJsonTree(boundDocument);
+    }
+
+    /**
+     * Normalize a rule path ("/catalog/metadata/title", "$.metadata.title", "metadata/@id")
+     * to a slash-separated path relative to the model root ("/metadata/title")
+     */
+    static String normalizePath(String path, String rootName) {
+        String trimmed = path.trim();
+        if (trimmed.startsWith("$")) {
+            trimmed = trimmed.substring(1).replace("[*]", "").replace('.', '/');
+        }
+        StringBuilder normalized = new StringBuilder();
+        boolean first = true;
+        for (String segment : trimmed.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            String name = segment.startsWith("@") ? segment.substring(1) : segment;
+            if (first && name.equals(rootName)) {
+                first = false;
+                continue;
+            }
+            first = false;
+            normalized.append('/').append(name);
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Rewrite a JSONPath expression that starts at the document root ({@code $.catalog...}) to
+     * start at the model root ({@code $...}), which is what rules are evaluated against
+     */
+    static String relativeToRoot(String expression, String rootName) {
+        String prefix = "$." + rootName;
+        if (expression.startsWith(prefix)) {
+            String rest = expression.substring(prefix.length());
+            if (rest.isEmpty() || rest.startsWith(".") || rest.startsWith("[")) {
+                return "$" + rest;
+            }
+        }
+        return expression;
+    }
+
+    private static String normalizeType(String ruleType) {
+        return ruleType == null ? "" : ruleType.trim().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    private static String normalizeSeverity(String severity) {
+        return severity == null ? "error" : severity.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Enabled rules for one model type, indexed by the path they apply to
+     */
+    public static class CompiledRuleSet {
+
+        private final String rootName;
+        private String fingerprint = "";
+        private int ruleCount;
+
+        // Parent object path -> rules requiring a child field of that object
+        private final Map<String, List<RequiredFieldRule>> requiredByParent = new HashMap<>();
+        // Value path -> rules constraining the text of that value
+        private final Map<String, List<PatternRule>> patternsByPath = new HashMap<>();
+        // Path -> rules requiring at least one node at that path
+        private final Map<String, List<CompiledRule>> existenceByPath = new HashMap<>();
+        private final List<JsonPathRule> jsonPathRules = new ArrayList<>();
+        private final List<XPathRule> xpathRules = new ArrayList<>();
+        private final List<ValidationError> compileErrors = new ArrayList<>();
+
+        CompiledRuleSet(String rootName) {
+            this.rootName = rootName;
+        }
+
+        /**
+         * Hash of the rule ids and modification times; changes whenever the rule set does
+         */
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public int getRuleCount() {
+            return ruleCount;
+        }
+
+        public boolean isEmpty() {
+            return ruleCount == 0;
+        }
+
+        void add(CustomValidationRule rule) {
+            CompiledRule compiled = new CompiledRule(rule);
+            String type = normalizeType(rule.getRuleType());
+            try {
+                switch (type) {
+                    case "required-field":
+                        addRequiredField(compiled, firstNonBlank(rule.getFieldPath(), rule.getRuleExpression()));
+                        break;
+                    case "pattern-match":
+                        patternsByPath.computeIfAbsent(normalizePath(rule.getFieldPath(), rootName), p -> new ArrayList<>())
+                            .add(new PatternRule(compiled, Pattern.compile(rule.getRuleExpression())));
+                        break;
+                    case "jsonpath":
+                        addJsonPath(compiled, firstNonBlank(rule.getRuleExpression(), rule.getFieldPath()));
+                        break;
+                    case "xpath":
+                        addXPath(compiled, firstNonBlank(rule.getRuleExpression(), rule.getFieldPath()));
+                        break;
+                    default:
+                        logger.debug("Custom rule {} has non-executable type '{}'", rule.getRuleId(), rule.getRuleType());
+                        return;
+                }
+            } catch (RuntimeException | XPathExpressionException e) {
+                String reason = e instanceof PatternSyntaxException ? "invalid pattern: " + e.getMessage() : e.getMessage();
+                logger.warn("Custom rule {} could not be compiled: {}", rule.getRuleId(), reason);
+                compileErrors.add(new ValidationError(null, null,
+                    "[" + rule.getRuleId() + "] Rule could not be compiled: " + reason, "warning", null));
+            }
+            ruleCount++;
+        }
+
+        private void addRequiredField(CompiledRule compiled, String path) {
+            String normalized = normalizePath(requireValue(path), rootName);
+            int split = normalized.lastIndexOf('/');
+            if (split < 0 || normalized.length() == split + 1) {
+                throw new IllegalArgumentException("field path is empty");
+            }
+            requiredByParent.computeIfAbsent(normalized.substring(0, split), p -> new ArrayList<>())
+                .add(new RequiredFieldRule(compiled, normalized.substring(split + 1)));
+        }
+
+        private void addJsonPath(CompiledRule compiled, String expression) {
+            String value = requireValue(expression).trim();
+            if (SIMPLE_JSONPATH.matcher(value).matches()) {
+                existenceByPath.computeIfAbsent(normalizePath(value, rootName), p -> new ArrayList<>()).add(compiled);
+            } else {
+                jsonPathRules.add(new JsonPathRule(compiled, JsonPath.compile(relativeToRoot(value, rootName))));
+            }
+        }
+
+        private void addXPath(CompiledRule compiled, String expression) throws XPathExpressionException {
+            String value = requireValue(expression).trim();
+            if (SIMPLE_XPATH.matcher(value).matches()) {
+                existenceByPath.computeIfAbsent(normalizePath(value, rootName), p -> new ArrayList<>()).add(compiled);
+            } else {
+                xpathRules.add(new XPathRule(compiled, value));
+            }
+        }
+
+        private static String requireValue(String value) {
+            if (value == null || value.isBlank()) {
+                throw new IllegalArgumentException("no expression or field path configured");
+            }
+            return value;
+        }
+
+        private static String firstNonBlank(String first, String second) {
+            return first != null && !first.isBlank() ? first : second;
+        }
+
+        /**
+         * Evaluate the rules against the model root of a document's OSCAL JSON tree
+         */
+        void evaluate(JsonNode root, String content, OscalFormat format, List<ValidationError> findings) {
+            Set<String> seenPaths = new HashSet<>();
+            walk(root, "", seenPaths, findings);
+
+            existenceByPath.forEach((path, rules) -> {
+                if (!seenPaths.contains(path)) {
+                    rules.forEach(rule -> findings.add(rule.finding("No match for " + rule.expression, path)));
+                }
+            });
+
+            for (JsonPathRule rule : jsonPathRules) {
+                Object matches = rule.path.read(root, JSONPATH_CONFIGURATION);
+                if (matches == null || (matches instanceof JsonNode && ((JsonNode) matches).isEmpty())) {
+                    findings.add(rule.compiled.finding("No match for " + rule.compiled.expression, null));
+                }
+            }
+
+            if (!xpathRules.isEmpty()) {
+                evaluateXPath(content, format, findings);
+            }
+        }
+
+        /**
+         * Single depth-first traversal dispatching to the path-indexed rules
+         */
+        private void walk(JsonNode node, String path, Set<String> seenPaths, List<ValidationError> findings) {
+            if (node.isArray()) {
+                for (JsonNode element : node) {
+                    walk(element, path, seenPaths, findings);
+                }
+                return;
+            }
+
+            if (existenceByPath.containsKey(path)) {
+                seenPaths.add(path);
+            }
+
+            if (node.isObject()) {
+                List<RequiredFieldRule> required = requiredByParent.get(path);
+                if (required != null) {
+                    for (RequiredFieldRule rule : required) {
+                        if (!node.hasNonNull(rule.field)) {
+                            findings.add(rule.compiled.finding("Missing required field '" + rule.field + "'", path));
+                        }
+                    }
+                }
+                Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    walk(field.getValue(), path + "/" + field.getKey(), seenPaths, findings);
+                }
+                return;
+            }
+
+            List<PatternRule> patterns = patternsByPath.get(path);
+            if (patterns != null) {
+                String text = node.asText();
+                for (PatternRule rule : patterns) {
+                    if (!rule.pattern.matcher(text).matches()) {
+                        findings.add(rule.compiled.finding(
+                            "Value '" + text + "' does not match pattern " + rule.pattern.pattern(), path));
+                    }
+                }
+            }
+        }
+
+        /**
+         * XPath rules other than simple location paths need a DOM, so only apply to XML documents
+         */
+        private void evaluateXPath(String content, OscalFormat format, List<ValidationError> findings) {
+            if (format != OscalFormat.XML || content == null) {
+                logger.debug("Skipping {} XPath custom rule(s) for {} document", xpathRules.size(), format);
+                return;
+            }
+            Document dom;
+            try {
+                DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+                factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+                factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+                dom = factory.newDocumentBuilder().parse(new InputSource(new StringReader(content)));
+            } catch (Exception e) {
+                logger.warn("Could not parse document for XPath custom rules: {}", e.getMessage());
+                return;
+            }
+            for (XPathRule rule : xpathRules) {
+                try {
+                    Boolean matches = (Boolean) rule.compiledExpression.get().evaluate(dom, XPathConstants.BOOLEAN);
+                    if (!Boolean.TRUE.equals(matches)) {
+                        findings.add(rule.compiled.finding("No match for " + rule.expression, null));
+                    }
+                } catch (XPathExpressionException e) {
+                    findings.add(rule.compiled.finding("XPath evaluation failed: " + e.getMessage(), null));
+                }
+            }
+        }
+    }
+
+    /**
+     * Rule metadata shared by every compiled form
+     */
+    private static final class CompiledRule {
+        private final String ruleId;
+        private final String name;
+        private final String severity;
+        private final String expression;
+
+        CompiledRule(CustomValidationRule rule) {
+            this.ruleId = rule.getRuleId();
+            this.name = rule.getName();
+            this.severity = normalizeSeverity(rule.getSeverity());
+            this.expression = rule.getRuleExpression() != null ? rule.getRuleExpression() : rule.getFieldPath();
+        }
+
+        ValidationError finding(String detail, String path) {
+            return new ValidationError(null, null, "[" + ruleId + "] " + name + ": " + detail, severity,
+                path == null || path.isEmpty() ? null : path);
+        }
+    }
+
+    private static final class RequiredFieldRule {
+        private final CompiledRule compiled;
+        private final String field;
+
+        RequiredFieldRule(CompiledRule compiled, String field) {
+            this.compiled = compiled;
+            this.field = field;
+        }
+    }
+
+    private static final class PatternRule {
+        private final CompiledRule compiled;
+        private final Pattern pattern;
+
+        PatternRule(CompiledRule compiled, Pattern pattern) {
+            this.compiled = compiled;
+            this.pattern = pattern;
+        }
+    }
+
+    private static final class JsonPathRule {
+        private final CompiledRule compiled;
+        private final JsonPath path;
+
+        JsonPathRule(CompiledRule compiled, JsonPath path) {
+            this.compiled = compiled;
+            this.path = path;
+        }
+    }
+
+    private static final class XPathRule {
+        private final CompiledRule compiled;
+        private final String expression;
+        // XPathExpression is not thread-safe, so each validating thread keeps its own compiled copy
+        private final ThreadLocal<XPathExpression> compiledExpression;
+
+        XPathRule(CompiledRule compiled, String expression) throws XPathExpressionException {
+            this.compiled = compiled;
+            this.expression = expression;
+            compile(expression);
+            this.compiledExpression = ThreadLocal.withInitial(() -> {
+                try {
+                    return compile(expression);
+                } catch (XPathExpressionException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        }
+
+        private static XPathExpression compile(String expression) throws XPathExpressionException {
+            return XPathFactory.newInstance().newXPath().compile(expression);
+        }
+    }
+}
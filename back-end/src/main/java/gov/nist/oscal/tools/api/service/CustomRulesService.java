@@ -20,10 +20,12 @@ public class CustomRulesService {
 
     private static final Logger logger = LoggerFactory.getLogger(CustomRulesService.class);
     private final CustomValidationRuleRepository repository;
+    private final CustomRuleEngine ruleEngine;
 
     @Autowired
-    public CustomRulesService(CustomValidationRuleRepository repository) {
+    public CustomRulesService(CustomValidationRuleRepository repository, CustomRuleEngine ruleEngine) {
         this.repository = repository;
+        this.ruleEngine = ruleEngine;
     }
 
     /**
@@ -74,6 +76,7 @@ public class CustomRulesService {
         updateEntityFromRequest(entity, request);
 
         CustomValidationRule saved = repository.save(entity);
+        ruleEngine.invalidate();
         logger.info("Created custom validation rule: {}", saved.getRuleId());
 
         return CustomRuleResponse.fromEntity(saved);
@@ -96,6 +99,7 @@ public class CustomRulesService {
         updateEntityFromRequest(entity, request);
 
         CustomValidationRule saved = repository.save(entity);
+        ruleEngine.invalidate();
         logger.info("Updated custom validation rule: {}", saved.getRuleId());
 
         return CustomRuleResponse.fromEntity(saved);
@@ -111,6 +115,7 @@ public class CustomRulesService {
         }
 
         repository.deleteById(id);
+        ruleEngine.invalidate();
         logger.info("Deleted custom validation rule with ID: {}", id);
     }
 
@@ -124,6 +129,7 @@ public class CustomRulesService {
 
         entity.setEnabled(!entity.getEnabled());
         CustomValidationRule saved = repository.save(entity);
+        ruleEngine.invalidate();
 
         logger.info("Toggled custom validation rule {} to enabled: {}",
             saved.getRuleId(), saved.getEnabled());
@@ -0,0 +1,118 @@
+package gov.nist.oscal.tools.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gov.nist.oscal.tools.api.entity.AsyncJobEntity;
+import gov.nist.oscal.tools.api.model.Job;
+import gov.nist.oscal.tools.api.model.JobStatus;
+import gov.nist.oscal.tools.api.model.JobType;
+import gov.nist.oscal.tools.api.repository.AsyncJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Database implementation of JobStore
+ * Job state is kept in the async_jobs table, so results can be fetched from any instance.
+ * Results are stored as JSON and returned as JSON trees.
+ *
+ * Activated when: jobs.store=jdbc
+ */
+@Service
+@ConditionalOnProperty(name = "jobs.store", havingValue = "jdbc")
+public class DatabaseJobStore implements JobStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseJobStore.class);
+
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final AsyncJobRepository repository;
+    private final ObjectMapper objectMapper;
+    private final long ttlMinutes;
+
+    @Autowired
+    public DatabaseJobStore(AsyncJobRepository repository, ObjectMapper objectMapper,
+                            @Value("${jobs.ttl-minutes:60}") long ttlMinutes) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.ttlMinutes = ttlMinutes;
+        logger.info("Job store: database (TTL: {} minutes)", ttlMinutes);
+    }
+
+    @Override
+    public void save(Job job) {
+        AsyncJobEntity entity = new AsyncJobEntity();
+        entity.setId(job.getId());
+        entity.setJobType(job.getType().name());
+        entity.setStatus(job.getStatus().name());
+        entity.setUsername(job.getUsername());
+        entity.setProgress(job.getProgress());
+        entity.setMessage(truncate(job.getMessage(), MAX_MESSAGE_LENGTH));
+        entity.setError(truncate(job.getError(), MAX_ERROR_LENGTH));
+        entity.setCreatedAt(job.getCreatedAt());
+        entity.setUpdatedAt(job.getUpdatedAt());
+        entity.setCompletedAt(job.getCompletedAt());
+        entity.setJobVersion(job.getVersion());
+        if (job.getResult() != null) {
+            try {
+                entity.setResult(objectMapper.writeValueAsString(job.getResult()));
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException("Failed to serialize result of job " + job.getId(), e);
+            }
+        }
+        repository.save(entity);
+    }
+
+    @Override
+    public Optional<Job> findById(String id) {
+        return repository.findById(id).map(this::toJob);
+    }
+
+    /**
+     * Purge jobs that have not been updated within the TTL
+     */
+    @Scheduled(fixedDelayString = "${jobs.cleanup-interval-ms:300000}")
+    @Transactional
+    public void purgeExpiredJobs() {
+        int deleted = repository.deleteExpired(LocalDateTime.now().minusMinutes(ttlMinutes));
+        if (deleted > 0) {
+            logger.info("Purged {} expired jobs", deleted);
+        }
+    }
+
+    private Job toJob(AsyncJobEntity entity) {
+        Job job = new Job();
+        job.setId(entity.getId());
+        job.setType(JobType.valueOf(entity.getJobType()));
+        job.setStatus(JobStatus.valueOf(entity.getStatus()));
+        job.setUsername(entity.getUsername());
+        job.setProgress(entity.getProgress());
+        job.setMessage(entity.getMessage());
+        job.setError(entity.getError());
+        job.setCreatedAt(entity.getCreatedAt());
+        job.setUpdatedAt(entity.getUpdatedAt());
+        job.setCompletedAt(entity.getCompletedAt());
+        job.setVersion(entity.getJobVersion());
+        if (entity.getResult() != null) {
+            try {
+                job.setResult(objectMapper.readTree(entity.getResult()));
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException("Failed to read result of job " + entity.getId(), e);
+            }
+        }
+        return job;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+}
@@ -1,33 +1,52 @@
 package gov.nist.oscal.tools.api.service;
 
-import com.azure.core.util.BinaryData;
+import com.azure.core.http.rest.PagedResponse;
 import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.blob.BlobServiceClientBuilder;
 import com.azure.storage.blob.models.BlobItem;
+import com.azure.storage.blob.models.BlobListDetails;
+import com.azure.storage.blob.models.BlobRange;
+import com.azure.storage.blob.models.BlobStorageException;
 import com.azure.storage.blob.models.ListBlobsOptions;
+import com.azure.storage.blob.options.BlobInputStreamOptions;
 import gov.nist.oscal.tools.api.model.OscalFormat;
 import gov.nist.oscal.tools.api.model.OscalModelType;
 import gov.nist.oscal.tools.api.model.SavedFile;
+import gov.nist.oscal.tools.api.model.SavedFilePage;
+import gov.nist.oscal.tools.api.model.StoredContent;
+import gov.nist.oscal.tools.api.model.StoredObject;
+import gov.nist.oscal.tools.api.util.CompressionCodec;
+import gov.nist.oscal.tools.api.util.ContentHasher;
 import gov.nist.oscal.tools.api.util.PathSanitizer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -38,16 +57,62 @@ public class FileStorageService {
     private static final Logger logger = LoggerFactory.getLogger(FileStorageService.class);
     private static final String LOCAL_STORAGE_DIR = System.getProperty("user.home") + "/.oscal-hub/files";
 
+    // Metadata of a saved file whose content is held by the ContentStore
+    static final String CONTENT_DIGEST_KEY = "contentDigest";
+    static final String CONTENT_SIZE_KEY = "contentSize";
+    // SHA-256 of the content of a file that holds its content inline
+    static final String CONTENT_HASH_KEY = "contentHash";
+
     @Value("${azure.storage.connection-string}")
     private String connectionString;
 
     @Value("${azure.storage.container-name:oscal-files}")
     private String containerName;
 
+    @Value("${storage.transfer.multipart-threshold-bytes:33554432}")
+    private long multipartThreshold;
+
+    @Value("${storage.transfer.chunk-size-bytes:8388608}")
+    private int transferChunkSize;
+
+    @Value("${storage.transfer.parallelism:4}")
+    private int transferParallelism;
+
     private BlobServiceClient blobServiceClient;
     private BlobContainerClient containerClient;
+    private ParallelTransfer transfer;
     private boolean useLocalStorage = false;
 
+    private final OscalDocumentDetector documentDetector;
+    private final ContentStore contentStore;
+    private final boolean dedupEnabled;
+    private final SavedFileIndex fileIndex;
+    private final String compressionCodec;
+    private final long compressionMinSize;
+
+    /**
+     * @param contentStore Deduplicated store for file content. When deduplication is enabled new
+     *                     files only keep metadata referring to their content by digest; files
+     *                     saved that way stay readable if it is disabled later.
+     * @param fileIndex Index used to find files by ID without scanning storage
+     * @param compressionCodec Codec for content stored inline (deduplicated content is compressed
+     *                         by the StorageService backend); null or "none" stores it as is
+     */
+    @Autowired
+    public FileStorageService(OscalDocumentDetector documentDetector,
+                              ContentStore contentStore,
+                              @Value("${files.dedup.enabled:true}") boolean dedupEnabled,
+                              SavedFileIndex fileIndex,
+                              @Value("${storage.compression.codec:gzip}") String compressionCodec,
+                              @Value("${storage.compression.min-size-bytes:1024}") long compressionMinSize) {
+        this.documentDetector = documentDetector;
+        this.contentStore = contentStore;
+        this.dedupEnabled = dedupEnabled && contentStore != null;
+        this.fileIndex = fileIndex;
+        this.compressionCodec = compressionCodec;
+        this.compressionMinSize = compressionMinSize;
+    }
+
     @PostConstruct
     public void init() {
         // Check if Azure Storage is configured
@@ -90,6 +155,9 @@ public class FileStorageService {
                 logger.info("Using existing blob container: {}", containerName);
             }
 
+            transfer = new ParallelTransfer(new AzureBlockStore(containerClient),
+                    multipartThreshold, transferChunkSize, transferParallelism);
+
             logger.info("Azure Blob Storage initialized successfully");
         } catch (Exception e) {
             logger.error("Failed to initialize Azure Blob Storage: {}", e.getMessage(), e);
@@ -97,6 +165,13 @@ public class FileStorageService {
         }
     }
 
+    @PreDestroy
+    public void cleanup() {
+        if (transfer != null) {
+            transfer.close();
+        }
+    }
+
     /**
      * Save a file to Azure Blob Storage or local filesystem
      */
@@ -112,21 +187,49 @@ public class FileStorageService {
             String fileId = UUID.randomUUID().toString();
             String sanitizedFileName = sanitizeFileName(fileName);
             String blobName = buildBlobPath(username, fileId, sanitizedFileName);
-
-            // Upload to Azure Blob Storage
-            BlobClient blobClient = containerClient.getBlobClient(blobName);
             byte[] contentBytes = content.getBytes(StandardCharsets.UTF_8);
-            blobClient.upload(new ByteArrayInputStream(contentBytes), contentBytes.length, true);
 
-            // Set metadata
-            blobClient.setMetadata(java.util.Map.of(
+            Map<String, String> metadata = new HashMap<>(Map.of(
                 "username", username,
                 "fileId", fileId,
                 "originalFileName", fileName,
-                "modelType", modelType != null ? modelType.toString() : "",
                 "format", format.toString()
             ));
 
+            // With deduplication the blob is an empty reference to the stored content
+            byte[] blobBytes;
+            if (dedupEnabled) {
+                modelType = resolveModelType(content, modelType);
+                String digest = contentStore.store(content);
+                metadata.put(CONTENT_DIGEST_KEY, digest);
+                metadata.put(CONTENT_SIZE_KEY, String.valueOf(contentBytes.length));
+                blobBytes = new byte[0];
+            } else {
+                CompressionCodec codec = storageCodec(contentBytes.length);
+                blobBytes = codec.encode(contentBytes);
+                metadata.put(CONTENT_HASH_KEY, ContentHasher.sha256Hex(contentBytes));
+                if (codec != CompressionCodec.NONE) {
+                    modelType = resolveModelType(content, modelType);
+                    metadata.put(CompressionCodec.METADATA_KEY, codec.getName());
+                    metadata.put(CONTENT_SIZE_KEY, String.valueOf(contentBytes.length));
+                }
+            }
+            metadata.put("modelType", modelType != null ? modelType.toString() : "");
+
+            // Upload to Azure Blob Storage
+            BlobClient blobClient = containerClient.getBlobClient(blobName);
+            try {
+                if (transfer != null && transfer.isLarge(blobBytes.length)) {
+                    transfer.upload(blobName, blobBytes, metadata);
+                } else {
+                    blobClient.upload(new ByteArrayInputStream(blobBytes), blobBytes.length, true);
+                    blobClient.setMetadata(metadata);
+                }
+            } catch (RuntimeException e) {
+                releaseContent(metadata.get(CONTENT_DIGEST_KEY));
+                throw e;
+            }
+
             SavedFile savedFile = new SavedFile();
             savedFile.setId(fileId);
             savedFile.setFileName(fileName);
@@ -137,6 +240,8 @@ public class FileStorageService {
             savedFile.setFilePath(blobName);
             savedFile.setUsername(username);
 
+            indexFile(savedFile);
+
             logger.info("Saved file to Azure Blob Storage: {} (ID: {}) for user: {}", fileName, fileId, username);
             return savedFile;
         } catch (Exception e) {
@@ -162,21 +267,48 @@ public class FileStorageService {
             // Create user directory if it doesn't exist
             Files.createDirectories(filePath.getParent());
 
-            // Write file content
+            // Write file content, or with deduplication an empty reference to the stored content
             byte[] contentBytes = content.getBytes(StandardCharsets.UTF_8);
-            Files.write(filePath, contentBytes);
-
-            // Write metadata file - use safe path construction
-            Path metadataPath = PathSanitizer.safeResolve(baseDir, relativePath + ".meta");
-            String metadataContent = String.format(
-                "username=%s\nfileId=%s\noriginalFileName=%s\nmodelType=%s\nformat=%s",
-                sanitizedUsername,
-                fileId,
-                fileName,
-                modelType != null ? modelType.toString() : "",
-                format.toString()
-            );
-            Files.write(metadataPath, metadataContent.getBytes(StandardCharsets.UTF_8));
+            String digest = null;
+            CompressionCodec codec = CompressionCodec.NONE;
+            if (dedupEnabled) {
+                modelType = resolveModelType(content, modelType);
+                digest = contentStore.store(content);
+            } else {
+                codec = storageCodec(contentBytes.length);
+                if (codec != CompressionCodec.NONE) {
+                    modelType = resolveModelType(content, modelType);
+                }
+            }
+
+            try {
+                Files.write(filePath, digest != null ? new byte[0] : codec.encode(contentBytes));
+
+                // Write metadata file - use safe path construction
+                Path metadataPath = PathSanitizer.safeResolve(baseDir, relativePath + ".meta");
+                String metadataContent = String.format(
+                    "username=%s\nfileId=%s\noriginalFileName=%s\nmodelType=%s\nformat=%s",
+                    sanitizedUsername,
+                    fileId,
+                    fileName,
+                    modelType != null ? modelType.toString() : "",
+                    format.toString()
+                );
+                if (digest != null) {
+                    metadataContent += String.format("\n%s=%s\n%s=%d",
+                        CONTENT_DIGEST_KEY, digest, CONTENT_SIZE_KEY, contentBytes.length);
+                } else {
+                    metadataContent += String.format("\n%s=%s", CONTENT_HASH_KEY, ContentHasher.sha256Hex(contentBytes));
+                    if (codec != CompressionCodec.NONE) {
+                        metadataContent += String.format("\n%s=%s\n%s=%d",
+                            CompressionCodec.METADATA_KEY, codec.getName(), CONTENT_SIZE_KEY, contentBytes.length);
+                    }
+                }
+                Files.write(metadataPath, metadataContent.getBytes(StandardCharsets.UTF_8));
+            } catch (IOException | RuntimeException e) {
+                releaseContent(digest);
+                throw e;
+            }
 
             SavedFile savedFile = new SavedFile();
             savedFile.setId(fileId);
@@ -188,6 +320,8 @@ public class FileStorageService {
             savedFile.setFilePath(relativePath);
             savedFile.setUsername(username);
 
+            indexFile(savedFile);
+
             logger.info("Saved file locally: {} (ID: {}) for user: {}", fileName, fileId, username);
             return savedFile;
         } catch (Exception e) {
@@ -212,18 +346,9 @@ public class FileStorageService {
             String prefix = username + "/";
             List<SavedFile> files = new ArrayList<>();
 
-            ListBlobsOptions options = new ListBlobsOptions().setPrefix(prefix);
-
-            for (BlobItem blobItem : containerClient.listBlobs(options, null)) {
-                try {
-                    BlobClient blobClient = containerClient.getBlobClient(blobItem.getName());
-                    SavedFile savedFile = blobItemToSavedFile(blobItem, blobClient, username);
-                    if (savedFile != null) {
-                        files.add(savedFile);
-                    }
-                } catch (Exception e) {
-                    logger.warn("Error processing blob item: {}", blobItem.getName(), e);
-                }
+            // Metadata comes with the listing, so no per-blob requests are needed
+            for (BlobItem blobItem : containerClient.listBlobs(listOptions(prefix), null)) {
+                addBlobItem(files, blobItem, username);
             }
 
             // Sort by upload date, most recent first
@@ -236,6 +361,119 @@ public class FileStorageService {
         }
     }
 
+    /**
+     * Get one page of a user's saved files. Pages follow storage order (by file ID) rather than
+     * upload date, so each page is a single listing request.
+     *
+     * @param cursor Cursor returned with the previous page, or null for the first page
+     * @param limit Maximum number of files in the page
+     * @throws IllegalArgumentException if the cursor is invalid
+     */
+    public SavedFilePage listFiles(String username, String cursor, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        String position = decodeCursor(cursor);
+
+        if (useLocalStorage) {
+            return listFilesLocally(username, position, limit);
+        }
+
+        if (containerClient == null) {
+            logger.warn("Azure Blob Storage is not configured. Returning empty file list.");
+            return new SavedFilePage(new ArrayList<>(), null);
+        }
+        try {
+            Iterable<PagedResponse<BlobItem>> pages = position != null
+                ? containerClient.listBlobs(listOptions(username + "/"), null).iterableByPage(position, limit)
+                : containerClient.listBlobs(listOptions(username + "/"), null).iterableByPage(limit);
+
+            List<SavedFile> files = new ArrayList<>();
+            Iterator<PagedResponse<BlobItem>> iterator = pages.iterator();
+            if (!iterator.hasNext()) {
+                return new SavedFilePage(files, null);
+            }
+            PagedResponse<BlobItem> page = iterator.next();
+            for (BlobItem blobItem : page.getValue()) {
+                addBlobItem(files, blobItem, username);
+            }
+            return new SavedFilePage(files, encodeCursor(page.getContinuationToken()));
+        } catch (Exception e) {
+            logger.error("Failed to list files for user {}: {}", username, e.getMessage(), e);
+            throw new RuntimeException("Failed to list files", e);
+        }
+    }
+
+    private ListBlobsOptions listOptions(String prefix) {
+        return new ListBlobsOptions()
+            .setPrefix(prefix)
+            .setDetails(new BlobListDetails().setRetrieveMetadata(true));
+    }
+
+    private void addBlobItem(List<SavedFile> files, BlobItem blobItem, String username) {
+        try {
+            SavedFile savedFile = blobItemToSavedFile(blobItem, username);
+            if (savedFile != null) {
+                files.add(savedFile);
+            }
+        } catch (Exception e) {
+            logger.warn("Error processing blob item: {}", blobItem.getName(), e);
+        }
+    }
+
+    /**
+     * Get one page of a user's saved files from local filesystem, ordered by file name
+     */
+    private SavedFilePage listFilesLocally(String username, String after, int limit) {
+        try {
+            Path userDir = Paths.get(LOCAL_STORAGE_DIR, username);
+            if (!Files.exists(userDir)) {
+                return new SavedFilePage(new ArrayList<>(), null);
+            }
+
+            List<Path> candidates;
+            try (Stream<Path> paths = Files.walk(userDir)) {
+                candidates = paths
+                    .filter(Files::isRegularFile)
+                    .filter(p -> !p.toString().endsWith(".meta"))
+                    .filter(p -> after == null || p.getFileName().toString().compareTo(after) > 0)
+                    .sorted(Comparator.comparing(p -> p.getFileName().toString()))
+                    .limit(limit + 1L)
+                    .collect(Collectors.toList());
+            }
+
+            boolean more = candidates.size() > limit;
+            List<Path> pagePaths = more ? candidates.subList(0, limit) : candidates;
+            List<SavedFile> files = pagePaths.stream()
+                .map(p -> localFileToSavedFile(p, username))
+                .filter(f -> f != null)
+                .collect(Collectors.toList());
+            String next = more ? encodeCursor(pagePaths.get(pagePaths.size() - 1).getFileName().toString()) : null;
+            return new SavedFilePage(files, next);
+        } catch (Exception e) {
+            logger.error("Failed to list local files for user {}: {}", username, e.getMessage(), e);
+            throw new RuntimeException("Failed to list files", e);
+        }
+    }
+
+    private static String encodeCursor(String position) {
+        if (position == null || position.isEmpty()) {
+            return null;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
     /**
      * Get a list of all saved files from local filesystem for a specific user
      */
@@ -281,6 +519,7 @@ public class FileStorageService {
             String originalFileName = null;
             String modelTypeStr = null;
             String formatStr = null;
+            Long contentSize = null;
 
             for (String line : metadataLines) {
                 if (line.startsWith("fileId=")) {
@@ -291,6 +530,8 @@ public class FileStorageService {
                     modelTypeStr = line.substring("modelType=".length());
                 } else if (line.startsWith("format=")) {
                     formatStr = line.substring("format=".length());
+                } else if (line.startsWith(CONTENT_SIZE_KEY + "=")) {
+                    contentSize = parseSize(line.substring(CONTENT_SIZE_KEY.length() + 1));
                 }
             }
 
@@ -315,6 +556,9 @@ public class FileStorageService {
                     // Leave as null
                 }
             }
+            if (modelType == null) {
+                modelType = detectModelType(filePath);
+            }
 
             BasicFileAttributes attrs = Files.readAttributes(filePath, BasicFileAttributes.class);
             Path relativePath = Paths.get(LOCAL_STORAGE_DIR).relativize(filePath);
@@ -324,7 +568,7 @@ public class FileStorageService {
             savedFile.setFileName(originalFileName);
             savedFile.setFormat(format);
             savedFile.setModelType(modelType);
-            savedFile.setFileSize(attrs.size());
+            savedFile.setFileSize(contentSize != null ? contentSize : attrs.size());
             savedFile.setUploadedAt(
                 LocalDateTime.ofInstant(
                     attrs.lastModifiedTime().toInstant(),
@@ -359,8 +603,11 @@ public class FileStorageService {
             }
 
             BlobClient blobClient = containerClient.getBlobClient(blobName);
-            BinaryData content = blobClient.downloadContent();
-            return content.toString();
+            String digest = contentDigest(blobClient);
+            if (digest != null) {
+                return contentStore.load(digest);
+            }
+            return CompressionCodec.decodeToString(downloadBlob(blobClient));
         } catch (Exception e) {
             logger.error("Failed to get file content for file {}: {}", fileId, e.getMessage(), e);
             throw new RuntimeException("Failed to get file content", e);
@@ -377,7 +624,11 @@ public class FileStorageService {
                 throw new RuntimeException("File not found: " + fileId);
             }
 
-            return new String(Files.readAllBytes(filePath), StandardCharsets.UTF_8);
+            String digest = readLocalContentDigest(filePath);
+            if (digest != null) {
+                return contentStore.load(digest);
+            }
+            return CompressionCodec.decodeToString(Files.newInputStream(filePath));
         } catch (Exception e) {
             logger.error("Failed to get local file content for file {}: {}", fileId, e.getMessage(), e);
             throw new RuntimeException("Failed to get file content", e);
@@ -385,9 +636,179 @@ public class FileStorageService {
     }
 
     /**
-     * Find local file by file ID
+     * Get file data by ID exactly as stored, without decompressing it, so that compressed data
+     * can be passed through to clients that accept its encoding
+     */
+    public StoredContent getStoredFileContent(String fileId, String username) {
+        if (useLocalStorage) {
+            try {
+                Path filePath = findLocalFileByFileId(fileId, username);
+                if (filePath == null) {
+                    throw new RuntimeException("File not found: " + fileId);
+                }
+                String digest = readLocalContentDigest(filePath);
+                return digest != null ? contentStore.loadStored(digest) : StoredContent.of(Files.readAllBytes(filePath));
+            } catch (Exception e) {
+                logger.error("Failed to get local file content for file {}: {}", fileId, e.getMessage(), e);
+                throw new RuntimeException("Failed to get file content", e);
+            }
+        }
+
+        if (containerClient == null) {
+            throw new RuntimeException("Azure Blob Storage is not configured. Please set AZURE_STORAGE_CONNECTION_STRING environment variable.");
+        }
+        try {
+            String blobName = findBlobByFileId(fileId, username);
+            if (blobName == null) {
+                throw new RuntimeException("File not found: " + fileId);
+            }
+
+            BlobClient blobClient = containerClient.getBlobClient(blobName);
+            String digest = contentDigest(blobClient);
+            return digest != null ? contentStore.loadStored(digest) : StoredContent.of(downloadBlob(blobClient));
+        } catch (Exception e) {
+            logger.error("Failed to get file content for file {}: {}", fileId, e.getMessage(), e);
+            throw new RuntimeException("Failed to get file content", e);
+        }
+    }
+
+    /**
+     * Get the SHA-256 digest of a file's content, used as its strong ETag. It is recorded in the
+     * file's metadata when the file is saved; files saved before that are read and hashed once,
+     * and the digest is recorded then.
+     */
+    public String getContentHash(String fileId, String username) {
+        if (useLocalStorage) {
+            try {
+                Path filePath = findLocalFileByFileId(fileId, username);
+                if (filePath == null) {
+                    throw new RuntimeException("File not found: " + fileId);
+                }
+                String digest = readLocalContentDigest(filePath);
+                if (digest == null) {
+                    digest = readLocalMetadataValue(filePath, CONTENT_HASH_KEY);
+                }
+                if (digest == null) {
+                    digest = ContentHasher.sha256Hex(getFileContentLocally(fileId, username));
+                    recordLocalContentHash(filePath, digest);
+                }
+                return digest;
+            } catch (IOException e) {
+                logger.error("Failed to read local file metadata for file {}: {}", fileId, e.getMessage(), e);
+                throw new RuntimeException("Failed to get file content", e);
+            }
+        }
+
+        if (containerClient == null) {
+            throw new RuntimeException("Azure Blob Storage is not configured. Please set AZURE_STORAGE_CONNECTION_STRING environment variable.");
+        }
+        String blobName = findBlobByFileId(fileId, username);
+        if (blobName == null) {
+            throw new RuntimeException("File not found: " + fileId);
+        }
+        BlobClient blobClient = containerClient.getBlobClient(blobName);
+        Map<String, String> metadata = blobClient.getProperties().getMetadata();
+        String digest = contentDigest(metadata);
+        if (digest == null && metadata != null) {
+            digest = metadata.get(CONTENT_HASH_KEY);
+        }
+        if (digest == null) {
+            digest = ContentHasher.sha256Hex(CompressionCodec.decodeToString(downloadBlob(blobClient)));
+            recordBlobContentHash(blobClient, metadata, digest);
+        }
+        return digest;
+    }
+
+    /**
+     * Record the content digest of a local file saved without one, so it is only computed once
+     */
+    private void recordLocalContentHash(Path filePath, String digest) {
+        Path metadataPath = Paths.get(filePath.toString() + ".meta");
+        if (!Files.exists(metadataPath)) {
+            return;
+        }
+        try {
+            Files.writeString(metadataPath, "\n" + CONTENT_HASH_KEY + "=" + digest, StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.warn("Failed to record content hash of {}: {}", filePath, e.getMessage());
+        }
+    }
+
+    /**
+     * Record the content digest of a blob saved without one, so it is only computed once
+     */
+    private void recordBlobContentHash(BlobClient blobClient, Map<String, String> metadata, String digest) {
+        try {
+            Map<String, String> updated = metadata != null ? new HashMap<>(metadata) : new HashMap<>();
+            updated.put(CONTENT_HASH_KEY, digest);
+            blobClient.setMetadata(updated);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to record content hash of {}: {}", blobClient.getBlobName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Open a file's data exactly as stored for streaming, without reading it into memory
+     */
+    public StoredObject openStoredFile(String fileId, String username) {
+        if (useLocalStorage) {
+            try {
+                Path filePath = findLocalFileByFileId(fileId, username);
+                if (filePath == null) {
+                    throw new RuntimeException("File not found: " + fileId);
+                }
+                String digest = readLocalContentDigest(filePath);
+                return digest != null ? contentStore.open(digest) : StoredObject.ofFile(filePath);
+            } catch (IOException e) {
+                logger.error("Failed to open local file {}: {}", fileId, e.getMessage(), e);
+                throw new RuntimeException("Failed to get file content", e);
+            }
+        }
+
+        if (containerClient == null) {
+            throw new RuntimeException("Azure Blob Storage is not configured. Please set AZURE_STORAGE_CONNECTION_STRING environment variable.");
+        }
+        String blobName = findBlobByFileId(fileId, username);
+        if (blobName == null) {
+            throw new RuntimeException("File not found: " + fileId);
+        }
+        BlobClient blobClient = containerClient.getBlobClient(blobName);
+        String digest = contentDigest(blobClient);
+        return digest != null ? contentStore.open(digest) : AzureBlockStore.openBlob(blobClient);
+    }
+
+    /**
+     * Download a blob's data, with parallel ranged reads for large blobs
+     */
+    private byte[] downloadBlob(BlobClient blobClient) {
+        return transfer != null ? transfer.download(blobClient.getBlobName()) : blobClient.downloadContent().toBytes();
+    }
+
+    /**
+     * Find local file by file ID, through the index when possible
      */
     private Path findLocalFileByFileId(String fileId, String username) throws IOException {
+        if (fileIndex != null) {
+            Optional<String> indexed = fileIndex.findPath(fileId, username);
+            if (indexed.isPresent()) {
+                Path filePath = PathSanitizer.safeResolve(Paths.get(LOCAL_STORAGE_DIR), indexed.get());
+                if (Files.isRegularFile(filePath)) {
+                    return filePath;
+                }
+                fileIndex.evict(fileId, username);
+            }
+            if (!fileIndex.isScanOnMiss()) {
+                return null;
+            }
+        }
+        return scanLocalFileByFileId(fileId, username);
+    }
+
+    /**
+     * Find local file by file ID by walking the user's directory
+     */
+    private Path scanLocalFileByFileId(String fileId, String username) throws IOException {
         Path userDir = Paths.get(LOCAL_STORAGE_DIR, username);
         if (!Files.exists(userDir)) {
             return null;
@@ -463,7 +884,7 @@ public class FileStorageService {
             }
 
             if (modelType == null) {
-                modelType = detectModelType(fileName);
+                modelType = detectModelType(blobClient, fileName);
             }
 
             SavedFile savedFile = new SavedFile();
@@ -471,7 +892,7 @@ public class FileStorageService {
             savedFile.setFileName(fileName);
             savedFile.setFormat(format);
             savedFile.setModelType(modelType);
-            savedFile.setFileSize(properties.getBlobSize());
+            savedFile.setFileSize(contentSize(metadata, properties.getBlobSize()));
             savedFile.setUploadedAt(
                 LocalDateTime.ofInstant(
                     properties.getLastModified().toInstant(),
@@ -523,10 +944,22 @@ public class FileStorageService {
             }
 
             BlobClient blobClient = containerClient.getBlobClient(blobName);
+            String digest = contentDigest(blobClient);
             blobClient.delete();
+            releaseContent(digest);
+
+            unindexFile(fileId, username);
 
             logger.info("Deleted file with ID: {} for user: {}", fileId, username);
             return true;
+        } catch (BlobStorageException e) {
+            if (e.getStatusCode() == 404) {
+                // Indexed but already gone from storage
+                unindexFile(fileId, username);
+                return false;
+            }
+            logger.error("Failed to delete file {}: {}", fileId, e.getMessage(), e);
+            return false;
         } catch (Exception e) {
             logger.error("Failed to delete file {}: {}", fileId, e.getMessage(), e);
             return false;
@@ -543,6 +976,8 @@ public class FileStorageService {
                 return false;
             }
 
+            String digest = readLocalContentDigest(filePath);
+
             // Delete the file
             Files.delete(filePath);
 
@@ -552,6 +987,10 @@ public class FileStorageService {
                 Files.delete(metadataPath);
             }
 
+            releaseContent(digest);
+
+            unindexFile(fileId, username);
+
             logger.info("Deleted local file with ID: {} for user: {}", fileId, username);
             return true;
         } catch (Exception e) {
@@ -561,9 +1000,28 @@ public class FileStorageService {
     }
 
     /**
-     * Find blob name by file ID and username
+     * Find blob name by file ID and username, through the index when possible
      */
     private String findBlobByFileId(String fileId, String username) {
+        if (fileIndex != null) {
+            Optional<String> indexed = fileIndex.findPath(fileId, username);
+            if (indexed.isPresent()) {
+                if (containerClient.getBlobClient(indexed.get()).exists()) {
+                    return indexed.get();
+                }
+                fileIndex.evict(fileId, username);
+            }
+            if (!fileIndex.isScanOnMiss()) {
+                return null;
+            }
+        }
+        return scanBlobByFileId(fileId, username);
+    }
+
+    /**
+     * Find blob name by file ID by listing the user's blobs
+     */
+    private String scanBlobByFileId(String fileId, String username) {
         String prefix = username + "/";
         ListBlobsOptions options = new ListBlobsOptions().setPrefix(prefix);
 
@@ -578,7 +1036,7 @@ public class FileStorageService {
     /**
      * Convert BlobItem to SavedFile
      */
-    private SavedFile blobItemToSavedFile(BlobItem blobItem, BlobClient blobClient, String username) {
+    private SavedFile blobItemToSavedFile(BlobItem blobItem, String username) {
         try {
             String blobName = blobItem.getName();
             String[] parts = blobName.split("/", 2);
@@ -597,8 +1055,8 @@ public class FileStorageService {
             String fileId = fileNameParts[0];
             String originalFileName = fileNameParts[1];
 
-            // Get metadata
-            var metadata = blobClient.getProperties().getMetadata();
+            // Metadata is included in the listing
+            Map<String, String> metadata = blobItem.getMetadata();
             OscalFormat format = detectFormat(originalFileName);
             OscalModelType modelType = null;
 
@@ -623,7 +1081,8 @@ public class FileStorageService {
             }
 
             if (modelType == null) {
-                modelType = detectModelType(originalFileName);
+                // Sniffing the content would cost a request per blob; getFile still does
+                modelType = guessModelType(originalFileName);
             }
 
             SavedFile savedFile = new SavedFile();
@@ -631,7 +1090,7 @@ public class FileStorageService {
             savedFile.setFileName(originalFileName);
             savedFile.setFormat(format);
             savedFile.setModelType(modelType);
-            savedFile.setFileSize(blobItem.getProperties().getContentLength());
+            savedFile.setFileSize(contentSize(metadata, blobItem.getProperties().getContentLength()));
             savedFile.setUploadedAt(
                 LocalDateTime.ofInstant(
                     blobItem.getProperties().getLastModified().toInstant(),
@@ -648,6 +1107,102 @@ public class FileStorageService {
         }
     }
 
+    private void indexFile(SavedFile savedFile) {
+        if (fileIndex != null) {
+            fileIndex.record(savedFile);
+        }
+    }
+
+    private void unindexFile(String fileId, String username) {
+        if (fileIndex != null) {
+            fileIndex.remove(fileId, username);
+        }
+    }
+
+    /**
+     * Model type to record for deduplicated or compressed content, which cannot be sniffed from
+     * the stored data later
+     */
+    private OscalModelType resolveModelType(String content, OscalModelType modelType) {
+        if (modelType != null) {
+            return modelType;
+        }
+        try {
+            return documentDetector.detect(content).getModelType();
+        } catch (Exception e) {
+            logger.debug("Could not detect model type of saved content: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Digest of the deduplicated content a blob refers to, or null if the blob holds its content
+     */
+    private String contentDigest(Map<String, String> metadata) {
+        if (metadata == null || contentStore == null) {
+            return null;
+        }
+        String digest = metadata.get(CONTENT_DIGEST_KEY);
+        return digest != null && !digest.isEmpty() ? digest : null;
+    }
+
+    private String contentDigest(BlobClient blobClient) {
+        return contentStore != null ? contentDigest(blobClient.getProperties().getMetadata()) : null;
+    }
+
+    private long contentSize(Map<String, String> metadata, long blobSize) {
+        Long size = metadata != null ? parseSize(metadata.get(CONTENT_SIZE_KEY)) : null;
+        return size != null ? size : blobSize;
+    }
+
+    private static Long parseSize(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Digest of the deduplicated content a local file refers to, or null if the file holds its content
+     */
+    private String readLocalContentDigest(Path filePath) throws IOException {
+        return contentStore != null ? readLocalMetadataValue(filePath, CONTENT_DIGEST_KEY) : null;
+    }
+
+    /**
+     * Value of a key in a local file's metadata, or null if it has none
+     */
+    private static String readLocalMetadataValue(Path filePath, String key) throws IOException {
+        Path metadataPath = Paths.get(filePath.toString() + ".meta");
+        if (!Files.exists(metadataPath)) {
+            return null;
+        }
+        String prefix = key + "=";
+        for (String line : Files.readAllLines(metadataPath, StandardCharsets.UTF_8)) {
+            if (line.startsWith(prefix) && line.length() > prefix.length()) {
+                return line.substring(prefix.length());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Codec to store inline content of the given size with
+     */
+    private CompressionCodec storageCodec(long size) {
+        return CompressionCodec.forContent(compressionCodec, size, compressionMinSize);
+    }
+
+    private void releaseContent(String digest) {
+        if (digest != null) {
+            contentStore.release(digest);
+        }
+    }
+
     /**
      * Build blob path: {username}/{fileId}_{filename}
      */
@@ -672,7 +1227,37 @@ public class FileStorageService {
         return OscalFormat.JSON; // default
     }
 
-    private OscalModelType detectModelType(String fileName) {
+    /**
+     * Detect the model type of a stored blob from its root, downloading only the first few KB.
+     * Falls back to guessing from the file name.
+     */
+    private OscalModelType detectModelType(BlobClient blobClient, String fileName) {
+        BlobInputStreamOptions options = new BlobInputStreamOptions()
+            .setRange(new BlobRange(0, (long) OscalDocumentDetector.SNIFF_LIMIT));
+        try (InputStream head = CompressionCodec.decoding(blobClient.openInputStream(options))) {
+            OscalModelType modelType = documentDetector.detect(head).getModelType();
+            if (modelType != null) {
+                return modelType;
+            }
+        } catch (Exception e) {
+            logger.debug("Could not detect model type of blob {}: {}", blobClient.getBlobName(), e.getMessage());
+        }
+        return guessModelType(fileName);
+    }
+
+    /**
+     * Detect the model type of a local file from its root
+     */
+    private OscalModelType detectModelType(Path filePath) {
+        try (InputStream head = CompressionCodec.decoding(Files.newInputStream(filePath))) {
+            return documentDetector.detect(head).getModelType();
+        } catch (Exception e) {
+            logger.debug("Could not detect model type of file {}: {}", filePath, e.getMessage());
+            return null; // Unknown
+        }
+    }
+
+    private OscalModelType guessModelType(String fileName) {
         String lowerFileName = fileName.toLowerCase();
         if (lowerFileName.contains("catalog")) {
             return OscalModelType.CATALOG;
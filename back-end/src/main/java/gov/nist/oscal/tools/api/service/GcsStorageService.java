@@ -1,7 +1,11 @@
 package gov.nist.oscal.tools.api.service;
 
 import com.google.api.gax.paging.Page;
+import com.google.cloud.ReadChannel;
 import com.google.cloud.storage.*;
+import gov.nist.oscal.tools.api.model.StoredContent;
+import gov.nist.oscal.tools.api.model.StoredObject;
+import gov.nist.oscal.tools.api.util.CompressionCodec;
 import gov.nist.oscal.tools.api.util.PathSanitizer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,6 +16,7 @@ import org.springframework.stereotype.Service;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import java.io.IOException;
+import java.nio.channels.Channels;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -33,6 +38,7 @@ import java.util.stream.StreamSupport;
 public class GcsStorageService implements StorageService {
 
     private static final Logger logger = LoggerFactory.getLogger(GcsStorageService.class);
+    private static final long LIST_PAGE_SIZE = 1000;
 
     @Value("${gcp.project-id:}")
     private String projectId;
@@ -46,7 +52,24 @@ public class GcsStorageService implements StorageService {
     @Value("${file.upload-dir:./uploads}")
     private String uploadDir;
 
+    @Value("${storage.compression.codec:gzip}")
+    private String compressionCodec;
+
+    @Value("${storage.compression.min-size-bytes:1024}")
+    private long compressionMinSize;
+
+    @Value("${storage.transfer.multipart-threshold-bytes:33554432}")
+    private long multipartThreshold;
+
+    @Value("${storage.transfer.chunk-size-bytes:8388608}")
+    private int transferChunkSize;
+
+    @Value("${storage.transfer.parallelism:4}")
+    private int transferParallelism;
+
     private Storage storage;
+    private ParallelTransfer transfer;
+    private AsyncStorageService asyncStorage;
     private boolean useLocalStorage = false;
     private Path localBuildPath;
 
@@ -101,6 +124,15 @@ public class GcsStorageService implements StorageService {
             logger.info("  4. gcloud auth application-default login executed");
             fallbackToLocalStorage();
         }
+
+        if (!useLocalStorage) {
+            transfer = new ParallelTransfer(new GcsComposeStore(storage, buildBucketName),
+                    multipartThreshold, transferChunkSize, transferParallelism);
+            // The GCS client library has no non-blocking API
+            asyncStorage = new BlockingAsyncStorage(this, transferParallelism);
+        } else {
+            asyncStorage = new LocalAsyncStorage(localBuildPath, buildFolder, compressionCodec, compressionMinSize);
+        }
     }
 
     private void createBucket() {
@@ -147,6 +179,12 @@ public class GcsStorageService implements StorageService {
 
     @PreDestroy
     public void cleanup() {
+        if (transfer != null) {
+            transfer.close();
+        }
+        if (asyncStorage instanceof BlockingAsyncStorage blockingStorage) {
+            blockingStorage.close();
+        }
         if (storage != null) {
             try {
                 storage.close();
@@ -159,31 +197,43 @@ public class GcsStorageService implements StorageService {
 
     @Override
     public String uploadComponent(String username, String filename, String content, Map<String, String> metadata) {
-        String blobName = buildPath(username, filename);
+        String blobName = uploadObject(buildPath(username, filename), content, metadata);
+        logger.info("Uploaded component to GCS: {}/{}", buildBucketName, blobName);
+        return blobName;
+    }
 
+    @Override
+    public String uploadObject(String blobName, String content, Map<String, String> metadata) {
         if (useLocalStorage) {
             saveToLocalStorage(content, blobName);
             return blobName;
         }
 
         try {
-            byte[] contentBytes = content.getBytes(StandardCharsets.UTF_8);
+            byte[] rawBytes = content.getBytes(StandardCharsets.UTF_8);
+            CompressionCodec codec = storageCodec(rawBytes.length);
+            byte[] contentBytes = codec.encode(rawBytes);
 
             BlobId blobId = BlobId.of(buildBucketName, blobName);
             BlobInfo.Builder blobInfoBuilder = BlobInfo.newBuilder(blobId)
                     .setContentType("application/json");
 
-            // Add custom metadata if provided
-            if (metadata != null && !metadata.isEmpty()) {
-                blobInfoBuilder.setMetadata(metadata);
+            // Add custom metadata if provided, recording the codec
+            Map<String, String> blobMetadata = codec.withMetadata(metadata);
+            if (!blobMetadata.isEmpty()) {
+                blobInfoBuilder.setMetadata(blobMetadata);
+            }
+
+            // Large objects are uploaded as parallel parts composed into the target
+            if (transfer != null && transfer.isLarge(contentBytes.length)) {
+                transfer.upload(blobName, contentBytes, blobMetadata);
+                return blobName;
             }
 
             BlobInfo blobInfo = blobInfoBuilder.build();
 
             // Upload with retry strategy
             storage.create(blobInfo, contentBytes);
-
-            logger.info("Uploaded component to GCS: {}/{}", buildBucketName, blobName);
             return blobName;
 
         } catch (StorageException e) {
@@ -194,6 +244,11 @@ public class GcsStorageService implements StorageService {
 
     @Override
     public String downloadComponent(String blobName) {
+        return downloadStored(blobName).decode();
+    }
+
+    @Override
+    public StoredContent downloadStored(String blobName) {
         if (useLocalStorage) {
             return getFromLocalStorage(blobName);
         }
@@ -207,10 +262,14 @@ public class GcsStorageService implements StorageService {
                 throw new RuntimeException("Component not found: " + blobName);
             }
 
-            byte[] content = blob.getContent();
+            // Large objects are read as parallel ranges of the generation just looked up
+            byte[] data = transfer != null && transfer.isLarge(blob.getSize())
+                    ? transfer.download(blobName, blob.getSize(), String.valueOf(blob.getGeneration()))
+                    : blob.getContent();
+            StoredContent content = StoredContent.of(data);
 
             logger.info("Downloaded component from GCS: {}/{}", buildBucketName, blobName);
-            return new String(content, StandardCharsets.UTF_8);
+            return content;
 
         } catch (StorageException e) {
             logger.error("Failed to download from GCS: {} (Code: {})", e.getMessage(), e.getCode());
@@ -218,6 +277,36 @@ public class GcsStorageService implements StorageService {
         }
     }
 
+    @Override
+    public StoredObject openStored(String blobName) {
+        if (useLocalStorage) {
+            return openFromLocalStorage(blobName);
+        }
+
+        try {
+            Blob blob = storage.get(BlobId.of(buildBucketName, blobName));
+            if (blob == null) {
+                logger.error("Component not found in GCS: {}", blobName);
+                throw new RuntimeException("Component not found: " + blobName);
+            }
+
+            // Reads are pinned to the generation found now, so they never mix two versions
+            BlobId generation = BlobId.of(buildBucketName, blobName, blob.getGeneration());
+            Map<String, String> metadata = blob.getMetadata();
+            return new StoredObject(blob.getSize(),
+                    CompressionCodec.fromName(metadata != null ? metadata.get(CompressionCodec.METADATA_KEY) : null),
+                    (offset, length) -> {
+                        ReadChannel reader = storage.reader(generation);
+                        reader.seek(offset);
+                        reader.limit(offset + length);
+                        return Channels.newInputStream(reader);
+                    });
+        } catch (StorageException e) {
+            logger.error("Failed to open GCS object: {} (Code: {})", e.getMessage(), e.getCode());
+            throw new RuntimeException("Failed to open component", e);
+        }
+    }
+
     @Override
     public List<String> listUserComponents(String username) {
         String prefix = buildFolder + "/" + username + "/";
@@ -230,9 +319,12 @@ public class GcsStorageService implements StorageService {
 
         try {
             // List objects with prefix
+            // Fetch only object names, in pages of up to 1,000
             Page<Blob> blobs = storage.list(buildBucketName,
                     Storage.BlobListOption.prefix(prefix),
-                    Storage.BlobListOption.currentDirectory());
+                    Storage.BlobListOption.currentDirectory(),
+                    Storage.BlobListOption.pageSize(LIST_PAGE_SIZE),
+                    Storage.BlobListOption.fields(Storage.BlobField.NAME));
 
             componentPaths = StreamSupport.stream(blobs.iterateAll().spliterator(), false)
                     .map(Blob::getName)
@@ -318,12 +410,33 @@ public class GcsStorageService implements StorageService {
         }
     }
 
+    @Override
+    public String getVersionTag(String blobName) {
+        if (useLocalStorage) {
+            return localVersionTag(localBuildPath.resolve(blobName.replace(buildFolder + "/", "")));
+        }
+
+        try {
+            Blob blob = storage.get(BlobId.of(buildBucketName, blobName));
+            return blob != null ? blob.getEtag() : null;
+
+        } catch (StorageException e) {
+            logger.debug("Could not read ETag of {}: {} (Code: {})", blobName, e.getMessage(), e.getCode());
+            return null;
+        }
+    }
+
     @Override
     public String buildPath(String username, String filename) {
         String sanitizedFileName = sanitizeFileName(filename);
         return String.format("%s/%s/%s", buildFolder, username, sanitizedFileName);
     }
 
+    @Override
+    public AsyncStorageService async() {
+        return asyncStorage;
+    }
+
     @Override
     public boolean isConfigured() {
         return storage != null || useLocalStorage;
@@ -341,6 +454,13 @@ public class GcsStorageService implements StorageService {
         return fileName.replaceAll("[^a-zA-Z0-9._-]", "_");
     }
 
+    /**
+     * Codec to store content of the given size with
+     */
+    private CompressionCodec storageCodec(long size) {
+        return CompressionCodec.forContent(compressionCodec, size, compressionMinSize);
+    }
+
     // Local storage fallback methods
 
     private void saveToLocalStorage(String content, String key) {
@@ -349,7 +469,8 @@ public class GcsStorageService implements StorageService {
             // Use PathSanitizer to prevent path traversal attacks
             Path filePath = PathSanitizer.safeResolve(localBuildPath, relativePath);
             Files.createDirectories(filePath.getParent());
-            Files.writeString(filePath, content, StandardCharsets.UTF_8);
+            byte[] contentBytes = content.getBytes(StandardCharsets.UTF_8);
+            Files.write(filePath, storageCodec(contentBytes.length).encode(contentBytes));
             logger.info("Saved component to local storage: {}", filePath.toAbsolutePath());
         } catch (IOException e) {
             logger.error("Failed to save component to local storage: {}", e.getMessage(), e);
@@ -357,7 +478,7 @@ public class GcsStorageService implements StorageService {
         }
     }
 
-    private String getFromLocalStorage(String key) {
+    private StoredContent getFromLocalStorage(String key) {
         try {
             String relativePath = key.replace(buildFolder + "/", "");
             // Use PathSanitizer to prevent path traversal attacks
@@ -365,13 +486,36 @@ public class GcsStorageService implements StorageService {
             if (!Files.exists(filePath)) {
                 throw new RuntimeException("Component not found: " + key);
             }
-            return Files.readString(filePath, StandardCharsets.UTF_8);
+            return StoredContent.of(Files.readAllBytes(filePath));
         } catch (IOException e) {
             logger.error("Failed to read component from local storage: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to read component", e);
         }
     }
 
+    private StoredObject openFromLocalStorage(String key) {
+        try {
+            String relativePath = key.replace(buildFolder + "/", "");
+            // Use PathSanitizer to prevent path traversal attacks
+            Path filePath = PathSanitizer.safeResolve(localBuildPath, relativePath);
+            if (!Files.exists(filePath)) {
+                throw new RuntimeException("Component not found: " + key);
+            }
+            return StoredObject.ofFile(filePath);
+        } catch (IOException e) {
+            logger.error("Failed to open component in local storage: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to read component", e);
+        }
+    }
+
+    private static String localVersionTag(Path filePath) {
+        try {
+            return Files.getLastModifiedTime(filePath).toMillis() + "-" + Files.size(filePath);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
     private List<String> listFromLocalStorage(String username) {
         List<String> componentPaths = new ArrayList<>();
         try {
@@ -0,0 +1,49 @@
+package gov.nist.oscal.tools.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import gov.nist.oscal.tools.api.model.Job;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory implementation of JobStore
+ * Jobs are evicted once they have not been updated for the configured TTL.
+ *
+ * Activated when: jobs.store=memory (default)
+ */
+@Service
+@ConditionalOnProperty(name = "jobs.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryJobStore implements JobStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryJobStore.class);
+
+    private final Cache<String, Job> jobs;
+
+    @Autowired
+    public InMemoryJobStore(@Value("${jobs.ttl-minutes:60}") long ttlMinutes,
+                            @Value("${jobs.memory.max-jobs:10000}") long maxJobs) {
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(ttlMinutes, TimeUnit.MINUTES)
+                .maximumSize(maxJobs)
+                .build();
+        logger.info("Job store: in-memory (TTL: {} minutes, max jobs: {})", ttlMinutes, maxJobs);
+    }
+
+    @Override
+    public void save(Job job) {
+        jobs.put(job.getId(), new Job(job));
+    }
+
+    @Override
+    public Optional<Job> findById(String id) {
+        return Optional.ofNullable(jobs.getIfPresent(id)).map(Job::new);
+    }
+}
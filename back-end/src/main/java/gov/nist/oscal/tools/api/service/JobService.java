@@ -0,0 +1,299 @@
+package gov.nist.oscal.tools.api.service;
+
+import gov.nist.oscal.tools.api.model.Job;
+import gov.nist.oscal.tools.api.model.JobStatus;
+import gov.nist.oscal.tools.api.model.JobType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs long operations (validation, conversion, visualization) as asynchronous jobs
+ *
+ * Jobs run on a dedicated bounded executor, so large documents do not hold a request open past
+ * load balancer timeouts. Jobs hold their request payload in memory until they finish, so
+ * submission is bounded by the payload bytes of unfinished jobs as well as by queue length.
+ *
+ * Job state is written to the JobStore on every state transition (queued, running, succeeded or
+ * failed); there are no intermediate progress updates, so progress is 0 until the job succeeds.
+ * Clients poll the store or subscribe to Server-Sent Events. Subscriptions are fed directly by
+ * jobs running on this instance and by polling the store for jobs running elsewhere.
+ */
+@Service
+public class JobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobService.class);
+
+    public static final String EVENT_NAME = "job";
+
+    private static final long RETRY_AFTER_SECONDS = 5;
+
+    private final JobStore jobStore;
+    private final ThreadPoolExecutor executor;
+    private final long eventsTimeoutMs;
+    private final long maxPendingBytes;
+    // Payload bytes of jobs queued or running on this instance
+    private final AtomicLong pendingBytes = new AtomicLong();
+
+    // Open SSE subscriptions by job ID
+    private final Map<String, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+
+    @Autowired
+    public JobService(JobStore jobStore,
+                      @Value("${jobs.executor.threads:4}") int threads,
+                      @Value("${jobs.executor.queue-capacity:100}") int queueCapacity,
+                      @Value("${jobs.executor.max-pending-bytes:268435456}") long maxPendingBytes,
+                      @Value("${jobs.events.timeout-ms:600000}") long eventsTimeoutMs) {
+        this.jobStore = jobStore;
+        this.eventsTimeoutMs = eventsTimeoutMs;
+        this.maxPendingBytes = maxPendingBytes;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "oscal-job-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+        logger.info("Job executor started ({} threads, queue capacity {}, max pending bytes {})",
+                threads, queueCapacity, maxPendingBytes);
+    }
+
+    /**
+     * Submit a job
+     *
+     * @param type The kind of operation
+     * @param username User submitting the job; only they can read it
+     * @param payloadBytes Size of the request payload the task holds until it finishes
+     * @param task The work to run; its return value becomes the job result
+     * @return The queued job
+     * @throws AdmissionRejectedException if the job queue or the pending payload budget is full
+     */
+    public Job submit(JobType type, String username, long payloadBytes, JobTask task) {
+        long bytes = Math.max(0, payloadBytes);
+        if (!reserve(bytes)) {
+            throw queueFull();
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), type, username);
+        job.setMessage("Queued");
+        jobStore.save(job);
+        // Taken before the job can start, so callers always see it queued
+        Job queued = new Job(job);
+
+        try {
+            executor.execute(() -> {
+                try {
+                    run(job, task);
+                } finally {
+                    pendingBytes.addAndGet(-bytes);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendingBytes.addAndGet(-bytes);
+            fail(job, "Job queue is full");
+            throw queueFull();
+        }
+
+        logger.info("Submitted {} job {} for user {}", type, job.getId(), username);
+        return queued;
+    }
+
+    /**
+     * Get a job owned by a user
+     *
+     * @param id The job ID
+     * @param username The requesting user
+     * @return The job, or empty if it does not exist, has expired or belongs to another user
+     */
+    public Optional<Job> getJob(String id, String username) {
+        return jobStore.findById(id).filter(job -> job.getUsername().equals(username));
+    }
+
+    /**
+     * Subscribe to updates of a job. The current state is sent immediately, then every change
+     * until the job finishes, at which point the stream is completed.
+     *
+     * @param job The job, as returned by {@link #getJob(String, String)}
+     * @return The event stream
+     */
+    public SseEmitter subscribe(Job job) {
+        SseEmitter emitter = new SseEmitter(eventsTimeoutMs);
+        Subscription subscription = new Subscription(emitter);
+
+        if (!subscription.send(job)) {
+            return emitter;
+        }
+        if (job.getStatus().isTerminal()) {
+            emitter.complete();
+            return emitter;
+        }
+
+        Set<Subscription> jobSubscriptions = subscriptions.computeIfAbsent(job.getId(),
+            id -> ConcurrentHashMap.newKeySet());
+        jobSubscriptions.add(subscription);
+        Runnable remove = () -> jobSubscriptions.remove(subscription);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+        return emitter;
+    }
+
+    /**
+     * Push state of subscribed jobs that may be running on another instance
+     */
+    @Scheduled(fixedDelayString = "${jobs.events.poll-interval-ms:1000}")
+    public void pollSubscribedJobs() {
+        for (String id : subscriptions.keySet()) {
+            Optional<Job> job = jobStore.findById(id);
+            if (job.isPresent()) {
+                publish(job.get());
+            } else {
+                // Expired from the store; nothing more will be sent
+                Set<Subscription> expired = subscriptions.remove(id);
+                if (expired != null) {
+                    expired.forEach(subscription -> subscription.emitter.complete());
+                }
+            }
+        }
+    }
+
+    public int getActiveJobCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueuedJobCount() {
+        return executor.getQueue().size();
+    }
+
+    public long getPendingBytes() {
+        return pendingBytes.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Reserve budget for a payload. A payload larger than the whole budget is accepted when no
+     * other job is pending rather than never.
+     */
+    private boolean reserve(long bytes) {
+        while (true) {
+            long current = pendingBytes.get();
+            if (current > 0 && current + bytes > maxPendingBytes) {
+                return false;
+            }
+            if (pendingBytes.compareAndSet(current, current + bytes)) {
+                return true;
+            }
+        }
+    }
+
+    private static AdmissionRejectedException queueFull() {
+        return new AdmissionRejectedException(HttpStatus.TOO_MANY_REQUESTS,
+            "Too many jobs are queued. Please retry later.", RETRY_AFTER_SECONDS);
+    }
+
+    private void run(Job job, JobTask task) {
+        update(job, JobStatus.RUNNING, 0, "Running");
+        try {
+            Object result = task.run();
+            job.setResult(result);
+            job.setCompletedAt(LocalDateTime.now());
+            update(job, JobStatus.SUCCEEDED, 100, "Completed");
+        } catch (Exception e) {
+            logger.warn("Job {} failed: {}", job.getId(), e.getMessage());
+            fail(job, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+    }
+
+    private void fail(Job job, String error) {
+        job.setError(error);
+        job.setCompletedAt(LocalDateTime.now());
+        update(job, JobStatus.FAILED, job.getProgress(), "Failed");
+    }
+
+    private void update(Job job, JobStatus status, int progress, String message) {
+        job.setStatus(status);
+        job.setProgress(progress);
+        job.setMessage(message);
+        job.setUpdatedAt(LocalDateTime.now());
+        job.setVersion(job.getVersion() + 1);
+        jobStore.save(job);
+        publish(job);
+    }
+
+    private void publish(Job job) {
+        Set<Subscription> jobSubscriptions = subscriptions.get(job.getId());
+        if (jobSubscriptions == null) {
+            return;
+        }
+        for (Subscription subscription : jobSubscriptions) {
+            if (subscription.send(job) && job.getStatus().isTerminal()) {
+                subscription.emitter.complete();
+            }
+        }
+        if (job.getStatus().isTerminal()) {
+            subscriptions.remove(job.getId());
+        }
+    }
+
+    /**
+     * Work performed by a job
+     */
+    @FunctionalInterface
+    public interface JobTask {
+        Object run() throws Exception;
+    }
+
+    /**
+     * An open event stream; sends each job version at most once
+     */
+    private static class Subscription {
+        private final SseEmitter emitter;
+        private long lastVersion = -1;
+
+        Subscription(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * @return false if the client has gone away
+         */
+        synchronized boolean send(Job job) {
+            if (job.getVersion() <= lastVersion) {
+                return true;
+            }
+            try {
+                emitter.send(SseEmitter.event().name(EVENT_NAME).id(String.valueOf(job.getVersion())).data(job));
+                lastVersion = job.getVersion();
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package gov.nist.oscal.tools.api.service;
+
+import gov.nist.oscal.tools.api.model.Job;
+
+import java.util.Optional;
+
+/**
+ * Storage for asynchronous job state.
+ *
+ * The in-memory implementation is used by default; set jobs.store=jdbc to keep job state in
+ * the database so it survives restarts and can be read from any instance.
+ */
+public interface JobStore {
+
+    /**
+     * Insert or replace a job. Implementations store a snapshot; later changes to the
+     * passed object are not visible until it is saved again.
+     *
+     * @param job The job state
+     */
+    void save(Job job);
+
+    /**
+     * Find a job by ID
+     *
+     * @param id The job ID
+     * @return The job, or empty if it does not exist or has expired
+     */
+    Optional<Job> findById(String id);
+}
@@ -0,0 +1,217 @@
+package gov.nist.oscal.tools.api.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator;
+import com.fasterxml.jackson.dataformat.yaml.YAMLParser;
+import gov.nist.oscal.tools.api.model.OscalFormat;
+import gov.nist.oscal.tools.api.model.OscalModelType;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+
+/**
+ * Converts OSCAL documents between JSON and YAML token by token
+ *
+ * JSON and YAML share the same OSCAL data model, so a conversion between them does not need to
+ * bind the document into model objects: parser tokens are copied straight to the generator, in
+ * constant memory. Optionally the document structure is checked while it is copied (a single
+ * object root holding the expected model, no duplicate keys).
+ *
+ * YAML scalars are untyped, and only the bound path knows whether an unquoted "1.0" is a number
+ * or a string. YAML input containing numbers, booleans, nulls, aliases or tagged values is
+ * therefore rejected with {@link UnsupportedContentException} so the caller can fall back to the
+ * bound path. JSON input has no such ambiguity and is always transcoded.
+ */
+public class JsonYamlTranscoder {
+
+    private static final String SCHEMA_PROPERTY = "$schema";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final YAMLFactory YAML_FACTORY = YAMLFactory.builder()
+            .enable(YAMLGenerator.Feature.MINIMIZE_QUOTES)
+            .enable(YAMLGenerator.Feature.ALWAYS_QUOTE_NUMBERS_AS_STRINGS)
+            .enable(YAMLGenerator.Feature.LITERAL_BLOCK_STYLE)
+            .build();
+
+    private final boolean validateStructure;
+
+    public JsonYamlTranscoder(boolean validateStructure) {
+        this.validateStructure = validateStructure;
+    }
+
+    /**
+     * Whether a conversion can use the transcoder
+     */
+    public static boolean supports(OscalFormat fromFormat, OscalFormat toFormat) {
+        return fromFormat != toFormat && isJsonOrYaml(fromFormat) && isJsonOrYaml(toFormat);
+    }
+
+    private static boolean isJsonOrYaml(OscalFormat format) {
+        return format == OscalFormat.JSON || format == OscalFormat.YAML;
+    }
+
+    /**
+     * Transcode a document. Output written before an exception is thrown is incomplete and
+     * should be discarded.
+     *
+     * @param input The source document
+     * @param fromFormat JSON or YAML
+     * @param output Where the converted document is written; not closed
+     * @param toFormat JSON or YAML
+     * @param modelType The expected model type, checked when structural validation is enabled
+     * @throws UnsupportedContentException if the document must be converted through the bound path
+     * @throws IOException if the document is malformed or fails structural validation
+     */
+    public void transcode(Reader input, OscalFormat fromFormat, Writer output, OscalFormat toFormat,
+                          OscalModelType modelType) throws IOException, UnsupportedContentException {
+        if (!supports(fromFormat, toFormat)) {
+            throw new IllegalArgumentException("Cannot transcode from " + fromFormat + " to " + toFormat);
+        }
+
+        JsonFactory inputFactory = fromFormat == OscalFormat.YAML ? YAML_FACTORY : JSON_FACTORY;
+        JsonFactory outputFactory = toFormat == OscalFormat.YAML ? YAML_FACTORY : JSON_FACTORY;
+
+        try (JsonParser parser = inputFactory.createParser(input);
+             JsonGenerator generator = outputFactory.createGenerator(output)) {
+            if (validateStructure) {
+                parser.enable(JsonParser.Feature.STRICT_DUPLICATE_DETECTION);
+            }
+            if (toFormat == OscalFormat.JSON) {
+                generator.setPrettyPrinter(new DefaultPrettyPrinter());
+            }
+            // The caller owns the writer
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            copy(parser, generator, parser instanceof YAMLParser ? (YAMLParser) parser : null, modelType);
+        }
+    }
+
+    private void copy(JsonParser parser, JsonGenerator generator, YAMLParser yaml, OscalModelType modelType)
+            throws IOException, UnsupportedContentException {
+        String rootName = modelType != null ? modelType.getValue() : null;
+        int depth = 0;
+        boolean rootSeen = false;
+        boolean documentSeen = false;
+        String topLevelField = null;
+
+        JsonToken token;
+        while ((token = parser.nextToken()) != null) {
+            if (depth == 0) {
+                if (documentSeen) {
+                    throw structureError(parser, "Expected a single document");
+                }
+                documentSeen = true;
+                if (validateStructure && token != JsonToken.START_OBJECT) {
+                    throw structureError(parser, "Document root must be an object");
+                }
+            } else if (depth == 1 && validateStructure && (token.isStructStart() || token.isScalarValue())) {
+                // Value of a top-level property
+                boolean isRoot = !SCHEMA_PROPERTY.equals(topLevelField);
+                if (isRoot && token != JsonToken.START_OBJECT) {
+                    throw structureError(parser, "'" + topLevelField + "' must be an object");
+                }
+                if (!isRoot && !token.isScalarValue()) {
+                    throw structureError(parser, "'" + SCHEMA_PROPERTY + "' must be a string");
+                }
+            }
+
+            if (yaml != null && yaml.isCurrentAlias()) {
+                throw new UnsupportedContentException("YAML alias at " + parser.currentLocation());
+            }
+
+            switch (token) {
+                case START_OBJECT:
+                    generator.writeStartObject();
+                    depth++;
+                    break;
+                case END_OBJECT:
+                    generator.writeEndObject();
+                    depth--;
+                    break;
+                case START_ARRAY:
+                    generator.writeStartArray();
+                    depth++;
+                    break;
+                case END_ARRAY:
+                    generator.writeEndArray();
+                    depth--;
+                    break;
+                case FIELD_NAME:
+                    String name = parser.currentName();
+                    if (depth == 1) {
+                        topLevelField = name;
+                        if (validateStructure && !SCHEMA_PROPERTY.equals(name)) {
+                            if (rootSeen || (rootName != null && !rootName.equals(name))) {
+                                throw structureError(parser, "Unexpected top-level property '" + name + "'");
+                            }
+                            rootSeen = true;
+                        }
+                    }
+                    generator.writeFieldName(name);
+                    break;
+                case VALUE_STRING:
+                    generator.writeString(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                    break;
+                case VALUE_NUMBER_INT:
+                case VALUE_NUMBER_FLOAT:
+                    requireTyped(yaml, parser, "number");
+                    // Keep the source text so precision and formatting are unchanged
+                    generator.writeNumber(parser.getText());
+                    break;
+                case VALUE_TRUE:
+                case VALUE_FALSE:
+                    requireTyped(yaml, parser, "boolean");
+                    generator.writeBoolean(token == JsonToken.VALUE_TRUE);
+                    break;
+                case VALUE_NULL:
+                    requireTyped(yaml, parser, "null");
+                    generator.writeNull();
+                    break;
+                default:
+                    throw new UnsupportedContentException("Unsupported " + token + " at " + parser.currentLocation());
+            }
+        }
+
+        if (validateStructure && !rootSeen) {
+            throw new IOException(rootName != null
+                ? "Document does not contain a '" + rootName + "' root"
+                : "Document does not contain a model root");
+        }
+    }
+
+    private static void requireTyped(YAMLParser yaml, JsonParser parser, String type)
+            throws UnsupportedContentException {
+        if (yaml != null) {
+            throw new UnsupportedContentException("Untyped YAML " + type + " '" + safeText(parser) + "' at "
+                + parser.currentLocation());
+        }
+    }
+
+    private static String safeText(JsonParser parser) {
+        try {
+            return parser.getText();
+        } catch (IOException e) {
+            return "?";
+        }
+    }
+
+    private static IOException structureError(JsonParser parser, String message) {
+        return new IOException(message + " (line " + parser.currentLocation().getLineNr()
+            + ", column " + parser.currentLocation().getColumnNr() + ")");
+    }
+
+    /**
+     * The document uses a construct whose meaning depends on the OSCAL model, so it has to be
+     * converted through the bound path
+     */
+    public static class UnsupportedContentException extends Exception {
+        public UnsupportedContentException(String message) {
+            super(message);
+        }
+    }
+}
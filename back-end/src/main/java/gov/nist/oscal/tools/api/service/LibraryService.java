@@ -4,16 +4,22 @@ import gov.nist.oscal.tools.api.entity.LibraryItem;
 import gov.nist.oscal.tools.api.entity.LibraryTag;
 import gov.nist.oscal.tools.api.entity.LibraryVersion;
 import gov.nist.oscal.tools.api.entity.User;
+import gov.nist.oscal.tools.api.model.StoredContent;
+import gov.nist.oscal.tools.api.model.StoredObject;
 import gov.nist.oscal.tools.api.repository.LibraryItemRepository;
 import gov.nist.oscal.tools.api.repository.LibraryTagRepository;
 import gov.nist.oscal.tools.api.repository.LibraryVersionRepository;
 import gov.nist.oscal.tools.api.repository.UserRepository;
+import gov.nist.oscal.tools.api.util.ContentHasher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -41,6 +47,12 @@ public class LibraryService {
     @Autowired
     private LibraryStorageService storageService;
 
+    @Autowired
+    private StorageUploadQueue uploadQueue;
+
+    @Autowired
+    private ResolvedProfileCache resolvedProfileCache;
+
     /**
      * Create a new library item with initial version
      */
@@ -71,7 +83,7 @@ public class LibraryService {
         // Create initial version
         String blobPath = storageService.buildBlobPath(itemId, versionId, fileName);
 
-        // Save file to storage
+        // Enqueue the file upload to storage
         Map<String, String> metadata = new HashMap<>();
         metadata.put("itemId", itemId);
         metadata.put("versionId", versionId);
@@ -80,7 +92,7 @@ public class LibraryService {
         metadata.put("format", format);
         metadata.put("uploadedBy", username);
 
-        storageService.saveLibraryFile(fileContent, blobPath, metadata);
+        uploadQueue.enqueue(StorageUploadQueue.Target.LIBRARY, blobPath, fileContent, metadata);
 
         // Create version record
         LibraryVersion version = new LibraryVersion(
@@ -88,6 +100,7 @@ public class LibraryService {
                 (long) fileContent.getBytes().length, blobPath, user,
                 "Initial version"
         );
+        version.setContentHash(ContentHasher.sha256Hex(fileContent));
         version = libraryVersionRepository.save(version);
 
         // Set current version
@@ -142,7 +155,7 @@ public class LibraryService {
         String versionId = UUID.randomUUID().toString();
         Integer nextVersionNumber = libraryVersionRepository.getNextVersionNumber(libraryItem);
 
-        // Save file to storage
+        // Enqueue the file upload to storage
         String blobPath = storageService.buildBlobPath(itemId, versionId, fileName);
 
         Map<String, String> metadata = new HashMap<>();
@@ -153,7 +166,7 @@ public class LibraryService {
         metadata.put("format", format);
         metadata.put("uploadedBy", username);
 
-        storageService.saveLibraryFile(fileContent, blobPath, metadata);
+        uploadQueue.enqueue(StorageUploadQueue.Target.LIBRARY, blobPath, fileContent, metadata);
 
         // Create version record
         LibraryVersion version = new LibraryVersion(
@@ -161,11 +174,13 @@ public class LibraryService {
                 (long) fileContent.getBytes().length, blobPath, user,
                 changeDescription != null ? changeDescription : "Version " + nextVersionNumber
         );
+        version.setContentHash(ContentHasher.sha256Hex(fileContent));
         version = libraryVersionRepository.save(version);
 
         // Update current version
         libraryItem.setCurrentVersion(version);
         libraryItemRepository.save(libraryItem);
+        invalidateResolvedProfiles(itemId);
 
         logger.info("Added version {} to library item: {}", nextVersionNumber, itemId);
         return version;
@@ -186,20 +201,88 @@ public class LibraryService {
         return item;
     }
 
+    /**
+     * Find the current version of a library item, without counting a view or download
+     */
+    public Optional<LibraryVersion> findCurrentVersion(String itemId) {
+        return libraryItemRepository.findByItemId(itemId).map(LibraryItem::getCurrentVersion);
+    }
+
+    /**
+     * Find the current version of a catalog or profile uploaded with the given file name
+     */
+    public Optional<LibraryVersion> findCurrentVersionByFileName(String fileName) {
+        return libraryItemRepository.findByCurrentVersion_FileName(fileName).stream()
+                .filter(item -> "catalog".equalsIgnoreCase(item.getOscalType())
+                        || "profile".equalsIgnoreCase(item.getOscalType()))
+                .map(LibraryItem::getCurrentVersion)
+                .findFirst();
+    }
+
     /**
      * Get file content for a specific version
      */
     public String getVersionContent(String versionId) {
-        LibraryVersion version = libraryVersionRepository.findByVersionId(versionId)
-                .orElseThrow(() -> new RuntimeException("Version not found: " + versionId));
+        return getContent(getVersion(versionId));
+    }
 
-        return storageService.getLibraryFileContent(version.getFilePath());
+    /**
+     * Get file content of a version
+     */
+    public String getContent(LibraryVersion version) {
+        return readContent(version.getFilePath());
     }
 
     /**
      * Get file content for current version of a library item
      */
     public String getCurrentVersionContent(String itemId) {
+        return readContent(downloadCurrentVersion(itemId).getFilePath());
+    }
+
+    /**
+     * Read a version's file, from the upload queue while its upload is still pending
+     */
+    private String readContent(String filePath) {
+        String pendingContent = uploadQueue.getPendingContent(StorageUploadQueue.Target.LIBRARY, filePath);
+        return pendingContent != null ? pendingContent : storageService.getLibraryFileContent(filePath);
+    }
+
+    /**
+     * Get a specific version
+     */
+    public LibraryVersion getVersion(String versionId) {
+        return libraryVersionRepository.findByVersionId(versionId)
+                .orElseThrow(() -> new RuntimeException("Version not found: " + versionId));
+    }
+
+    /**
+     * Get the current version of a library item, without counting a download
+     */
+    public LibraryVersion getCurrentVersion(String itemId) {
+        LibraryItem item = libraryItemRepository.findByItemId(itemId)
+                .orElseThrow(() -> new RuntimeException("Library item not found: " + itemId));
+
+        if (item.getCurrentVersion() == null) {
+            throw new RuntimeException("No current version found for library item: " + itemId);
+        }
+        return item.getCurrentVersion();
+    }
+
+    /**
+     * Count a download of a library item whose content was sent in full
+     */
+    public void recordDownload(String itemId) {
+        libraryItemRepository.findByItemId(itemId).ifPresent(item -> {
+            item.incrementDownloadCount();
+            libraryItemRepository.save(item);
+        });
+    }
+
+    /**
+     * Get the current version of a library item for download, counting the download
+     */
+    public LibraryVersion downloadCurrentVersion(String itemId) {
         LibraryItem item = libraryItemRepository.findByItemId(itemId)
                 .orElseThrow(() -> new RuntimeException("Library item not found: " + itemId));
 
@@ -211,7 +294,41 @@ public class LibraryService {
         item.incrementDownloadCount();
         libraryItemRepository.save(item);
 
-        return storageService.getLibraryFileContent(item.getCurrentVersion().getFilePath());
+        return item.getCurrentVersion();
+    }
+
+    /**
+     * Get the file data of a version exactly as stored, possibly compressed
+     */
+    public StoredContent getStoredContent(LibraryVersion version) {
+        String pendingContent = uploadQueue.getPendingContent(StorageUploadQueue.Target.LIBRARY, version.getFilePath());
+        if (pendingContent != null) {
+            return StoredContent.of(pendingContent.getBytes(StandardCharsets.UTF_8));
+        }
+        return storageService.getStoredLibraryFile(version.getFilePath());
+    }
+
+    /**
+     * Open the file data of a version exactly as stored, for streaming
+     */
+    public StoredObject openStoredContent(LibraryVersion version) {
+        String pendingContent = uploadQueue.getPendingContent(StorageUploadQueue.Target.LIBRARY, version.getFilePath());
+        if (pendingContent != null) {
+            return StoredObject.of(StoredContent.of(pendingContent.getBytes(StandardCharsets.UTF_8)));
+        }
+        return storageService.openLibraryFile(version.getFilePath());
+    }
+
+    /**
+     * Get the SHA-256 digest of a version's content, used as its strong ETag. Versions created
+     * before digests were recorded are hashed once and the digest saved.
+     */
+    public String getContentHash(LibraryVersion version) {
+        if (version.getContentHash() == null) {
+            version.setContentHash(ContentHasher.sha256Hex(readContent(version.getFilePath())));
+            libraryVersionRepository.save(version);
+        }
+        return version.getContentHash();
     }
 
     /**
@@ -242,15 +359,38 @@ public class LibraryService {
         // Delete all versions from storage
         List<LibraryVersion> versions = libraryVersionRepository.findByLibraryItem(item);
         for (LibraryVersion version : versions) {
+            uploadQueue.cancelUploads(StorageUploadQueue.Target.LIBRARY, version.getFilePath());
             storageService.deleteLibraryFile(version.getFilePath());
         }
 
         // Delete from database (versions will be cascade deleted)
         libraryItemRepository.delete(item);
+        invalidateResolvedProfiles(itemId);
 
         logger.info("Deleted library item: {}", itemId);
     }
 
+    /**
+     * Invalidate the cached resolved profiles that import a library item, once the change to
+     * its current version is committed
+     */
+    private void invalidateResolvedProfiles(String itemId) {
+        if (resolvedProfileCache == null) {
+            return;
+        }
+        String sourceId = CatalogSourceService.librarySourceId(itemId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    resolvedProfileCache.invalidateSource(sourceId);
+                }
+            });
+        } else {
+            resolvedProfileCache.invalidateSource(sourceId);
+        }
+    }
+
     /**
      * Search library items
      */
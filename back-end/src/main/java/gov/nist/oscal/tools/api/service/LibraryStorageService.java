@@ -2,12 +2,18 @@ package gov.nist.oscal.tools.api.service;
 
 import com.azure.core.util.BinaryData;
 import com.azure.storage.blob.BlobClient;
+import com.azure.storage.blob.BlobContainerAsyncClient;
 import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.blob.BlobServiceClientBuilder;
+import com.azure.storage.blob.models.BlobStorageException;
+import gov.nist.oscal.tools.api.model.StoredContent;
+import gov.nist.oscal.tools.api.model.StoredObject;
+import gov.nist.oscal.tools.api.util.CompressionCodec;
 import gov.nist.oscal.tools.api.util.PathSanitizer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -23,12 +29,20 @@ import java.util.Map;
 /**
  * Service for handling Azure Blob Storage operations for library files
  * Uses a separate container from user files for better organization
+ *
+ * Library versions are never modified once saved, so file content is served from the
+ * {@link StorageReadCache} after the first download.
  */
 @Service
 public class LibraryStorageService {
 
     private static final Logger logger = LoggerFactory.getLogger(LibraryStorageService.class);
 
+    private static final String CACHE_KEY_PREFIX = "library:";
+
+    @Autowired
+    private StorageReadCache readCache;
+
     @Value("${azure.storage.connection-string}")
     private String connectionString;
 
@@ -38,8 +52,15 @@ public class LibraryStorageService {
     @Value("${file.upload-dir:./uploads}")
     private String uploadDir;
 
+    @Value("${storage.compression.codec:gzip}")
+    private String compressionCodec;
+
+    @Value("${storage.compression.min-size-bytes:1024}")
+    private long compressionMinSize;
+
     private BlobServiceClient blobServiceClient;
     private BlobContainerClient containerClient;
+    private AsyncStorageService asyncStorage;
     private boolean useLocalStorage = false;
     private Path localLibraryPath;
 
@@ -62,6 +83,7 @@ public class LibraryStorageService {
                 logger.error("Failed to create library directory: {}", e.getMessage(), e);
                 throw new RuntimeException("Could not initialize library storage", e);
             }
+            asyncStorage = new LocalAsyncStorage(localLibraryPath, null, compressionCodec, compressionMinSize);
             return;
         }
 
@@ -81,6 +103,12 @@ public class LibraryStorageService {
                 logger.info("Using existing library blob container: {}", libraryContainerName);
             }
 
+            BlobContainerAsyncClient asyncContainerClient = new BlobServiceClientBuilder()
+                    .connectionString(connectionString)
+                    .buildAsyncClient()
+                    .getBlobContainerAsyncClient(libraryContainerName);
+            asyncStorage = new AzureAsyncStorage(asyncContainerClient, compressionCodec, compressionMinSize);
+
             logger.info("Azure Blob Storage for library initialized successfully");
         } catch (Exception e) {
             logger.error("Failed to initialize Azure Blob Storage for library: {}", e.getMessage(), e);
@@ -88,6 +116,16 @@ public class LibraryStorageService {
         }
     }
 
+    /**
+     * Get the non-blocking variant of library storage, which writes the same container or
+     * local directory
+     *
+     * @return Async storage, or null before the service is initialized
+     */
+    public AsyncStorageService async() {
+        return asyncStorage;
+    }
+
     /**
      * Save a library file version to storage (Azure or local)
      *
@@ -97,6 +135,8 @@ public class LibraryStorageService {
      * @return True if successful
      */
     public boolean saveLibraryFile(String content, String blobPath, Map<String, String> metadata) {
+        // Versions are never rewritten, but other library content (resolved profiles) can be
+        readCache.invalidate(CACHE_KEY_PREFIX + blobPath);
         if (useLocalStorage) {
             return saveToLocalStorage(content, blobPath);
         }
@@ -107,14 +147,17 @@ public class LibraryStorageService {
 
         try {
             BlobClient blobClient = containerClient.getBlobClient(blobPath);
-            byte[] contentBytes = content.getBytes(StandardCharsets.UTF_8);
+            byte[] rawBytes = content.getBytes(StandardCharsets.UTF_8);
+            CompressionCodec codec = storageCodec(rawBytes.length);
+            byte[] contentBytes = codec.encode(rawBytes);
 
             // Upload file
             blobClient.upload(new ByteArrayInputStream(contentBytes), contentBytes.length, true);
 
-            // Set metadata if provided
-            if (metadata != null && !metadata.isEmpty()) {
-                blobClient.setMetadata(metadata);
+            // Set metadata if provided, recording the codec
+            Map<String, String> blobMetadata = codec.withMetadata(metadata);
+            if (!blobMetadata.isEmpty()) {
+                blobClient.setMetadata(blobMetadata);
             }
 
             logger.info("Saved library file to Azure Blob Storage: {}", blobPath);
@@ -130,7 +173,8 @@ public class LibraryStorageService {
             // Use PathSanitizer to prevent path traversal attacks
             Path filePath = PathSanitizer.safeResolve(localLibraryPath, blobPath);
             Files.createDirectories(filePath.getParent());
-            Files.writeString(filePath, content, StandardCharsets.UTF_8);
+            byte[] contentBytes = content.getBytes(StandardCharsets.UTF_8);
+            Files.write(filePath, storageCodec(contentBytes.length).encode(contentBytes));
             logger.info("Saved library file to local storage: {}", filePath.toAbsolutePath());
             return true;
         } catch (IOException e) {
@@ -146,6 +190,10 @@ public class LibraryStorageService {
      * @return File content as string
      */
     public String getLibraryFileContent(String blobPath) {
+        return readCache.getImmutable(CACHE_KEY_PREFIX + blobPath, () -> downloadLibraryFileContent(blobPath));
+    }
+
+    private String downloadLibraryFileContent(String blobPath) {
         if (useLocalStorage) {
             return getFromLocalStorage(blobPath);
         }
@@ -162,7 +210,7 @@ public class LibraryStorageService {
             }
 
             BinaryData content = blobClient.downloadContent();
-            return content.toString();
+            return CompressionCodec.decodeToString(content.toBytes());
         } catch (Exception e) {
             logger.error("Failed to get library file content: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to get library file content", e);
@@ -175,7 +223,7 @@ public class LibraryStorageService {
             if (!Files.exists(filePath)) {
                 throw new RuntimeException("Library file not found: " + blobPath);
             }
-            return Files.readString(filePath, StandardCharsets.UTF_8);
+            return CompressionCodec.decodeToString(Files.newInputStream(filePath));
         } catch (IOException e) {
             logger.error("Failed to read library file from local storage: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to read library file", e);
@@ -183,12 +231,96 @@ public class LibraryStorageService {
     }
 
     /**
-     * Delete a library file from Azure Blob Storage
+     * Get library file data exactly as stored, without decompressing it, so that compressed
+     * data can be passed through to clients that accept its encoding
+     *
+     * @param blobPath Path in storage
+     * @return Stored data and the codec it was compressed with
+     */
+    public StoredContent getStoredLibraryFile(String blobPath) {
+        if (useLocalStorage) {
+            try {
+                Path filePath = PathSanitizer.safeResolve(localLibraryPath, blobPath);
+                if (!Files.exists(filePath)) {
+                    throw new RuntimeException("Library file not found: " + blobPath);
+                }
+                return StoredContent.of(Files.readAllBytes(filePath));
+            } catch (IOException e) {
+                logger.error("Failed to read library file from local storage: {}", e.getMessage(), e);
+                throw new RuntimeException("Failed to read library file", e);
+            }
+        }
+
+        if (containerClient == null) {
+            throw new RuntimeException("Storage is not configured");
+        }
+
+        try {
+            BlobClient blobClient = containerClient.getBlobClient(blobPath);
+
+            if (!blobClient.exists()) {
+                throw new RuntimeException("Library file not found: " + blobPath);
+            }
+
+            return StoredContent.of(blobClient.downloadContent().toBytes());
+        } catch (Exception e) {
+            logger.error("Failed to get library file content: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to get library file content", e);
+        }
+    }
+
+    /**
+     * Open a library file exactly as stored for streaming, without reading it into memory
+     *
+     * @param blobPath Path in storage
+     * @return Stored file, read from any offset on demand
+     */
+    public StoredObject openLibraryFile(String blobPath) {
+        if (useLocalStorage) {
+            try {
+                Path filePath = PathSanitizer.safeResolve(localLibraryPath, blobPath);
+                if (!Files.exists(filePath)) {
+                    throw new RuntimeException("Library file not found: " + blobPath);
+                }
+                return StoredObject.ofFile(filePath);
+            } catch (IOException e) {
+                logger.error("Failed to open library file in local storage: {}", e.getMessage(), e);
+                throw new RuntimeException("Failed to read library file", e);
+            }
+        }
+
+        if (containerClient == null) {
+            throw new RuntimeException("Storage is not configured");
+        }
+
+        try {
+            return AzureBlockStore.openBlob(containerClient.getBlobClient(blobPath));
+        } catch (BlobStorageException e) {
+            if (e.getStatusCode() == 404) {
+                throw new RuntimeException("Library file not found: " + blobPath);
+            }
+            logger.error("Failed to open library file: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to get library file content", e);
+        }
+    }
+
+    /**
+     * Delete a library file from storage (Azure or local)
      *
      * @param blobPath Path in blob storage
      * @return True if successful
      */
     public boolean deleteLibraryFile(String blobPath) {
+        if (useLocalStorage) {
+            try {
+                readCache.invalidate(CACHE_KEY_PREFIX + blobPath);
+                return Files.deleteIfExists(PathSanitizer.safeResolve(localLibraryPath, blobPath));
+            } catch (IOException e) {
+                logger.error("Failed to delete library file from local storage: {}", e.getMessage(), e);
+                return false;
+            }
+        }
+
         if (containerClient == null) {
             throw new RuntimeException("Azure Blob Storage is not configured. Please set AZURE_STORAGE_CONNECTION_STRING environment variable.");
         }
@@ -198,6 +330,7 @@ public class LibraryStorageService {
 
             if (blobClient.exists()) {
                 blobClient.delete();
+                readCache.invalidate(CACHE_KEY_PREFIX + blobPath);
                 logger.info("Deleted library file from Azure Blob Storage: {}", blobPath);
                 return true;
             }
@@ -210,12 +343,16 @@ public class LibraryStorageService {
     }
 
     /**
-     * Check if a library file exists in Azure Blob Storage
+     * Check if a library file exists in storage (Azure or local)
      *
      * @param blobPath Path in blob storage
      * @return True if file exists
      */
     public boolean fileExists(String blobPath) {
+        if (useLocalStorage) {
+            return Files.isRegularFile(PathSanitizer.safeResolve(localLibraryPath, blobPath));
+        }
+
         if (containerClient == null) {
             return false;
         }
@@ -249,6 +386,13 @@ public class LibraryStorageService {
         }
     }
 
+    /**
+     * Codec to store content of the given size with
+     */
+    private CompressionCodec storageCodec(long size) {
+        return CompressionCodec.forContent(compressionCodec, size, compressionMinSize);
+    }
+
     /**
      * Build blob path for library file version
      * Format: {itemId}/{versionId}/{filename}
@@ -0,0 +1,194 @@
+package gov.nist.oscal.tools.api.service;
+
+import gov.nist.oscal.tools.api.model.StoredContent;
+import gov.nist.oscal.tools.api.util.CompressionCodec;
+import gov.nist.oscal.tools.api.util.PathSanitizer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Local filesystem storage with NIO asynchronous file channels, used when no cloud storage is
+ * configured. Lays files out like the local fallback of the blocking backends.
+ *
+ * Files are written to a temporary file and moved into place, so readers never see a partial
+ * file. Directory creation, moves and deletes are short metadata operations done inline.
+ */
+class LocalAsyncStorage implements AsyncStorageService {
+
+    private final Path root;
+    private final String folderPrefix;
+    private final String compressionCodec;
+    private final long compressionMinSize;
+
+    /**
+     * @param root Directory files are stored under
+     * @param folder Leading folder of keys that is not part of the local path (e.g. "build"), or null
+     */
+    LocalAsyncStorage(Path root, String folder, String compressionCodec, long compressionMinSize) {
+        this.root = root;
+        this.folderPrefix = folder != null ? folder + "/" : null;
+        this.compressionCodec = compressionCodec;
+        this.compressionMinSize = compressionMinSize;
+    }
+
+    @Override
+    public CompletableFuture<String> uploadObject(String key, String content, Map<String, String> metadata) {
+        try {
+            Path filePath = resolve(key);
+            Files.createDirectories(filePath.getParent());
+            byte[] rawBytes = content.getBytes(StandardCharsets.UTF_8);
+            byte[] data = CompressionCodec.forContent(compressionCodec, rawBytes.length, compressionMinSize).encode(rawBytes);
+
+            // Outside the user directories, so that listings never include a partial file
+            Path tempPath = root.resolve("." + UUID.randomUUID() + ".tmp");
+            return write(tempPath, data, false).thenApply(ignored -> {
+                try {
+                    Files.move(tempPath, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    return key;
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to save " + key, e);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<StoredContent> downloadStored(String key) {
+        try {
+            return read(resolve(key)).thenApply(StoredContent::of);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteObject(String key) {
+        try {
+            return CompletableFuture.completedFuture(Files.deleteIfExists(resolve(key)));
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public String getStorageProvider() {
+        return "Local File System (async)";
+    }
+
+    private Path resolve(String key) {
+        String relativePath = folderPrefix != null ? key.replace(folderPrefix, "") : key;
+        // Use PathSanitizer to prevent path traversal attacks
+        return PathSanitizer.safeResolve(root, relativePath);
+    }
+
+    /**
+     * Write a whole file through an asynchronous channel, replacing any existing file
+     *
+     * @param force Whether to flush the data to the device before completing
+     */
+    static CompletableFuture<Void> write(Path path, byte[] data, boolean force) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        AsynchronousFileChannel channel;
+        try {
+            channel = AsynchronousFileChannel.open(path,
+                    StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        channel.write(buffer, 0, null, new CompletionHandler<Integer, Void>() {
+            @Override
+            public void completed(Integer written, Void attachment) {
+                if (buffer.hasRemaining()) {
+                    channel.write(buffer, buffer.position(), null, this);
+                    return;
+                }
+                try (channel) {
+                    if (force) {
+                        channel.force(true);
+                    }
+                    result.complete(null);
+                } catch (IOException e) {
+                    result.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void failed(Throwable failure, Void attachment) {
+                closeQuietly(channel);
+                result.completeExceptionally(failure);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Read a whole file through an asynchronous channel
+     */
+    static CompletableFuture<byte[]> read(Path path) {
+        CompletableFuture<byte[]> result = new CompletableFuture<>();
+        AsynchronousFileChannel channel;
+        ByteBuffer buffer;
+        try {
+            channel = AsynchronousFileChannel.open(path, StandardOpenOption.READ);
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE - 8) {
+                closeQuietly(channel);
+                throw new IOException("File too large to read into memory: " + path);
+            }
+            buffer = ByteBuffer.allocate((int) size);
+        } catch (NoSuchFileException e) {
+            result.completeExceptionally(new RuntimeException("File not found: " + path.getFileName(), e));
+            return result;
+        } catch (IOException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        channel.read(buffer, 0, null, new CompletionHandler<Integer, Void>() {
+            @Override
+            public void completed(Integer read, Void attachment) {
+                if (read >= 0 && buffer.hasRemaining()) {
+                    channel.read(buffer, buffer.position(), null, this);
+                    return;
+                }
+                closeQuietly(channel);
+                byte[] data = new byte[buffer.position()];
+                buffer.flip();
+                buffer.get(data);
+                result.complete(data);
+            }
+
+            @Override
+            public void failed(Throwable failure, Void attachment) {
+                closeQuietly(channel);
+                result.completeExceptionally(failure);
+            }
+        });
+        return result;
+    }
+
+    private static void closeQuietly(AsynchronousFileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Nothing left to do with the channel
+        }
+    }
+}
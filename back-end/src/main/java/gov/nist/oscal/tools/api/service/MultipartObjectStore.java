@@ -0,0 +1,108 @@
+package gov.nist.oscal.tools.api.service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Chunked transfer primitives of an object store, used by {@link ParallelTransfer} to upload and
+ * download large objects in parallel parts
+ *
+ * Implementations map these onto the provider's native mechanism: S3 multipart uploads, Azure
+ * block blobs, or GCS object composition. Every method may be called concurrently.
+ */
+public interface MultipartObjectStore {
+
+    /**
+     * Start a multipart upload
+     *
+     * @param key Path/key of the object to create
+     * @param metadata Metadata to attach to the object, or null
+     * @return Upload ID passed to the other upload methods
+     */
+    String startUpload(String key, Map<String, String> metadata);
+
+    /**
+     * Upload one part. Parts may be uploaded in any order and concurrently.
+     *
+     * @param partNumber 1-based position of the part in the object
+     * @param data Buffer holding the part
+     * @param offset Offset of the part in the buffer
+     * @param length Length of the part
+     * @return Tag identifying the uploaded part, passed to {@link #completeUpload}
+     */
+    String uploadPart(String key, String uploadId, int partNumber, byte[] data, int offset, int length);
+
+    /**
+     * Assemble the uploaded parts into the object, replacing any existing object
+     *
+     * @param partTags Tags returned by {@link #uploadPart}, in part order
+     * @param metadata Metadata to attach to the object, or null
+     */
+    void completeUpload(String key, String uploadId, List<String> partTags, Map<String, String> metadata);
+
+    /**
+     * Abandon an upload and release any parts uploaded so far
+     */
+    void abortUpload(String key, String uploadId);
+
+    /**
+     * Read a range of an object. Reading from offset 0 of an empty object returns no bytes.
+     *
+     * @param offset Offset of the first byte
+     * @param length Number of bytes to read; fewer are returned at the end of the object
+     * @param versionTag Version the object must still be at (from an earlier read), or null
+     * @return The bytes read, the object's total size and its version tag
+     * @throws RuntimeException if the object does not exist or no longer matches versionTag
+     */
+    RangeRead readRange(String key, long offset, int length, String versionTag);
+
+    /**
+     * Bytes read from an object together with the object's total size and version tag
+     */
+    class RangeRead {
+        private final byte[] data;
+        private final long totalSize;
+        private final String versionTag;
+
+        public RangeRead(byte[] data, long totalSize, String versionTag) {
+            this.data = data;
+            this.totalSize = totalSize;
+            this.versionTag = versionTag;
+        }
+
+        public byte[] getData() {
+            return data;
+        }
+
+        /**
+         * Total size of the object, or -1 if the read did not report it
+         */
+        public long getTotalSize() {
+            return totalSize;
+        }
+
+        public String getVersionTag() {
+            return versionTag;
+        }
+
+        /**
+         * Total size from an HTTP Content-Range header ("bytes 0-99/1234")
+         *
+         * @return The size, or -1 if the header is missing or does not state it
+         */
+        public static long parseTotalSize(String contentRange) {
+            if (contentRange == null) {
+                return -1;
+            }
+            int slash = contentRange.lastIndexOf('/');
+            if (slash < 0 || slash == contentRange.length() - 1 || contentRange.endsWith("*")) {
+                return -1;
+            }
+            try {
+                return Long.parseLong(contentRange.substring(slash + 1).trim());
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+    }
+}
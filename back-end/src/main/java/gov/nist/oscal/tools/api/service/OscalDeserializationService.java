@@ -0,0 +1,396 @@
+package gov.nist.oscal.tools.api.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gov.nist.oscal.tools.api.model.OscalFormat;
+import gov.nist.oscal.tools.api.model.OscalModelType;
+import gov.nist.secauto.metaschema.core.metapath.item.node.IDocumentNodeItem;
+import gov.nist.secauto.metaschema.core.model.IBoundObject;
+import gov.nist.secauto.metaschema.databind.io.Format;
+import gov.nist.secauto.metaschema.databind.io.IDeserializer;
+import gov.nist.secauto.metaschema.databind.io.ISerializer;
+import gov.nist.secauto.oscal.lib.OscalBindingContext;
+import gov.nist.secauto.oscal.lib.model.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Shared deserialization layer for OSCAL documents.
+ *
+ * Feeds the liboscal {@link IDeserializer} directly from memory instead of writing every
+ * request body to a temp file first. Documents larger than the configured threshold are
+ * spilled to a pooled buffer file (on tmpfs when {@code /dev/shm} is available) so that
+ * very large payloads do not have to be held as a second in-memory copy during parsing.
+ */
+@Service
+public class OscalDeserializationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OscalDeserializationService.class);
+
+    private static final String TMPFS_DIR = "/dev/shm";
+
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+
+    private final OscalBindingContext bindingContext;
+    private final long inMemoryThreshold;
+    private final Path spillDirectory;
+    private final BlockingQueue<Path> spillBufferPool;
+
+    @Autowired
+    public OscalDeserializationService(
+            @Value("${oscal.deserialization.in-memory-threshold:16777216}") long inMemoryThreshold,
+            @Value("${oscal.deserialization.spill-dir:}") String spillDir,
+            @Value("${oscal.deserialization.spill-pool-size:8}") int spillPoolSize) {
+        this.bindingContext = OscalBindingContext.instance();
+        this.inMemoryThreshold = inMemoryThreshold;
+        this.spillDirectory = resolveSpillDirectory(spillDir);
+        this.spillBufferPool = new ArrayBlockingQueue<>(Math.max(1, spillPoolSize));
+    }
+
+    /**
+     * Deserialize an OSCAL document of the given model type from its string content
+     *
+     * @param content The document content
+     * @param format The document format
+     * @param modelType The OSCAL model type
+     * @return The bound OSCAL object
+     * @throws IOException if the document cannot be parsed
+     */
+    public Object deserialize(String content, OscalFormat format, OscalModelType modelType) throws IOException {
+        return deserialize(content, format, getModelClass(modelType));
+    }
+
+    /**
+     * Deserialize an OSCAL document into the given bound class from its string content
+     *
+     * @param content The document content
+     * @param format The document format
+     * @param modelClass The bound model class (e.g. {@code Catalog.class})
+     * @return The bound OSCAL object
+     * @throws IOException if the document cannot be parsed
+     */
+    public <T> T deserialize(String content, OscalFormat format, Class<T> modelClass) throws IOException {
+        IDeserializer<T> deserializer = newDeserializer(format, modelClass);
+        return parse(content, format, deserializer::deserialize, deserializer::deserialize);
+    }
+
+    /**
+     * Deserialize an OSCAL document from its string content into a Metapath document node.
+     * The bound object is available from {@link IDocumentNodeItem#getValue()}; the node tree
+     * is what the Metaschema constraint validator walks.
+     *
+     * @param content The document content
+     * @param format The document format
+     * @param modelType The OSCAL model type
+     * @return The document node
+     * @throws IOException if the document cannot be parsed
+     */
+    public IDocumentNodeItem deserializeToNodeItem(String content, OscalFormat format, OscalModelType modelType)
+            throws IOException {
+        IDeserializer<?> deserializer = newDeserializer(format, getModelClass(modelType));
+        return parse(content, format, deserializer::deserializeToNodeItem, deserializer::deserializeToNodeItem);
+    }
+
+    /**
+     * Deserialize an OSCAL document of the given model type from a stream.
+     * The stream is not closed by this method.
+     *
+     * @param input The document content as a UTF-8 stream
+     * @param contentLength The content length in bytes, or -1 if unknown
+     * @param format The document format
+     * @param modelType The OSCAL model type
+     * @return The bound OSCAL object
+     * @throws IOException if the document cannot be read or parsed
+     */
+    public Object deserialize(InputStream input, long contentLength, OscalFormat format, OscalModelType modelType)
+            throws IOException {
+        IDeserializer<?> deserializer = newDeserializer(format, getModelClass(modelType));
+        return parse(input, contentLength, format, deserializer::deserialize);
+    }
+
+    /**
+     * Deserialize an OSCAL document from a stream into a Metapath document node.
+     * The stream is not closed by this method.
+     *
+     * @param input The document content as a UTF-8 stream
+     * @param contentLength The content length in bytes, or -1 if unknown
+     * @param format The document format
+     * @param modelType The OSCAL model type
+     * @return The document node
+     * @throws IOException if the document cannot be read or parsed
+     */
+    public IDocumentNodeItem deserializeToNodeItem(InputStream input, long contentLength, OscalFormat format,
+                                                   OscalModelType modelType) throws IOException {
+        IDeserializer<?> deserializer = newDeserializer(format, getModelClass(modelType));
+        return parse(input, contentLength, format, deserializer::deserializeToNodeItem);
+    }
+
+    /**
+     * Create a new liboscal deserializer for the given format and bound class
+     */
+    public <T> IDeserializer<T> newDeserializer(OscalFormat format, Class<T> modelClass) {
+        return bindingContext.newDeserializer(toMetaschemaFormat(format), modelClass);
+    }
+
+    /**
+     * Create a new liboscal serializer for the given format and bound class
+     */
+    public <T> ISerializer<T> newSerializer(OscalFormat format, Class<T> modelClass) {
+        return bindingContext.newSerializer(toMetaschemaFormat(format), modelClass);
+    }
+
+    /**
+     * The OSCAL JSON tree of a bound OSCAL object. Element and property names are those of the
+     * JSON model whatever format the object was read from (e.g. XML {@code control} elements
+     * become a {@code controls} array).
+     */
+    public JsonNode toJsonTree(Object model) throws IOException {
+        @SuppressWarnings("unchecked")
+        ISerializer<IBoundObject> serializer = (ISerializer<IBoundObject>) newSerializer(OscalFormat.JSON, model.getClass());
+        StringWriter writer = new StringWriter();
+        serializer.serialize((IBoundObject) model, writer);
+        return JSON_MAPPER.readTree(writer.toString());
+    }
+
+    /**
+     * Get the liboscal bound class for an OSCAL model type
+     */
+    public Class<?> getModelClass(OscalModelType modelType) {
+        switch (modelType) {
+            case CATALOG:
+                return Catalog.class;
+            case PROFILE:
+                return Profile.class;
+            case COMPONENT_DEFINITION:
+                return ComponentDefinition.class;
+            case SYSTEM_SECURITY_PLAN:
+                return SystemSecurityPlan.class;
+            case ASSESSMENT_PLAN:
+                return AssessmentPlan.class;
+            case ASSESSMENT_RESULTS:
+                return AssessmentResults.class;
+            case PLAN_OF_ACTION_AND_MILESTONES:
+                return PlanOfActionAndMilestones.class;
+            default:
+                throw new IllegalArgumentException("Unsupported model type: " + modelType);
+        }
+    }
+
+    public static Format toMetaschemaFormat(OscalFormat format) {
+        switch (format) {
+            case JSON:
+                return Format.JSON;
+            case XML:
+                return Format.XML;
+            case YAML:
+                return Format.YAML;
+            default:
+                throw new IllegalArgumentException("Unsupported format: " + format);
+        }
+    }
+
+    public static String getFileExtension(OscalFormat format) {
+        switch (format) {
+            case JSON:
+                return ".json";
+            case XML:
+                return ".xml";
+            case YAML:
+                return ".yaml";
+            default:
+                return ".txt";
+        }
+    }
+
+    public long getInMemoryThreshold() {
+        return inMemoryThreshold;
+    }
+
+    public Path getSpillDirectory() {
+        return spillDirectory;
+    }
+
+    private <R> R parse(String content, OscalFormat format, ReaderParser<R> readerParser,
+                        StreamParser<R> streamParser) throws IOException {
+        if (utf8LengthAtMost(content, inMemoryThreshold)) {
+            return readerParser.parse(new StringReader(content), documentUri(format));
+        }
+
+        // Encode straight into the spill file rather than through a second in-heap copy
+        return parseSpilled(streamParser, out -> {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            writer.write(content);
+            writer.flush();
+        }, format);
+    }
+
+    private <R> R parse(InputStream input, long contentLength, OscalFormat format, StreamParser<R> streamParser)
+            throws IOException {
+        if (contentLength >= 0 && contentLength <= inMemoryThreshold) {
+            return streamParser.parse(input, documentUri(format));
+        }
+
+        return parseSpilled(streamParser, input::transferTo, format);
+    }
+
+    /**
+     * Whether the UTF-8 encoding of the content is at most the given number of bytes, without encoding it
+     */
+    static boolean utf8LengthAtMost(String content, long maxBytes) {
+        if (content.length() > maxBytes) {
+            // Every char encodes to at least one byte
+            return false;
+        }
+        long bytes = 0;
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < content.length()
+                    && Character.isLowSurrogate(content.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+            if (bytes > maxBytes) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Write the document into a pooled spill buffer and deserialize from there
+     *
+     * @throws SpillException if the document could not be written to the buffer
+     */
+    private <R> R parseSpilled(StreamParser<R> streamParser, SpillWriter content, OscalFormat format)
+            throws IOException {
+        Path buffer;
+        try {
+            buffer = acquireSpillBuffer();
+        } catch (IOException e) {
+            throw new SpillException("Could not create spill buffer: " + e.getMessage(), e);
+        }
+        try {
+            try (OutputStream out = Files.newOutputStream(buffer,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                content.writeTo(out);
+            } catch (IOException e) {
+                throw new SpillException("Could not buffer document for parsing: " + e.getMessage(), e);
+            }
+            try (InputStream spilled = Files.newInputStream(buffer)) {
+                return streamParser.parse(spilled, documentUri(format));
+            }
+        } finally {
+            releaseSpillBuffer(buffer);
+        }
+    }
+
+    private Path acquireSpillBuffer() throws IOException {
+        Path buffer = spillBufferPool.poll();
+        if (buffer != null && Files.exists(buffer)) {
+            return buffer;
+        }
+        return Files.createTempFile(spillDirectory, "oscal-spill-", ".buf");
+    }
+
+    private void releaseSpillBuffer(Path buffer) {
+        try {
+            // Truncate rather than delete so the file can be reused without metadata churn
+            try (FileChannel channel = FileChannel.open(buffer, StandardOpenOption.WRITE)) {
+                channel.truncate(0);
+            }
+            if (!spillBufferPool.offer(buffer)) {
+                Files.deleteIfExists(buffer);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to recycle spill buffer {}: {}", buffer, e.getMessage());
+            try {
+                Files.deleteIfExists(buffer);
+            } catch (IOException ignored) {
+                // Best effort cleanup
+            }
+        }
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        Path buffer;
+        while ((buffer = spillBufferPool.poll()) != null) {
+            try {
+                Files.deleteIfExists(buffer);
+            } catch (IOException e) {
+                logger.warn("Failed to delete spill buffer {}: {}", buffer, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Synthetic document URI used to resolve relative references within an in-memory document
+     */
+    private URI documentUri(OscalFormat format) {
+        return URI.create("inmemory:/oscal-document" + getFileExtension(format));
+    }
+
+    private static Path resolveSpillDirectory(String spillDir) {
+        if (spillDir != null && !spillDir.trim().isEmpty()) {
+            return Paths.get(spillDir.trim());
+        }
+        Path tmpfs = Paths.get(TMPFS_DIR);
+        if (Files.isDirectory(tmpfs) && Files.isWritable(tmpfs)) {
+            return tmpfs;
+        }
+        return Paths.get(System.getProperty("java.io.tmpdir"));
+    }
+
+    /**
+     * The document could not be buffered for parsing. Unlike a parse error, this says nothing
+     * about the document itself, and the same document may parse on a retry.
+     */
+    public static class SpillException extends IOException {
+        public SpillException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ReaderParser<R> {
+        R parse(Reader reader, URI documentUri) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface StreamParser<R> {
+        R parse(InputStream input, URI documentUri) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface SpillWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,235 @@
+package gov.nist.oscal.tools.api.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import gov.nist.oscal.tools.api.model.OscalFormat;
+import gov.nist.oscal.tools.api.model.OscalModelType;
+import org.springframework.stereotype.Service;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Detects the format and model type of an OSCAL document by sniffing its head.
+ *
+ * The format comes from the first significant character; the model type from the name of
+ * the root element (XML) or the first object-valued top-level key (JSON/YAML). Parsing stops
+ * as soon as the root is reached, so detection costs the same for a 1 KB and a 1 GB document.
+ */
+@Service
+public class OscalDocumentDetector {
+
+    /**
+     * Maximum number of bytes read from a stream to detect its type
+     */
+    public static final int SNIFF_LIMIT = 8192;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final YAMLFactory YAML_FACTORY = new YAMLFactory();
+    private static final XMLInputFactory XML_INPUT_FACTORY = newXmlInputFactory();
+
+    private static final Map<String, OscalModelType> MODEL_TYPES_BY_ROOT = new HashMap<>();
+
+    static {
+        for (OscalModelType modelType : OscalModelType.values()) {
+            MODEL_TYPES_BY_ROOT.put(modelType.getValue(), modelType);
+        }
+    }
+
+    /**
+     * Detect the format and model type of a document
+     *
+     * @param content The document content
+     * @return The detected document; either property is null if it could not be determined
+     */
+    public DetectedDocument detect(String content) {
+        if (content == null) {
+            return new DetectedDocument(null, null);
+        }
+        if (content.startsWith("\uFEFF")) {
+            content = content.substring(1);
+        }
+        OscalFormat format = sniffFormat(content);
+        return new DetectedDocument(format, format != null ? sniffModelType(new StringReader(content), format) : null);
+    }
+
+    /**
+     * Detect the format and model type of a streamed document, reading at most {@link #SNIFF_LIMIT}
+     * bytes. If the stream supports mark/reset it is reset afterwards, so it can still be parsed.
+     *
+     * @param input The document stream
+     * @return The detected document; either property is null if it could not be determined
+     */
+    public DetectedDocument detect(InputStream input) throws IOException {
+        byte[] head = new byte[SNIFF_LIMIT];
+        boolean reset = input.markSupported();
+        if (reset) {
+            input.mark(SNIFF_LIMIT);
+        }
+        int length = input.readNBytes(head, 0, SNIFF_LIMIT);
+        if (reset) {
+            input.reset();
+        }
+        return detect(head, length);
+    }
+
+    /**
+     * Detect the format and model type from the first bytes of a UTF-8 document
+     */
+    public DetectedDocument detect(byte[] head, int length) {
+        return detect(new String(head, 0, length, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Fill in the format and model type a caller left out, and check the ones they supplied
+     * against the document before it is fully parsed.
+     *
+     * @param content The document content
+     * @param format The declared format, or null to detect it
+     * @param modelType The declared model type, or null to detect it
+     * @return The resolved format and model type, both non-null
+     * @throws IllegalArgumentException if a missing value cannot be detected, or a declared
+     *         value contradicts the document
+     */
+    public DetectedDocument resolve(String content, OscalFormat format, OscalModelType modelType) {
+        return resolve(detect(content), format, modelType);
+    }
+
+    /**
+     * Reconcile declared values with an already detected document
+     *
+     * @see #resolve(String, OscalFormat, OscalModelType)
+     */
+    public DetectedDocument resolve(DetectedDocument detected, OscalFormat format, OscalModelType modelType) {
+        OscalFormat resolvedFormat = format;
+        if (format == null) {
+            if (detected.getFormat() == null) {
+                throw new IllegalArgumentException("Could not detect the document format; specify it explicitly");
+            }
+            resolvedFormat = detected.getFormat();
+        } else if (detected.getFormat() != null && !isCompatible(format, detected.getFormat())) {
+            throw new IllegalArgumentException(String.format(
+                "Document appears to be %s, but format %s was specified", detected.getFormat(), format));
+        }
+
+        OscalModelType resolvedModelType = modelType;
+        if (modelType == null) {
+            if (detected.getModelType() == null) {
+                throw new IllegalArgumentException("Could not detect the OSCAL model type; specify it explicitly");
+            }
+            resolvedModelType = detected.getModelType();
+        } else if (detected.getModelType() != null && detected.getModelType() != modelType) {
+            throw new IllegalArgumentException(String.format(
+                "Document appears to be a %s, but model type %s was specified",
+                detected.getModelType().getValue(), modelType.getValue()));
+        }
+
+        return new DetectedDocument(resolvedFormat, resolvedModelType);
+    }
+
+    private static boolean isCompatible(OscalFormat declared, OscalFormat detected) {
+        // JSON is also valid YAML
+        return declared == detected || (declared == OscalFormat.YAML && detected == OscalFormat.JSON);
+    }
+
+    private static OscalFormat sniffFormat(String text) {
+        int i = 0;
+        int end = text.length();
+        while (i < end && Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        if (i == end) {
+            return null;
+        }
+        char first = text.charAt(i);
+        if (first == '<') {
+            return OscalFormat.XML;
+        }
+        if (first == '{' || first == '[') {
+            return OscalFormat.JSON;
+        }
+        return OscalFormat.YAML;
+    }
+
+    private static OscalModelType sniffModelType(Reader reader, OscalFormat format) {
+        try {
+            return format == OscalFormat.XML
+                ? sniffXmlRoot(reader)
+                : sniffJsonRoot(reader, format == OscalFormat.YAML ? YAML_FACTORY : JSON_FACTORY);
+        } catch (IOException | XMLStreamException e) {
+            // Malformed or truncated before the root was reached
+            return null;
+        }
+    }
+
+    private static OscalModelType sniffJsonRoot(Reader reader, JsonFactory factory) throws IOException {
+        try (JsonParser parser = factory.createParser(reader)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            // Scalar keys such as "$schema" may precede the root; the first object is the root
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.START_OBJECT) {
+                    return MODEL_TYPES_BY_ROOT.get(name);
+                }
+                parser.skipChildren();
+            }
+            return null;
+        }
+    }
+
+    private static OscalModelType sniffXmlRoot(Reader reader) throws XMLStreamException {
+        XMLStreamReader xml = XML_INPUT_FACTORY.createXMLStreamReader(reader);
+        try {
+            while (xml.hasNext()) {
+                if (xml.next() == XMLStreamConstants.START_ELEMENT) {
+                    return MODEL_TYPES_BY_ROOT.get(xml.getLocalName());
+                }
+            }
+            return null;
+        } finally {
+            xml.close();
+        }
+    }
+
+    private static XMLInputFactory newXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    /**
+     * Format and model type of a document. Detection results may have null properties.
+     */
+    public static class DetectedDocument {
+        private final OscalFormat format;
+        private final OscalModelType modelType;
+
+        public DetectedDocument(OscalFormat format, OscalModelType modelType) {
+            this.format = format;
+            this.modelType = modelType;
+        }
+
+        public OscalFormat getFormat() {
+            return format;
+        }
+
+        public OscalModelType getModelType() {
+            return modelType;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package gov.nist.oscal.tools.api.service;
+
+import gov.nist.oscal.tools.api.service.MultipartObjectStore.RangeRead;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parallel multipart uploads and ranged downloads of large objects
+ *
+ * Objects at or above the multipart threshold are uploaded as chunks in parallel through the
+ * store's multipart mechanism. Downloads read the first chunk, which also reports the object's
+ * size; anything beyond it is read as one more range, or for objects above the threshold as
+ * parallel chunk-sized ranges. Later ranges are pinned to the version of the first read, so an
+ * object overwritten mid-download fails the download instead of mixing versions.
+ *
+ * Uploads and downloads share one pool of {@code parallelism} threads, which bounds the number
+ * of requests in flight across all transfers of a storage backend.
+ */
+public class ParallelTransfer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelTransfer.class);
+
+    private static final AtomicInteger POOL_COUNT = new AtomicInteger();
+
+    private final MultipartObjectStore store;
+    private final long multipartThreshold;
+    private final int chunkSize;
+    private final ExecutorService executor;
+
+    /**
+     * @param multipartThreshold Size from which objects are transferred in parallel parts
+     * @param chunkSize Size of each part
+     * @param parallelism Number of parts transferred at once
+     */
+    public ParallelTransfer(MultipartObjectStore store, long multipartThreshold, int chunkSize, int parallelism) {
+        if (chunkSize <= 0 || parallelism <= 0) {
+            throw new IllegalArgumentException("Chunk size and parallelism must be positive");
+        }
+        this.store = store;
+        this.multipartThreshold = multipartThreshold;
+        this.chunkSize = chunkSize;
+
+        int pool = POOL_COUNT.incrementAndGet();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "oscal-transfer-" + pool + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Whether an object of this size should be uploaded with {@link #upload}
+     */
+    public boolean isLarge(long size) {
+        return size > 0 && size >= multipartThreshold;
+    }
+
+    /**
+     * Upload an object in parallel parts, replacing any existing object. The upload is aborted
+     * if any part fails.
+     *
+     * @param metadata Metadata to attach to the object, or null
+     */
+    public void upload(String key, byte[] data, Map<String, String> metadata) {
+        String uploadId = store.startUpload(key, metadata);
+        try {
+            List<Future<String>> parts = new ArrayList<>();
+            for (long offset = 0; offset < data.length; offset += chunkSize) {
+                int start = (int) offset;
+                int length = Math.min(chunkSize, data.length - start);
+                int partNumber = parts.size() + 1;
+                parts.add(executor.submit(() -> store.uploadPart(key, uploadId, partNumber, data, start, length)));
+            }
+            store.completeUpload(key, uploadId, awaitAll(parts), metadata);
+            logger.debug("Uploaded {} ({} bytes) in {} parts", key, data.length, parts.size());
+        } catch (RuntimeException e) {
+            try {
+                store.abortUpload(key, uploadId);
+            } catch (RuntimeException abortFailure) {
+                e.addSuppressed(abortFailure);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Download an object with ranged reads
+     *
+     * @throws RuntimeException if the object does not exist, changes during the download, or is
+     *                          too large to hold in memory
+     */
+    public byte[] download(String key) {
+        RangeRead first = store.readRange(key, 0, chunkSize, null);
+        byte[] head = first.getData();
+        long size = first.getTotalSize();
+        if (size < 0 && head.length < chunkSize) {
+            size = head.length;
+        }
+        if (size == head.length) {
+            return head;
+        }
+        if (size < 0 || size > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Cannot download " + key + ": size " + size + " is unknown or too large");
+        }
+
+        byte[] data = new byte[(int) size];
+        System.arraycopy(head, 0, data, 0, head.length);
+        readRemaining(key, data, head.length, first.getVersionTag());
+        return data;
+    }
+
+    /**
+     * Download an object of known size and version with ranged reads, in parallel if it is large
+     *
+     * @param size Size of the object
+     * @param versionTag Version the object must be at, or null
+     */
+    public byte[] download(String key, long size, String versionTag) {
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Cannot download " + key + ": size " + size + " is too large");
+        }
+        byte[] data = new byte[(int) size];
+        readRemaining(key, data, 0, versionTag);
+        return data;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Fill the target from the given offset on, with one range for objects below the threshold
+     * and chunk-sized parallel ranges above it
+     */
+    private void readRemaining(String key, byte[] data, int from, String versionTag) {
+        if (from >= data.length) {
+            return;
+        }
+        if (!isLarge(data.length)) {
+            readInto(key, data, from, data.length - from, versionTag);
+            return;
+        }
+
+        List<Future<Void>> ranges = new ArrayList<>();
+        for (long offset = from; offset < data.length; offset += chunkSize) {
+            int start = (int) offset;
+            int length = Math.min(chunkSize, data.length - start);
+            ranges.add(executor.submit(() -> {
+                readInto(key, data, start, length, versionTag);
+                return null;
+            }));
+        }
+        awaitAll(ranges);
+        logger.debug("Downloaded {} ({} bytes) in {} parallel ranges", key, data.length, ranges.size());
+    }
+
+    private void readInto(String key, byte[] target, int offset, int length, String versionTag) {
+        byte[] range = store.readRange(key, offset, length, versionTag).getData();
+        if (range.length != length) {
+            throw new IllegalStateException("Short read of " + key + " at offset " + offset
+                    + ": expected " + length + " bytes, got " + range.length);
+        }
+        System.arraycopy(range, 0, target, offset, length);
+    }
+
+    /**
+     * Wait for all tasks, cancelling the rest as soon as one fails
+     */
+    private static <T> List<T> awaitAll(List<Future<T>> futures) {
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted during transfer", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new RuntimeException("Transfer failed", cause);
+        } finally {
+            for (Future<T> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+}
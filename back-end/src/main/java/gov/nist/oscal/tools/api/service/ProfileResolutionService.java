@@ -1,29 +1,81 @@
 package gov.nist.oscal.tools.api.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import gov.nist.oscal.tools.api.model.OscalFormat;
+import gov.nist.oscal.tools.api.model.OscalModelType;
 import gov.nist.oscal.tools.api.model.ProfileResolutionRequest;
 import gov.nist.oscal.tools.api.model.ProfileResolutionResult;
-import gov.nist.secauto.metaschema.databind.io.IDeserializer;
+import gov.nist.oscal.tools.api.service.CatalogSourceService.SourceVersion;
+import gov.nist.secauto.metaschema.core.model.IBoundObject;
+import gov.nist.secauto.metaschema.databind.io.Format;
+import gov.nist.secauto.metaschema.databind.io.ISerializer;
 import gov.nist.secauto.oscal.lib.OscalBindingContext;
+import gov.nist.secauto.oscal.lib.model.Catalog;
 import gov.nist.secauto.oscal.lib.model.Profile;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Service
 public class ProfileResolutionService {
 
-    private final OscalBindingContext bindingContext;
+    private static final Logger logger = LoggerFactory.getLogger(ProfileResolutionService.class);
 
-    public ProfileResolutionService() {
-        this.bindingContext = OscalBindingContext.instance();
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+    private static final ObjectMapper YAML_MAPPER = new ObjectMapper(new YAMLFactory());
+
+    private final OscalDeserializationService deserializationService;
+    private final CatalogSourceService catalogSourceService;
+    private final ResolvedProfileCache resolvedProfileCache;
+    // Loads and resolves the imports of a profile in parallel; null resolves them one after another
+    private final ExecutorService importExecutor;
+
+    @Autowired
+    public ProfileResolutionService(OscalDeserializationService deserializationService,
+                                    CatalogSourceService catalogSourceService,
+                                    ResolvedProfileCache resolvedProfileCache,
+                                    @Value("${profile.resolution.parallel-imports:true}") boolean parallelImports) {
+        this.deserializationService = deserializationService;
+        this.catalogSourceService = catalogSourceService;
+        this.resolvedProfileCache = resolvedProfileCache;
+        // Import resolution mostly waits on storage and the database, so a virtual thread per import
+        this.importExecutor = parallelImports
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("profile-import-", 1).factory())
+                : null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (importExecutor != null) {
+            importExecutor.shutdownNow();
+        }
     }
 
     public ProfileResolutionResult resolveProfile(ProfileResolutionRequest request, String username) {
         try {
+            String cacheKey = resolvedProfileCache.buildKey(request.getProfileContent(), request.getFormat());
+            Optional<ResolvedProfileCache.Entry> cached = resolvedProfileCache.get(cacheKey, this::isCurrent);
+            if (cached.isPresent()) {
+                logger.debug("Resolved profile cache hit for {}", username);
+                return new ProfileResolutionResult(true, cached.get().resolvedCatalog(), cached.get().controlCount());
+            }
+            long stamp = resolvedProfileCache.currentStamp();
+
             // Step 1: Validate that the content is a valid profile
             Profile profile = deserializeProfile(request.getProfileContent(), request.getFormat());
 
@@ -35,61 +87,66 @@ public class ProfileResolutionService {
                 );
             }
 
-            // Step 3: Return message indicating external catalog resolution is needed
-            int importCount = profile.getImports().size();
-            return new ProfileResolutionResult(
-                false,
-                String.format(
-                    "Profile resolution requires external catalog resolution which is not yet implemented. " +
-                    "This profile imports %d catalog(s). Full profile resolution will be available in a future update.",
-                    importCount
-                )
-            );
+            // Step 3: Resolve imports, merge and modifications on the profile's OSCAL JSON tree
+            JsonNode profileTree = request.getFormat() == OscalFormat.XML
+                    ? catalogSourceService.toTree(profile, Profile.class)
+                    : catalogSourceService.parseTree(request.getProfileContent(), request.getFormat(), OscalModelType.PROFILE);
+            List<SourceVersion> sources = Collections.synchronizedList(new ArrayList<>());
+            ProfileResolver.SourceLoader loader = href -> catalogSourceService.load(href, sources::add);
+            ObjectNode resolved = (importExecutor != null ? new ProfileResolver(loader, importExecutor)
+                    : new ProfileResolver(loader)).resolve(profileTree);
+
+            // Step 4: Return the catalog in the format of the profile
+            int controlCount = ProfileResolver.countControls(resolved);
+            logger.info("Resolved profile for {} with {} import(s) into {} control(s)",
+                    username, profile.getImports().size(), controlCount);
+            String resolvedCatalog = serializeCatalog(resolved, request.getFormat());
+            resolvedProfileCache.put(cacheKey,
+                    new ResolvedProfileCache.Entry(resolvedCatalog, controlCount, List.copyOf(sources)), stamp);
+            return new ProfileResolutionResult(true, resolvedCatalog, controlCount);
 
         } catch (Exception e) {
             return new ProfileResolutionResult(false, "Profile resolution failed: " + e.getMessage());
         }
     }
 
-    private Profile deserializeProfile(String content, OscalFormat format) throws IOException {
-        IDeserializer<Profile> deserializer = bindingContext.newDeserializer(
-            convertFormat(format),
-            Profile.class
-        );
-
-        // Write content to temporary file (required by OSCAL library)
-        Path tempFile = Files.createTempFile("oscal-profile-", getFileExtension(format));
-        try {
-            Files.writeString(tempFile, content, StandardCharsets.UTF_8);
-            return deserializer.deserialize(tempFile);
-        } finally {
-            Files.deleteIfExists(tempFile);
+    /**
+     * Whether every source a cached resolution was made from still resolves to the same version
+     */
+    private boolean isCurrent(List<SourceVersion> sources) {
+        for (SourceVersion source : sources) {
+            try {
+                if (!source.equals(catalogSourceService.currentVersion(source.href()))) {
+                    return false;
+                }
+            } catch (IOException e) {
+                return false;
+            }
         }
+        return true;
     }
 
-    private gov.nist.secauto.metaschema.databind.io.Format convertFormat(OscalFormat format) {
-        switch (format) {
-            case JSON:
-                return gov.nist.secauto.metaschema.databind.io.Format.JSON;
-            case XML:
-                return gov.nist.secauto.metaschema.databind.io.Format.XML;
-            case YAML:
-                return gov.nist.secauto.metaschema.databind.io.Format.YAML;
-            default:
-                throw new IllegalArgumentException("Unsupported format: " + format);
-        }
+    private Profile deserializeProfile(String content, OscalFormat format) throws IOException {
+        return deserializationService.deserialize(content, format, Profile.class);
     }
 
-    private String getFileExtension(OscalFormat format) {
+    private String serializeCatalog(ObjectNode catalog, OscalFormat format) throws IOException {
         switch (format) {
-            case JSON:
-                return ".json";
-            case XML:
-                return ".xml";
             case YAML:
-                return ".yaml";
+                return YAML_MAPPER.writeValueAsString(catalog);
+            case XML:
+                // XML has its own structure, so the catalog is bound and serialized by liboscal
+                Catalog model = deserializationService.deserialize(
+                        JSON_MAPPER.writeValueAsString(catalog), OscalFormat.JSON, Catalog.class);
+                @SuppressWarnings("unchecked")
+                ISerializer<IBoundObject> serializer = (ISerializer<IBoundObject>)
+                        OscalBindingContext.instance().newSerializer(Format.XML, Catalog.class);
+                StringWriter writer = new StringWriter();
+                serializer.serialize((IBoundObject) model, writer);
+                return writer.toString();
+            case JSON:
             default:
-                return ".txt";
+                return JSON_MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(catalog);
         }
     }
 }
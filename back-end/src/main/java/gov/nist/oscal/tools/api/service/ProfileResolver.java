@@ -0,0 +1,1012 @@
+package gov.nist.oscal.tools.api.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves OSCAL profiles into catalogs, working on documents parsed to OSCAL JSON trees.
+ *
+ * Follows the OSCAL profile resolution phases:
+ * <ol>
+ *   <li>Import: the import graph is loaded, checked for cycles and resolved bottom-up, so
+ *       imported profiles are resolved before the profiles importing them. Each import's
+ *       controls are selected with include-all / include-controls and exclude-controls.
+ *       Exclusions take precedence over inclusions.</li>
+ *   <li>Merge: selected controls are combined "as-is" (keeping the source group and control
+ *       structure), "flat" (the default) or into the "custom" groups of the profile. A control
+ *       imported more than once is kept once, from the first import, unless the combine method
+ *       is "keep".</li>
+ *   <li>Modify: set-parameters are applied to parameters anywhere in the catalog, then alters
+ *       remove and add control content.</li>
+ * </ol>
+ *
+ * Source documents handed out by the {@link SourceLoader} may be shared (cached) and are never
+ * modified; selected content is copied into the resolved catalog.
+ *
+ * Each distinct href is loaded once per resolution, even when several profiles of the import graph
+ * reference it. Given a multi-threaded executor, sources are loaded and independent imported
+ * profiles resolved in parallel; the merge order always follows the import order.
+ */
+public class ProfileResolver {
+
+    /** Imported profiles nested deeper than this are rejected */
+    public static final int MAX_IMPORT_DEPTH = 16;
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+    private static final String RESOLUTION_TOOL = "OSCAL Hub";
+
+    // Arrays of control content that alters can remove from and add to, with their item names
+    private static final Map<String, String> ITEM_NAMES = Map.of(
+            "params", "param",
+            "props", "prop",
+            "links", "link",
+            "parts", "part");
+
+    /**
+     * Loads the document an import refers to
+     */
+    @FunctionalInterface
+    public interface SourceLoader {
+        /**
+         * @param href The import href, with references to back-matter resources already followed
+         * @return Root of the parsed OSCAL JSON document, with a "catalog" or "profile" member
+         */
+        JsonNode load(String href) throws IOException;
+    }
+
+    private final SourceLoader loader;
+    private final Executor executor;
+
+    /**
+     * Resolver loading sources and resolving imported profiles on the calling thread
+     */
+    public ProfileResolver(SourceLoader loader) {
+        this(loader, Runnable::run);
+    }
+
+    /**
+     * @param executor Runs source loads and the resolution of imported profiles. Independent
+     *                 imports are loaded and resolved in parallel when it has more than one thread.
+     */
+    public ProfileResolver(SourceLoader loader, Executor executor) {
+        this.loader = loader;
+        this.executor = executor;
+    }
+
+    /**
+     * Resolve a profile
+     *
+     * @param profileDocument Root of the OSCAL JSON profile document
+     * @return Root of the resolved catalog document
+     * @throws IOException if an imported document cannot be loaded
+     * @throws IllegalArgumentException if the profile is invalid, or its imports form a cycle
+     */
+    public ObjectNode resolve(JsonNode profileDocument) throws IOException {
+        ImportGraph graph = new ImportGraph(profileDocument);
+        graph.awaitLoaded();
+        graph.checkImports();
+        return graph.resolve();
+    }
+
+    /**
+     * Count the controls, including child controls, in a catalog document
+     */
+    public static int countControls(JsonNode catalogDocument) {
+        JsonNode catalog = catalogDocument.path("catalog");
+        return countNested(catalog.path("controls")) + countGroupControls(catalog.path("groups"));
+    }
+
+    /**
+     * A loaded catalog or profile, with the hrefs of its imports in import order
+     */
+    private record ImportNode(String href, JsonNode document, List<String> imports) {
+        boolean isProfile() {
+            return document.has("profile");
+        }
+    }
+
+    /**
+     * The import DAG of one resolution: the profile being resolved and every catalog and profile it
+     * imports, directly or through imported profiles. Each distinct href is loaded once, however
+     * many profiles of the graph import it, and imported profiles are resolved once.
+     */
+    private final class ImportGraph {
+
+        private final ImportNode root;
+        private final Map<String, ImportNode> nodes = new ConcurrentHashMap<>();
+        private final Set<String> requested = ConcurrentHashMap.newKeySet();
+        // Loads requested but not yet finished, the root included until its imports are requested
+        private final AtomicInteger pending = new AtomicInteger(1);
+        private final CompletableFuture<Void> loaded = new CompletableFuture<>();
+        private final Map<String, CompletableFuture<JsonNode>> catalogs = new HashMap<>();
+
+        ImportGraph(JsonNode profileDocument) {
+            this.root = profileNode(null, profileDocument);
+            root.imports().forEach(this::request);
+            finished();
+        }
+
+        /**
+         * Wait until every source of the graph is loaded
+         */
+        void awaitLoaded() throws IOException {
+            await(loaded);
+        }
+
+        /**
+         * Reject import cycles, and imported profiles nested deeper than {@link #MAX_IMPORT_DEPTH}
+         */
+        void checkImports() {
+            levels(root, new ArrayList<>(), new HashMap<>());
+        }
+
+        /**
+         * Resolve the graph bottom-up. Imported profiles are resolved as soon as their own imports
+         * are, so independent branches of the graph are resolved in parallel.
+         */
+        ObjectNode resolve() throws IOException {
+            return await(resolveAsync(root));
+        }
+
+        private void request(String href) {
+            if (loaded.isDone() || !requested.add(href)) {
+                return;
+            }
+            pending.incrementAndGet();
+            try {
+                executor.execute(() -> {
+                    try {
+                        ImportNode node = load(href);
+                        nodes.put(href, node);
+                        node.imports().forEach(this::request);
+                        finished();
+                    } catch (Throwable e) {
+                        loaded.completeExceptionally(e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                loaded.completeExceptionally(e);
+            }
+        }
+
+        private void finished() {
+            if (pending.decrementAndGet() == 0) {
+                loaded.complete(null);
+            }
+        }
+
+        private ImportNode load(String href) throws IOException {
+            JsonNode document = loader.load(href);
+            if (document == null) {
+                throw new IOException("Import not found: " + href);
+            }
+            if (document.has("catalog")) {
+                return new ImportNode(href, document, List.of());
+            }
+            if (document.has("profile")) {
+                return profileNode(href, document);
+            }
+            throw new IllegalArgumentException("Import is not an OSCAL catalog or profile: " + href);
+        }
+
+        /**
+         * @return Number of profile levels from a node down to its catalogs, 0 for a catalog
+         */
+        private int levels(ImportNode node, List<String> path, Map<String, Integer> known) {
+            if (!node.isProfile()) {
+                return 0;
+            }
+            if (path.size() >= MAX_IMPORT_DEPTH) {
+                throw tooDeep();
+            }
+            path.add(node.href());
+            int deepest = 0;
+            for (String href : node.imports()) {
+                int cycleStart = path.indexOf(href);
+                if (cycleStart >= 0) {
+                    List<String> cycle = new ArrayList<>(path.subList(cycleStart, path.size()));
+                    cycle.add(href);
+                    throw new IllegalArgumentException("Profile imports form a cycle: " + String.join(" -> ", cycle));
+                }
+                Integer levels = known.get(href);
+                if (levels == null) {
+                    levels = levels(nodes.get(href), path, known);
+                    known.put(href, levels);
+                }
+                if (path.size() + levels > MAX_IMPORT_DEPTH) {
+                    throw tooDeep();
+                }
+                deepest = Math.max(deepest, levels);
+            }
+            path.remove(path.size() - 1);
+            return deepest + 1;
+        }
+
+        private CompletableFuture<ObjectNode> resolveAsync(ImportNode profile) {
+            List<CompletableFuture<JsonNode>> imports = new ArrayList<>();
+            for (String href : profile.imports()) {
+                imports.add(catalogOf(href));
+            }
+            return CompletableFuture.allOf(imports.toArray(CompletableFuture[]::new))
+                    .thenApplyAsync(done -> merge(profile.document(),
+                            imports.stream().map(CompletableFuture::join).toList()), executor);
+        }
+
+        private CompletableFuture<JsonNode> catalogOf(String href) {
+            CompletableFuture<JsonNode> catalog = catalogs.get(href);
+            if (catalog == null) {
+                ImportNode node = nodes.get(href);
+                catalog = node.isProfile()
+                        ? resolveAsync(node).thenApply(document -> document.get("catalog"))
+                        : CompletableFuture.completedFuture(node.document().get("catalog"));
+                catalogs.put(href, catalog);
+            }
+            return catalog;
+        }
+    }
+
+    private static ImportNode profileNode(String href, JsonNode profileDocument) {
+        JsonNode profile = profileDocument.path("profile");
+        if (!profile.isObject()) {
+            throw new IllegalArgumentException("Document is not an OSCAL profile");
+        }
+        JsonNode imports = profile.path("imports");
+        if (!imports.isArray() || imports.isEmpty()) {
+            throw new IllegalArgumentException("Profile has no imports");
+        }
+        List<String> hrefs = new ArrayList<>();
+        for (JsonNode importNode : imports) {
+            hrefs.add(resolveHref(profile, importNode.path("href").asText()));
+        }
+        return new ImportNode(href, profileDocument, hrefs);
+    }
+
+    private static IllegalArgumentException tooDeep() {
+        return new IllegalArgumentException("Profile imports are nested more than "
+                + MAX_IMPORT_DEPTH + " levels deep");
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while resolving profile imports");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+                    ? e.getCause().getCause()
+                    : e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Select, merge and modify the controls of a profile's imports
+     *
+     * @param importCatalogs The "catalog" member of each import's source, in import order
+     */
+    private static ObjectNode merge(JsonNode profileDocument, List<JsonNode> importCatalogs) {
+        JsonNode profile = profileDocument.path("profile");
+        JsonNode imports = profile.path("imports");
+
+        JsonNode merge = profile.path("merge");
+        boolean keepDuplicates = "keep".equals(merge.path("combine").path("method").asText());
+        Merger merger = merge.has("as-is") && merge.path("as-is").asBoolean()
+                ? new AsIsMerger(keepDuplicates)
+                : merge.has("custom")
+                        ? new CustomMerger(merge.path("custom"), keepDuplicates)
+                        : new FlatMerger(keepDuplicates);
+
+        Map<String, ObjectNode> params = new LinkedHashMap<>();
+        Map<String, ObjectNode> resources = new LinkedHashMap<>();
+        for (int i = 0; i < imports.size(); i++) {
+            JsonNode importNode = imports.get(i);
+            JsonNode catalog = importCatalogs.get(i);
+            Selection selection = new Selection(importNode);
+            merger.add(catalog, selection);
+
+            for (JsonNode param : catalog.path("params")) {
+                params.putIfAbsent(param.path("id").asText(), param.deepCopy());
+            }
+            for (JsonNode resource : catalog.path("back-matter").path("resources")) {
+                resources.putIfAbsent(resource.path("uuid").asText(), resource.deepCopy());
+            }
+        }
+
+        ObjectNode catalog = NODES.objectNode();
+        catalog.put("uuid", UUID.randomUUID().toString());
+        catalog.set("metadata", resolvedMetadata(profile.path("metadata")));
+        if (!params.isEmpty()) {
+            catalog.set("params", NODES.arrayNode().addAll(params.values()));
+        }
+        merger.writeTo(catalog);
+        if (!resources.isEmpty()) {
+            ObjectNode backMatter = catalog.putObject("back-matter");
+            backMatter.set("resources", NODES.arrayNode().addAll(resources.values()));
+        }
+
+        modify(catalog, profile.path("modify"));
+
+        ObjectNode document = NODES.objectNode();
+        document.set("catalog", catalog);
+        return document;
+    }
+
+    /**
+     * Follow an href of the form "#uuid" to the first rlink of that back-matter resource
+     */
+    static String resolveHref(JsonNode profile, String href) {
+        if (href == null || href.isBlank()) {
+            throw new IllegalArgumentException("Import has no href");
+        }
+        if (!href.startsWith("#")) {
+            return href;
+        }
+        String uuid = href.substring(1);
+        for (JsonNode resource : profile.path("back-matter").path("resources")) {
+            if (uuid.equals(resource.path("uuid").asText())) {
+                for (JsonNode rlink : resource.path("rlinks")) {
+                    String target = rlink.path("href").asText();
+                    if (!target.isBlank() && !target.startsWith("#")) {
+                        return target;
+                    }
+                }
+                throw new IllegalArgumentException("Back-matter resource " + uuid + " has no rlink to import");
+            }
+        }
+        throw new IllegalArgumentException("Import refers to missing back-matter resource " + uuid);
+    }
+
+    private static ObjectNode resolvedMetadata(JsonNode profileMetadata) {
+        ObjectNode metadata = profileMetadata.isObject() ? profileMetadata.deepCopy() : NODES.objectNode();
+        metadata.put("last-modified", OffsetDateTime.now(ZoneOffset.UTC).format(DateTimeFormatter.ISO_OFFSET_DATE_TIME));
+        ArrayNode props = metadata.has("props") ? (ArrayNode) metadata.get("props") : metadata.putArray("props");
+        props.addObject().put("name", "resolution-tool").put("value", RESOLUTION_TOOL);
+        return metadata;
+    }
+
+    // ---------------------------------------------------------------------------------------
+    // Selection
+
+    /**
+     * Matches control ids against with-ids and matching patterns
+     */
+    private static class ControlMatcher {
+        private final Set<String> ids = new HashSet<>();
+        private final List<Pattern> patterns = new ArrayList<>();
+        private final boolean withChildControls;
+
+        ControlMatcher(JsonNode selector) {
+            for (JsonNode id : selector.path("with-ids")) {
+                ids.add(id.asText());
+            }
+            for (JsonNode matching : selector.path("matching")) {
+                patterns.add(globPattern(matching.path("pattern").asText()));
+            }
+            this.withChildControls = "yes".equals(selector.path("with-child-controls").asText());
+        }
+
+        boolean matches(String id) {
+            if (ids.contains(id)) {
+                return true;
+            }
+            for (Pattern pattern : patterns) {
+                if (pattern.matcher(id).matches()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        static List<ControlMatcher> of(JsonNode selectors) {
+            List<ControlMatcher> matchers = new ArrayList<>();
+            for (JsonNode selector : selectors) {
+                matchers.add(new ControlMatcher(selector));
+            }
+            return matchers;
+        }
+    }
+
+    /**
+     * The controls one import selects from its source
+     */
+    private static class Selection {
+        private final boolean includeAll;
+        private final List<ControlMatcher> includes;
+        private final List<ControlMatcher> excludes;
+
+        Selection(JsonNode importNode) {
+            this.includes = ControlMatcher.of(importNode.path("include-controls"));
+            this.excludes = ControlMatcher.of(importNode.path("exclude-controls"));
+            // An import without include directives includes all controls
+            this.includeAll = importNode.has("include-all") || !importNode.has("include-controls");
+        }
+
+        /**
+         * Ids of the selected controls of a catalog, in document order
+         */
+        Set<String> select(JsonNode catalog) {
+            Set<String> selected = new LinkedHashSet<>();
+            selectControls(catalog.path("controls"), false, false, selected);
+            selectGroups(catalog.path("groups"), selected);
+            return selected;
+        }
+
+        private void selectGroups(JsonNode groups, Set<String> selected) {
+            for (JsonNode group : groups) {
+                selectControls(group.path("controls"), false, false, selected);
+                selectGroups(group.path("groups"), selected);
+            }
+        }
+
+        private void selectControls(JsonNode controls, boolean parentIncluded, boolean parentExcluded,
+                                    Set<String> selected) {
+            for (JsonNode control : controls) {
+                String id = control.path("id").asText();
+                boolean included = includeAll || parentIncluded || matchesAny(includes, id, false);
+                boolean excluded = parentExcluded || matchesAny(excludes, id, false);
+                if (included && !excluded) {
+                    selected.add(id);
+                }
+                selectControls(control.path("controls"),
+                        parentIncluded || matchesAny(includes, id, true),
+                        parentExcluded || matchesAny(excludes, id, true),
+                        selected);
+            }
+        }
+
+        /**
+         * @param forChildren Whether only matchers that carry over to child controls count
+         */
+        private static boolean matchesAny(List<ControlMatcher> matchers, String id, boolean forChildren) {
+            for (ControlMatcher matcher : matchers) {
+                if ((!forChildren || matcher.withChildControls) && matcher.matches(id)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------
+    // Merge
+
+    private abstract static class Merger {
+        private final boolean keepDuplicates;
+        private final Set<String> emitted = new HashSet<>();
+
+        Merger(boolean keepDuplicates) {
+            this.keepDuplicates = keepDuplicates;
+        }
+
+        abstract void add(JsonNode catalog, Selection selection);
+
+        abstract void writeTo(ObjectNode catalog);
+
+        /**
+         * Whether a control is taken into the result: the first time its id is seen, or always
+         * when duplicates are kept
+         */
+        boolean take(String id) {
+            return emitted.add(id) || keepDuplicates;
+        }
+    }
+
+    /**
+     * All selected controls at the top level of the catalog, child controls unnested
+     */
+    private static class FlatMerger extends Merger {
+        private final ArrayNode controls = NODES.arrayNode();
+
+        FlatMerger(boolean keepDuplicates) {
+            super(keepDuplicates);
+        }
+
+        @Override
+        void add(JsonNode catalog, Selection selection) {
+            Set<String> selected = selection.select(catalog);
+            forEachControl(catalog, control -> {
+                String id = control.path("id").asText();
+                if (selected.contains(id) && take(id)) {
+                    controls.add(copyWithoutChildren(control));
+                }
+            });
+        }
+
+        @Override
+        void writeTo(ObjectNode catalog) {
+            if (!controls.isEmpty()) {
+                catalog.set("controls", controls);
+            }
+        }
+    }
+
+    /**
+     * The group and control structure of the sources. Groups with the same id are merged; child
+     * controls whose parent is not selected move up to the parent's place.
+     */
+    private static class AsIsMerger extends Merger {
+        private final ObjectNode root = NODES.objectNode();
+
+        AsIsMerger(boolean keepDuplicates) {
+            super(keepDuplicates);
+        }
+
+        @Override
+        void add(JsonNode catalog, Selection selection) {
+            Set<String> selected = selection.select(catalog);
+            mergeInto(root, catalog, selected);
+        }
+
+        private void mergeInto(ObjectNode target, JsonNode source, Set<String> selected) {
+            List<ObjectNode> controls = selectControls(source.path("controls"), selected);
+            if (!controls.isEmpty()) {
+                arrayOf(target, "controls").addAll(controls);
+            }
+            for (JsonNode group : source.path("groups")) {
+                ObjectNode existing = findById(target.path("groups"), group.path("id").asText(null));
+                if (existing != null) {
+                    mergeInto(existing, group, selected);
+                    continue;
+                }
+                ObjectNode copy = copyGroup(group, selected);
+                if (copy != null) {
+                    arrayOf(target, "groups").add(copy);
+                }
+            }
+        }
+
+        /**
+         * Copy of a group with only its selected content, or null when nothing in it is selected
+         */
+        private ObjectNode copyGroup(JsonNode group, Set<String> selected) {
+            ObjectNode copy = copyExcept(group, "controls", "groups");
+            List<ObjectNode> controls = selectControls(group.path("controls"), selected);
+            ArrayNode groups = NODES.arrayNode();
+            for (JsonNode child : group.path("groups")) {
+                ObjectNode childCopy = copyGroup(child, selected);
+                if (childCopy != null) {
+                    groups.add(childCopy);
+                }
+            }
+            if (controls.isEmpty() && groups.isEmpty()) {
+                return null;
+            }
+            if (!controls.isEmpty()) {
+                copy.putArray("controls").addAll(controls);
+            }
+            if (!groups.isEmpty()) {
+                copy.set("groups", groups);
+            }
+            return copy;
+        }
+
+        private List<ObjectNode> selectControls(JsonNode controls, Set<String> selected) {
+            List<ObjectNode> result = new ArrayList<>();
+            for (JsonNode control : controls) {
+                List<ObjectNode> children = selectControls(control.path("controls"), selected);
+                String id = control.path("id").asText();
+                if (selected.contains(id) && take(id)) {
+                    ObjectNode copy = copyWithoutChildren(control);
+                    if (!children.isEmpty()) {
+                        copy.putArray("controls").addAll(children);
+                    }
+                    result.add(copy);
+                } else {
+                    result.addAll(children);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        void writeTo(ObjectNode catalog) {
+            if (root.has("controls")) {
+                catalog.set("controls", root.get("controls"));
+            }
+            if (root.has("groups")) {
+                catalog.set("groups", root.get("groups"));
+            }
+        }
+    }
+
+    /**
+     * The groups defined by the profile, with selected controls placed by insert-controls.
+     * Selected controls that no insert-controls picks up are left out.
+     */
+    private static class CustomMerger extends Merger {
+        private final JsonNode custom;
+        private final Map<String, ObjectNode> pool = new LinkedHashMap<>();
+        private final List<ObjectNode> duplicates = new ArrayList<>();
+
+        CustomMerger(JsonNode custom, boolean keepDuplicates) {
+            super(keepDuplicates);
+            this.custom = custom;
+        }
+
+        @Override
+        void add(JsonNode catalog, Selection selection) {
+            Set<String> selected = selection.select(catalog);
+            forEachControl(catalog, control -> {
+                String id = control.path("id").asText();
+                if (selected.contains(id) && take(id)) {
+                    ObjectNode copy = copyWithoutChildren(control);
+                    if (pool.putIfAbsent(id, copy) != null) {
+                        duplicates.add(copy);
+                    }
+                }
+            });
+        }
+
+        @Override
+        void writeTo(ObjectNode catalog) {
+            Set<String> inserted = new HashSet<>();
+            List<ObjectNode> controls = insertControls(custom.path("insert-controls"), inserted);
+            if (!controls.isEmpty()) {
+                catalog.putArray("controls").addAll(controls);
+            }
+            ArrayNode groups = buildGroups(custom.path("groups"), inserted);
+            if (!groups.isEmpty()) {
+                catalog.set("groups", groups);
+            }
+        }
+
+        private ArrayNode buildGroups(JsonNode groupDefinitions, Set<String> inserted) {
+            ArrayNode groups = NODES.arrayNode();
+            for (JsonNode definition : groupDefinitions) {
+                ObjectNode group = copyExcept(definition, "insert-controls", "groups");
+                List<ObjectNode> controls = insertControls(definition.path("insert-controls"), inserted);
+                if (!controls.isEmpty()) {
+                    group.putArray("controls").addAll(controls);
+                }
+                ArrayNode children = buildGroups(definition.path("groups"), inserted);
+                if (!children.isEmpty()) {
+                    group.set("groups", children);
+                }
+                groups.add(group);
+            }
+            return groups;
+        }
+
+        private List<ObjectNode> insertControls(JsonNode insertions, Set<String> inserted) {
+            List<ObjectNode> result = new ArrayList<>();
+            for (JsonNode insertion : insertions) {
+                boolean all = insertion.has("include-all");
+                List<ControlMatcher> includes = ControlMatcher.of(insertion.path("include-controls"));
+                List<ControlMatcher> excludes = ControlMatcher.of(insertion.path("exclude-controls"));
+
+                List<ObjectNode> matched = new ArrayList<>();
+                for (Map.Entry<String, ObjectNode> entry : pool.entrySet()) {
+                    String id = entry.getKey();
+                    if (!inserted.contains(id)
+                            && (all || Selection.matchesAny(includes, id, false))
+                            && !Selection.matchesAny(excludes, id, false)) {
+                        matched.add(entry.getValue());
+                        inserted.add(id);
+                        for (ObjectNode duplicate : duplicates) {
+                            if (id.equals(duplicate.path("id").asText())) {
+                                matched.add(duplicate);
+                            }
+                        }
+                    }
+                }
+
+                String order = insertion.path("order").asText("keep");
+                Comparator<ObjectNode> byId = Comparator.comparing(control -> control.path("id").asText());
+                if ("ascending".equals(order)) {
+                    matched.sort(byId);
+                } else if ("descending".equals(order)) {
+                    matched.sort(byId.reversed());
+                }
+                result.addAll(matched);
+            }
+            return result;
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------
+    // Modify
+
+    private static void modify(ObjectNode catalog, JsonNode modify) {
+        if (!modify.isObject()) {
+            return;
+        }
+        Map<String, ObjectNode> params = new HashMap<>();
+        Map<String, ObjectNode> controls = new HashMap<>();
+        indexContent(catalog, params, controls);
+
+        for (JsonNode setParameter : modify.path("set-parameters")) {
+            ObjectNode param = params.get(setParameter.path("param-id").asText());
+            if (param != null) {
+                setParameter(param, setParameter);
+            }
+        }
+
+        for (JsonNode alter : modify.path("alters")) {
+            ObjectNode control = controls.get(alter.path("control-id").asText());
+            if (control == null) {
+                continue;
+            }
+            for (JsonNode remove : alter.path("removes")) {
+                remove(control, remove);
+            }
+            for (JsonNode add : alter.path("adds")) {
+                add(control, add);
+            }
+        }
+    }
+
+    private static void indexContent(JsonNode container, Map<String, ObjectNode> params,
+                                     Map<String, ObjectNode> controls) {
+        for (JsonNode param : container.path("params")) {
+            params.putIfAbsent(param.path("id").asText(), (ObjectNode) param);
+        }
+        for (JsonNode group : container.path("groups")) {
+            indexContent(group, params, controls);
+        }
+        for (JsonNode control : container.path("controls")) {
+            controls.putIfAbsent(control.path("id").asText(), (ObjectNode) control);
+            indexContent(control, params, controls);
+        }
+    }
+
+    /**
+     * Apply a set-parameter: scalar settings and values/select replace, other lists are added to
+     */
+    private static void setParameter(ObjectNode param, JsonNode setParameter) {
+        for (String field : List.of("class", "depends-on", "label", "usage", "values", "select")) {
+            if (setParameter.has(field)) {
+                param.set(field, setParameter.get(field).deepCopy());
+            }
+        }
+        for (String field : List.of("props", "links", "constraints", "guidelines")) {
+            for (JsonNode item : setParameter.path(field)) {
+                arrayOf(param, field).add(item.deepCopy());
+            }
+        }
+    }
+
+    /**
+     * Remove the params, props, links and parts (at any depth) that match all given criteria
+     */
+    private static void remove(ObjectNode container, JsonNode criteria) {
+        for (Map.Entry<String, String> items : ITEM_NAMES.entrySet()) {
+            JsonNode array = container.get(items.getKey());
+            if (array == null || !array.isArray()) {
+                continue;
+            }
+            ArrayNode itemArray = (ArrayNode) array;
+            for (int i = itemArray.size() - 1; i >= 0; i--) {
+                JsonNode item = itemArray.get(i);
+                if (matchesRemoval(item, items.getValue(), criteria)) {
+                    itemArray.remove(i);
+                } else if (item.isObject()) {
+                    remove((ObjectNode) item, criteria);
+                }
+            }
+            if (array.isEmpty()) {
+                container.remove(items.getKey());
+            }
+        }
+    }
+
+    private static boolean matchesRemoval(JsonNode item, String itemName, JsonNode criteria) {
+        boolean any = false;
+        for (Map.Entry<String, String> criterion : Map.of(
+                "by-name", "name", "by-class", "class", "by-id", "id", "by-ns", "ns").entrySet()) {
+            if (criteria.has(criterion.getKey())) {
+                any = true;
+                if (!criteria.get(criterion.getKey()).asText().equals(item.path(criterion.getValue()).asText(null))) {
+                    return false;
+                }
+            }
+        }
+        if (criteria.has("by-item-name")) {
+            any = true;
+            if (!criteria.get("by-item-name").asText().equals(itemName)) {
+                return false;
+            }
+        }
+        return any;
+    }
+
+    /**
+     * Add content to a control, or relative to a part or parameter of it identified by by-id
+     */
+    private static void add(ObjectNode control, JsonNode add) {
+        String position = add.path("position").asText("ending");
+        String byId = add.path("by-id").asText(null);
+
+        if (byId == null || byId.equals(control.path("id").asText())) {
+            addInto(control, add, !"starting".equals(position) && !"before".equals(position));
+            return;
+        }
+
+        Location location = locate(control, byId);
+        if (location == null) {
+            return;
+        }
+        if ("starting".equals(position) || "ending".equals(position)) {
+            addInto(location.item, add, "ending".equals(position));
+            return;
+        }
+
+        // before/after: items of the same kind go next to the target, anything else into its parent
+        int index = "after".equals(position) ? location.index + 1 : location.index;
+        for (JsonNode item : add.path(location.arrayName)) {
+            location.array.insert(index++, item.deepCopy());
+        }
+        ObjectNode others = ((ObjectNode) add.deepCopy()).retain(ITEM_NAMES.keySet());
+        others.remove(location.arrayName);
+        addInto(location.parent, others, "after".equals(position));
+    }
+
+    private static void addInto(ObjectNode target, JsonNode add, boolean atEnd) {
+        if (add.has("title")) {
+            target.set("title", add.get("title").deepCopy());
+        }
+        for (String field : ITEM_NAMES.keySet()) {
+            JsonNode items = add.get(field);
+            if (items == null || items.isEmpty()) {
+                continue;
+            }
+            ArrayNode array = arrayOf(target, field);
+            int index = atEnd ? array.size() : 0;
+            for (JsonNode item : items) {
+                array.insert(index++, item.deepCopy());
+            }
+        }
+    }
+
+    /**
+     * Where an item with an id sits within a control's params and parts
+     */
+    private record Location(ObjectNode parent, String arrayName, ArrayNode array, int index, ObjectNode item) {
+    }
+
+    private static Location locate(ObjectNode container, String id) {
+        for (String arrayName : List.of("params", "parts")) {
+            JsonNode array = container.get(arrayName);
+            if (array == null || !array.isArray()) {
+                continue;
+            }
+            for (int i = 0; i < array.size(); i++) {
+                JsonNode item = array.get(i);
+                if (!item.isObject()) {
+                    continue;
+                }
+                if (id.equals(item.path("id").asText(null))) {
+                    return new Location(container, arrayName, (ArrayNode) array, i, (ObjectNode) item);
+                }
+                Location nested = locate((ObjectNode) item, id);
+                if (nested != null) {
+                    return nested;
+                }
+            }
+        }
+        return null;
+    }
+
+    // ---------------------------------------------------------------------------------------
+    // Tree helpers
+
+    private static void forEachControl(JsonNode container, Consumer<JsonNode> action) {
+        for (JsonNode control : container.path("controls")) {
+            action.accept(control);
+            forEachControl(control, action);
+        }
+        for (JsonNode group : container.path("groups")) {
+            forEachControl(group, action);
+        }
+    }
+
+    private static ObjectNode copyWithoutChildren(JsonNode control) {
+        return copyExcept(control, "controls");
+    }
+
+    private static ObjectNode copyExcept(JsonNode node, String... excluded) {
+        Set<String> skip = Set.of(excluded);
+        ObjectNode copy = NODES.objectNode();
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (!skip.contains(field.getKey())) {
+                copy.set(field.getKey(), field.getValue().deepCopy());
+            }
+        }
+        return copy;
+    }
+
+    private static ObjectNode findById(JsonNode array, String id) {
+        if (id == null) {
+            return null;
+        }
+        for (JsonNode item : array) {
+            if (id.equals(item.path("id").asText(null))) {
+                return (ObjectNode) item;
+            }
+        }
+        return null;
+    }
+
+    private static ArrayNode arrayOf(ObjectNode node, String field) {
+        JsonNode existing = node.get(field);
+        return existing != null && existing.isArray() ? (ArrayNode) existing : node.putArray(field);
+    }
+
+    private static int countNested(JsonNode controls) {
+        int count = 0;
+        for (JsonNode control : controls) {
+            count += 1 + countNested(control.path("controls"));
+        }
+        return count;
+    }
+
+    private static int countGroupControls(JsonNode groups) {
+        int count = 0;
+        for (JsonNode group : groups) {
+            count += countNested(group.path("controls")) + countGroupControls(group.path("groups"));
+        }
+        return count;
+    }
+
+    /**
+     * Regular expression for a matching pattern, where * matches any characters and ? any one
+     */
+    static Pattern globPattern(String glob) {
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (char c : glob.toCharArray()) {
+            if (c == '*' || c == '?') {
+                if (!literal.isEmpty()) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == '*' ? ".*" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (!literal.isEmpty()) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return Pattern.compile(regex.toString());
+    }
+}
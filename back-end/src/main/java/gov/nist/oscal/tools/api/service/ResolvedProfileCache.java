@@ -0,0 +1,336 @@
+package gov.nist.oscal.tools.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import gov.nist.oscal.tools.api.model.OscalFormat;
+import gov.nist.oscal.tools.api.service.CatalogSourceService.SourceVersion;
+import gov.nist.oscal.tools.api.util.ContentHasher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Cache of resolved profiles, so a baseline resolved by every team on every build is resolved once
+ *
+ * Entries are keyed on SHA-256(profile content) + output format and record the version (content
+ * hash) of every catalog and profile they were resolved from, imported profiles included. Those
+ * records form a dependency graph from each source to the resolved profiles that import it, so a
+ * new version of a library item invalidates exactly the entries that depend on it.
+ *
+ * Two tiers: a weight-bounded Caffeine cache on heap, and resolved catalogs stored through
+ * {@link LibraryStorageService} under {@value #STORAGE_PREFIX}, which survive restarts and are
+ * shared between instances. Entries of either tier are only served once their sources are
+ * confirmed current, since sources can change without an invalidation reaching this process: a
+ * catalog directory file is edited, a library item is updated on another instance or before a
+ * restart, or a new library item takes over a file-name href.
+ *
+ * Hit/miss/eviction metrics of the heap tier are published to Micrometer under the
+ * "profile.resolved" cache name.
+ */
+@Service
+public class ResolvedProfileCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResolvedProfileCache.class);
+
+    public static final String CACHE_NAME = "profile.resolved";
+
+    /** Folder of the library storage the storage tier is kept in */
+    public static final String STORAGE_PREFIX = "resolved-profiles/";
+
+    // Bump when the resolver output changes, so entries of the previous version are not served
+    private static final String RESOLVER_VERSION = "1";
+
+    // Fixed overhead per cached entry (object headers, key, source records)
+    private static final int BASE_ENTRY_WEIGHT = 1024;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * A resolved catalog and the sources it was resolved from
+     */
+    public record Entry(String resolvedCatalog, int controlCount, List<SourceVersion> sources) {
+    }
+
+    private final boolean enabled;
+    private final LibraryStorageService storageService;
+    private final Cache<String, Entry> cache;
+
+    // Source id -> keys of the entries resolved from it
+    private final Map<String, Set<String>> dependents = new ConcurrentHashMap<>();
+
+    // Source id -> stamp of its last invalidation, to drop results resolved from a replaced version
+    private final Map<String, Long> invalidatedAt = new ConcurrentHashMap<>();
+    private final AtomicLong stamps = new AtomicLong();
+
+    @Autowired
+    public ResolvedProfileCache(
+            @Value("${profile.resolution.result-cache.enabled:true}") boolean enabled,
+            @Value("${profile.resolution.result-cache.max-weight-bytes:134217728}") long maxWeightBytes,
+            @Value("${profile.resolution.result-cache.expire-after-write-minutes:1440}") long expireAfterWriteMinutes,
+            @Value("${profile.resolution.result-cache.storage-enabled:true}") boolean storageEnabled,
+            LibraryStorageService storageService,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.storageService = storageEnabled ? storageService : null;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher((String key, Entry entry) -> weigh(key, entry))
+                .expireAfterWrite(expireAfterWriteMinutes, TimeUnit.MINUTES)
+                // Run removal listeners inline, so the graph is updated before the removal returns
+                .executor(Runnable::run)
+                .removalListener((String key, Entry entry, RemovalCause cause) -> {
+                    if (key != null && entry != null && cause != RemovalCause.REPLACED) {
+                        unregister(key, entry);
+                    }
+                })
+                .recordStats()
+                .build();
+
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        }
+
+        logger.info("Resolved profile cache {} (max weight: {} bytes, TTL: {} minutes, storage tier: {})",
+                enabled ? "enabled" : "disabled", maxWeightBytes, expireAfterWriteMinutes,
+                this.storageService != null ? "enabled" : "disabled");
+    }
+
+    /**
+     * Build the cache key for a profile
+     */
+    public String buildKey(String profileContent, OscalFormat format) {
+        return ContentHasher.sha256Hex(profileContent) + ":" + format + ":" + RESOLVER_VERSION;
+    }
+
+    /**
+     * Stamp to pass to {@link #put} for a resolution starting now
+     */
+    public long currentStamp() {
+        return stamps.get();
+    }
+
+    /**
+     * Look up a resolved profile, on heap and then in storage. An entry whose sources are no
+     * longer the current versions is removed from both tiers.
+     *
+     * @param isCurrent Tells whether the sources of an entry are still the current versions; called
+     *                  on every hit, so it should only look up versions, not read content
+     */
+    public Optional<Entry> get(String key, Predicate<List<SourceVersion>> isCurrent) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null) {
+            if (isCurrent.test(entry.sources())) {
+                return Optional.of(entry);
+            }
+            logger.debug("Resolved profile {} is out of date", key);
+            cache.invalidate(key);
+            deleteStored(key);
+            return Optional.empty();
+        }
+
+        long stamp = currentStamp();
+        Entry stored = readStored(key);
+        if (stored == null) {
+            return Optional.empty();
+        }
+        if (!isCurrent.test(stored.sources())) {
+            logger.debug("Stored resolved profile {} is out of date", key);
+            deleteStored(key);
+            return Optional.empty();
+        }
+        putOnHeap(key, stored, stamp);
+        return Optional.of(stored);
+    }
+
+    /**
+     * Store a resolved profile. It is dropped if one of its sources was invalidated after the
+     * resolution started, as it may have been resolved from the replaced version.
+     *
+     * @param stamp {@link #currentStamp()} taken before the resolution started
+     */
+    public void put(String key, Entry entry, long stamp) {
+        if (!enabled) {
+            return;
+        }
+        Entry normalized = new Entry(entry.resolvedCatalog(), entry.controlCount(),
+                List.copyOf(new LinkedHashSet<>(entry.sources())));
+        if (putOnHeap(key, normalized, stamp)) {
+            writeStored(key, normalized);
+        }
+    }
+
+    /**
+     * Invalidate every resolved profile that imports a source, directly or through imported profiles
+     *
+     * @param sourceId Id of the source, e.g. {@link CatalogSourceService#librarySourceId(String)}
+     * @return Number of entries removed
+     */
+    public int invalidateSource(String sourceId) {
+        invalidatedAt.put(sourceId, stamps.incrementAndGet());
+        Set<String> keys = dependents.remove(sourceId);
+        if (keys == null || keys.isEmpty()) {
+            return 0;
+        }
+        List<String> removed = new ArrayList<>(keys);
+        for (String key : removed) {
+            cache.invalidate(key);
+            deleteStored(key);
+        }
+        logger.info("Invalidated {} resolved profile(s) importing {}", removed.size(), sourceId);
+        return removed.size();
+    }
+
+    /**
+     * Keys of the cached entries resolved from a source
+     */
+    public Set<String> getDependents(String sourceId) {
+        Set<String> keys = dependents.get(sourceId);
+        return keys != null ? Set.copyOf(keys) : Collections.emptySet();
+    }
+
+    /**
+     * Remove all resolved profiles held on heap. Stored entries stay, and are revalidated
+     * against their sources when next read.
+     *
+     * @return Number of entries removed
+     */
+    public long invalidateAll() {
+        long size = cache.estimatedSize();
+        cache.invalidateAll();
+        cache.cleanUp();
+        logger.info("Flushed resolved profile cache ({} entries)", size);
+        return size;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isStorageEnabled() {
+        return storageService != null;
+    }
+
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    public Cache<String, Entry> getNativeCache() {
+        return cache;
+    }
+
+    /**
+     * @return Whether the entry was cached
+     */
+    private boolean putOnHeap(String key, Entry entry, long stamp) {
+        if (isStale(entry, stamp)) {
+            logger.debug("Not caching resolved profile {}: a source changed during resolution", key);
+            return false;
+        }
+        for (SourceVersion source : entry.sources()) {
+            dependents.computeIfAbsent(source.sourceId(), id -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+        cache.put(key, entry);
+        // An invalidation may have run between the check and the registration
+        if (isStale(entry, stamp)) {
+            cache.invalidate(key);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean isStale(Entry entry, long stamp) {
+        for (SourceVersion source : entry.sources()) {
+            Long invalidated = invalidatedAt.get(source.sourceId());
+            if (invalidated != null && invalidated > stamp) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void unregister(String key, Entry entry) {
+        if (cache.asMap().containsKey(key)) {
+            // Already cached again
+            return;
+        }
+        for (SourceVersion source : entry.sources()) {
+            dependents.computeIfPresent(source.sourceId(), (id, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
+    private Entry readStored(String key) {
+        if (storageService == null) {
+            return null;
+        }
+        String path = storagePath(key);
+        try {
+            if (!storageService.fileExists(path)) {
+                return null;
+            }
+            return MAPPER.readValue(storageService.getLibraryFileContent(path), Entry.class);
+        } catch (Exception e) {
+            logger.warn("Failed to read stored resolved profile {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeStored(String key, Entry entry) {
+        if (storageService == null) {
+            return;
+        }
+        try {
+            storageService.saveLibraryFile(MAPPER.writeValueAsString(entry), storagePath(key),
+                    Map.of("type", "resolved-profile"));
+        } catch (Exception e) {
+            logger.warn("Failed to store resolved profile {}: {}", key, e.getMessage());
+        }
+    }
+
+    private void deleteStored(String key) {
+        if (storageService == null) {
+            return;
+        }
+        try {
+            storageService.deleteLibraryFile(storagePath(key));
+        } catch (Exception e) {
+            logger.warn("Failed to delete stored resolved profile {}: {}", key, e.getMessage());
+        }
+    }
+
+    static String storagePath(String key) {
+        return STORAGE_PREFIX + key.replace(':', '-') + ".json";
+    }
+
+    private static int weigh(String key, Entry entry) {
+        long weight = BASE_ENTRY_WEIGHT + key.length() + 2L * entry.resolvedCatalog().length();
+        for (SourceVersion source : entry.sources()) {
+            weight += 128 + 2L * source.href().length();
+        }
+        return (int) Math.min(Integer.MAX_VALUE, weight);
+    }
+}
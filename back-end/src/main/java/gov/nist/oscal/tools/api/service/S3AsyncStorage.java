@@ -0,0 +1,75 @@
+package gov.nist.oscal.tools.api.service;
+
+import gov.nist.oscal.tools.api.model.StoredContent;
+import gov.nist.oscal.tools.api.util.CompressionCodec;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * S3 storage on the non-blocking {@link S3AsyncClient}. The client is owned by
+ * {@link S3StorageService}, which builds it with multipart support for large objects.
+ */
+class S3AsyncStorage implements AsyncStorageService {
+
+    private final S3AsyncClient s3AsyncClient;
+    private final String bucket;
+    private final String compressionCodec;
+    private final long compressionMinSize;
+
+    S3AsyncStorage(S3AsyncClient s3AsyncClient, String bucket, String compressionCodec, long compressionMinSize) {
+        this.s3AsyncClient = s3AsyncClient;
+        this.bucket = bucket;
+        this.compressionCodec = compressionCodec;
+        this.compressionMinSize = compressionMinSize;
+    }
+
+    @Override
+    public CompletableFuture<String> uploadObject(String key, String content, Map<String, String> metadata) {
+        byte[] rawBytes = content.getBytes(StandardCharsets.UTF_8);
+        CompressionCodec codec = CompressionCodec.forContent(compressionCodec, rawBytes.length, compressionMinSize);
+        byte[] contentBytes = codec.encode(rawBytes);
+
+        PutObjectRequest.Builder request = PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType("application/json");
+        Map<String, String> objectMetadata = codec.withMetadata(metadata);
+        if (!objectMetadata.isEmpty()) {
+            request.metadata(objectMetadata);
+        }
+        return s3AsyncClient.putObject(request.build(), AsyncRequestBody.fromBytes(contentBytes))
+                .thenApply(response -> key);
+    }
+
+    @Override
+    public CompletableFuture<StoredContent> downloadStored(String key) {
+        GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .build();
+        return s3AsyncClient.getObject(request, AsyncResponseTransformer.toBytes())
+                .thenApply(response -> StoredContent.of(response.asByteArray()));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteObject(String key) {
+        DeleteObjectRequest request = DeleteObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .build();
+        return s3AsyncClient.deleteObject(request).thenApply(response -> true);
+    }
+
+    @Override
+    public String getStorageProvider() {
+        return "AWS S3 (async)";
+    }
+}
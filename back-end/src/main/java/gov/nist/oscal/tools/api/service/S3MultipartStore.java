@@ -0,0 +1,100 @@
+package gov.nist.oscal.tools.api.service;
+
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * S3 multipart uploads and ranged GETs. S3 requires every part except the last to be at least
+ * 5 MiB, so the chunk size must not be configured below that.
+ */
+class S3MultipartStore implements MultipartObjectStore {
+
+    private static final int RANGE_NOT_SATISFIABLE = 416;
+
+    private final S3Client s3Client;
+    private final String bucket;
+
+    S3MultipartStore(S3Client s3Client, String bucket) {
+        this.s3Client = s3Client;
+        this.bucket = bucket;
+    }
+
+    @Override
+    public String startUpload(String key, Map<String, String> metadata) {
+        CreateMultipartUploadRequest.Builder request = CreateMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType("application/json");
+        if (metadata != null && !metadata.isEmpty()) {
+            request.metadata(metadata);
+        }
+        return s3Client.createMultipartUpload(request.build()).uploadId();
+    }
+
+    @Override
+    public String uploadPart(String key, String uploadId, int partNumber, byte[] data, int offset, int length) {
+        UploadPartRequest request = UploadPartRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .uploadId(uploadId)
+                .partNumber(partNumber)
+                .contentLength((long) length)
+                .build();
+        return s3Client.uploadPart(request,
+                RequestBody.fromInputStream(new ByteArrayInputStream(data, offset, length), length)).eTag();
+    }
+
+    @Override
+    public void completeUpload(String key, String uploadId, List<String> partTags, Map<String, String> metadata) {
+        List<CompletedPart> parts = new ArrayList<>(partTags.size());
+        for (int i = 0; i < partTags.size(); i++) {
+            parts.add(CompletedPart.builder().partNumber(i + 1).eTag(partTags.get(i)).build());
+        }
+        // Metadata was attached when the upload was started
+        s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .uploadId(uploadId)
+                .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                .build());
+    }
+
+    @Override
+    public void abortUpload(String key, String uploadId) {
+        s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .uploadId(uploadId)
+                .build());
+    }
+
+    @Override
+    public RangeRead readRange(String key, long offset, int length, String versionTag) {
+        GetObjectRequest.Builder request = GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .range("bytes=" + offset + "-" + (offset + length - 1));
+        if (versionTag != null) {
+            request.ifMatch(versionTag);
+        }
+        try {
+            ResponseBytes<GetObjectResponse> response = s3Client.getObjectAsBytes(request.build());
+            return new RangeRead(response.asByteArray(),
+                    RangeRead.parseTotalSize(response.response().contentRange()),
+                    response.response().eTag());
+        } catch (S3Exception e) {
+            // A range cannot be satisfied by an empty object
+            if (e.statusCode() == RANGE_NOT_SATISFIABLE && offset == 0) {
+                return new RangeRead(new byte[0], 0, null);
+            }
+            throw e;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package gov.nist.oscal.tools.api.service;
 
+import gov.nist.oscal.tools.api.model.StoredContent;
+import gov.nist.oscal.tools.api.model.StoredObject;
+import gov.nist.oscal.tools.api.util.CompressionCodec;
 import gov.nist.oscal.tools.api.util.PathSanitizer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,6 +12,7 @@ import org.springframework.stereotype.Service;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.*;
 
@@ -48,7 +52,25 @@ public class S3StorageService implements StorageService {
     @Value("${file.upload-dir:./uploads}")
     private String uploadDir;
 
+    @Value("${storage.compression.codec:gzip}")
+    private String compressionCodec;
+
+    @Value("${storage.compression.min-size-bytes:1024}")
+    private long compressionMinSize;
+
+    @Value("${storage.transfer.multipart-threshold-bytes:33554432}")
+    private long multipartThreshold;
+
+    @Value("${storage.transfer.chunk-size-bytes:8388608}")
+    private int transferChunkSize;
+
+    @Value("${storage.transfer.parallelism:4}")
+    private int transferParallelism;
+
     private S3Client s3Client;
+    private S3AsyncClient s3AsyncClient;
+    private AsyncStorageService asyncStorage;
+    private ParallelTransfer transfer;
     private boolean useLocalStorage = false;
     private Path localBuildPath;
 
@@ -96,6 +118,21 @@ public class S3StorageService implements StorageService {
             logger.info("  3. ~/.aws/credentials file configured");
             fallbackToLocalStorage();
         }
+
+        if (!useLocalStorage) {
+            transfer = new ParallelTransfer(new S3MultipartStore(s3Client, buildBucketName),
+                    multipartThreshold, transferChunkSize, transferParallelism);
+
+            // Non-blocking client for async uploads, splitting large objects into multipart uploads
+            s3AsyncClient = S3AsyncClient.builder()
+                    .region(Region.of(awsRegion))
+                    .credentialsProvider(DefaultCredentialsProvider.create())
+                    .multipartEnabled(true)
+                    .build();
+            asyncStorage = new S3AsyncStorage(s3AsyncClient, buildBucketName, compressionCodec, compressionMinSize);
+        } else {
+            asyncStorage = new LocalAsyncStorage(localBuildPath, buildFolder, compressionCodec, compressionMinSize);
+        }
     }
 
     private void createBucket() {
@@ -139,6 +176,12 @@ public class S3StorageService implements StorageService {
 
     @PreDestroy
     public void cleanup() {
+        if (transfer != null) {
+            transfer.close();
+        }
+        if (s3AsyncClient != null) {
+            s3AsyncClient.close();
+        }
         if (s3Client != null) {
             s3Client.close();
             logger.info("S3 client closed");
@@ -147,15 +190,22 @@ public class S3StorageService implements StorageService {
 
     @Override
     public String uploadComponent(String username, String filename, String content, Map<String, String> metadata) {
-        String key = buildPath(username, filename);
+        String key = uploadObject(buildPath(username, filename), content, metadata);
+        logger.info("Uploaded component to S3: {}/{}", buildBucketName, key);
+        return key;
+    }
 
+    @Override
+    public String uploadObject(String key, String content, Map<String, String> metadata) {
         if (useLocalStorage) {
             saveToLocalStorage(content, key);
             return key;
         }
 
         try {
-            byte[] contentBytes = content.getBytes(StandardCharsets.UTF_8);
+            byte[] rawBytes = content.getBytes(StandardCharsets.UTF_8);
+            CompressionCodec codec = storageCodec(rawBytes.length);
+            byte[] contentBytes = codec.encode(rawBytes);
 
             PutObjectRequest.Builder requestBuilder = PutObjectRequest.builder()
                     .bucket(buildBucketName)
@@ -163,15 +213,21 @@ public class S3StorageService implements StorageService {
                     .contentType("application/json")
                     .contentLength((long) contentBytes.length);
 
-            if (metadata != null && !metadata.isEmpty()) {
-                requestBuilder.metadata(metadata);
+            // Record the codec alongside any provided metadata
+            Map<String, String> objectMetadata = codec.withMetadata(metadata);
+            if (!objectMetadata.isEmpty()) {
+                requestBuilder.metadata(objectMetadata);
+            }
+
+            // Large objects are uploaded in parallel parts
+            if (transfer != null && transfer.isLarge(contentBytes.length)) {
+                transfer.upload(key, contentBytes, objectMetadata);
+                return key;
             }
 
             PutObjectRequest request = requestBuilder.build();
 
             s3Client.putObject(request, RequestBody.fromBytes(contentBytes));
-
-            logger.info("Uploaded component to S3: {}/{}", buildBucketName, key);
             return key;
 
         } catch (S3Exception e) {
@@ -182,20 +238,31 @@ public class S3StorageService implements StorageService {
 
     @Override
     public String downloadComponent(String key) {
+        return downloadStored(key).decode();
+    }
+
+    @Override
+    public StoredContent downloadStored(String key) {
         if (useLocalStorage) {
             return getFromLocalStorage(key);
         }
 
         try {
-            GetObjectRequest getObjectRequest = GetObjectRequest.builder()
-                    .bucket(buildBucketName)
-                    .key(key)
-                    .build();
-
-            byte[] objectBytes = s3Client.getObjectAsBytes(getObjectRequest).asByteArray();
+            byte[] objectBytes;
+            if (transfer != null) {
+                // Ranged GETs, in parallel for large objects
+                objectBytes = transfer.download(key);
+            } else {
+                GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                        .bucket(buildBucketName)
+                        .key(key)
+                        .build();
+                objectBytes = s3Client.getObjectAsBytes(getObjectRequest).asByteArray();
+            }
+            StoredContent content = StoredContent.of(objectBytes);
 
             logger.info("Downloaded component from S3: {}/{}", buildBucketName, key);
-            return new String(objectBytes, StandardCharsets.UTF_8);
+            return content;
 
         } catch (NoSuchKeyException e) {
             logger.error("Component not found in S3: {}", key);
@@ -206,6 +273,38 @@ public class S3StorageService implements StorageService {
         }
     }
 
+    @Override
+    public StoredObject openStored(String key) {
+        if (useLocalStorage) {
+            return openFromLocalStorage(key);
+        }
+
+        try {
+            HeadObjectResponse head = s3Client.headObject(HeadObjectRequest.builder()
+                    .bucket(buildBucketName)
+                    .key(key)
+                    .build());
+            // Reads are conditional on the ETag found now, so they never mix two versions
+            String eTag = head.eTag();
+            return new StoredObject(head.contentLength(), CompressionCodec.fromName(recordedCodec(head.metadata())),
+                    (offset, length) -> s3Client.getObject(GetObjectRequest.builder()
+                            .bucket(buildBucketName)
+                            .key(key)
+                            .range("bytes=" + offset + "-" + (offset + length - 1))
+                            .ifMatch(eTag)
+                            .build()));
+        } catch (NoSuchKeyException e) {
+            logger.error("Component not found in S3: {}", key);
+            throw new RuntimeException("Component not found: " + key);
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                throw new RuntimeException("Component not found: " + key);
+            }
+            logger.error("Failed to open S3 object: {} (Status: {})", e.getMessage(), e.statusCode());
+            throw new RuntimeException("Failed to open component", e);
+        }
+    }
+
     @Override
     public List<String> listUserComponents(String username) {
         String prefix = buildFolder + "/" + username + "/";
@@ -222,9 +321,8 @@ public class S3StorageService implements StorageService {
                     .prefix(prefix)
                     .build();
 
-            ListObjectsV2Response listResponse = s3Client.listObjectsV2(listRequest);
-
-            componentPaths = listResponse.contents().stream()
+            // A single listObjectsV2 call stops at 1,000 keys; the paginator follows continuation tokens
+            componentPaths = s3Client.listObjectsV2Paginator(listRequest).contents().stream()
                     .map(S3Object::key)
                     .filter(key -> !key.endsWith("/"))  // Exclude "directory" markers
                     .collect(Collectors.toList());
@@ -312,12 +410,37 @@ public class S3StorageService implements StorageService {
         }
     }
 
+    @Override
+    public String getVersionTag(String key) {
+        if (useLocalStorage) {
+            return localVersionTag(localBuildPath.resolve(key.replace(buildFolder + "/", "")));
+        }
+
+        try {
+            HeadObjectRequest headRequest = HeadObjectRequest.builder()
+                    .bucket(buildBucketName)
+                    .key(key)
+                    .build();
+
+            return s3Client.headObject(headRequest).eTag();
+
+        } catch (S3Exception e) {
+            logger.debug("Could not read ETag of {}: {} (Status: {})", key, e.getMessage(), e.statusCode());
+            return null;
+        }
+    }
+
     @Override
     public String buildPath(String username, String filename) {
         String sanitizedFileName = sanitizeFileName(filename);
         return String.format("%s/%s/%s", buildFolder, username, sanitizedFileName);
     }
 
+    @Override
+    public AsyncStorageService async() {
+        return asyncStorage;
+    }
+
     @Override
     public boolean isConfigured() {
         return s3Client != null || useLocalStorage;
@@ -335,6 +458,13 @@ public class S3StorageService implements StorageService {
         return fileName.replaceAll("[^a-zA-Z0-9._-]", "_");
     }
 
+    /**
+     * Codec to store content of the given size with
+     */
+    private CompressionCodec storageCodec(long size) {
+        return CompressionCodec.forContent(compressionCodec, size, compressionMinSize);
+    }
+
     // Local storage fallback methods (same as Azure implementation)
 
     private void saveToLocalStorage(String content, String key) {
@@ -343,7 +473,8 @@ public class S3StorageService implements StorageService {
             // Use PathSanitizer to prevent path traversal attacks
             Path filePath = PathSanitizer.safeResolve(localBuildPath, relativePath);
             Files.createDirectories(filePath.getParent());
-            Files.writeString(filePath, content, StandardCharsets.UTF_8);
+            byte[] contentBytes = content.getBytes(StandardCharsets.UTF_8);
+            Files.write(filePath, storageCodec(contentBytes.length).encode(contentBytes));
             logger.info("Saved component to local storage: {}", filePath.toAbsolutePath());
         } catch (IOException e) {
             logger.error("Failed to save component to local storage: {}", e.getMessage(), e);
@@ -351,7 +482,7 @@ public class S3StorageService implements StorageService {
         }
     }
 
-    private String getFromLocalStorage(String key) {
+    private StoredContent getFromLocalStorage(String key) {
         try {
             String relativePath = key.replace(buildFolder + "/", "");
             // Use PathSanitizer to prevent path traversal attacks
@@ -359,13 +490,48 @@ public class S3StorageService implements StorageService {
             if (!Files.exists(filePath)) {
                 throw new RuntimeException("Component not found: " + key);
             }
-            return Files.readString(filePath, StandardCharsets.UTF_8);
+            return StoredContent.of(Files.readAllBytes(filePath));
         } catch (IOException e) {
             logger.error("Failed to read component from local storage: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to read component", e);
         }
     }
 
+    private StoredObject openFromLocalStorage(String key) {
+        try {
+            String relativePath = key.replace(buildFolder + "/", "");
+            // Use PathSanitizer to prevent path traversal attacks
+            Path filePath = PathSanitizer.safeResolve(localBuildPath, relativePath);
+            if (!Files.exists(filePath)) {
+                throw new RuntimeException("Component not found: " + key);
+            }
+            return StoredObject.ofFile(filePath);
+        } catch (IOException e) {
+            logger.error("Failed to open component in local storage: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to read component", e);
+        }
+    }
+
+    /**
+     * Codec recorded in user metadata, whose keys S3 returns in lower case
+     */
+    private static String recordedCodec(Map<String, String> metadata) {
+        for (Map.Entry<String, String> entry : metadata.entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(CompressionCodec.METADATA_KEY)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static String localVersionTag(Path filePath) {
+        try {
+            return Files.getLastModifiedTime(filePath).toMillis() + "-" + Files.size(filePath);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
     private List<String> listFromLocalStorage(String username) {
         List<String> componentPaths = new ArrayList<>();
         try {
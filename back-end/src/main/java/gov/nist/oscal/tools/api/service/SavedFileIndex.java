@@ -0,0 +1,157 @@
+package gov.nist.oscal.tools.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import gov.nist.oscal.tools.api.entity.SavedFileEntity;
+import gov.nist.oscal.tools.api.entity.User;
+import gov.nist.oscal.tools.api.model.SavedFile;
+import gov.nist.oscal.tools.api.repository.SavedFileRepository;
+import gov.nist.oscal.tools.api.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Index from saved file ID to storage path
+ *
+ * Saved files are recorded in the saved_files table when they are stored, so a file can be found
+ * through the unique file_id index instead of walking the user's directory or listing the user's
+ * blobs. Lookups are fronted by a Caffeine cache; hit/miss metrics are published to Micrometer
+ * under the "saved.files.index" cache name.
+ *
+ * The index is an accelerator: failing to record a file does not fail the save, and files missing
+ * from the index are still found by scanning storage unless scan-on-miss is turned off.
+ */
+@Service
+public class SavedFileIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SavedFileIndex.class);
+
+    public static final String CACHE_NAME = "saved.files.index";
+
+    private final SavedFileRepository savedFileRepository;
+    private final UserRepository userRepository;
+    private final boolean scanOnMiss;
+    private final Cache<String, String> paths;
+
+    @Autowired
+    public SavedFileIndex(SavedFileRepository savedFileRepository,
+                          UserRepository userRepository,
+                          @Value("${files.index.scan-on-miss:true}") boolean scanOnMiss,
+                          @Value("${files.index.cache-max-size:10000}") long cacheMaxSize,
+                          @Value("${files.index.cache-expire-minutes:60}") long cacheExpireMinutes,
+                          MeterRegistry meterRegistry) {
+        this.savedFileRepository = savedFileRepository;
+        this.userRepository = userRepository;
+        this.scanOnMiss = scanOnMiss;
+        this.paths = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterAccess(cacheExpireMinutes, TimeUnit.MINUTES)
+                .recordStats()
+                .build();
+
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, paths, CACHE_NAME);
+        }
+    }
+
+    /**
+     * Look up the storage path of a user's file
+     *
+     * @return The path relative to the storage root (local) or the blob name (Azure)
+     */
+    public Optional<String> findPath(String fileId, String username) {
+        try {
+            return Optional.ofNullable(paths.get(key(fileId, username),
+                k -> savedFileRepository.findFilePathByFileIdAndUsername(fileId, username).orElse(null)));
+        } catch (Exception e) {
+            logger.warn("Saved file index lookup failed for {}: {}", fileId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Record a stored file. Files already indexed, or whose owner has no user record, are skipped.
+     *
+     * @return true if the file was added to the index
+     */
+    public boolean record(SavedFile file) {
+        try {
+            if (savedFileRepository.existsByFileId(file.getId())) {
+                return false;
+            }
+            Optional<User> user = userRepository.findByUsername(file.getUsername());
+            if (user.isEmpty()) {
+                logger.debug("Not indexing file {}: no user record for {}", file.getId(), file.getUsername());
+                return false;
+            }
+
+            SavedFileEntity entity = new SavedFileEntity(
+                file.getId(),
+                file.getFileName(),
+                file.getModelType() != null ? file.getModelType().toString() : "",
+                file.getFormat() != null ? file.getFormat().toString() : "",
+                file.getFileSize(),
+                file.getFilePath(),
+                user.get()
+            );
+            if (file.getUploadedAt() != null) {
+                entity.setUploadedAt(file.getUploadedAt());
+            }
+            savedFileRepository.save(entity);
+            paths.put(key(file.getId(), file.getUsername()), file.getFilePath());
+            return true;
+        } catch (Exception e) {
+            logger.warn("Failed to index saved file {}: {}", file.getId(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Remove a deleted file from the index
+     */
+    public void remove(String fileId, String username) {
+        paths.invalidate(key(fileId, username));
+        try {
+            savedFileRepository.deleteByFileIdAndUsername(fileId, username);
+        } catch (Exception e) {
+            logger.warn("Failed to remove saved file {} from index: {}", fileId, e.getMessage());
+        }
+    }
+
+    /**
+     * Drop a cached path that turned out to be stale
+     */
+    public void evict(String fileId, String username) {
+        paths.invalidate(key(fileId, username));
+    }
+
+    /**
+     * Whether files missing from the index should be looked for by scanning storage
+     */
+    public boolean isScanOnMiss() {
+        return scanOnMiss;
+    }
+
+    /**
+     * Number of indexed files
+     */
+    public long count() {
+        return savedFileRepository.count();
+    }
+
+    public Cache<String, String> getNativeCache() {
+        return paths;
+    }
+
+    private static String key(String fileId, String username) {
+        return username + "/" + fileId;
+    }
+}
@@ -0,0 +1,84 @@
+package gov.nist.oscal.tools.api.service;
+
+import gov.nist.oscal.tools.api.entity.User;
+import gov.nist.oscal.tools.api.model.SavedFile;
+import gov.nist.oscal.tools.api.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-time backfill of the saved file index
+ *
+ * Files saved before the index existed are only known from storage: blobs and their metadata,
+ * or local files and their .meta sidecars. On startup, if the index is still empty, every user's
+ * files are listed from storage and recorded. This runs in the background so startup is not
+ * delayed; until it finishes, lookups fall back to scanning storage.
+ */
+@Component
+public class SavedFileIndexBackfill implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SavedFileIndexBackfill.class);
+
+    private final SavedFileIndex fileIndex;
+    private final FileStorageService fileStorageService;
+    private final UserRepository userRepository;
+    private final boolean runOnStartup;
+
+    @Autowired
+    public SavedFileIndexBackfill(SavedFileIndex fileIndex,
+                                  FileStorageService fileStorageService,
+                                  UserRepository userRepository,
+                                  @Value("${files.index.backfill-on-startup:true}") boolean runOnStartup) {
+        this.fileIndex = fileIndex;
+        this.fileStorageService = fileStorageService;
+        this.userRepository = userRepository;
+        this.runOnStartup = runOnStartup;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!runOnStartup) {
+            return;
+        }
+        if (fileIndex.count() > 0) {
+            logger.debug("Saved file index already populated; skipping backfill");
+            return;
+        }
+        Thread thread = new Thread(this::backfill, "saved-file-index-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Record every stored file that is not in the index yet
+     *
+     * @return Number of files added to the index
+     */
+    public int backfill() {
+        logger.info("Backfilling saved file index from storage...");
+        int indexed = 0;
+        int users = 0;
+        for (User user : userRepository.findAll()) {
+            try {
+                for (SavedFile file : fileStorageService.listFiles(user.getUsername())) {
+                    if (file.getUsername() == null) {
+                        file.setUsername(user.getUsername());
+                    }
+                    if (fileIndex.record(file)) {
+                        indexed++;
+                    }
+                }
+                users++;
+            } catch (Exception e) {
+                logger.warn("Failed to backfill saved files of user {}: {}", user.getUsername(), e.getMessage());
+            }
+        }
+        logger.info("Saved file index backfill complete: {} file(s) indexed for {} user(s)", indexed, users);
+        return indexed;
+    }
+}
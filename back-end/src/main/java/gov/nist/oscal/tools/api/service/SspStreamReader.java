@@ -0,0 +1,183 @@
+package gov.nist.oscal.tools.api.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadCapability;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import gov.nist.oscal.tools.api.model.OscalFormat;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads the parts of a system security plan that SSP visualization uses, with a streaming parser
+ *
+ * Reading a whole SSP into a JsonNode tree takes several times the document size in heap, most of
+ * it for control implementation statements, component descriptions and back-matter that the
+ * visualization never looks at. This reader pulls parser tokens and only materializes the
+ * sub-trees it needs: system characteristics, metadata roles and parties, and the control id and
+ * props of each implemented requirement and inventory item. Everything else is skipped as it is
+ * read, so the memory used is about the size of those sub-trees.
+ *
+ * The result has the shape {@code readTree} gives the document, restricted to those fields, so it
+ * can be read the same way: JSON and YAML keep their "system-security-plan" root member, XML
+ * starts at the root element's content, and repeated XML elements are merged into arrays.
+ */
+public class SspStreamReader {
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+    private static final ObjectMapper YAML_MAPPER = new ObjectMapper(new YAMLFactory());
+    private static final ObjectMapper XML_MAPPER = XmlMapper.builder()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .build();
+
+    // Both the JSON/YAML (plural) and XML (singular) names of repeated members are kept
+    private static final Fields REQUIREMENT = new Fields().all("control-id", "props", "prop");
+    private static final Fields INVENTORY_ITEM = new Fields().all("uuid", "description", "props", "prop");
+    private static final Fields SSP = new Fields()
+            .all("uuid")
+            .nested("metadata", new Fields().all("roles", "parties", "responsible-parties"))
+            .nested("system-characteristics", new Fields()
+                    .all("system-name", "system-name-short", "description", "status", "system-ids",
+                            "security-impact-level", "security-sensitivity-level")
+                    .nested("system-information", new Fields().all("information-types")))
+            .nested("control-implementation", new Fields()
+                    .nested("implemented-requirements", REQUIREMENT)
+                    .nested("implemented-requirement", REQUIREMENT))
+            .nested("system-implementation", new Fields()
+                    .nested("inventory-items", INVENTORY_ITEM)
+                    .nested("inventory-item", INVENTORY_ITEM));
+    // The root is the SSP itself in XML, and holds it as "system-security-plan" in JSON and YAML
+    private static final Fields ROOT = SSP.copy().nested("system-security-plan", SSP);
+
+    /**
+     * Read an SSP document
+     *
+     * @return The document root restricted to the fields SSP visualization uses, or null if the
+     *         content is empty
+     * @throws IOException if the content is not well-formed
+     */
+    public JsonNode read(String content, OscalFormat format) throws IOException {
+        try (JsonParser parser = mapperFor(format).createParser(content)) {
+            if (parser.nextToken() == null) {
+                return null;
+            }
+            boolean mergeDuplicates = parser.getReadCapabilities().isEnabled(StreamReadCapability.DUPLICATE_PROPERTIES);
+            JsonNode root = read(parser, ROOT, mergeDuplicates);
+            // Read to the end, so a malformed document is rejected as it would be when read whole
+            while (parser.nextToken() != null) {
+                parser.skipChildren();
+            }
+            return root;
+        }
+    }
+
+    private static ObjectMapper mapperFor(OscalFormat format) {
+        switch (format) {
+            case JSON:
+                return JSON_MAPPER;
+            case YAML:
+                return YAML_MAPPER;
+            case XML:
+                return XML_MAPPER;
+            default:
+                throw new IllegalArgumentException("Unsupported format: " + format);
+        }
+    }
+
+    /**
+     * Read the value at the parser's current token, keeping only the selected fields of objects
+     */
+    private static JsonNode read(JsonParser parser, Fields fields, boolean mergeDuplicates) throws IOException {
+        if (fields.keepsAll()) {
+            JsonNode value = parser.readValueAsTree();
+            return value != null ? value : NullNode.getInstance();
+        }
+        switch (parser.currentToken()) {
+            case START_OBJECT:
+                ObjectNode object = NODES.objectNode();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    parser.nextToken();
+                    Fields selected = fields.get(name);
+                    if (selected == null) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    put(object, name, read(parser, selected, mergeDuplicates), mergeDuplicates);
+                }
+                return object;
+            case START_ARRAY:
+                ArrayNode array = NODES.arrayNode();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    array.add(read(parser, fields, mergeDuplicates));
+                }
+                return array;
+            default:
+                JsonNode value = parser.readValueAsTree();
+                return value != null ? value : NullNode.getInstance();
+        }
+    }
+
+    /**
+     * Add a field the way the tree reader does: a repeated XML element is merged with the
+     * previous ones into an array, a repeated JSON or YAML key replaces the previous value.
+     */
+    private static void put(ObjectNode object, String name, JsonNode value, boolean mergeDuplicates) {
+        JsonNode previous = object.get(name);
+        if (previous == null || !mergeDuplicates) {
+            object.set(name, value);
+        } else if (previous.isArray()) {
+            ((ArrayNode) previous).add(value);
+        } else {
+            object.set(name, NODES.arrayNode().add(previous).add(value));
+        }
+    }
+
+    /**
+     * The fields of an object to keep, each either whole or with its own selection
+     */
+    private static final class Fields {
+
+        private static final Fields ALL = new Fields();
+
+        private final Map<String, Fields> fields = new HashMap<>();
+
+        Fields all(String... names) {
+            for (String name : names) {
+                fields.put(name, ALL);
+            }
+            return this;
+        }
+
+        Fields nested(String name, Fields selection) {
+            fields.put(name, selection);
+            return this;
+        }
+
+        Fields copy() {
+            Fields copy = new Fields();
+            copy.fields.putAll(fields);
+            return copy;
+        }
+
+        Fields get(String name) {
+            return fields.get(name);
+        }
+
+        boolean keepsAll() {
+            return this == ALL;
+        }
+    }
+}
@@ -0,0 +1,415 @@
+package gov.nist.oscal.tools.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Read-through cache for content downloaded from storage
+ *
+ * Reads go through three tiers: a small on-heap LRU (weighted by content size), a size-bounded
+ * LRU of files on local disk, and finally the storage backend. Content that never changes under
+ * its key (library versions, content-addressed blobs) is cached until evicted. Content that can
+ * be overwritten is cached with the backend's version tag (ETag) and only served while the tag
+ * still matches, so a metadata request replaces the download.
+ *
+ * Heap hit/miss metrics are published to Micrometer under the "storage.content" cache name; the
+ * disk tier publishes "storage.content.disk.*" counters and gauges.
+ */
+@Service
+public class StorageReadCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(StorageReadCache.class);
+
+    public static final String CACHE_NAME = "storage.content";
+
+    // Fixed overhead per cached entry (object headers, key, tag)
+    private static final int BASE_ENTRY_WEIGHT = 256;
+
+    private final boolean enabled;
+    private final Cache<String, CachedContent> heap;
+    private final DiskTier disk;
+    private final AtomicLong staleCount = new AtomicLong();
+
+    /**
+     * @param diskDir Directory for the disk tier; blank disables the disk tier
+     * @param diskMaxBytes Total size of cached files; 0 disables the disk tier
+     */
+    @Autowired
+    public StorageReadCache(
+            @Value("${storage.cache.enabled:true}") boolean enabled,
+            @Value("${storage.cache.heap-max-bytes:33554432}") long heapMaxBytes,
+            @Value("${storage.cache.disk-dir:${java.io.tmpdir}/oscal-hub-cache}") String diskDir,
+            @Value("${storage.cache.disk-max-bytes:1073741824}") long diskMaxBytes,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.heap = Caffeine.newBuilder()
+                .maximumWeight(heapMaxBytes)
+                .weigher((String key, CachedContent entry) -> entry.weight(key))
+                .recordStats()
+                .build();
+        this.disk = enabled && diskMaxBytes > 0 && diskDir != null && !diskDir.isBlank()
+                ? DiskTier.open(Paths.get(diskDir), diskMaxBytes)
+                : null;
+
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, heap, CACHE_NAME);
+            FunctionCounter.builder(CACHE_NAME + ".stale", staleCount, AtomicLong::get)
+                    .description("Cached entries found stale on validation against the storage backend")
+                    .register(meterRegistry);
+            if (disk != null) {
+                FunctionCounter.builder(CACHE_NAME + ".disk.hits", disk.hits, AtomicLong::get)
+                        .register(meterRegistry);
+                FunctionCounter.builder(CACHE_NAME + ".disk.misses", disk.misses, AtomicLong::get)
+                        .register(meterRegistry);
+                Gauge.builder(CACHE_NAME + ".disk.size.bytes", disk, DiskTier::totalBytes)
+                        .baseUnit("bytes")
+                        .register(meterRegistry);
+            }
+        }
+
+        logger.info("Storage read cache {} (heap: {} bytes, disk: {})", enabled ? "enabled" : "disabled",
+                heapMaxBytes, disk != null ? diskMaxBytes + " bytes at " + diskDir : "off");
+    }
+
+    /**
+     * Read content that never changes under its key
+     *
+     * @param key Cache key, unique across storage backends and containers
+     * @param loader Downloads the content on a miss
+     */
+    public String getImmutable(String key, Supplier<String> loader) {
+        return get(key, null, loader);
+    }
+
+    /**
+     * Read content that may be overwritten. Cached content is only served while its version tag
+     * matches the backend's current one.
+     *
+     * @param key Cache key, unique across storage backends and containers
+     * @param versionTag The object's current version tag; null bypasses the cache
+     * @param loader Downloads the content on a miss
+     */
+    public String getValidated(String key, String versionTag, Supplier<String> loader) {
+        if (versionTag == null) {
+            return loader.get();
+        }
+        return get(key, versionTag, loader);
+    }
+
+    /**
+     * Drop a key from every tier, e.g. after the object is deleted
+     */
+    public void invalidate(String key) {
+        heap.invalidate(key);
+        if (disk != null) {
+            disk.remove(key);
+        }
+    }
+
+    /**
+     * Remove all cached content
+     *
+     * @return Number of heap entries removed
+     */
+    public long invalidateAll() {
+        long size = heap.estimatedSize();
+        heap.invalidateAll();
+        heap.cleanUp();
+        if (disk != null) {
+            disk.clear();
+        }
+        logger.info("Flushed storage read cache ({} heap entries)", size);
+        return size;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Hit/miss statistics of all tiers
+     */
+    public Map<String, Object> stats() {
+        CacheStats heapStats = heap.stats();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("heapSize", heap.estimatedSize());
+        stats.put("heapHitCount", heapStats.hitCount());
+        stats.put("heapMissCount", heapStats.missCount());
+        stats.put("heapHitRate", heapStats.hitRate());
+        stats.put("heapEvictionCount", heapStats.evictionCount());
+        stats.put("diskEnabled", disk != null);
+        if (disk != null) {
+            long hits = disk.hits.get();
+            long lookups = hits + disk.misses.get();
+            stats.put("diskSize", disk.size());
+            stats.put("diskBytes", disk.totalBytes());
+            stats.put("diskHitCount", hits);
+            stats.put("diskMissCount", disk.misses.get());
+            stats.put("diskHitRate", lookups == 0 ? 1.0 : (double) hits / lookups);
+        }
+        stats.put("staleCount", staleCount.get());
+        return stats;
+    }
+
+    private String get(String key, String versionTag, Supplier<String> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        CachedContent cached = heap.getIfPresent(key);
+        if (cached == null && disk != null) {
+            cached = disk.get(key);
+        }
+        if (cached != null && cached.matches(versionTag)) {
+            heap.put(key, cached);
+            return cached.content;
+        }
+        if (cached != null) {
+            staleCount.incrementAndGet();
+        }
+
+        String content = loader.get();
+        CachedContent loaded = new CachedContent(versionTag, content);
+        heap.put(key, loaded);
+        if (disk != null) {
+            disk.put(key, loaded);
+        }
+        return content;
+    }
+
+    /**
+     * Cached content and the version tag it was read at (null for immutable content)
+     */
+    private static final class CachedContent {
+        private final String versionTag;
+        private final String content;
+
+        private CachedContent(String versionTag, String content) {
+            this.versionTag = versionTag;
+            this.content = content;
+        }
+
+        private boolean matches(String currentTag) {
+            return currentTag == null || currentTag.equals(versionTag);
+        }
+
+        private int weight(String key) {
+            return (int) Math.min(Integer.MAX_VALUE, BASE_ENTRY_WEIGHT + 2L * key.length() + 2L * content.length());
+        }
+    }
+
+    /**
+     * Size-bounded LRU of cached content on local disk
+     *
+     * Each entry is one file named by the SHA-256 of its key, holding the key, version tag and
+     * content. Files are written to a temporary name and moved into place, so a crash never
+     * leaves a partial entry. The LRU order is rebuilt from file modification times on startup.
+     */
+    private static final class DiskTier {
+        private static final String SUFFIX = ".entry";
+
+        private final Path dir;
+        private final long maxBytes;
+        private final LinkedHashMap<String, Long> sizes = new LinkedHashMap<>(64, 0.75f, true);
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+        private long totalBytes;
+
+        private DiskTier(Path dir, long maxBytes) {
+            this.dir = dir;
+            this.maxBytes = maxBytes;
+        }
+
+        /**
+         * Open the disk tier, or return null (heap only) if the directory cannot be used
+         */
+        static DiskTier open(Path dir, long maxBytes) {
+            DiskTier tier = new DiskTier(dir, maxBytes);
+            try {
+                Files.createDirectories(dir);
+                try (Stream<Path> files = Files.list(dir)) {
+                    files.filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                            .sorted(Comparator.comparingLong(DiskTier::lastModified))
+                            .forEach(tier::register);
+                }
+                synchronized (tier) {
+                    tier.evictOverflow();
+                }
+                return tier;
+            } catch (IOException e) {
+                logger.warn("Storage read cache directory {} is not usable, disk tier disabled: {}", dir, e.getMessage());
+                return null;
+            }
+        }
+
+        CachedContent get(String key) {
+            String name = fileName(key);
+            synchronized (this) {
+                if (sizes.get(name) == null) {
+                    misses.incrementAndGet();
+                    return null;
+                }
+            }
+            Path file = dir.resolve(name);
+            try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                String storedKey = input.readUTF();
+                String tag = input.readBoolean() ? input.readUTF() : null;
+                String content = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+                if (!storedKey.equals(key)) {
+                    misses.incrementAndGet();
+                    return null;
+                }
+                hits.incrementAndGet();
+                touch(file);
+                return new CachedContent(tag, content);
+            } catch (IOException e) {
+                logger.debug("Dropping unreadable cache entry {}: {}", file, e.getMessage());
+                remove(key);
+                misses.incrementAndGet();
+                return null;
+            }
+        }
+
+        void put(String key, CachedContent entry) {
+            String name = fileName(key);
+            Path file = dir.resolve(name);
+            Path temp = null;
+            try {
+                temp = Files.createTempFile(dir, name, ".tmp");
+                try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    output.writeUTF(key);
+                    output.writeBoolean(entry.versionTag != null);
+                    if (entry.versionTag != null) {
+                        output.writeUTF(entry.versionTag);
+                    }
+                    output.write(entry.content.getBytes(StandardCharsets.UTF_8));
+                }
+                long size = Files.size(temp);
+                if (size > maxBytes) {
+                    Files.deleteIfExists(temp);
+                    return;
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                synchronized (this) {
+                    Long previous = sizes.put(name, size);
+                    totalBytes += size - (previous != null ? previous : 0);
+                    evictOverflow();
+                }
+            } catch (IOException e) {
+                logger.debug("Could not write cache entry for {}: {}", key, e.getMessage());
+                deleteQuietly(temp);
+            }
+        }
+
+        void remove(String key) {
+            String name = fileName(key);
+            synchronized (this) {
+                Long size = sizes.remove(name);
+                if (size != null) {
+                    totalBytes -= size;
+                }
+            }
+            deleteQuietly(dir.resolve(name));
+        }
+
+        synchronized void clear() {
+            for (String name : sizes.keySet()) {
+                deleteQuietly(dir.resolve(name));
+            }
+            sizes.clear();
+            totalBytes = 0;
+        }
+
+        synchronized long totalBytes() {
+            return totalBytes;
+        }
+
+        synchronized int size() {
+            return sizes.size();
+        }
+
+        private void register(Path file) {
+            try {
+                long size = Files.size(file);
+                sizes.put(file.getFileName().toString(), size);
+                totalBytes += size;
+            } catch (IOException e) {
+                deleteQuietly(file);
+            }
+        }
+
+        /**
+         * Delete least recently used files until the total fits; caller holds the lock
+         */
+        private void evictOverflow() {
+            Iterator<Map.Entry<String, Long>> eldest = sizes.entrySet().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, Long> entry = eldest.next();
+                deleteQuietly(dir.resolve(entry.getKey()));
+                totalBytes -= entry.getValue();
+                eldest.remove();
+            }
+        }
+
+        private static String fileName(String key) {
+            return ContentStore.digest(key.getBytes(StandardCharsets.UTF_8)) + SUFFIX;
+        }
+
+        private static long lastModified(Path file) {
+            try {
+                return Files.getLastModifiedTime(file).toMillis();
+            } catch (IOException e) {
+                return 0;
+            }
+        }
+
+        private static void touch(Path file) {
+            try {
+                Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            } catch (IOException e) {
+                // Only affects the LRU order rebuilt on the next startup
+            }
+        }
+
+        private static void deleteQuietly(Path file) {
+            if (file == null) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                logger.debug("Could not delete cache file {}: {}", file, e.getMessage());
+            }
+        }
+    }
+}
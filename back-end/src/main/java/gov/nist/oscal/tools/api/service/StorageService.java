@@ -1,5 +1,8 @@
 package gov.nist.oscal.tools.api.service;
 
+import gov.nist.oscal.tools.api.model.StoredContent;
+import gov.nist.oscal.tools.api.model.StoredObject;
+
 import java.util.List;
 import java.util.Map;
 
@@ -23,6 +26,18 @@ public interface StorageService {
      */
     String uploadComponent(String username, String filename, String content, Map<String, String> metadata);
 
+    /**
+     * Upload content under an exact key, replacing any existing object.
+     * Used for content that is not owned by a user, such as content-addressed blobs.
+     *
+     * @param key Path/key in storage
+     * @param content Content to upload
+     * @param metadata Additional metadata to attach to the object
+     * @return The storage path/key where the object was stored
+     * @throws RuntimeException if upload fails
+     */
+    String uploadObject(String key, String content, Map<String, String> metadata);
+
     /**
      * Download a component definition from storage
      *
@@ -32,6 +47,25 @@ public interface StorageService {
      */
     String downloadComponent(String path);
 
+    /**
+     * Download an object exactly as stored, without decompressing it
+     *
+     * @param path Path/key in storage
+     * @return Stored data and the codec it was compressed with
+     * @throws RuntimeException if file not found or download fails
+     */
+    StoredContent downloadStored(String path);
+
+    /**
+     * Open an object exactly as stored for streaming, without downloading it first. Reads
+     * return the version of the object found when it was opened.
+     *
+     * @param path Path/key in storage
+     * @return Stored object, read from any offset on demand
+     * @throws RuntimeException if file not found or the object cannot be opened
+     */
+    StoredObject openStored(String path);
+
     /**
      * List all components for a specific user
      *
@@ -66,6 +100,23 @@ public interface StorageService {
      */
     long getFileSize(String path);
 
+    /**
+     * Get a tag identifying the current version of an object (its ETag), which changes whenever
+     * the object is overwritten. Used to validate cached copies without downloading the object.
+     *
+     * @param path Path/key in storage
+     * @return Version tag, or null if the object does not exist or the tag cannot be read
+     */
+    String getVersionTag(String path);
+
+    /**
+     * Get the non-blocking variant of this storage, which reads and writes the same bucket,
+     * container or local directory
+     *
+     * @return Async storage, or null before the service is initialized
+     */
+    AsyncStorageService async();
+
     /**
      * Build storage path for a component definition
      * Format: {folder}/{username}/{filename}
@@ -0,0 +1,498 @@
+package gov.nist.oscal.tools.api.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Durable queue of uploads to storage, run on the {@link AsyncStorageService} of their target
+ *
+ * {@link #enqueue} writes the upload to a spool file on local disk and flushes it, then returns;
+ * the upload itself runs in the background, so a request only waits for the local write. Spool
+ * files are deleted once the object is stored and replayed on startup, so an upload survives a
+ * failed attempt or a restart. Failed attempts are retried with exponential backoff; an upload
+ * that fails every attempt is moved to the dead-letter directory inside the spool directory,
+ * where it is no longer replayed (move it back to replay it on the next startup).
+ *
+ * Uploads of the same key run in the order they were enqueued. Until an upload has completed,
+ * readers get its content from {@link #getPendingContent} rather than from storage. Pending
+ * content is kept in memory up to a byte budget and read back from the spool file beyond it.
+ *
+ * Publishes "storage.uploads.pending", "storage.uploads.pending.bytes" (gauges),
+ * "storage.uploads.retries" and "storage.uploads.failures" (counters) to Micrometer.
+ */
+@Service
+public class StorageUploadQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(StorageUploadQueue.class);
+
+    private static final String SPOOL_SUFFIX = ".upload";
+    private static final String DEAD_LETTER_DIR = "dead-letter";
+
+    /**
+     * Storage an upload is written to
+     */
+    public enum Target {
+        /** Component definitions, in the configured {@link StorageService} */
+        COMPONENT,
+        /** Library versions, in {@link LibraryStorageService} */
+        LIBRARY
+    }
+
+    private final StorageService storageService;
+    private final LibraryStorageService libraryStorageService;
+    private final boolean enabled;
+    private final Path spoolDir;
+    private final int maxAttempts;
+    private final long retryDelayMs;
+    private final long maxPendingBytes;
+
+    // Latest enqueued upload per key, and the tail of each key's chain of uploads
+    private final Map<String, Upload> pending = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<String>> tails = new ConcurrentHashMap<>();
+    // Per key, the sequence number of the last upload cancelled by cancelUploads
+    private final Map<String, Long> cancelledThrough = new ConcurrentHashMap<>();
+    // Content bytes of pending uploads held in memory
+    private final AtomicLong heldBytes = new AtomicLong();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    /**
+     * @param enabled Whether uploads are spooled and run in the background; when disabled
+     *                {@link #enqueue} waits for the upload to complete
+     * @param spoolDir Directory for spool files; it should be on persistent local disk
+     * @param maxAttempts Attempts per upload before it is moved to the dead-letter directory
+     * @param retryDelayMs Delay before the first retry, doubled for each further attempt
+     * @param maxPendingBytes Content of pending uploads kept in memory for {@link #getPendingContent};
+     *                        content beyond it is read back from the spool file
+     */
+    @Autowired
+    public StorageUploadQueue(
+            StorageService storageService,
+            LibraryStorageService libraryStorageService,
+            @Value("${storage.async.enabled:true}") boolean enabled,
+            @Value("${storage.async.spool-dir:${file.upload-dir:./uploads}/.spool}") String spoolDir,
+            @Value("${storage.async.max-attempts:5}") int maxAttempts,
+            @Value("${storage.async.retry-delay-ms:1000}") long retryDelayMs,
+            @Value("${storage.async.max-pending-bytes:67108864}") long maxPendingBytes,
+            MeterRegistry meterRegistry) {
+        this.storageService = storageService;
+        this.libraryStorageService = libraryStorageService;
+        this.enabled = enabled;
+        this.spoolDir = Paths.get(spoolDir);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryDelayMs = retryDelayMs;
+        this.maxPendingBytes = maxPendingBytes;
+
+        if (meterRegistry != null) {
+            Gauge.builder("storage.uploads.pending", pending, Map::size)
+                    .description("Uploads enqueued and not yet stored")
+                    .register(meterRegistry);
+            Gauge.builder("storage.uploads.pending.bytes", heldBytes, AtomicLong::get)
+                    .description("Content of pending uploads held in memory")
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+            FunctionCounter.builder("storage.uploads.retries", retries, AtomicLong::get)
+                    .register(meterRegistry);
+            FunctionCounter.builder("storage.uploads.failures", failures, AtomicLong::get)
+                    .description("Uploads that failed every attempt and were moved to the dead-letter directory")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Resume uploads left in the spool by a previous run
+     */
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            logger.info("Async storage uploads disabled; uploads complete before requests return");
+            return;
+        }
+        try {
+            Files.createDirectories(spoolDir);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not create upload spool directory " + spoolDir, e);
+        }
+
+        List<Path> spooled;
+        try (Stream<Path> files = Files.list(spoolDir)) {
+            spooled = files.filter(file -> file.getFileName().toString().endsWith(SPOOL_SUFFIX))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read upload spool directory " + spoolDir, e);
+        }
+
+        for (Path file : spooled) {
+            try {
+                Upload upload = Upload.read(file, sequence.incrementAndGet());
+                hold(upload);
+                chain(upload);
+            } catch (IOException | RuntimeException e) {
+                logger.error("Skipping unreadable spooled upload {}: {}", file, e.getMessage());
+            }
+        }
+        if (!spooled.isEmpty()) {
+            logger.info("Resumed {} spooled upload(s) from {}", spooled.size(), spoolDir);
+        }
+    }
+
+    /**
+     * Enqueue an upload, replacing the object under the key once it runs. Returns as soon as the
+     * upload is durably spooled.
+     *
+     * @param metadata Metadata to attach to the object, or null
+     * @return Future completing with the key once the object is stored, or exceptionally if every
+     *         attempt failed (the upload is then moved to the dead-letter directory) or the upload
+     *         was cancelled
+     * @throws RuntimeException if the upload cannot be spooled
+     */
+    public CompletableFuture<String> enqueue(Target target, String key, String content, Map<String, String> metadata) {
+        if (!enabled) {
+            try {
+                return CompletableFuture.completedFuture(asyncStorage(target).uploadObject(key, content, metadata).join());
+            } catch (CompletionException e) {
+                throw new RuntimeException("Failed to upload " + key, e.getCause());
+            }
+        }
+
+        long seq = sequence.incrementAndGet();
+        String id = String.format("%013d-%09d", System.currentTimeMillis(), seq);
+        Upload upload = new Upload(spoolDir.resolve(id + SPOOL_SUFFIX), seq, target, key, content, metadata);
+        Path tempFile = spoolDir.resolve(id + ".tmp");
+        try {
+            LocalAsyncStorage.write(tempFile, upload.serialize(), true).join();
+            Files.move(tempFile, upload.spoolFile, StandardCopyOption.ATOMIC_MOVE);
+            // The rename is only durable once the directory entry is
+            forceDirectory(spoolDir);
+        } catch (IOException | CompletionException e) {
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException ignored) {
+                // Left for the next startup to ignore
+            }
+            throw new RuntimeException("Failed to enqueue upload of " + key, e instanceof CompletionException ? e.getCause() : e);
+        }
+        hold(upload);
+        return chain(upload);
+    }
+
+    /**
+     * Get the content of an upload that has been enqueued but not yet stored
+     *
+     * @return The most recently enqueued content for the key, or null if no upload is pending
+     * @throws RuntimeException if the content is not held in memory and cannot be read back from
+     *         its spool file
+     */
+    public String getPendingContent(Target target, String key) {
+        Upload upload = pending.get(pendingKey(target, key));
+        if (upload == null) {
+            return null;
+        }
+        try {
+            return upload.content();
+        } catch (NoSuchFileException e) {
+            // Stored or dropped since it was looked up
+            return null;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read pending upload of " + key, e);
+        }
+    }
+
+    /**
+     * Wait for enqueued uploads of a key to finish
+     *
+     * @throws RuntimeException if the last of them failed every attempt
+     */
+    public void awaitUploads(Target target, String key) {
+        CompletableFuture<String> tail = tails.get(pendingKey(target, key));
+        if (tail != null) {
+            try {
+                tail.join();
+            } catch (CompletionException | CancellationException e) {
+                throw new RuntimeException("Pending upload of " + key + " failed",
+                        e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            }
+        }
+    }
+
+    /**
+     * Cancel the enqueued uploads of a key, e.g. before deleting the object, so none of them can
+     * recreate it afterwards. Uploads that have not started are dropped with their spool files; an
+     * attempt already in flight is waited for.
+     */
+    public void cancelUploads(Target target, String key) {
+        String pendingKey = pendingKey(target, key);
+        long through = sequence.get();
+        cancelledThrough.merge(pendingKey, through, Math::max);
+        CompletableFuture<String> tail = tails.get(pendingKey);
+        if (tail != null) {
+            try {
+                tail.join();
+            } catch (CompletionException | CancellationException e) {
+                // Cancelled or failed; either way nothing is left to upload
+                tails.remove(pendingKey, tail);
+            }
+        }
+        cancelledThrough.remove(pendingKey, through);
+        logger.debug("Cancelled pending uploads of {}", key);
+    }
+
+    /**
+     * Number of uploads enqueued and not yet stored
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Append an upload to its key's chain, so that it starts after the ones before it
+     */
+    private CompletableFuture<String> chain(Upload upload) {
+        String pendingKey = pendingKey(upload.target, upload.key);
+        pending.put(pendingKey, upload);
+        CompletableFuture<String> result = tails.compute(pendingKey, (k, previous) ->
+                (previous != null ? previous.handle((stored, failure) -> null) : CompletableFuture.completedFuture(null))
+                        .thenCompose(ignored -> attempt(upload, 1)));
+        // A failed tail is kept so awaitUploads reports it, until the next upload or cancellation
+        result.whenComplete((stored, failure) -> {
+            if (failure == null || failure instanceof CancellationException
+                    || failure.getCause() instanceof CancellationException) {
+                tails.remove(pendingKey, result);
+            }
+        });
+        return result;
+    }
+
+    private CompletableFuture<String> attempt(Upload upload, int attempt) {
+        if (isCancelled(upload)) {
+            return cancelled(upload);
+        }
+        CompletableFuture<String> stored;
+        try {
+            stored = asyncStorage(upload.target).uploadObject(upload.key, upload.content(), upload.metadata);
+        } catch (IOException | RuntimeException e) {
+            stored = CompletableFuture.failedFuture(e);
+        }
+
+        return stored.handle((key, failure) -> {
+            if (failure == null) {
+                completed(upload);
+                return CompletableFuture.completedFuture(key);
+            }
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+            if (isCancelled(upload)) {
+                return cancelled(upload);
+            }
+            if (attempt >= maxAttempts) {
+                failures.incrementAndGet();
+                Path deadLetter = deadLetter(upload);
+                logger.error("Upload of {} failed after {} attempts, moved it to {}: {}",
+                        upload.key, attempt, deadLetter, cause.getMessage());
+                return CompletableFuture.<String>failedFuture(cause);
+            }
+            retries.incrementAndGet();
+            long delay = retryDelayMs << Math.min(attempt - 1, 20);
+            logger.warn("Upload of {} failed (attempt {} of {}), retrying in {} ms: {}",
+                    upload.key, attempt, maxAttempts, delay, cause.getMessage());
+            return CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS))
+                    .thenCompose(ignored -> attempt(upload, attempt + 1));
+        }).thenCompose(next -> next);
+    }
+
+    private void completed(Upload upload) {
+        drop(upload);
+        logger.debug("Stored enqueued upload {}", upload.key);
+    }
+
+    private boolean isCancelled(Upload upload) {
+        Long through = cancelledThrough.get(pendingKey(upload.target, upload.key));
+        return through != null && upload.seq <= through;
+    }
+
+    private CompletableFuture<String> cancelled(Upload upload) {
+        drop(upload);
+        return CompletableFuture.failedFuture(new CancellationException("Upload of " + upload.key + " was cancelled"));
+    }
+
+    /**
+     * Remove a finished upload from the pending uploads and delete its spool file
+     */
+    private void drop(Upload upload) {
+        release(upload);
+        try {
+            Files.deleteIfExists(upload.spoolFile);
+        } catch (IOException e) {
+            // Replaying it after a restart only uploads the same content again
+            logger.warn("Failed to delete spooled upload {}: {}", upload.spoolFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Remove an upload that failed every attempt from the pending uploads and move its spool file
+     * out of the replayed ones
+     *
+     * @return Where the spool file now is
+     */
+    private Path deadLetter(Upload upload) {
+        release(upload);
+        Path deadLetterDir = spoolDir.resolve(DEAD_LETTER_DIR);
+        Path target = deadLetterDir.resolve(upload.spoolFile.getFileName());
+        try {
+            Files.createDirectories(deadLetterDir);
+            Files.move(upload.spoolFile, target, StandardCopyOption.ATOMIC_MOVE);
+            forceDirectory(deadLetterDir);
+            forceDirectory(spoolDir);
+            return target;
+        } catch (IOException e) {
+            logger.warn("Failed to move failed upload {} to {}: {}", upload.spoolFile, deadLetterDir, e.getMessage());
+            return upload.spoolFile;
+        }
+    }
+
+    /**
+     * Keep an upload's content in memory if it fits the pending byte budget
+     */
+    private void hold(Upload upload) {
+        long bytes = upload.content.length();
+        long held = heldBytes.addAndGet(bytes);
+        if (held > maxPendingBytes) {
+            heldBytes.addAndGet(-bytes);
+            upload.content = null;
+        } else {
+            upload.heldBytes = bytes;
+        }
+    }
+
+    private void release(Upload upload) {
+        pending.remove(pendingKey(upload.target, upload.key), upload);
+        heldBytes.addAndGet(-upload.heldBytes);
+        upload.heldBytes = 0;
+        upload.content = null;
+    }
+
+    /**
+     * Flush a directory's entries to disk. Platforms that cannot open a directory (Windows) are
+     * skipped.
+     */
+    private static void forceDirectory(Path dir) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(dir, StandardOpenOption.READ);
+        } catch (IOException e) {
+            return;
+        }
+        try (channel) {
+            channel.force(true);
+        }
+    }
+
+    private AsyncStorageService asyncStorage(Target target) {
+        AsyncStorageService storage = target == Target.LIBRARY ? libraryStorageService.async() : storageService.async();
+        if (storage == null) {
+            throw new RuntimeException("Storage is not configured");
+        }
+        return storage;
+    }
+
+    private static String pendingKey(Target target, String key) {
+        return target + ":" + key;
+    }
+
+    /**
+     * An enqueued upload and the spool file it is persisted in
+     */
+    private static final class Upload {
+        final Path spoolFile;
+        final long seq;
+        final Target target;
+        final String key;
+        final Map<String, String> metadata;
+        // Null once released, or when over the pending byte budget; then read from the spool file
+        volatile String content;
+        volatile long heldBytes;
+
+        Upload(Path spoolFile, long seq, Target target, String key, String content, Map<String, String> metadata) {
+            this.spoolFile = spoolFile;
+            this.seq = seq;
+            this.target = target;
+            this.key = key;
+            this.content = content;
+            this.metadata = metadata;
+        }
+
+        String content() throws IOException {
+            String held = content;
+            return held != null ? held : read(spoolFile, seq).content;
+        }
+
+        byte[] serialize() throws IOException {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(buffer)) {
+                out.writeUTF(target.name());
+                out.writeUTF(key);
+                out.writeInt(metadata != null ? metadata.size() : -1);
+                if (metadata != null) {
+                    for (Map.Entry<String, String> entry : metadata.entrySet()) {
+                        out.writeUTF(entry.getKey());
+                        out.writeUTF(entry.getValue() != null ? entry.getValue() : "");
+                    }
+                }
+                byte[] contentBytes = content.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(contentBytes.length);
+                out.write(contentBytes);
+            }
+            return buffer.toByteArray();
+        }
+
+        static Upload read(Path spoolFile, long seq) throws IOException {
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(spoolFile)))) {
+                Target target = Target.valueOf(in.readUTF());
+                String key = in.readUTF();
+                int metadataSize = in.readInt();
+                Map<String, String> metadata = null;
+                if (metadataSize >= 0) {
+                    metadata = new HashMap<>();
+                    for (int i = 0; i < metadataSize; i++) {
+                        metadata.put(in.readUTF(), in.readUTF());
+                    }
+                }
+                byte[] contentBytes = new byte[in.readInt()];
+                in.readFully(contentBytes);
+                return new Upload(spoolFile, seq, target, key, new String(contentBytes, StandardCharsets.UTF_8), metadata);
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package gov.nist.oscal.tools.api.service;
+
+import gov.nist.oscal.tools.api.model.ConversionResult;
+import gov.nist.oscal.tools.api.model.OscalFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A conversion whose output is written straight to a stream
+ *
+ * The source has been checked and, on the bound path, parsed before this is returned, so a failure
+ * can still be reported with an error status. Resources held for the conversion (spilled input,
+ * admission budget) are released once the output has been written, or on close if writing has not
+ * started. Closing while the output is being written leaves the release to the writer.
+ */
+public class StreamedConversion implements AutoCloseable {
+
+    private final ConversionResult result;
+    private final String fileName;
+    private final Body body;
+    private final Runnable cleanup;
+    private final AtomicInteger state = new AtomicInteger(PENDING);
+    // Closes the conversion if it is never written; cancelled once it leaves PENDING
+    private volatile Future<?> abandonTimer;
+
+    private static final int PENDING = 0;
+    private static final int WRITING = 1;
+    private static final int RELEASED = 2;
+
+    public StreamedConversion(ConversionResult result, String fileName, Body body, Runnable cleanup) {
+        this.result = result;
+        this.fileName = fileName;
+        this.body = body;
+        this.cleanup = cleanup;
+    }
+
+    /**
+     * A conversion that failed before any output was produced
+     */
+    public static StreamedConversion failed(ConversionResult result) {
+        return new StreamedConversion(result, null, null, () -> { });
+    }
+
+    public boolean isSuccess() {
+        return result.isSuccess();
+    }
+
+    /**
+     * The conversion outcome; content is always null since it is streamed instead
+     */
+    public ConversionResult getResult() {
+        return result;
+    }
+
+    public OscalFormat getToFormat() {
+        return result.getToFormat();
+    }
+
+    /**
+     * Name for the converted document
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * Write the converted document. The stream is flushed but not closed.
+     *
+     * @throws IllegalStateException if the conversion failed, or was written or closed before
+     */
+    public void writeTo(OutputStream output) throws IOException {
+        if (body == null) {
+            throw new IllegalStateException("Conversion failed: " + result.getError());
+        }
+        if (!state.compareAndSet(PENDING, WRITING)) {
+            throw new IllegalStateException("Conversion was already written or closed");
+        }
+        cancelAbandonTimer();
+        try {
+            body.write(output);
+        } finally {
+            state.set(RELEASED);
+            cleanup.run();
+        }
+    }
+
+    /**
+     * Release the conversion's resources unless its output is being written
+     */
+    @Override
+    public void close() {
+        if (state.compareAndSet(PENDING, RELEASED)) {
+            cancelAbandonTimer();
+            cleanup.run();
+        }
+    }
+
+    /**
+     * Close the conversion if its output has not started to be written within a timeout. The
+     * scheduled task is cancelled as soon as the conversion is written or closed, so it does not
+     * keep the conversion reachable.
+     */
+    void closeUnlessWrittenWithin(ScheduledExecutorService scheduler, long timeoutMs) {
+        abandonTimer = scheduler.schedule(this::close, timeoutMs, TimeUnit.MILLISECONDS);
+        // Written or closed before the timer was recorded
+        if (state.get() != PENDING) {
+            cancelAbandonTimer();
+        }
+    }
+
+    private void cancelAbandonTimer() {
+        Future<?> timer = abandonTimer;
+        if (timer != null) {
+            timer.cancel(false);
+            abandonTimer = null;
+        }
+    }
+
+    /**
+     * Writes the converted document
+     */
+    @FunctionalInterface
+    public interface Body {
+        void write(OutputStream output) throws IOException;
+    }
+}
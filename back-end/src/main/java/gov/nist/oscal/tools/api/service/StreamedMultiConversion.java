@@ -0,0 +1,131 @@
+package gov.nist.oscal.tools.api.service;
+
+import gov.nist.oscal.tools.api.model.MultiConversionResult;
+import gov.nist.oscal.tools.api.model.OscalFormat;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A conversion to several formats whose targets are each written straight to a stream
+ *
+ * Every target has been checked, and the document bound once if a target needs it, before this is
+ * returned, so a failure can still be reported with an error status. The admission budget is
+ * released once the targets have been written, or on close if writing has not started. Closing
+ * while the targets are being written leaves the release to the writer.
+ */
+public class StreamedMultiConversion implements AutoCloseable {
+
+    private final MultiConversionResult result;
+    private final Map<OscalFormat, StreamedConversion.Body> bodies;
+    private final Runnable cleanup;
+    private final AtomicInteger state = new AtomicInteger(PENDING);
+    // Closes the conversion if it is never written; cancelled once it leaves PENDING
+    private volatile Future<?> abandonTimer;
+
+    private static final int PENDING = 0;
+    private static final int WRITING = 1;
+    private static final int RELEASED = 2;
+
+    /**
+     * @param bodies Writer of each target, iterated in the order the targets are written
+     */
+    public StreamedMultiConversion(MultiConversionResult result, Map<OscalFormat, StreamedConversion.Body> bodies,
+                                   Runnable cleanup) {
+        this.result = result;
+        this.bodies = bodies;
+        this.cleanup = cleanup;
+    }
+
+    /**
+     * A conversion that failed before any output was produced
+     */
+    public static StreamedMultiConversion failed(MultiConversionResult result) {
+        return new StreamedMultiConversion(result, null, () -> { });
+    }
+
+    public boolean isSuccess() {
+        return result.isSuccess();
+    }
+
+    /**
+     * The conversion outcome; target content is always null since it is streamed instead
+     */
+    public MultiConversionResult getResult() {
+        return result;
+    }
+
+    /**
+     * The target formats, in the order they are written
+     */
+    public Set<OscalFormat> getTargets() {
+        return bodies != null ? Collections.unmodifiableSet(bodies.keySet()) : Collections.emptySet();
+    }
+
+    /**
+     * Write every target through a sink, which frames each one (zip entry, multipart part)
+     *
+     * @throws IllegalStateException if the conversion failed, or was written or closed before
+     */
+    public void writeTo(Sink sink) throws IOException {
+        if (bodies == null) {
+            throw new IllegalStateException("Conversion failed: " + result.getError());
+        }
+        if (!state.compareAndSet(PENDING, WRITING)) {
+            throw new IllegalStateException("Conversion was already written or closed");
+        }
+        cancelAbandonTimer();
+        try {
+            for (Map.Entry<OscalFormat, StreamedConversion.Body> target : bodies.entrySet()) {
+                sink.write(target.getKey(), target.getValue());
+            }
+        } finally {
+            state.set(RELEASED);
+            cleanup.run();
+        }
+    }
+
+    /**
+     * Release the conversion's resources unless its targets are being written
+     */
+    @Override
+    public void close() {
+        if (state.compareAndSet(PENDING, RELEASED)) {
+            cancelAbandonTimer();
+            cleanup.run();
+        }
+    }
+
+    /**
+     * Close the conversion if its targets have not started to be written within a timeout
+     */
+    void closeUnlessWrittenWithin(ScheduledExecutorService scheduler, long timeoutMs) {
+        abandonTimer = scheduler.schedule(this::close, timeoutMs, TimeUnit.MILLISECONDS);
+        // Written or closed before the timer was recorded
+        if (state.get() != PENDING) {
+            cancelAbandonTimer();
+        }
+    }
+
+    private void cancelAbandonTimer() {
+        Future<?> timer = abandonTimer;
+        if (timer != null) {
+            timer.cancel(false);
+            abandonTimer = null;
+        }
+    }
+
+    /**
+     * Receives each target in turn and writes its body into the response
+     */
+    @FunctionalInterface
+    public interface Sink {
+        void write(OscalFormat format, StreamedConversion.Body body) throws IOException;
+    }
+}
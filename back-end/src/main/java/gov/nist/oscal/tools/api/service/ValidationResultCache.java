@@ -0,0 +1,169 @@
+package gov.nist.oscal.tools.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import gov.nist.oscal.tools.api.model.OscalFormat;
+import gov.nist.oscal.tools.api.model.OscalModelType;
+import gov.nist.oscal.tools.api.model.ValidationError;
+import gov.nist.oscal.tools.api.model.ValidationResult;
+import gov.nist.oscal.tools.api.util.ContentHasher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Content-hash keyed cache of validation results
+ *
+ * Identical documents (the same SSP re-validated by every reviewer, CI re-running the same
+ * catalog) are served from this cache instead of being re-deserialized. Entries are keyed on
+ * SHA-256(content) + model type + format + validator version and evicted by total weight.
+ *
+ * Hit/miss/eviction metrics are published to Micrometer under the "validation.results" cache name.
+ */
+@Service
+public class ValidationResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ValidationResultCache.class);
+
+    public static final String CACHE_NAME = "validation.results";
+
+    // Fixed overhead per cached result (object headers, key, timestamps)
+    private static final int BASE_ENTRY_WEIGHT = 512;
+
+    private final boolean enabled;
+    private final Cache<String, ValidationResult> cache;
+
+    @Autowired
+    public ValidationResultCache(
+            @Value("${validation.cache.enabled:true}") boolean enabled,
+            @Value("${validation.cache.max-weight-bytes:67108864}") long maxWeightBytes,
+            @Value("${validation.cache.expire-after-write-minutes:1440}") long expireAfterWriteMinutes,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher((String key, ValidationResult result) -> weigh(key, result))
+                .expireAfterWrite(expireAfterWriteMinutes, TimeUnit.MINUTES)
+                .recordStats()
+                .build();
+
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        }
+
+        logger.info("Validation result cache {} (max weight: {} bytes, TTL: {} minutes)",
+                enabled ? "enabled" : "disabled", maxWeightBytes, expireAfterWriteMinutes);
+    }
+
+    /**
+     * Build the cache key for a document
+     *
+     * @param content The document content
+     * @param modelType The OSCAL model type
+     * @param format The document format
+     * @param validatorVersion Version of the validation pipeline that produced the result
+     * @return The cache key
+     */
+    public String buildKey(String content, OscalModelType modelType, OscalFormat format, String validatorVersion) {
+        return ContentHasher.sha256Hex(content) + ":" + modelType.getValue() + ":" + format + ":" + validatorVersion;
+    }
+
+    /**
+     * Look up a cached result. A fresh copy is returned so callers can mutate it safely.
+     */
+    public Optional<ValidationResult> get(String key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        ValidationResult cached = cache.getIfPresent(key);
+        return Optional.ofNullable(cached).map(ValidationResultCache::copyOf);
+    }
+
+    /**
+     * Store a result. A snapshot is stored so later mutation of the result does not leak into the cache.
+     */
+    public void put(String key, ValidationResult result) {
+        if (!enabled) {
+            return;
+        }
+        cache.put(key, copyOf(result));
+    }
+
+    /**
+     * Remove all cached validation results
+     *
+     * @return Number of entries removed
+     */
+    public long invalidateAll() {
+        long size = cache.estimatedSize();
+        cache.invalidateAll();
+        cache.cleanUp();
+        logger.info("Flushed validation result cache ({} entries)", size);
+        return size;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    public Cache<String, ValidationResult> getNativeCache() {
+        return cache;
+    }
+
+    private static int weigh(String key, ValidationResult result) {
+        long weight = BASE_ENTRY_WEIGHT + key.length();
+        for (ValidationError error : result.getErrors()) {
+            weight += weigh(error);
+        }
+        for (ValidationError warning : result.getWarnings()) {
+            weight += weigh(warning);
+        }
+        return (int) Math.min(Integer.MAX_VALUE, weight);
+    }
+
+    private static long weigh(ValidationError error) {
+        long weight = 64;
+        if (error.getMessage() != null) {
+            weight += 2L * error.getMessage().length();
+        }
+        if (error.getPath() != null) {
+            weight += 2L * error.getPath().length();
+        }
+        return weight;
+    }
+
+    private static ValidationResult copyOf(ValidationResult source) {
+        ValidationResult copy = new ValidationResult(source.isValid());
+        copy.setModelType(source.getModelType());
+        copy.setFormat(source.getFormat());
+        copy.setErrors(copyErrors(source.getErrors()));
+        copy.setWarnings(copyErrors(source.getWarnings()));
+        copy.setStageTimings(new LinkedHashMap<>(source.getStageTimings()));
+        copy.setSkippedStages(new ArrayList<>(source.getSkippedStages()));
+        return copy;
+    }
+
+    private static List<ValidationError> copyErrors(List<ValidationError> errors) {
+        List<ValidationError> copies = new ArrayList<>(errors.size());
+        for (ValidationError error : errors) {
+            copies.add(new ValidationError(error.getLine(), error.getColumn(), error.getMessage(),
+                    error.getSeverity(), error.getPath()));
+        }
+        return copies;
+    }
+}
@@ -3,10 +3,13 @@ package gov.nist.oscal.tools.api.service;
 import gov.nist.oscal.tools.api.model.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import gov.nist.oscal.tools.api.service.BuiltInRuleEvaluator.Check;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jakarta.annotation.PostConstruct;
+import java.io.Reader;
+import java.io.StringReader;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -17,6 +20,14 @@ public class ValidationRulesService {
     private final Map<String, ValidationRule> rulesById = new HashMap<>();
     private final Map<String, ValidationRuleCategory> categoriesById = new HashMap<>();
     private final CustomRulesService customRulesService;
+    private final BuiltInRuleEvaluator evaluator = new BuiltInRuleEvaluator();
+
+    private static final String DATE_TIME_PATTERN =
+        "\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}(\\.\\d+)?(Z|[+-]\\d{2}:\\d{2})";
+    private static final String SEMVER_PATTERN = "\\d+\\.\\d+\\.\\d+(-[0-9A-Za-z.-]+)?";
+    private static final String UUID_PATTERN =
+        "[0-9A-Fa-f]{8}-[0-9A-Fa-f]{4}-[1-8][0-9A-Fa-f]{3}-[89ABab][0-9A-Fa-f]{3}-[0-9A-Fa-f]{12}";
+    private static final String NCNAME_PATTERN = "[_\\p{L}][\\p{L}\\p{N}_.-]*";
 
     @Autowired
     public ValidationRulesService(CustomRulesService customRulesService) {
@@ -87,6 +98,33 @@ public class ValidationRulesService {
         return response;
     }
 
+    /**
+     * Run the executable built-in rules against a document in a single streaming pass
+     *
+     * @param content The document content
+     * @param format The document format
+     * @param modelType The OSCAL model type
+     * @return Findings for every violated rule, carrying the rule's severity
+     */
+    public List<ValidationError> evaluateBuiltInRules(String content, OscalFormat format, OscalModelType modelType) {
+        return evaluateBuiltInRules(new StringReader(content), format, modelType);
+    }
+
+    public List<ValidationError> evaluateBuiltInRules(Reader content, OscalFormat format, OscalModelType modelType) {
+        return evaluator.evaluate(content, format, modelType);
+    }
+
+    /**
+     * Cumulative evaluation time and findings per built-in rule, keyed by rule id
+     */
+    public Map<String, RuleEvaluationStats> getRuleEvaluationStats() {
+        return evaluator.getStats();
+    }
+
+    public long getDocumentsEvaluated() {
+        return evaluator.getDocumentsEvaluated();
+    }
+
     /**
      * Get all rule categories
      */
@@ -95,7 +133,8 @@ public class ValidationRulesService {
     }
 
     /**
-     * Load built-in OSCAL validation rules
+     * Load built-in OSCAL validation rules. Rules with an executable check are also registered
+     * with the single-pass evaluator; schema-compliance is enforced by deserialization instead.
      */
     private void loadBuiltInRules() {
         // Initialize categories
@@ -136,32 +175,40 @@ public class ValidationRulesService {
         addRule("metadata-title-required", "Document Title Required",
             "Every OSCAL document must have a title in its metadata section",
             ValidationRuleType.REQUIRED_FIELD, ValidationRuleSeverity.ERROR,
-            "metadata", "/metadata/title", allModels);
+            "metadata", "/metadata/title", allModels,
+            BuiltInRuleEvaluator.requireChild("metadata", "title"));
 
         addRule("metadata-last-modified-required", "Last Modified Date Required",
             "The last-modified timestamp must be present in document metadata",
             ValidationRuleType.REQUIRED_FIELD, ValidationRuleSeverity.ERROR,
-            "metadata", "/metadata/last-modified", allModels);
+            "metadata", "/metadata/last-modified", allModels,
+            BuiltInRuleEvaluator.requireChild("metadata", "last-modified"));
 
         addRule("metadata-last-modified-format", "Last Modified Date Format",
             "Last modified date must be in ISO 8601 format (YYYY-MM-DDTHH:MM:SSZ)",
             ValidationRuleType.PATTERN_MATCH, ValidationRuleSeverity.ERROR,
-            "metadata", "/metadata/last-modified", allModels);
+            "metadata", "/metadata/last-modified", allModels,
+            BuiltInRuleEvaluator.matchValue("metadata", "last-modified", DATE_TIME_PATTERN,
+                "an ISO 8601 date-time with timezone"));
 
         addRule("metadata-version-required", "Document Version Required",
             "Every OSCAL document must have a version in its metadata",
             ValidationRuleType.REQUIRED_FIELD, ValidationRuleSeverity.ERROR,
-            "metadata", "/metadata/version", allModels);
+            "metadata", "/metadata/version", allModels,
+            BuiltInRuleEvaluator.requireChild("metadata", "version"));
 
         addRule("metadata-oscal-version-required", "OSCAL Version Required",
             "The OSCAL version must be specified in document metadata",
             ValidationRuleType.REQUIRED_FIELD, ValidationRuleSeverity.ERROR,
-            "metadata", "/metadata/oscal-version", allModels);
+            "metadata", "/metadata/oscal-version", allModels,
+            BuiltInRuleEvaluator.requireChild("metadata", "oscal-version"));
 
         addRule("metadata-oscal-version-format", "OSCAL Version Format",
             "OSCAL version must follow semantic versioning (e.g., 1.0.4)",
             ValidationRuleType.PATTERN_MATCH, ValidationRuleSeverity.ERROR,
-            "metadata", "/metadata/oscal-version", allModels);
+            "metadata", "/metadata/oscal-version", allModels,
+            BuiltInRuleEvaluator.matchValue("metadata", "oscal-version", SEMVER_PATTERN,
+                "a semantic version"));
     }
 
     private void loadSecurityControlRules() {
@@ -169,25 +216,29 @@ public class ValidationRulesService {
             "Every security control must have a unique identifier",
             ValidationRuleType.REQUIRED_FIELD, ValidationRuleSeverity.ERROR,
             "security-controls", "/catalog/control/id",
-            Arrays.asList(OscalModelType.CATALOG, OscalModelType.PROFILE));
+            Arrays.asList(OscalModelType.CATALOG, OscalModelType.PROFILE),
+            BuiltInRuleEvaluator.requireChild("control", "id"));
 
         addRule("control-title-required", "Control Title Required",
             "Every security control must have a descriptive title",
             ValidationRuleType.REQUIRED_FIELD, ValidationRuleSeverity.ERROR,
             "security-controls", "/catalog/control/title",
-            Arrays.asList(OscalModelType.CATALOG, OscalModelType.PROFILE));
+            Arrays.asList(OscalModelType.CATALOG, OscalModelType.PROFILE),
+            BuiltInRuleEvaluator.requireChild("control", "title"));
 
         addRule("control-id-unique", "Control IDs Must Be Unique",
             "Control identifiers must be unique within a catalog or profile",
             ValidationRuleType.CROSS_FIELD, ValidationRuleSeverity.ERROR,
             "security-controls", "/catalog/control/id",
-            Arrays.asList(OscalModelType.CATALOG, OscalModelType.PROFILE));
+            Arrays.asList(OscalModelType.CATALOG, OscalModelType.PROFILE),
+            BuiltInRuleEvaluator.uniqueValue("control", "id"));
 
         addRule("control-parameter-id-required", "Parameter ID Required",
             "Control parameters must have unique identifiers",
             ValidationRuleType.REQUIRED_FIELD, ValidationRuleSeverity.ERROR,
             "security-controls", "/catalog/control/param/id",
-            Arrays.asList(OscalModelType.CATALOG, OscalModelType.PROFILE));
+            Arrays.asList(OscalModelType.CATALOG, OscalModelType.PROFILE),
+            BuiltInRuleEvaluator.requireChild("param", "id"));
     }
 
     private void loadIdentifierRules() {
@@ -196,17 +247,20 @@ public class ValidationRulesService {
         addRule("uuid-required", "Document UUID Required",
             "Every OSCAL document must have a unique UUID identifier",
             ValidationRuleType.REQUIRED_FIELD, ValidationRuleSeverity.ERROR,
-            "identifiers", "/*/uuid", allModels);
+            "identifiers", "/*/uuid", allModels,
+            BuiltInRuleEvaluator.requireRootChild("uuid"));
 
         addRule("uuid-format", "UUID Format Validation",
             "UUIDs must conform to RFC 4122 format (e.g., 123e4567-e89b-12d3-a456-426614174000)",
             ValidationRuleType.PATTERN_MATCH, ValidationRuleSeverity.ERROR,
-            "identifiers", "/*/uuid", allModels);
+            "identifiers", "/*/uuid", allModels,
+            BuiltInRuleEvaluator.matchValue(null, "uuid", UUID_PATTERN, "an RFC 4122 UUID"));
 
         addRule("id-format", "ID Format Validation",
             "IDs must be valid NCNames (no spaces, must start with letter or underscore)",
             ValidationRuleType.PATTERN_MATCH, ValidationRuleSeverity.ERROR,
-            "identifiers", "/*/@id", allModels);
+            "identifiers", "/*/@id", allModels,
+            BuiltInRuleEvaluator.matchValue(null, "id", NCNAME_PATTERN, "a valid NCName"));
     }
 
     private void loadReferenceRules() {
@@ -215,17 +269,20 @@ public class ValidationRulesService {
         addRule("link-href-required", "Link HREF Required",
             "Every link element must have an href attribute",
             ValidationRuleType.REQUIRED_FIELD, ValidationRuleSeverity.ERROR,
-            "references", "/*/link/@href", allModels);
+            "references", "/*/link/@href", allModels,
+            BuiltInRuleEvaluator.requireChild("link", "href"));
 
         addRule("resource-uuid-required", "Resource UUID Required",
             "Back-matter resources must have unique UUIDs",
             ValidationRuleType.REQUIRED_FIELD, ValidationRuleSeverity.ERROR,
-            "references", "/*/back-matter/resource/uuid", allModels);
+            "references", "/*/back-matter/resource/uuid", allModels,
+            BuiltInRuleEvaluator.requireChild("resource", "uuid"));
 
         addRule("resource-uuid-unique", "Resource UUIDs Must Be Unique",
             "Resource UUIDs must be unique within the document's back-matter",
             ValidationRuleType.CROSS_FIELD, ValidationRuleSeverity.ERROR,
-            "references", "/*/back-matter/resource/uuid", allModels);
+            "references", "/*/back-matter/resource/uuid", allModels,
+            BuiltInRuleEvaluator.uniqueValue("resource", "uuid"));
     }
 
     private void loadStructuralRules() {
@@ -234,17 +291,20 @@ public class ValidationRulesService {
         addRule("valid-json-structure", "Valid JSON Structure",
             "Document must be valid JSON when in JSON format",
             ValidationRuleType.DATA_TYPE, ValidationRuleSeverity.ERROR,
-            "structural", "/", allModels);
+            "structural", "/", allModels,
+            BuiltInRuleEvaluator.wellFormed(OscalFormat.JSON));
 
         addRule("valid-xml-structure", "Valid XML Structure",
             "Document must be well-formed XML when in XML format",
             ValidationRuleType.DATA_TYPE, ValidationRuleSeverity.ERROR,
-            "structural", "/", allModels);
+            "structural", "/", allModels,
+            BuiltInRuleEvaluator.wellFormed(OscalFormat.XML));
 
         addRule("valid-yaml-structure", "Valid YAML Structure",
             "Document must be valid YAML when in YAML format",
             ValidationRuleType.DATA_TYPE, ValidationRuleSeverity.ERROR,
-            "structural", "/", allModels);
+            "structural", "/", allModels,
+            BuiltInRuleEvaluator.wellFormed(OscalFormat.YAML));
 
         addRule("schema-compliance", "Schema Compliance",
             "Document must validate against the appropriate OSCAL schema",
@@ -258,17 +318,20 @@ public class ValidationRulesService {
         addRule("profile-import-required", "Profile Import Required",
             "Profiles must import at least one catalog or profile",
             ValidationRuleType.CARDINALITY, ValidationRuleSeverity.ERROR,
-            "profile", "/profile/import", profileOnly);
+            "profile", "/profile/import", profileOnly,
+            BuiltInRuleEvaluator.requireRootChild("import"));
 
         addRule("profile-import-href-required", "Import HREF Required",
             "Every profile import must specify an href to the source catalog/profile",
             ValidationRuleType.REQUIRED_FIELD, ValidationRuleSeverity.ERROR,
-            "profile", "/profile/import/@href", profileOnly);
+            "profile", "/profile/import/@href", profileOnly,
+            BuiltInRuleEvaluator.requireChild("import", "href"));
 
         addRule("profile-merge-method", "Merge Method Validation",
             "Profile merge method must be 'use-first', 'merge', or 'keep'",
             ValidationRuleType.ALLOWED_VALUES, ValidationRuleSeverity.ERROR,
-            "profile", "/profile/merge/method", profileOnly);
+            "profile", "/profile/merge/method", profileOnly,
+            BuiltInRuleEvaluator.allowedValues("combine", "method", "use-first", "merge", "keep"));
     }
 
     private void loadComponentDefinitionRules() {
@@ -277,22 +340,26 @@ public class ValidationRulesService {
         addRule("component-uuid-required", "Component UUID Required",
             "Every component must have a unique UUID",
             ValidationRuleType.REQUIRED_FIELD, ValidationRuleSeverity.ERROR,
-            "component", "/component-definition/component/uuid", componentOnly);
+            "component", "/component-definition/component/uuid", componentOnly,
+            BuiltInRuleEvaluator.requireChild("component", "uuid"));
 
         addRule("component-type-required", "Component Type Required",
             "Every component must specify its type",
             ValidationRuleType.REQUIRED_FIELD, ValidationRuleSeverity.ERROR,
-            "component", "/component-definition/component/type", componentOnly);
+            "component", "/component-definition/component/type", componentOnly,
+            BuiltInRuleEvaluator.requireChild("component", "type"));
 
         addRule("component-title-required", "Component Title Required",
             "Every component must have a descriptive title",
             ValidationRuleType.REQUIRED_FIELD, ValidationRuleSeverity.ERROR,
-            "component", "/component-definition/component/title", componentOnly);
+            "component", "/component-definition/component/title", componentOnly,
+            BuiltInRuleEvaluator.requireChild("component", "title"));
 
         addRule("component-description-required", "Component Description Required",
             "Every component must have a description",
             ValidationRuleType.REQUIRED_FIELD, ValidationRuleSeverity.ERROR,
-            "component", "/component-definition/component/description", componentOnly);
+            "component", "/component-definition/component/description", componentOnly,
+            BuiltInRuleEvaluator.requireChild("component", "description"));
     }
 
     private void loadSSPRules() {
@@ -301,27 +368,32 @@ public class ValidationRulesService {
         addRule("ssp-system-id-required", "System ID Required",
             "System Security Plans must identify the system being documented",
             ValidationRuleType.REQUIRED_FIELD, ValidationRuleSeverity.ERROR,
-            "ssp", "/system-security-plan/system-id", sspOnly);
+            "ssp", "/system-security-plan/system-id", sspOnly,
+            BuiltInRuleEvaluator.requireChild("system-characteristics", "system-id"));
 
         addRule("ssp-security-sensitivity-required", "Security Sensitivity Level Required",
             "SSP must specify the system's security sensitivity level",
             ValidationRuleType.REQUIRED_FIELD, ValidationRuleSeverity.ERROR,
-            "ssp", "/system-security-plan/system-characteristics/security-sensitivity-level", sspOnly);
+            "ssp", "/system-security-plan/system-characteristics/security-sensitivity-level", sspOnly,
+            BuiltInRuleEvaluator.requireChild("system-characteristics", "security-sensitivity-level"));
 
         addRule("ssp-system-info-required", "System Information Required",
             "SSP must include system-characteristics section",
             ValidationRuleType.REQUIRED_FIELD, ValidationRuleSeverity.ERROR,
-            "ssp", "/system-security-plan/system-characteristics", sspOnly);
+            "ssp", "/system-security-plan/system-characteristics", sspOnly,
+            BuiltInRuleEvaluator.requireRootChild("system-characteristics"));
 
         addRule("ssp-control-implementation-required", "Control Implementation Required",
             "SSP must document implementation of security controls",
             ValidationRuleType.REQUIRED_FIELD, ValidationRuleSeverity.ERROR,
-            "ssp", "/system-security-plan/control-implementation", sspOnly);
+            "ssp", "/system-security-plan/control-implementation", sspOnly,
+            BuiltInRuleEvaluator.requireRootChild("control-implementation"));
 
         addRule("ssp-authorization-boundary-required", "Authorization Boundary Required",
             "SSP must define the system authorization boundary",
             ValidationRuleType.REQUIRED_FIELD, ValidationRuleSeverity.WARNING,
-            "ssp", "/system-security-plan/system-characteristics/authorization-boundary", sspOnly);
+            "ssp", "/system-security-plan/system-characteristics/authorization-boundary", sspOnly,
+            BuiltInRuleEvaluator.requireChild("system-characteristics", "authorization-boundary"));
     }
 
     private void loadAssessmentRules() {
@@ -330,25 +402,43 @@ public class ValidationRulesService {
             OscalModelType.ASSESSMENT_RESULTS
         );
 
-        addRule("assessment-objectives-required", "Assessment Objectives Required",
+        // Objectives are selected by reviewed-controls: on the plan itself, and on each result
+        ValidationRule objectives = addRule("assessment-objectives-required", "Assessment Objectives Required",
             "Assessment documents must define objectives",
             ValidationRuleType.REQUIRED_FIELD, ValidationRuleSeverity.ERROR,
             "assessment", "/*/objectives", assessmentModels);
+        evaluator.register(objectives, BuiltInRuleEvaluator.requireRootChild("reviewed-controls"),
+            Collections.singletonList(OscalModelType.ASSESSMENT_PLAN));
+        evaluator.register(objectives, BuiltInRuleEvaluator.requireChild("result", "reviewed-controls"),
+            Collections.singletonList(OscalModelType.ASSESSMENT_RESULTS));
 
-        addRule("assessment-subject-required", "Assessment Subject Required",
+        // Results record their subjects per result, so only the plan is checked
+        ValidationRule subject = addRule("assessment-subject-required", "Assessment Subject Required",
             "Assessments must identify what is being assessed",
             ValidationRuleType.REQUIRED_FIELD, ValidationRuleSeverity.ERROR,
             "assessment", "/*/assessment-subject", assessmentModels);
+        evaluator.register(subject, BuiltInRuleEvaluator.requireRootChild("assessment-subject"),
+            Collections.singletonList(OscalModelType.ASSESSMENT_PLAN));
 
         // Assessment Results specific
         addRule("assessment-results-required", "Assessment Results Required",
             "Assessment Results must contain actual result data",
             ValidationRuleType.REQUIRED_FIELD, ValidationRuleSeverity.ERROR,
             "assessment", "/assessment-results/result",
-            Collections.singletonList(OscalModelType.ASSESSMENT_RESULTS));
+            Collections.singletonList(OscalModelType.ASSESSMENT_RESULTS),
+            BuiltInRuleEvaluator.requireRootChild("result"));
     }
 
     private void addRule(String id, String name, String description,
+                        ValidationRuleType ruleType, ValidationRuleSeverity severity,
+                        String categoryId, String fieldPath, List<OscalModelType> applicableModels,
+                        Check check) {
+        ValidationRule rule = addRule(id, name, description, ruleType, severity, categoryId, fieldPath,
+            applicableModels);
+        evaluator.register(rule, check);
+    }
+
+    private ValidationRule addRule(String id, String name, String description,
                         ValidationRuleType ruleType, ValidationRuleSeverity severity,
                         String categoryId, String fieldPath, List<OscalModelType> applicableModels) {
         ValidationRule rule = new ValidationRule(id, name, description, ruleType, severity, true, categoryId);
@@ -360,6 +450,7 @@ public class ValidationRulesService {
         if (categoriesById.containsKey(categoryId)) {
             categoriesById.get(categoryId).addRule(rule);
         }
+        return rule;
     }
 
     /**
@@ -2,80 +2,184 @@ package gov.nist.oscal.tools.api.service;
 
 import gov.nist.oscal.tools.api.entity.OperationHistory;
 import gov.nist.oscal.tools.api.model.*;
-import gov.nist.secauto.oscal.lib.OscalBindingContext;
-import gov.nist.secauto.metaschema.databind.io.Format;
-import gov.nist.secauto.metaschema.databind.io.IDeserializer;
+import gov.nist.oscal.tools.api.service.ConstraintValidationService.ConstraintValidationReport;
+import gov.nist.oscal.tools.api.service.OscalDocumentDetector.DetectedDocument;
+import gov.nist.secauto.metaschema.core.metapath.item.node.IDocumentNodeItem;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.io.InputStream;
 
 @Service
 public class ValidationService {
 
     private static final Logger logger = LoggerFactory.getLogger(ValidationService.class);
-    private final OscalBindingContext bindingContext;
+
+    /**
+     * Version of the validation pipeline. Part of the result cache key so that cached
+     * results are not reused across changes to how documents are validated.
+     */
+    public static final String VALIDATOR_VERSION = "3;liboscal=" +
+        gov.nist.secauto.oscal.lib.OscalBindingContext.class.getPackage().getImplementationVersion();
+
     private final HistoryService historyService;
     private final FileStorageService fileStorageService;
+    private final OscalDeserializationService deserializationService;
+    private final ValidationResultCache resultCache;
+    private final ConstraintValidationService constraintValidationService;
+    private final CustomRuleEngine customRuleEngine;
+    private final ValidationRulesService validationRulesService;
+    private final OscalDocumentDetector documentDetector;
+    private final AdmissionControlService admissionControl;
 
     @Autowired
-    public ValidationService(HistoryService historyService, FileStorageService fileStorageService) {
-        this.bindingContext = OscalBindingContext.instance();
+    public ValidationService(HistoryService historyService, FileStorageService fileStorageService,
+                             OscalDeserializationService deserializationService,
+                             ValidationResultCache resultCache,
+                             ConstraintValidationService constraintValidationService,
+                             CustomRuleEngine customRuleEngine,
+                             ValidationRulesService validationRulesService,
+                             OscalDocumentDetector documentDetector,
+                             AdmissionControlService admissionControl) {
         this.historyService = historyService;
         this.fileStorageService = fileStorageService;
+        this.deserializationService = deserializationService;
+        this.resultCache = resultCache;
+        this.constraintValidationService = constraintValidationService;
+        this.customRuleEngine = customRuleEngine;
+        this.validationRulesService = validationRulesService;
+        this.documentDetector = documentDetector;
+        this.admissionControl = admissionControl;
     }
 
     public ValidationResult validate(ValidationRequest request, String username) {
         long startTime = System.currentTimeMillis();
-        ValidationResult result = new ValidationResult();
-        result.setModelType(request.getModelType());
-        result.setFormat(request.getFormat());
 
+        // Fill in an omitted model type or format from the document root, and reject
+        // contradicting ones without paying for a full parse
         try {
-            // Determine the format
-            Format format = getFormat(request.getFormat());
+            DetectedDocument detected = documentDetector.resolve(request.getContent(), request.getFormat(),
+                request.getModelType());
+            request.setFormat(detected.getFormat());
+            request.setModelType(detected.getModelType());
+        } catch (IllegalArgumentException e) {
+            ValidationResult result = detectionFailed(request.getModelType(), request.getFormat(), e.getMessage());
+            saveToHistory(request, result, System.currentTimeMillis() - startTime);
+            return result;
+        }
 
-            // Get the appropriate deserializer for the model type
-            IDeserializer<?> deserializer = getDeserializer(request.getModelType(), format);
+        // Serve identical documents from the result cache without parsing them again.
+        // The custom rule set is part of the key so rule edits are picked up immediately.
+        String rulesFingerprint = customRuleEngine.getRuleSet(request.getModelType()).getFingerprint();
+        String cacheKey = resultCache.buildKey(request.getContent(), request.getModelType(),
+            request.getFormat(), VALIDATOR_VERSION + ";rules=" + rulesFingerprint);
+        ValidationResult result = resultCache.get(cacheKey).orElse(null);
 
-            // Write content to a temporary file
-            Path tempFile = Files.createTempFile("oscal-validation-", getFileExtension(format));
-            try {
-                Files.writeString(tempFile, request.getContent(), StandardCharsets.UTF_8);
+        if (result != null) {
+            logger.info("Validation result cache hit for {} document in {} format",
+                request.getModelType().getValue(), request.getFormat());
+        } else {
+            // Only cache misses are parsed, so only they count against the admission budget
+            Validation validation;
+            try (AdmissionControlService.Permit permit =
+                     admissionControl.admit("validation", request.getContent().length())) {
+                validation = validateContent(request);
+            }
+            result = validation.result;
+            // A result cut short by a failure of the pipeline itself would otherwise be served for
+            // the lifetime of the cache entry
+            if (validation.complete) {
+                resultCache.put(cacheKey, result);
+            } else {
+                logger.info("Not caching incomplete validation result for {} document",
+                    request.getModelType().getValue());
+            }
+        }
 
-                // Attempt to deserialize - this performs validation
-                deserializer.deserialize(tempFile);
+        if (result.isValid()) {
+            saveNewFile(request, username);
+        }
 
-            } finally {
-                // Clean up temporary file
-                Files.deleteIfExists(tempFile);
-            }
+        // Save to history
+        long durationMs = System.currentTimeMillis() - startTime;
+        saveToHistory(request, result, durationMs);
 
-            // If we got here, the document is valid
-            result.setValid(true);
-            logger.info("Successfully validated {} document in {} format",
-                request.getModelType().getValue(), request.getFormat());
+        return result;
+    }
 
-            // Save the file to storage only if it's a new file (not already saved)
-            if (request.getFileId() == null || request.getFileId().trim().isEmpty()) {
-                try {
-                    String fileName = request.getFileName() != null ? request.getFileName() : "document" + getFileExtension(format);
-                    fileStorageService.saveFile(request.getContent(), fileName, request.getModelType(), request.getFormat(), username);
-                    logger.info("Saved new file to storage: {}", fileName);
-                } catch (Exception saveException) {
-                    logger.warn("Failed to save file to storage: {}", saveException.getMessage());
-                    // Don't fail validation if file saving fails
-                }
-            } else {
-                logger.info("Skipping file save - document already saved with ID: {}", request.getFileId());
-            }
+    /**
+     * Validate a document streamed from the request body without materializing it as a String.
+     * The stream is consumed but not closed. Streamed documents are not cached or saved to storage,
+     * and built-in rules are not evaluated against them; the result lists that stage in
+     * {@link ValidationResult#getSkippedStages()}.
+     *
+     * @throws AdmissionRejectedException if the server is at capacity
+     */
+    public ValidationResult validateStream(InputStream input, long contentLength, OscalModelType modelType,
+                                           OscalFormat format, String fileName, String username) {
+        try (AdmissionControlService.Permit permit = admissionControl.admit("validation", contentLength)) {
+            return doValidateStream(input, contentLength, modelType, format, fileName, username);
+        }
+    }
+
+    private ValidationResult doValidateStream(InputStream input, long contentLength, OscalModelType modelType,
+                                              OscalFormat format, String fileName, String username) {
+        long startTime = System.currentTimeMillis();
+        InputStream document = input.markSupported() ? input : new BufferedInputStream(input);
+
+        // Detection reads only the head of the stream, which is then reset for the parser
+        ValidationRequest request = new ValidationRequest(null, modelType, format, fileName);
+        ValidationResult result;
+        try {
+            DetectedDocument detected = documentDetector.resolve(documentDetector.detect(document), format, modelType);
+            request.setModelType(detected.getModelType());
+            request.setFormat(detected.getFormat());
+            result = validateContent(detected.getModelType(), detected.getFormat(), null,
+                () -> deserializationService.deserializeToNodeItem(document, contentLength, detected.getFormat(),
+                    detected.getModelType())).result;
+        } catch (IllegalArgumentException | IOException e) {
+            result = detectionFailed(modelType, format, e.getMessage());
+        }
 
+        long durationMs = System.currentTimeMillis() - startTime;
+        saveToHistory(request, result, durationMs);
+
+        return result;
+    }
+
+    private ValidationResult detectionFailed(OscalModelType modelType, OscalFormat format, String message) {
+        ValidationResult result = new ValidationResult();
+        result.setModelType(modelType);
+        result.setFormat(format);
+        result.setValid(false);
+        result.addError(new ValidationError(message, "error"));
+        logger.info("Rejected document before parsing: {}", message);
+        return result;
+    }
+
+    private Validation validateContent(ValidationRequest request) {
+        return validateContent(request.getModelType(), request.getFormat(), request.getContent(),
+            () -> deserializationService.deserializeToNodeItem(request.getContent(), request.getFormat(),
+                request.getModelType()));
+    }
+
+    private Validation validateContent(OscalModelType modelType, OscalFormat format, String content,
+                                       DocumentParser parser) {
+        ValidationResult result = new ValidationResult();
+        result.setModelType(modelType);
+        result.setFormat(format);
+        Validation validation = new Validation(result);
+
+        // Stage 1: bind the document - schema-level errors stop validation here
+        long stageStart = System.currentTimeMillis();
+        IDocumentNodeItem document;
+        try {
+            document = parser.parse();
         } catch (Exception e) {
             // Validation failed
             result.setValid(false);
@@ -83,16 +187,100 @@ public class ValidationService {
             error.setMessage(e.getMessage());
             error.setSeverity("error");
             result.addError(error);
+            result.addStageTiming("parse", System.currentTimeMillis() - stageStart);
+            validation.complete = !(e instanceof OscalDeserializationService.SpillException);
 
             logger.error("Validation failed for {} document: {}",
-                request.getModelType().getValue(), e.getMessage());
+                modelType.getValue(), e.getMessage());
+            return validation;
         }
+        result.addStageTiming("parse", System.currentTimeMillis() - stageStart);
 
-        // Save to history
-        long durationMs = System.currentTimeMillis() - startTime;
-        saveToHistory(request, result, durationMs);
+        // Stage 2: evaluate the Metaschema constraints shipped with liboscal
+        if (constraintValidationService.isEnabled()) {
+            stageStart = System.currentTimeMillis();
+            try {
+                ConstraintValidationReport report = constraintValidationService.validate(document, modelType);
+                report.getErrors().forEach(result::addError);
+                report.getWarnings().forEach(result::addWarning);
+                if (report.getUnresolvedReferences() > 0) {
+                    // Partitioned large documents cannot resolve references to document-level indexes
+                    result.addSkippedStage("constraint-cross-references");
+                }
+            } catch (Exception e) {
+                ValidationError error = new ValidationError();
+                error.setMessage("Constraint evaluation failed: " + e.getMessage());
+                error.setSeverity("error");
+                result.addError(error);
+                validation.complete = false;
+                logger.error("Constraint evaluation failed for {} document: {}",
+                    modelType.getValue(), e.getMessage());
+            }
+            result.addStageTiming("constraints", System.currentTimeMillis() - stageStart);
+        }
 
-        return result;
+        // Stage 3: built-in rule catalog, all rules evaluated in one streaming pass. These are
+        // advisory best-practice checks, so findings are reported as warnings at the rule's severity.
+        if (content != null) {
+            stageStart = System.currentTimeMillis();
+            try {
+                validationRulesService.evaluateBuiltInRules(content, format, modelType)
+                    .forEach(result::addWarning);
+            } catch (Exception e) {
+                validation.complete = false;
+                logger.warn("Built-in rule evaluation failed for {} document: {}",
+                    modelType.getValue(), e.getMessage());
+            }
+            result.addStageTiming("built-in-rules", System.currentTimeMillis() - stageStart);
+        } else {
+            result.addSkippedStage("built-in-rules");
+        }
+
+        // Stage 4: organization-defined custom rules, all evaluated in one pass over the document.
+        // Streamed and XML documents are read from the bound document, so rules see the same names
+        // whatever the format.
+        stageStart = System.currentTimeMillis();
+        try {
+            for (ValidationError finding : customRuleEngine.evaluate(content, document.getValue(), format, modelType)) {
+                if ("error".equals(finding.getSeverity())) {
+                    result.addError(finding);
+                } else {
+                    result.addWarning(finding);
+                }
+            }
+        } catch (Exception e) {
+            validation.complete = false;
+            logger.warn("Custom rule evaluation failed for {} document: {}",
+                modelType.getValue(), e.getMessage());
+        }
+        result.addStageTiming("custom-rules", System.currentTimeMillis() - stageStart);
+
+        result.setValid(result.getErrors().isEmpty());
+        if (result.isValid()) {
+            logger.info("Successfully validated {} document in {} format",
+                modelType.getValue(), format);
+        } else {
+            logger.info("{} document in {} format failed validation with {} error(s)",
+                modelType.getValue(), format, result.getErrors().size());
+        }
+
+        return validation;
+    }
+
+    private void saveNewFile(ValidationRequest request, String username) {
+        // Save the file to storage only if it's a new file (not already saved)
+        if (request.getFileId() == null || request.getFileId().trim().isEmpty()) {
+            try {
+                String fileName = request.getFileName() != null ? request.getFileName() : "document" + OscalDeserializationService.getFileExtension(request.getFormat());
+                fileStorageService.saveFile(request.getContent(), fileName, request.getModelType(), request.getFormat(), username);
+                logger.info("Saved new file to storage: {}", fileName);
+            } catch (Exception saveException) {
+                logger.warn("Failed to save file to storage: {}", saveException.getMessage());
+                // Don't fail validation if file saving fails
+            }
+        } else {
+            logger.info("Skipping file save - document already saved with ID: {}", request.getFileId());
+        }
     }
 
     private void saveToHistory(ValidationRequest request, ValidationResult result, long durationMs) {
@@ -101,8 +289,8 @@ public class ValidationService {
             history.setOperationType("VALIDATE");
             history.setFileName(request.getFileName() != null ? request.getFileName() : "Document");
             history.setSuccess(result.isValid());
-            history.setModelType(request.getModelType().getValue());
-            history.setFormat(request.getFormat().toString());
+            history.setModelType(request.getModelType() != null ? request.getModelType().getValue() : null);
+            history.setFormat(request.getFormat() != null ? request.getFormat().toString() : null);
             history.setDurationMs(durationMs);
 
             String details = result.isValid()
@@ -116,50 +304,21 @@ public class ValidationService {
         }
     }
 
-    private Format getFormat(OscalFormat oscalFormat) {
-        switch (oscalFormat) {
-            case XML:
-                return Format.XML;
-            case JSON:
-                return Format.JSON;
-            case YAML:
-                return Format.YAML;
-            default:
-                throw new IllegalArgumentException("Unsupported format: " + oscalFormat);
-        }
-    }
+    /**
+     * A validation result, and whether every stage ran to completion. Only complete results are
+     * a property of the document alone and may be cached.
+     */
+    private static final class Validation {
+        private final ValidationResult result;
+        private boolean complete = true;
 
-    private String getFileExtension(Format format) {
-        switch (format) {
-            case XML:
-                return ".xml";
-            case JSON:
-                return ".json";
-            case YAML:
-                return ".yaml";
-            default:
-                return ".txt";
+        Validation(ValidationResult result) {
+            this.result = result;
         }
     }
 
-    private IDeserializer<?> getDeserializer(OscalModelType modelType, Format format) throws IOException {
-        switch (modelType) {
-            case CATALOG:
-                return bindingContext.newDeserializer(format, gov.nist.secauto.oscal.lib.model.Catalog.class);
-            case PROFILE:
-                return bindingContext.newDeserializer(format, gov.nist.secauto.oscal.lib.model.Profile.class);
-            case COMPONENT_DEFINITION:
-                return bindingContext.newDeserializer(format, gov.nist.secauto.oscal.lib.model.ComponentDefinition.class);
-            case SYSTEM_SECURITY_PLAN:
-                return bindingContext.newDeserializer(format, gov.nist.secauto.oscal.lib.model.SystemSecurityPlan.class);
-            case ASSESSMENT_PLAN:
-                return bindingContext.newDeserializer(format, gov.nist.secauto.oscal.lib.model.AssessmentPlan.class);
-            case ASSESSMENT_RESULTS:
-                return bindingContext.newDeserializer(format, gov.nist.secauto.oscal.lib.model.AssessmentResults.class);
-            case PLAN_OF_ACTION_AND_MILESTONES:
-                return bindingContext.newDeserializer(format, gov.nist.secauto.oscal.lib.model.PlanOfActionAndMilestones.class);
-            default:
-                throw new IllegalArgumentException("Unsupported model type: " + modelType);
-        }
+    @FunctionalInterface
+    private interface DocumentParser {
+        IDocumentNodeItem parse() throws IOException;
     }
 }
@@ -6,6 +6,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,7 +18,7 @@ public class VisualizationService {
 
     private static final Logger logger = LoggerFactory.getLogger(VisualizationService.class);
 
-    // Control family names mapping
+    // NIST SP 800-53 family names, for controls of catalogs that are not indexed
     private static final Map<String, String> CONTROL_FAMILIES = new HashMap<String, String>() {{
         put("ac", "Access Control");
         put("at", "Awareness and Training");
@@ -41,17 +42,56 @@ public class VisualizationService {
         put("sr", "Supply Chain Risk Management");
     }};
 
-    public VisualizationService() {
+    private final AdmissionControlService admissionControl;
+    // Family names of imported catalogs; when null or the catalog is unknown, CONTROL_FAMILIES is used
+    private final CatalogIndexService catalogIndexService;
+    private final SspStreamReader sspReader = new SspStreamReader();
+
+    @Autowired
+    public VisualizationService(AdmissionControlService admissionControl, CatalogIndexService catalogIndexService) {
+        this.admissionControl = admissionControl;
+        this.catalogIndexService = catalogIndexService;
     }
 
+    /**
+     * @throws AdmissionRejectedException if the server is at capacity
+     */
     public SspVisualizationResult analyzeSSP(SspVisualizationRequest request, String username) {
+        try (AdmissionControlService.Permit permit = admit(request.getContent())) {
+            return doAnalyzeSSP(request);
+        }
+    }
+
+    /**
+     * @throws AdmissionRejectedException if the server is at capacity
+     */
+    public ProfileVisualizationResult analyzeProfile(ProfileVisualizationRequest request, String username) {
+        try (AdmissionControlService.Permit permit = admit(request.getContent())) {
+            return doAnalyzeProfile(request);
+        }
+    }
+
+    /**
+     * @throws AdmissionRejectedException if the server is at capacity
+     */
+    public SarVisualizationResult analyzeSAR(SarVisualizationRequest request, String username) {
+        try (AdmissionControlService.Permit permit = admit(request.getContent())) {
+            return doAnalyzeSAR(request);
+        }
+    }
+
+    private AdmissionControlService.Permit admit(String content) {
+        return admissionControl.admit("visualization", content != null ? content.length() : 0);
+    }
+
+    private SspVisualizationResult doAnalyzeSSP(SspVisualizationRequest request) {
         SspVisualizationResult result = new SspVisualizationResult();
 
         try {
             logger.info("Analyzing SSP - Format: {}, Content length: {}", request.getFormat(), request.getContent().length());
 
-            // Parse the content as JSON (converting if necessary)
-            JsonNode sspNode = parseContent(request.getContent(), request.getFormat());
+            // Stream the sections the analysis uses, instead of reading the whole document into a tree
+            JsonNode sspNode = sspReader.read(request.getContent(), request.getFormat());
 
             logger.info("Parsed SSP node - isNull: {}, fieldNames: {}",
                 sspNode == null,
@@ -114,7 +154,7 @@ public class VisualizationService {
         return result;
     }
 
-    public ProfileVisualizationResult analyzeProfile(ProfileVisualizationRequest request, String username) {
+    private ProfileVisualizationResult doAnalyzeProfile(ProfileVisualizationRequest request) {
         ProfileVisualizationResult result = new ProfileVisualizationResult();
 
         try {
@@ -297,6 +337,8 @@ public class VisualizationService {
         Map<String, ProfileVisualizationResult.ControlFamilyInfo> familyMap = new HashMap<>();
 
         for (ProfileVisualizationResult.ImportInfo importInfo : result.getImports()) {
+            CatalogIndex catalogIndex = catalogIndex(importInfo.getHref());
+
             // Process included controls
             for (String controlId : importInfo.getIncludeAllIds()) {
                 if ("*".equals(controlId)) {
@@ -304,8 +346,8 @@ public class VisualizationService {
                     continue;
                 }
                 totalIncluded++;
-                String familyId = extractFamilyId(controlId.toLowerCase());
-                String familyName = CONTROL_FAMILIES.getOrDefault(familyId, familyId.toUpperCase());
+                String familyId = familyId(catalogIndex, controlId);
+                String familyName = familyName(catalogIndex, familyId, controlId);
 
                 ProfileVisualizationResult.ControlFamilyInfo familyInfo = familyMap.computeIfAbsent(familyId, key -> {
                     ProfileVisualizationResult.ControlFamilyInfo fi = new ProfileVisualizationResult.ControlFamilyInfo();
@@ -323,8 +365,8 @@ public class VisualizationService {
             // Process excluded controls
             for (String controlId : importInfo.getExcludeIds()) {
                 totalExcluded++;
-                String familyId = extractFamilyId(controlId.toLowerCase());
-                String familyName = CONTROL_FAMILIES.getOrDefault(familyId, familyId.toUpperCase());
+                String familyId = familyId(catalogIndex, controlId);
+                String familyName = familyName(catalogIndex, familyId, controlId);
 
                 ProfileVisualizationResult.ControlFamilyInfo familyInfo = familyMap.computeIfAbsent(familyId, key -> {
                     ProfileVisualizationResult.ControlFamilyInfo fi = new ProfileVisualizationResult.ControlFamilyInfo();
@@ -355,6 +397,32 @@ public class VisualizationService {
         result.setControlsByFamily(familyMap);
     }
 
+    /**
+     * Index of the catalog a profile import refers to, or null if it is not a catalog the
+     * library or catalog directory has
+     */
+    private CatalogIndex catalogIndex(String href) {
+        if (catalogIndexService == null || href == null || href.isEmpty() || href.startsWith("#")) {
+            return null;
+        }
+        try {
+            return catalogIndexService.getIndex(href);
+        } catch (Exception e) {
+            logger.debug("No catalog index for import {}: {}", href, e.getMessage());
+            return null;
+        }
+    }
+
+    private String familyId(CatalogIndex catalogIndex, String controlId) {
+        String familyId = catalogIndex != null ? catalogIndex.familyIdOf(controlId) : null;
+        return familyId != null ? familyId : extractFamilyId(controlId.toLowerCase());
+    }
+
+    private String familyName(CatalogIndex catalogIndex, String familyId, String controlId) {
+        String familyName = catalogIndex != null ? catalogIndex.familyTitleOf(controlId) : null;
+        return familyName != null ? familyName : CONTROL_FAMILIES.getOrDefault(familyId, familyId.toUpperCase());
+    }
+
     private JsonNode parseContent(String content, OscalFormat format) throws Exception {
         ObjectMapper mapper;
         switch (format) {
@@ -638,22 +706,22 @@ public class VisualizationService {
             if (props == null) {
                 props = req.get("prop");
                 if (props != null) {
-                    logger.info("Found 'prop' field for control {}", getString(req, "control-id"));
+                    logger.debug("Found 'prop' field for control {}", getString(req, "control-id"));
                 }
             } else {
-                logger.info("Found 'props' field for control {}", getString(req, "control-id"));
+                logger.debug("Found 'props' field for control {}", getString(req, "control-id"));
             }
 
             if (props != null) {
-                logger.info("Props node isArray: {}, isObject: {}, for control {}",
+                logger.debug("Props node isArray: {}, isObject: {}, for control {}",
                     props.isArray(), props.isObject(), getString(req, "control-id"));
 
                 if (props.isArray()) {
-                    logger.info("Processing {} props for control {}", props.size(), getString(req, "control-id"));
+                    logger.debug("Processing {} props for control {}", props.size(), getString(req, "control-id"));
                     for (JsonNode prop : props) {
                         String propName = getString(prop, "name");
                         String propValue = getString(prop, "value");
-                        logger.info("Control {}: prop name='{}', value='{}'",
+                        logger.debug("Control {}: prop name='{}', value='{}'",
                             getString(req, "control-id"), propName, propValue);
 
                         if ("implementation-status".equals(propName)) {
@@ -664,7 +732,7 @@ public class VisualizationService {
                     }
                 }
             } else {
-                logger.warn("No props found for control {}", getString(req, "control-id"));
+                logger.debug("No props found for control {}", getString(req, "control-id"));
             }
 
             // Add control status
@@ -818,7 +886,7 @@ public class VisualizationService {
         return getString(node, field, "");
     }
 
-    public SarVisualizationResult analyzeSAR(SarVisualizationRequest request, String username) {
+    private SarVisualizationResult doAnalyzeSAR(SarVisualizationRequest request) {
         SarVisualizationResult result = new SarVisualizationResult();
 
         try {
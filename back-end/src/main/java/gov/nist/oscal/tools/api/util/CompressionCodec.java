@@ -0,0 +1,226 @@
+package gov.nist.oscal.tools.api.util;
+
+import com.github.luben.zstd.ZstdInputStream;
+import com.github.luben.zstd.ZstdOutputStream;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Codecs for compressing stored OSCAL documents at rest.
+ *
+ * The codec used for an object is recorded in its metadata under {@link #METADATA_KEY}. Compressed
+ * data also starts with the codec's magic number, which cannot begin an OSCAL document (JSON, XML
+ * or YAML text), so objects stored before compression was enabled, or without metadata, are still
+ * read correctly by {@link #decoding(InputStream)}.
+ */
+public enum CompressionCodec {
+
+    NONE("identity", new byte[0]) {
+        @Override
+        public OutputStream compress(OutputStream output) {
+            return output;
+        }
+
+        @Override
+        public InputStream decompress(InputStream input) {
+            return input;
+        }
+    },
+
+    GZIP("gzip", new byte[] {(byte) 0x1f, (byte) 0x8b}) {
+        @Override
+        public OutputStream compress(OutputStream output) throws IOException {
+            return new GZIPOutputStream(output, BUFFER_SIZE);
+        }
+
+        @Override
+        public InputStream decompress(InputStream input) throws IOException {
+            return new GZIPInputStream(input, BUFFER_SIZE);
+        }
+    },
+
+    ZSTD("zstd", new byte[] {(byte) 0x28, (byte) 0xb5, (byte) 0x2f, (byte) 0xfd}) {
+        @Override
+        public OutputStream compress(OutputStream output) throws IOException {
+            return new ZstdOutputStream(output, ZSTD_LEVEL);
+        }
+
+        @Override
+        public InputStream decompress(InputStream input) throws IOException {
+            return new ZstdInputStream(input);
+        }
+    };
+
+    /**
+     * Metadata key (blob metadata or .meta sidecar) recording the codec of a stored object
+     */
+    public static final String METADATA_KEY = "contentEncoding";
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int ZSTD_LEVEL = 3;
+    private static final int MAX_MAGIC_LENGTH = 4;
+
+    private final String name;
+    private final byte[] magic;
+
+    CompressionCodec(String name, byte[] magic) {
+        this.name = name;
+        this.magic = magic;
+    }
+
+    /**
+     * Name recorded in metadata; also the HTTP content-coding token
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Wrap a stream so that data written to it is compressed. Closing the returned stream
+     * finishes the compressed data and closes the underlying stream.
+     */
+    public abstract OutputStream compress(OutputStream output) throws IOException;
+
+    /**
+     * Wrap a stream of data compressed with this codec
+     */
+    public abstract InputStream decompress(InputStream input) throws IOException;
+
+    /**
+     * Compress content
+     */
+    public byte[] encode(byte[] content) {
+        if (this == NONE) {
+            return content;
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, content.length / 8));
+        try (OutputStream output = compress(buffer)) {
+            output.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compress content with " + name, e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Metadata for an object stored with this codec: a copy of the given metadata (which may be
+     * null) with the codec recorded, unless no compression is applied
+     */
+    public Map<String, String> withMetadata(Map<String, String> metadata) {
+        Map<String, String> result = metadata != null ? new HashMap<>(metadata) : new HashMap<>();
+        if (this != NONE) {
+            result.put(METADATA_KEY, name);
+        }
+        return result;
+    }
+
+    /**
+     * Codec configured by name ("gzip", "zstd", or "none"/"identity"/empty for no compression)
+     *
+     * @throws IllegalArgumentException if the name is not a known codec
+     */
+    public static CompressionCodec fromName(String name) {
+        if (name == null || name.isBlank()) {
+            return NONE;
+        }
+        String normalized = name.trim().toLowerCase(Locale.ROOT);
+        if ("none".equals(normalized)) {
+            return NONE;
+        }
+        for (CompressionCodec codec : values()) {
+            if (codec.name.equals(normalized)) {
+                return codec;
+            }
+        }
+        throw new IllegalArgumentException("Unknown compression codec: " + name);
+    }
+
+    /**
+     * Codec to store content of the given size with: the configured codec, or NONE for content
+     * smaller than minSize, where compression gains little
+     */
+    public static CompressionCodec forContent(String configuredName, long size, long minSize) {
+        return size < minSize ? NONE : fromName(configuredName);
+    }
+
+    /**
+     * Codec of stored data, detected from its first bytes
+     */
+    public static CompressionCodec detect(byte[] head, int length) {
+        for (CompressionCodec codec : values()) {
+            if (codec != NONE && startsWith(head, length, codec.magic)) {
+                return codec;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Codec of stored data, detected from the first bytes read from a stream. The bytes read
+     * are consumed.
+     */
+    public static CompressionCodec detect(InputStream stored) throws IOException {
+        byte[] head = stored.readNBytes(MAX_MAGIC_LENGTH);
+        return detect(head, head.length);
+    }
+
+    /**
+     * Wrap a stream of stored data so that it reads decompressed content, whatever codec (if any)
+     * it was stored with
+     */
+    public static InputStream decoding(InputStream stored) throws IOException {
+        BufferedInputStream input = new BufferedInputStream(stored, BUFFER_SIZE);
+        input.mark(MAX_MAGIC_LENGTH);
+        byte[] head = input.readNBytes(MAX_MAGIC_LENGTH);
+        input.reset();
+        return detect(head, head.length).decompress(input);
+    }
+
+    /**
+     * Decode stored data to a UTF-8 string
+     */
+    public static String decodeToString(InputStream stored) throws IOException {
+        try (InputStream input = decoding(stored)) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Decode stored data to a UTF-8 string
+     */
+    public static String decodeToString(byte[] stored) {
+        CompressionCodec codec = detect(stored, stored.length);
+        if (codec == NONE) {
+            return new String(stored, StandardCharsets.UTF_8);
+        }
+        try (InputStream input = codec.decompress(new ByteArrayInputStream(stored))) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decompress content with " + codec.name, e);
+        }
+    }
+
+    private static boolean startsWith(byte[] data, int length, byte[] prefix) {
+        if (length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,53 @@
+package gov.nist.oscal.tools.api.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Utility class for computing content digests of OSCAL documents.
+ *
+ * Digests are used as content-addressed keys for caching and storage.
+ */
+public final class ContentHasher {
+
+    private static final String ALGORITHM = "SHA-256";
+
+    private ContentHasher() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Compute the SHA-256 digest of a string, encoded as UTF-8.
+     *
+     * @param content The content to hash
+     * @return Lowercase hex-encoded SHA-256 digest
+     */
+    public static String sha256Hex(String content) {
+        return sha256Hex(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Compute the SHA-256 digest of a byte array.
+     *
+     * @param content The content to hash
+     * @return Lowercase hex-encoded SHA-256 digest
+     */
+    public static String sha256Hex(byte[] content) {
+        return HexFormat.of().formatHex(newDigest().digest(content));
+    }
+
+    /**
+     * Create a new SHA-256 message digest for incremental hashing.
+     *
+     * @return A fresh MessageDigest instance
+     */
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(ALGORITHM + " algorithm not available", e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package gov.nist.oscal.tools.api.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * InputStream wrapper that fails once more than a fixed number of bytes has been read.
+ *
+ * Used to bound request bodies that are streamed straight into a parser, where the
+ * servlet container's multipart limits do not apply.
+ */
+public class SizeLimitedInputStream extends FilterInputStream {
+
+    private final long maxBytes;
+    private long bytesRead;
+
+    public SizeLimitedInputStream(InputStream in, long maxBytes) {
+        super(in);
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) {
+            count(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) {
+            count(n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        if (skipped > 0) {
+            count(skipped);
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    private void count(long n) throws IOException {
+        bytesRead += n;
+        if (bytesRead > maxBytes) {
+            throw new SizeLimitExceededException(maxBytes);
+        }
+    }
+
+    /**
+     * Thrown when the stream exceeds its configured limit
+     */
+    public static class SizeLimitExceededException extends IOException {
+        public SizeLimitExceededException(long maxBytes) {
+            super("Document exceeds maximum allowed size of " + maxBytes + " bytes");
+        }
+    }
+}
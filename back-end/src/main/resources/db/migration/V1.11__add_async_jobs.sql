@@ -0,0 +1,20 @@
+-- V1.11: Add Async Jobs Table
+-- Description: Stores state of asynchronous validate/convert/visualize jobs when jobs.store=jdbc
+
+CREATE TABLE IF NOT EXISTS async_jobs (
+    id VARCHAR(36) PRIMARY KEY,
+    job_type VARCHAR(50) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    username VARCHAR(100) NOT NULL,
+    progress INTEGER NOT NULL DEFAULT 0,
+    message VARCHAR(1000),
+    result TEXT,
+    error VARCHAR(2000),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    completed_at TIMESTAMP,
+    job_version BIGINT NOT NULL DEFAULT 0
+);
+
+-- Expired jobs are purged by update time (idempotent)
+CREATE INDEX IF NOT EXISTS idx_async_jobs_updated_at ON async_jobs(updated_at);
@@ -0,0 +1,15 @@
+-- V1.12: Add Content Blobs Table
+-- Description: Reference counts for deduplicated, content-addressed file content.
+-- Blobs are stored under their SHA-256 digest; ref_count = 0 marks a blob for the sweeper
+-- (after orphaned_at + grace period) and -1 marks a blob the sweeper is deleting.
+
+CREATE TABLE IF NOT EXISTS content_blobs (
+    digest VARCHAR(64) PRIMARY KEY,
+    size_bytes BIGINT NOT NULL,
+    ref_count BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL,
+    orphaned_at TIMESTAMP
+);
+
+-- The sweeper looks up unreferenced blobs by orphan time (idempotent)
+CREATE INDEX IF NOT EXISTS idx_content_blobs_orphaned_at ON content_blobs(orphaned_at);
@@ -0,0 +1,8 @@
+-- V1.13: Add Library Version Content Hash
+-- Description: SHA-256 digest of each version's file content, sent as the strong ETag of the
+-- content endpoints. Versions created before this column are hashed on first read.
+
+ALTER TABLE library_versions
+ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
+
+COMMENT ON COLUMN library_versions.content_hash IS 'SHA-256 digest of the version''s file content';
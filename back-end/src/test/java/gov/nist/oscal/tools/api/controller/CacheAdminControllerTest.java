@@ -0,0 +1,134 @@
+package gov.nist.oscal.tools.api.controller;
+
+import gov.nist.oscal.tools.api.config.RateLimitConfig;
+import gov.nist.oscal.tools.api.config.SecurityHeadersConfig;
+import gov.nist.oscal.tools.api.model.ValidationResult;
+import gov.nist.oscal.tools.api.security.JwtUtil;
+import gov.nist.oscal.tools.api.service.CatalogSourceService;
+import gov.nist.oscal.tools.api.service.RateLimitService;
+import gov.nist.oscal.tools.api.service.ResolvedProfileCache;
+import gov.nist.oscal.tools.api.service.StorageReadCache;
+import gov.nist.oscal.tools.api.service.ValidationResultCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CacheAdminController.class)
+class CacheAdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ValidationResultCache validationResultCache;
+
+    @MockBean
+    private StorageReadCache storageReadCache;
+
+    @MockBean
+    private CatalogSourceService catalogSourceService;
+
+    @MockBean
+    private ResolvedProfileCache resolvedProfileCache;
+
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    @MockBean
+    private UserDetailsService userDetailsService;
+
+    @MockBean
+    private RateLimitService rateLimitService;
+
+    @MockBean
+    private RateLimitConfig rateLimitConfig;
+
+    @MockBean
+    private SecurityHeadersConfig securityHeadersConfig;
+
+    @Test
+    @WithMockUser(username = "admin", roles = "SUPER_ADMIN")
+    void testFlushValidationCache_asSuperAdmin_flushesCache() throws Exception {
+        when(validationResultCache.invalidateAll()).thenReturn(3L);
+
+        mockMvc.perform(delete("/api/admin/cache/validation").with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entriesRemoved").value(3));
+
+        verify(validationResultCache, times(1)).invalidateAll();
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = "SUPER_ADMIN")
+    void testGetValidationCacheStats_asSuperAdmin_returnsStats() throws Exception {
+        ValidationResultCache realCache = new ValidationResultCache(true, 1024 * 1024, 60, null);
+        realCache.put("key", new ValidationResult(true));
+        realCache.get("key");
+        when(validationResultCache.getNativeCache()).thenReturn(realCache.getNativeCache());
+        when(validationResultCache.isEnabled()).thenReturn(true);
+        when(validationResultCache.size()).thenReturn(1L);
+
+        mockMvc.perform(get("/api/admin/cache/validation"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(true))
+                .andExpect(jsonPath("$.size").value(1))
+                .andExpect(jsonPath("$.hitCount").value(1));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = "SUPER_ADMIN")
+    void testGetStorageCacheStats_asSuperAdmin_returnsStats() throws Exception {
+        when(storageReadCache.stats()).thenReturn(Map.of("heapHitRate", 0.75, "diskHitRate", 0.5));
+
+        mockMvc.perform(get("/api/admin/cache/storage"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.heapHitRate").value(0.75))
+                .andExpect(jsonPath("$.diskHitRate").value(0.5));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = "SUPER_ADMIN")
+    void testGetProfileCacheStats_asSuperAdmin_returnsBothCaches() throws Exception {
+        CatalogSourceService realSources = new CatalogSourceService(null, null, null, "", true, 1024 * 1024, 60, null);
+        ResolvedProfileCache realResolved = new ResolvedProfileCache(true, 1024 * 1024, 60, false, null, null);
+        realResolved.put("key", new ResolvedProfileCache.Entry("{}", 0, List.of()), realResolved.currentStamp());
+        realResolved.get("key", sources -> true);
+        when(catalogSourceService.getNativeCache()).thenReturn(realSources.getNativeCache());
+        when(resolvedProfileCache.getNativeCache()).thenReturn(realResolved.getNativeCache());
+        when(resolvedProfileCache.isEnabled()).thenReturn(true);
+        when(resolvedProfileCache.size()).thenReturn(1L);
+
+        mockMvc.perform(get("/api/admin/cache/profiles"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sources.missCount").value(0))
+                .andExpect(jsonPath("$.resolved.enabled").value(true))
+                .andExpect(jsonPath("$.resolved.size").value(1))
+                .andExpect(jsonPath("$.resolved.hitCount").value(1));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = "SUPER_ADMIN")
+    void testFlushProfileCaches_asSuperAdmin_flushesBothCaches() throws Exception {
+        when(catalogSourceService.invalidateAll()).thenReturn(2L);
+        when(resolvedProfileCache.invalidateAll()).thenReturn(5L);
+
+        mockMvc.perform(delete("/api/admin/cache/profiles").with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entriesRemoved").value(7));
+
+        verify(catalogSourceService).invalidateAll();
+        verify(resolvedProfileCache).invalidateAll();
+    }
+}
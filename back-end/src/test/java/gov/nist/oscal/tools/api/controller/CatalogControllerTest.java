@@ -0,0 +1,123 @@
+package gov.nist.oscal.tools.api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gov.nist.oscal.tools.api.config.RateLimitConfig;
+import gov.nist.oscal.tools.api.config.SecurityHeadersConfig;
+import gov.nist.oscal.tools.api.security.JwtUtil;
+import gov.nist.oscal.tools.api.service.CatalogIndex;
+import gov.nist.oscal.tools.api.service.CatalogIndexService;
+import gov.nist.oscal.tools.api.service.RateLimitService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CatalogController.class)
+class CatalogControllerTest {
+
+    private static final String CATALOG = """
+        {"catalog": {"uuid": "u", "metadata": {"title": "Catalog"}, "groups": [
+          {"id": "ac", "title": "Access Control", "controls": [
+            {"id": "ac-2", "title": "Account Management",
+             "params": [{"id": "ac-2_prm_1"}],
+             "parts": [{"id": "ac-2_smt", "name": "statement"}],
+             "controls": [{"id": "ac-2.1", "title": "Automated Management"}]}
+          ]}
+        ]}}
+        """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CatalogIndexService catalogIndexService;
+
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    @MockBean
+    private UserDetailsService userDetailsService;
+
+    @MockBean
+    private RateLimitService rateLimitService;
+
+    @MockBean
+    private RateLimitConfig rateLimitConfig;
+
+    @MockBean
+    private SecurityHeadersConfig securityHeadersConfig;
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void testGetControl_found_returnsControlWithFamily() throws Exception {
+        CatalogIndex index = CatalogIndex.build(new ObjectMapper().readTree(CATALOG));
+        when(catalogIndexService.findControl("item-123", "ac-2.1")).thenReturn(index.find("ac-2.1"));
+        when(catalogIndexService.findControl("item-123", "ac-2")).thenReturn(index.find("ac-2"));
+
+        mockMvc.perform(get("/api/catalogs/item-123/controls/ac-2.1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value("ac-2.1"))
+                .andExpect(jsonPath("$.familyId").value("ac"))
+                .andExpect(jsonPath("$.familyTitle").value("Access Control"))
+                .andExpect(jsonPath("$.parentId").value("ac-2"));
+
+        mockMvc.perform(get("/api/catalogs/item-123/controls/ac-2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.childIds[0]").value("ac-2.1"))
+                .andExpect(jsonPath("$.control.params[0].id").value("ac-2_prm_1"))
+                .andExpect(jsonPath("$.control.parts[0].name").value("statement"))
+                .andExpect(jsonPath("$.control.controls").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void testGetControl_unknownControl_returnsNotFound() throws Exception {
+        CatalogIndex index = CatalogIndex.build(new ObjectMapper().readTree(CATALOG));
+        when(catalogIndexService.findControl("item-123", "ac-99")).thenReturn(index.find("ac-99"));
+
+        mockMvc.perform(get("/api/catalogs/item-123/controls/ac-99"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void testGetControl_unknownCatalog_returnsNotFound() throws Exception {
+        when(catalogIndexService.findControl("missing", "ac-1"))
+                .thenThrow(new IOException("Library item not found: missing"));
+
+        mockMvc.perform(get("/api/catalogs/missing/controls/ac-1"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void testGetControl_notACatalog_returnsBadRequest() throws Exception {
+        when(catalogIndexService.findControl("profile-1", "ac-1"))
+                .thenThrow(new IllegalArgumentException("Not an OSCAL catalog: library:profile-1"));
+
+        mockMvc.perform(get("/api/catalogs/profile-1/controls/ac-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void testGetFamilies_returnsFamiliesWithCounts() throws Exception {
+        CatalogIndex index = CatalogIndex.build(new ObjectMapper().readTree(CATALOG));
+        when(catalogIndexService.getLibraryIndex("item-123")).thenReturn(index);
+
+        mockMvc.perform(get("/api/catalogs/item-123/families"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("ac"))
+                .andExpect(jsonPath("$[0].title").value("Access Control"))
+                .andExpect(jsonPath("$[0].controlCount").value(2));
+    }
+}
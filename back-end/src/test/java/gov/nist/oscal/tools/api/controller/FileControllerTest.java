@@ -194,11 +194,13 @@ class FileControllerTest {
     void testGetFileContent_existingFile_returnsContent() throws Exception {
         // Arrange
         String xmlContent = "<?xml version=\"1.0\"?><catalog></catalog>";
+        when(fileStorageService.getContentHash("file123", "testuser")).thenReturn("abc123");
         when(fileStorageService.getFileContent("file123", "testuser")).thenReturn(xmlContent);
 
         // Act & Assert
         mockMvc.perform(get("/api/files/file123/content"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc123-json\""))
                 .andExpect(jsonPath("$.content").value(xmlContent));
 
         verify(fileStorageService, times(1)).getFileContent("file123", "testuser");
@@ -208,14 +210,14 @@ class FileControllerTest {
     @WithMockUser(username = "testuser")
     void testGetFileContent_nonExistentFile_returns404() throws Exception {
         // Arrange
-        when(fileStorageService.getFileContent("nonexistent", "testuser"))
+        when(fileStorageService.getContentHash("nonexistent", "testuser"))
                 .thenThrow(new RuntimeException("File not found"));
 
         // Act & Assert
         mockMvc.perform(get("/api/files/nonexistent/content"))
                 .andExpect(status().isNotFound());
 
-        verify(fileStorageService, times(1)).getFileContent("nonexistent", "testuser");
+        verify(fileStorageService, never()).getFileContent("nonexistent", "testuser");
     }
 
     @Test
@@ -223,6 +225,7 @@ class FileControllerTest {
     void testGetFileContent_largeFile_returnsContent() throws Exception {
         // Arrange
         String largeContent = "x".repeat(10000); // 10KB content
+        when(fileStorageService.getContentHash("largefile", "testuser")).thenReturn("abc123");
         when(fileStorageService.getFileContent("largefile", "testuser")).thenReturn(largeContent);
 
         // Act & Assert
@@ -233,6 +236,19 @@ class FileControllerTest {
         verify(fileStorageService, times(1)).getFileContent("largefile", "testuser");
     }
 
+    @Test
+    @WithMockUser(username = "testuser")
+    void testGetFileContent_matchingETag_returns304() throws Exception {
+        // Arrange
+        when(fileStorageService.getContentHash("file123", "testuser")).thenReturn("abc123");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/files/file123/content").header("If-None-Match", "\"abc123-json\""))
+                .andExpect(status().isNotModified());
+
+        verify(fileStorageService, never()).getFileContent(anyString(), anyString());
+    }
+
     // ========== DELETE FILE TESTS ==========
 
     @Test
@@ -0,0 +1,160 @@
+package gov.nist.oscal.tools.api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gov.nist.oscal.tools.api.config.RateLimitConfig;
+import gov.nist.oscal.tools.api.config.SecurityHeadersConfig;
+import gov.nist.oscal.tools.api.model.*;
+import gov.nist.oscal.tools.api.security.JwtUtil;
+import gov.nist.oscal.tools.api.service.AdmissionRejectedException;
+import gov.nist.oscal.tools.api.service.ConversionService;
+import gov.nist.oscal.tools.api.service.JobService;
+import gov.nist.oscal.tools.api.service.JobService.JobTask;
+import gov.nist.oscal.tools.api.service.RateLimitService;
+import gov.nist.oscal.tools.api.service.ValidationService;
+import gov.nist.oscal.tools.api.service.VisualizationService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(JobController.class)
+class JobControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private JobService jobService;
+
+    @MockBean
+    private ValidationService validationService;
+
+    @MockBean
+    private ConversionService conversionService;
+
+    @MockBean
+    private VisualizationService visualizationService;
+
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    @MockBean
+    private UserDetailsService userDetailsService;
+
+    @MockBean
+    private RateLimitService rateLimitService;
+
+    @MockBean
+    private RateLimitConfig rateLimitConfig;
+
+    @MockBean
+    private SecurityHeadersConfig securityHeadersConfig;
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void testSubmitValidation_returnsAcceptedJob() throws Exception {
+        // Arrange
+        ValidationRequest request = new ValidationRequest();
+        request.setContent("{\"catalog\":{}}");
+        Job job = new Job("job-1", JobType.VALIDATE, "testuser");
+        when(jobService.submit(eq(JobType.VALIDATE), eq("testuser"), anyLong(), any(JobTask.class))).thenReturn(job);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/jobs/validate")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/jobs/job-1"))
+                .andExpect(jsonPath("$.id").value("job-1"))
+                .andExpect(jsonPath("$.status").value("QUEUED"))
+                .andExpect(jsonPath("$.username").doesNotExist());
+
+        // The submitted task delegates to the validation service
+        ArgumentCaptor<JobTask> task = ArgumentCaptor.forClass(JobTask.class);
+        verify(jobService).submit(eq(JobType.VALIDATE), eq("testuser"), task.capture());
+        ValidationResult result = new ValidationResult(true);
+        when(validationService.validate(any(ValidationRequest.class), eq("testuser"))).thenReturn(result);
+        assertSame(result, task.getValue().run());
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void testSubmitSspVisualization_queueFull_returns429() throws Exception {
+        // Arrange
+        SspVisualizationRequest request = new SspVisualizationRequest();
+        request.setContent("{\"system-security-plan\":{}}");
+        request.setFormat(OscalFormat.JSON);
+        when(jobService.submit(eq(JobType.VISUALIZE_SSP), eq("testuser"), anyLong(), any(JobTask.class)))
+                .thenThrow(new AdmissionRejectedException(HttpStatus.TOO_MANY_REQUESTS, "Too many jobs", 5));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/jobs/visualization/ssp")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "5"));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void testGetJob_existingJob_returnsJob() throws Exception {
+        // Arrange
+        Job job = new Job("job-1", JobType.CONVERT, "testuser");
+        job.setStatus(JobStatus.RUNNING);
+        job.setProgress(40);
+        when(jobService.getJob("job-1", "testuser")).thenReturn(Optional.of(job));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/jobs/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.type").value("CONVERT"))
+                .andExpect(jsonPath("$.status").value("RUNNING"))
+                .andExpect(jsonPath("$.progress").value(40));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void testGetJob_unknownJob_returns404() throws Exception {
+        when(jobService.getJob("missing", "testuser")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/jobs/missing"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void testStreamJobEvents_unknownJob_returns404() throws Exception {
+        when(jobService.getJob("missing", "testuser")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/jobs/missing/events").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isNotFound());
+
+        verify(jobService, never()).subscribe(any());
+    }
+
+    @Test
+    void testGetJob_unauthenticated_returns401() throws Exception {
+        mockMvc.perform(get("/api/jobs/job-1"))
+                .andExpect(status().isUnauthorized());
+    }
+}
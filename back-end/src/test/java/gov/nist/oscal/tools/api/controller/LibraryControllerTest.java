@@ -9,6 +9,7 @@ import gov.nist.oscal.tools.api.model.*;
 import gov.nist.oscal.tools.api.security.JwtUtil;
 import gov.nist.oscal.tools.api.service.LibraryService;
 import gov.nist.oscal.tools.api.service.RateLimitService;
+import gov.nist.oscal.tools.api.util.CompressionCodec;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -20,6 +21,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -257,12 +259,38 @@ class LibraryControllerTest {
     void testGetLibraryItemContent_success_returnsContent() throws Exception {
         // Arrange
         String content = "<catalog></catalog>";
-        when(libraryService.getCurrentVersionContent("1")).thenReturn(content);
+        LibraryVersion version = new LibraryVersion();
+        when(libraryService.getCurrentVersion("1")).thenReturn(version);
+        when(libraryService.getContentHash(version)).thenReturn("abc123");
+        when(libraryService.getContent(version)).thenReturn(content);
 
         // Act & Assert
         mockMvc.perform(get("/api/library/1/content"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc123-json\""))
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
                 .andExpect(jsonPath("$.content").value(content));
+
+        verify(libraryService).recordDownload("1");
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void testGetLibraryItemContent_matchingETag_returns304WithoutReadingContent() throws Exception {
+        // Arrange
+        LibraryVersion version = new LibraryVersion();
+        when(libraryService.getCurrentVersion("1")).thenReturn(version);
+        when(libraryService.getContentHash(version)).thenReturn("abc123");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/library/1/content").header("If-None-Match", "\"abc123-json\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"abc123-json\""))
+                .andExpect(content().string(""));
+
+        verify(libraryService, never()).getContent(any());
+        verify(libraryService, never()).recordDownload(any());
+        verify(libraryService, never()).downloadCurrentVersion(any());
     }
 
     // ========== DELETE TESTS ==========
@@ -526,19 +554,96 @@ class LibraryControllerTest {
     void testGetVersionContent_success_returnsContent() throws Exception {
         // Arrange
         String content = "<catalog version=\"2\"></catalog>";
-        when(libraryService.getVersionContent("v2")).thenReturn(content);
+        LibraryVersion version = new LibraryVersion();
+        when(libraryService.getVersion("v2")).thenReturn(version);
+        when(libraryService.getContentHash(version)).thenReturn("abc123");
+        when(libraryService.getContent(version)).thenReturn(content);
 
         // Act & Assert
-        mockMvc.perform(get("/api/library/versions/v2/content"))
+        mockMvc.perform(get("/api/library/versions/v2/content").header("If-None-Match", "\"stale-json\""))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc123-json\""))
                 .andExpect(jsonPath("$.content").value(content));
     }
 
+    @Test
+    @WithMockUser(username = "testuser")
+    void testGetVersionContent_raw_streamsStoredFileWithRanges() throws Exception {
+        // Arrange
+        String content = "{\"catalog\": {\"uuid\": \"abc\"}}";
+        LibraryVersion version = new LibraryVersion();
+        version.setFileName("catalog.json");
+        when(libraryService.getVersion("v2")).thenReturn(version);
+        when(libraryService.getContentHash(version)).thenReturn("abc123");
+        when(libraryService.openStoredContent(version))
+                .thenAnswer(invocation -> StoredObject.of(StoredContent.of(content.getBytes(StandardCharsets.UTF_8))));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/library/versions/v2/content").param("raw", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc123\""))
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(header().longValue("Content-Length", content.length()))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().string(content));
+
+        mockMvc.perform(get("/api/library/versions/v2/content").param("raw", "true").header("Range", "bytes=2-8"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 2-8/" + content.length()))
+                .andExpect(content().string(content.substring(2, 9)));
+
+        // A range of another version is not served; the whole current file is
+        mockMvc.perform(get("/api/library/versions/v2/content").param("raw", "true")
+                        .header("Range", "bytes=2-8").header("If-Range", "\"old\""))
+                .andExpect(status().isOk())
+                .andExpect(content().string(content));
+
+        mockMvc.perform(get("/api/library/versions/v2/content").param("raw", "true").header("Range", "bytes=500-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "bytes */" + content.length()));
+
+        mockMvc.perform(get("/api/library/versions/v2/content").param("raw", "true").header("If-None-Match", "\"abc123\""))
+                .andExpect(status().isNotModified());
+        verify(libraryService, times(4)).openStoredContent(version);
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void testGetVersionContent_rawCompressed_passesThroughOrDecompresses() throws Exception {
+        // Arrange
+        String content = "{\"catalog\": {\"uuid\": \"abc\"}}";
+        byte[] gzipped = CompressionCodec.GZIP.encode(content.getBytes(StandardCharsets.UTF_8));
+        LibraryVersion version = new LibraryVersion();
+        version.setFileName("catalog.json");
+        when(libraryService.getVersion("v2")).thenReturn(version);
+        when(libraryService.getContentHash(version)).thenReturn("abc123");
+        when(libraryService.openStoredContent(version)).thenAnswer(invocation -> StoredObject.of(StoredContent.of(gzipped)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/library/versions/v2/content").param("raw", "true").header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("ETag", "\"abc123-gzip\""))
+                .andExpect(content().bytes(gzipped));
+
+        mockMvc.perform(get("/api/library/versions/v2/content").param("raw", "true").header("Range", "bytes=0-3"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(header().string("ETag", "\"abc123\""))
+                .andExpect(content().string(content));
+
+        // The client's gzip copy is current as long as it still accepts gzip
+        mockMvc.perform(get("/api/library/versions/v2/content").param("raw", "true")
+                        .header("Accept-Encoding", "gzip").header("If-None-Match", "\"abc123-gzip\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"abc123-gzip\""));
+    }
+
     @Test
     @WithMockUser(username = "testuser")
     void testGetVersionContent_notFound_returns404() throws Exception {
         // Arrange
-        when(libraryService.getVersionContent("invalid"))
+        when(libraryService.getVersion("invalid"))
                 .thenThrow(new RuntimeException("Version not found"));
 
         // Act & Assert
@@ -546,6 +651,43 @@ class LibraryControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @WithMockUser(username = "testuser")
+    void testDownloadVersion_acceptsGzip_passesStoredDataThrough() throws Exception {
+        // Arrange
+        String content = "{\"catalog\": {\"uuid\": \"abc\"}}";
+        byte[] gzipped = CompressionCodec.GZIP.encode(content.getBytes(StandardCharsets.UTF_8));
+        LibraryVersion version = new LibraryVersion();
+        version.setFileName("catalog.json");
+        when(libraryService.getVersion("v2")).thenReturn(version);
+        when(libraryService.getStoredContent(version)).thenReturn(StoredContent.of(gzipped));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/library/versions/v2/download").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Vary", "Accept-Encoding"))
+                .andExpect(content().bytes(gzipped));
+
+        mockMvc.perform(get("/api/library/versions/v2/download").header("Accept-Encoding", "gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().string(content));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void testDownloadLibraryItem_notFound_returns404() throws Exception {
+        // Arrange
+        when(libraryService.downloadCurrentVersion("invalid"))
+                .thenThrow(new RuntimeException("Library item not found"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/library/invalid/download"))
+                .andExpect(status().isNotFound());
+    }
+
     // ========== GET MOST POPULAR TESTS ==========
 
     @Test
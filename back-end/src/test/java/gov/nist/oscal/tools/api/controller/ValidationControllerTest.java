@@ -12,26 +12,45 @@ import gov.nist.oscal.tools.api.model.*;
 import gov.nist.oscal.tools.api.model.BatchOperationRequest.BatchOperationType;
 import gov.nist.oscal.tools.api.model.BatchOperationRequest.FileContent;
 import gov.nist.oscal.tools.api.security.JwtUtil;
+import gov.nist.oscal.tools.api.service.AdmissionRejectedException;
 import gov.nist.oscal.tools.api.service.BatchOperationService;
 import gov.nist.oscal.tools.api.service.ConversionService;
 import gov.nist.oscal.tools.api.service.ProfileResolutionService;
 import gov.nist.oscal.tools.api.service.RateLimitService;
+import gov.nist.oscal.tools.api.service.StreamedConversion;
+import gov.nist.oscal.tools.api.service.StreamedMultiConversion;
 import gov.nist.oscal.tools.api.service.ValidationService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
-
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.anonymous;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -136,6 +155,294 @@ class ValidationControllerTest {
         verify(validationService).validate(any(ValidationRequest.class), eq("testuser"));
     }
 
+    // ========== STREAMING VALIDATE ENDPOINT TESTS ==========
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void testValidateStream_rawBody_streamsToService() throws Exception {
+        // Given
+        ValidationResult result = new ValidationResult(true);
+        result.setModelType(OscalModelType.SYSTEM_SECURITY_PLAN);
+        result.setFormat(OscalFormat.JSON);
+
+        when(validationService.validateStream(any(InputStream.class), anyLong(),
+                eq(OscalModelType.SYSTEM_SECURITY_PLAN), eq(OscalFormat.JSON), eq("ssp.json"), eq("testuser")))
+                .thenReturn(result);
+
+        // When & Then
+        mockMvc.perform(post("/api/validate/stream")
+                .with(csrf())
+                .param("modelType", "system-security-plan")
+                .param("format", "json")
+                .param("fileName", "ssp.json")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"system-security-plan\":{}}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valid").value(true))
+                .andExpect(jsonPath("$.modelType").value("system-security-plan"));
+
+        verify(validationService).validateStream(any(InputStream.class), anyLong(),
+                eq(OscalModelType.SYSTEM_SECURITY_PLAN), eq(OscalFormat.JSON), eq("ssp.json"), eq("testuser"));
+        verify(validationService, never()).validate(any(ValidationRequest.class), any());
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void testValidateStream_withoutModelTypeOrFormat_leftToDetection() throws Exception {
+        // Given
+        when(validationService.validateStream(any(InputStream.class), anyLong(), isNull(), isNull(), isNull(),
+                eq("testuser"))).thenReturn(new ValidationResult(true));
+
+        // When & Then
+        mockMvc.perform(post("/api/validate/stream")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"catalog\":{}}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valid").value(true));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void testValidateStream_unknownModelType_returnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/validate/stream")
+                .with(csrf())
+                .param("modelType", "not-a-model")
+                .param("format", "json")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest());
+
+        verify(validationService, never()).validateStream(any(), anyLong(), any(), any(), any(), any());
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void testValidateStream_admissionTimeout_returns503WithRetryAfter() throws Exception {
+        // Given
+        when(validationService.validateStream(any(InputStream.class), anyLong(), any(), any(), any(),
+                eq("testuser"))).thenThrow(new AdmissionRejectedException(HttpStatus.SERVICE_UNAVAILABLE,
+                "Timed out waiting for capacity", 7));
+
+        // When & Then
+        mockMvc.perform(post("/api/validate/stream")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"catalog\":{}}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "7"))
+                .andExpect(jsonPath("$.error").value("Service Unavailable"));
+    }
+
+    // ========== MULTI-TARGET CONVERT ENDPOINT TESTS ==========
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void testConvertMulti_returnsZipOfAllTargets() throws Exception {
+        // Given
+        when(conversionService.convertMultiStream(any(MultiConversionRequest.class), eq("testuser")))
+                .thenReturn(multiConversion());
+
+        // When
+        MvcResult started = mockMvc.perform(post("/api/convert/multi")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"content\":\"<catalog/>\",\"toFormats\":[\"JSON\",\"YAML\"],\"fileName\":\"catalog.xml\"}"))
+                .andReturn();
+        MvcResult completed = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/zip"))
+                .andExpect(header().string("Content-Disposition", containsString("catalog.zip")))
+                .andReturn();
+
+        // Then
+        List<String> entries = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(
+                new ByteArrayInputStream(completed.getResponse().getContentAsByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.add(entry.getName() + "=" + new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        assertEquals(List.of("catalog.json={\"catalog\":{}}", "catalog.yaml=catalog: {}"), entries);
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void testConvertMulti_acceptsMultipart_returnsMultipartMixed() throws Exception {
+        // Given
+        when(conversionService.convertMultiStream(any(MultiConversionRequest.class), eq("testuser")))
+                .thenReturn(multiConversion());
+
+        // When
+        MvcResult started = mockMvc.perform(post("/api/convert/multi")
+                .with(csrf())
+                .accept("multipart/mixed")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"content\":\"<catalog/>\",\"toFormats\":[\"JSON\",\"YAML\"]}"))
+                .andReturn();
+
+        // Then
+        MvcResult completed = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("multipart/mixed"))
+                .andExpect(header().string("Content-Type", containsString("boundary=")))
+                .andReturn();
+        String body = completed.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertTrue(body.contains("Content-Type: application/json; charset=UTF-8"));
+        assertTrue(body.contains("filename=\"document.yaml\""));
+        assertTrue(body.contains("catalog: {}"));
+        assertTrue(body.trim().endsWith("--"));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void testConvertMulti_targetFails_returnsBadRequestWithResult() throws Exception {
+        // Given
+        MultiConversionResult failed = new MultiConversionResult(OscalFormat.XML, OscalModelType.CATALOG);
+        failed.setError("Conversion failed: bad document");
+        when(conversionService.convertMultiStream(any(MultiConversionRequest.class), eq("testuser")))
+                .thenReturn(StreamedMultiConversion.failed(failed));
+
+        // When
+        MvcResult started = mockMvc.perform(post("/api/convert/multi")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"content\":\"<catalog/>\",\"toFormats\":[\"JSON\"]}"))
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.error").value("Conversion failed: bad document"));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void testConvertMulti_noTargets_returnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/convert/multi")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"content\":\"<catalog/>\",\"toFormats\":[]}"))
+                .andExpect(status().isBadRequest());
+
+        verify(conversionService, never()).convertMultiStream(any(), any());
+    }
+
+    private static StreamedMultiConversion multiConversion() {
+        MultiConversionResult result = new MultiConversionResult(OscalFormat.XML, OscalModelType.CATALOG);
+        result.setSuccess(true);
+        result.getResults().add(new ConversionResult(true, null, OscalFormat.XML, OscalFormat.JSON));
+        result.getResults().add(new ConversionResult(true, null, OscalFormat.XML, OscalFormat.YAML));
+        Map<OscalFormat, StreamedConversion.Body> bodies = new EnumMap<>(OscalFormat.class);
+        bodies.put(OscalFormat.JSON, output -> output.write("{\"catalog\":{}}".getBytes(StandardCharsets.UTF_8)));
+        bodies.put(OscalFormat.YAML, output -> output.write("catalog: {}".getBytes(StandardCharsets.UTF_8)));
+        return new StreamedMultiConversion(result, bodies, () -> { });
+    }
+
+    // ========== STREAMING CONVERT ENDPOINT TESTS ==========
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void testConvertStream_writesConvertedDocument() throws Exception {
+        // Given
+        StreamedConversion conversion = new StreamedConversion(
+                new ConversionResult(true, null, OscalFormat.JSON, OscalFormat.YAML), "catalog.yaml",
+                output -> output.write("catalog:\n  uuid: x\n".getBytes(StandardCharsets.UTF_8)), () -> { });
+        when(conversionService.convertStream(any(InputStream.class), anyLong(), eq(OscalFormat.JSON),
+                eq(OscalFormat.YAML), isNull(), eq("catalog.json"), eq("testuser"))).thenReturn(conversion);
+
+        // When
+        MvcResult started = mockMvc.perform(post("/api/convert/stream")
+                .with(csrf())
+                .param("fromFormat", "json")
+                .param("toFormat", "yaml")
+                .param("fileName", "catalog.json")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"catalog\":{\"uuid\":\"x\"}}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/yaml"))
+                .andExpect(header().string("Content-Disposition", containsString("catalog.yaml")))
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(content().string("catalog:\n  uuid: x\n"));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void testConvertStream_acceptsGzip_compressesResponse() throws Exception {
+        // Given
+        String json = "{\n  \"catalog\" : { }\n}";
+        StreamedConversion conversion = new StreamedConversion(
+                new ConversionResult(true, null, OscalFormat.YAML, OscalFormat.JSON), "catalog.json",
+                output -> output.write(json.getBytes(StandardCharsets.UTF_8)), () -> { });
+        when(conversionService.convertStream(any(InputStream.class), anyLong(), isNull(), eq(OscalFormat.JSON),
+                isNull(), isNull(), eq("testuser"))).thenReturn(conversion);
+
+        // When
+        MvcResult started = mockMvc.perform(post("/api/convert/stream")
+                .with(csrf())
+                .param("toFormat", "json")
+                .header("Accept-Encoding", "deflate, gzip;q=0.8")
+                .contentType("application/yaml")
+                .content("catalog: {}\n"))
+                .andReturn();
+        MvcResult completed = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().stringValues("Vary", hasItem("Accept-Encoding")))
+                .andReturn();
+
+        // Then
+        byte[] body = completed.getResponse().getContentAsByteArray();
+        try (InputStream unzipped = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertEquals(json, new String(unzipped.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void testConvertStream_conversionFails_returnsBadRequestWithResult() throws Exception {
+        // Given
+        when(conversionService.convertStream(any(InputStream.class), anyLong(), any(), eq(OscalFormat.XML),
+                any(), any(), eq("testuser"))).thenReturn(StreamedConversion.failed(
+                new ConversionResult(false, "Conversion failed: bad document", OscalFormat.JSON, OscalFormat.XML, true)));
+
+        // When
+        MvcResult started = mockMvc.perform(post("/api/convert/stream")
+                .with(csrf())
+                .param("toFormat", "xml")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.error").value("Conversion failed: bad document"));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void testConvertStream_unknownTargetFormat_returnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/convert/stream")
+                .with(csrf())
+                .param("toFormat", "csv")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest());
+
+        verify(conversionService, never()).convertStream(any(), anyLong(), any(), any(), any(), any(), any());
+    }
+
     // ========== CONVERT ENDPOINT TESTS ==========
 
     @Test
@@ -144,13 +144,19 @@ class ValidationRulesControllerTest {
         allRules.setRulesByCategory(rulesByCategory);
 
         when(validationRulesService.getAllRules()).thenReturn(allRules);
+        when(validationRulesService.getDocumentsEvaluated()).thenReturn(3L);
+        when(validationRulesService.getRuleEvaluationStats()).thenReturn(
+            Map.of("uuid-format", new RuleEvaluationStats("uuid-format", 3, 12, 90, 1)));
 
         // Act & Assert
         mockMvc.perform(get("/api/rules/stats"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.totalRules").value(50))
                 .andExpect(jsonPath("$.builtInRules").value(45))
-                .andExpect(jsonPath("$.customRules").value(5));
+                .andExpect(jsonPath("$.customRules").value(5))
+                .andExpect(jsonPath("$.documentsEvaluated").value(3))
+                .andExpect(jsonPath("$.ruleEvaluation['uuid-format'].totalTimeMicros").value(90))
+                .andExpect(jsonPath("$.ruleEvaluation['uuid-format'].averageTimeMicros").value(30.0));
 
         verify(validationRulesService, times(1)).getAllRules();
     }
@@ -5,12 +5,14 @@ import gov.nist.oscal.tools.api.model.*;
 import gov.nist.oscal.tools.api.security.JwtUtil;
 import gov.nist.oscal.tools.api.config.RateLimitConfig;
 import gov.nist.oscal.tools.api.config.SecurityHeadersConfig;
+import gov.nist.oscal.tools.api.service.AdmissionRejectedException;
 import gov.nist.oscal.tools.api.service.RateLimitService;
 import gov.nist.oscal.tools.api.service.VisualizationService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -140,4 +142,26 @@ class VisualizationControllerTest {
 
         verify(visualizationService, never()).analyzeSSP(any(), anyString());
     }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void testVisualizeSSP_overCapacity_returns429WithRetryAfter() throws Exception {
+        // Arrange
+        SspVisualizationRequest request = new SspVisualizationRequest();
+        request.setContent("<system-security-plan></system-security-plan>");
+        request.setFormat(OscalFormat.XML);
+
+        when(visualizationService.analyzeSSP(any(SspVisualizationRequest.class), eq("testuser")))
+                .thenThrow(new AdmissionRejectedException(HttpStatus.TOO_MANY_REQUESTS, "Server is busy", 5));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/visualization/ssp")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "5"))
+                .andExpect(jsonPath("$.message").value("Server is busy"))
+                .andExpect(jsonPath("$.retryAfter").value(5));
+    }
 }
@@ -0,0 +1,78 @@
+package gov.nist.oscal.tools.api.model;
+
+import gov.nist.oscal.tools.api.util.CompressionCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StoredObjectTest {
+
+    private static final String CONTENT = "{\"catalog\": {\"uuid\": \"abc\", \"metadata\": {\"title\": \"Test\"}}}";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testFileRangesAreReadWithoutTheDataBeforeThem() throws IOException {
+        Path file = tempDir.resolve("catalog.json");
+        Files.writeString(file, CONTENT);
+
+        StoredObject stored = StoredObject.ofFile(file);
+
+        assertEquals(CONTENT.length(), stored.getLength());
+        assertEquals(CompressionCodec.NONE, stored.getCodec());
+        assertEquals(CONTENT.substring(2, 12), read(stored.open(2, 10)));
+        assertEquals(CONTENT.substring(CONTENT.length() - 4), read(stored.open(CONTENT.length() - 4, 100)));
+        assertEquals(CONTENT, read(stored.open(0, stored.getLength())));
+    }
+
+    @Test
+    void testRangesPastTheEndAreEmpty() throws IOException {
+        StoredObject stored = StoredObject.of(StoredContent.of(CONTENT.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals("", read(stored.open(CONTENT.length(), 10)));
+        assertEquals("", read(stored.open(3, 0)));
+        assertEquals(CONTENT.substring(5, 8), read(stored.open(5, 3)));
+    }
+
+    @Test
+    void testCompressedFileIsDetectedAndDecoded() throws IOException {
+        Path file = tempDir.resolve("catalog.json");
+        byte[] compressed = CompressionCodec.GZIP.encode(CONTENT.getBytes(StandardCharsets.UTF_8));
+        Files.write(file, compressed);
+
+        StoredObject stored = StoredObject.ofFile(file);
+
+        assertEquals(CompressionCodec.GZIP, stored.getCodec());
+        assertEquals(compressed.length, stored.getLength());
+        try (InputStream input = stored.open(0, stored.getLength())) {
+            assertArrayEquals(compressed, input.readAllBytes());
+        }
+        assertEquals(CONTENT, read(stored.openDecoded()));
+    }
+
+    @Test
+    void testEmptyFile() throws IOException {
+        Path file = tempDir.resolve("empty.json");
+        Files.write(file, new byte[0]);
+
+        StoredObject stored = StoredObject.ofFile(file);
+
+        assertEquals(0, stored.getLength());
+        assertEquals(CompressionCodec.NONE, stored.getCodec());
+        assertEquals("", read(stored.openDecoded()));
+    }
+
+    private static String read(InputStream input) throws IOException {
+        try (input) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
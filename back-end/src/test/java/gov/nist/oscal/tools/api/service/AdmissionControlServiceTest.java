@@ -0,0 +1,143 @@
+package gov.nist.oscal.tools.api.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlServiceTest {
+
+    private static final long MB = 1024 * 1024;
+
+    @Test
+    void testBudgetIsMeasuredInBytes() {
+        AdmissionControlService admission = TestServices.admissionControl(10 * MB, 0, 0, 3);
+
+        AdmissionControlService.Permit first = admission.admit("validation", 6 * MB);
+        AdmissionControlService.Permit second = admission.admit("validation", 4 * MB);
+        assertEquals(10 * MB, admission.getInFlightBytes());
+
+        // Nothing may queue, so a third request over budget is rejected straight away
+        AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class,
+            () -> admission.admit("validation", 1));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getStatus());
+        assertEquals(3, rejected.getRetryAfterSeconds());
+
+        first.close();
+        admission.admit("conversion", 6 * MB).close();
+        second.close();
+        assertEquals(0, admission.getInFlightBytes());
+        assertEquals(3, admission.getAdmittedCount());
+        assertEquals(1, admission.getRejectedCount());
+    }
+
+    @Test
+    void testOversizedPayloadAdmittedAlone() {
+        AdmissionControlService admission = TestServices.admissionControl(1 * MB, 0, 0, 1);
+
+        try (AdmissionControlService.Permit permit = admission.admit("validation", 50 * MB)) {
+            assertThrows(AdmissionRejectedException.class, () -> admission.admit("validation", 1024));
+        }
+        admission.admit("validation", 1024).close();
+    }
+
+    @Test
+    void testQueuedRequestAdmittedWhenBudgetFreed() throws Exception {
+        AdmissionControlService admission = TestServices.admissionControl(1 * MB, 1, 5000, 1);
+        AdmissionControlService.Permit held = admission.admit("validation", MB);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch admitted = new CountDownLatch(1);
+            Future<?> waiter = executor.submit(() -> {
+                try (AdmissionControlService.Permit permit = admission.admit("visualization", MB)) {
+                    admitted.countDown();
+                }
+            });
+
+            waitForQueueDepth(admission, 1);
+            // The queue holds one request, so the next is rejected with 429
+            AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class,
+                () -> admission.admit("validation", MB));
+            assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getStatus());
+
+            held.close();
+            assertTrue(admitted.await(5, TimeUnit.SECONDS));
+            waiter.get(5, TimeUnit.SECONDS);
+            assertEquals(0, admission.getQueueDepth());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testWaitTimeoutRejectedWith503AndRecorded() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        AdmissionControlService admission = new AdmissionControlService(true, MB, 4, 20, 9, MB, registry);
+        AdmissionControlService.Permit held = admission.admit("conversion", MB);
+
+        AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class,
+            () -> admission.admit("conversion", MB));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatus());
+        assertEquals(9, rejected.getRetryAfterSeconds());
+        assertEquals(1.0, registry.get("oscal.admission.rejected")
+            .tag("operation", "conversion").tag("reason", "timeout").counter().count());
+        assertEquals(2, registry.get("oscal.admission.wait").tag("operation", "conversion").timer().count());
+        assertEquals(0.0, registry.get("oscal.admission.queue.depth").gauge().value());
+        assertEquals((double) MB, registry.get("oscal.admission.inflight.bytes").gauge().value());
+        held.close();
+    }
+
+    @Test
+    void testUnknownSizeUsesConfiguredWeight() {
+        AdmissionControlService admission = new AdmissionControlService(true, 8 * MB, 0, 0, 1, 8 * MB, null);
+
+        try (AdmissionControlService.Permit permit = admission.admit("validation", -1)) {
+            assertEquals(8 * MB, admission.getInFlightBytes());
+            assertThrows(AdmissionRejectedException.class, () -> admission.admit("validation", 1));
+        }
+    }
+
+    @Test
+    void testPermitReleasedOnlyOnce() {
+        AdmissionControlService admission = TestServices.admissionControl(2 * MB, 0, 0, 1);
+        AdmissionControlService.Permit permit = admission.admit("validation", MB);
+
+        permit.close();
+        permit.close();
+
+        assertEquals(0, admission.getInFlightBytes());
+        admission.admit("validation", 2 * MB).close();
+        try (AdmissionControlService.Permit full = admission.admit("validation", 2 * MB)) {
+            assertThrows(AdmissionRejectedException.class, () -> admission.admit("validation", 1));
+        }
+    }
+
+    @Test
+    void testDisabledAdmitsEverything() {
+        AdmissionControlService admission = TestServices.admissionControl();
+
+        for (int i = 0; i < 100; i++) {
+            admission.admit("validation", Long.MAX_VALUE);
+        }
+        assertFalse(admission.isEnabled());
+        assertEquals(0, admission.getRejectedCount());
+    }
+
+    private static void waitForQueueDepth(AdmissionControlService admission, int depth) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (admission.getQueueDepth() < depth && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(depth, admission.getQueueDepth());
+    }
+}
@@ -8,6 +8,7 @@ import com.azure.storage.blob.BlobServiceClientBuilder;
 import com.azure.storage.blob.models.BlobItem;
 import com.azure.storage.blob.models.BlobItemProperties;
 import com.azure.storage.blob.models.BlobProperties;
+import gov.nist.oscal.tools.api.util.CompressionCodec;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -175,6 +176,37 @@ class AzureBlobServiceTest {
         assertTrue(Files.exists(expectedPath));
     }
 
+    @Test
+    void testUploadComponent_localStorage_compressesContent() throws IOException {
+        ReflectionTestUtils.setField(azureBlobService, "connectionString", null);
+        ReflectionTestUtils.setField(azureBlobService, "buildFolder", "build");
+        ReflectionTestUtils.setField(azureBlobService, "uploadDir", tempDir.toString());
+        ReflectionTestUtils.setField(azureBlobService, "compressionCodec", "gzip");
+        ReflectionTestUtils.setField(azureBlobService, "compressionMinSize", 16L);
+        azureBlobService.init();
+
+        String jsonContent = "{\"component-definition\": {\"uuid\": \"test-123\", \"components\": []}}";
+        azureBlobService.uploadComponent("testuser", "component.json", jsonContent, null);
+
+        byte[] stored = Files.readAllBytes(tempDir.resolve("build/testuser/component.json"));
+        assertEquals(CompressionCodec.GZIP, CompressionCodec.detect(stored, stored.length));
+        assertEquals(jsonContent, azureBlobService.downloadComponent("build/testuser/component.json"));
+        assertEquals(CompressionCodec.GZIP, azureBlobService.downloadStored("build/testuser/component.json").getCodec());
+    }
+
+    @Test
+    void testUploadComponent_azure_recordsCodecInMetadata() {
+        ReflectionTestUtils.setField(azureBlobService, "containerClient", containerClient);
+        ReflectionTestUtils.setField(azureBlobService, "buildFolder", "build");
+        ReflectionTestUtils.setField(azureBlobService, "compressionCodec", "zstd");
+        when(containerClient.getBlobClient(anyString())).thenReturn(blobClient);
+
+        azureBlobService.uploadComponent("testuser", "component.json", "{\"component-definition\": {}}",
+            Map.of("author", "testuser"));
+
+        verify(blobClient).setMetadata(Map.of("author", "testuser", CompressionCodec.METADATA_KEY, "zstd"));
+    }
+
     @Test
     void testDownloadComponent_localStorage_success() throws IOException {
         // Initialize with local storage
@@ -14,6 +14,7 @@ import org.mockito.quality.Strictness;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -253,6 +254,30 @@ class BatchOperationServiceTest {
         assertEquals(2, completedResult.getFailureCount());
     }
 
+    @Test
+    void testProcessBatch_multiTargetConversion_usesConvertMulti() throws InterruptedException {
+        conversionRequest.setToFormats(EnumSet.of(OscalFormat.XML, OscalFormat.YAML));
+        MultiConversionResult multiResult = new MultiConversionResult(OscalFormat.JSON, OscalModelType.CATALOG);
+        multiResult.setSuccess(true);
+
+        when(conversionService.convertMulti(any(MultiConversionRequest.class), eq("testuser")))
+                .thenReturn(multiResult);
+
+        BatchOperationResult result = batchOperationService.processBatch(conversionRequest, "testuser");
+
+        // Wait for async processing
+        Thread.sleep(1000);
+
+        BatchOperationResult completedResult = batchOperationService.getBatchResult(result.getOperationId());
+        assertEquals(2, completedResult.getSuccessCount());
+        assertSame(multiResult, completedResult.getResults().get(0).getResult());
+
+        ArgumentCaptor<MultiConversionRequest> captor = ArgumentCaptor.forClass(MultiConversionRequest.class);
+        verify(conversionService, times(2)).convertMulti(captor.capture(), eq("testuser"));
+        assertEquals(EnumSet.of(OscalFormat.XML, OscalFormat.YAML), captor.getValue().getToFormats());
+        verify(conversionService, never()).convert(any(ConversionRequest.class), any());
+    }
+
     // ========== Result Retrieval Tests ==========
 
     @Test
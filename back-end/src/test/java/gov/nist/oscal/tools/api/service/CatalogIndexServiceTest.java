@@ -0,0 +1,108 @@
+package gov.nist.oscal.tools.api.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogIndexServiceTest {
+
+    private static final String CATALOG_JSON = """
+        {
+          "catalog": {
+            "uuid": "0b5c4d8e-2b8e-4b8a-9c3c-7b9f7a1e2d3f",
+            "metadata": {
+              "title": "Example Catalog",
+              "last-modified": "2023-10-24T00:00:00.000000-00:00",
+              "version": "1.0",
+              "oscal-version": "1.1.1"
+            },
+            "groups": [
+              {
+                "id": "ac", "title": "Access Control",
+                "controls": [
+                  {"id": "ac-1", "title": "Policy", "controls": [{"id": "ac-1.1", "title": "Enhancement"}]}
+                ]
+              }
+            ]
+          }
+        }
+        """;
+
+    private static final String PROFILE_JSON = """
+        {
+          "profile": {
+            "uuid": "531e37ca-9ab8-435f-915d-e96c7f4361d2",
+            "metadata": {
+              "title": "Profile",
+              "last-modified": "2023-10-24T00:00:00.000000-00:00",
+              "version": "1.0",
+              "oscal-version": "1.1.1"
+            },
+            "imports": [{"href": "catalog.json", "include-all": {}}]
+          }
+        }
+        """;
+
+    @TempDir
+    Path catalogDir;
+
+    private CatalogIndexService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.writeString(catalogDir.resolve("catalog.json"), CATALOG_JSON);
+        Files.writeString(catalogDir.resolve("profile.json"), PROFILE_JSON);
+
+        CatalogSourceService catalogSourceService = new CatalogSourceService(TestServices.deserializationService(),
+                new OscalDocumentDetector(), null, catalogDir.toString(), true, 64L * 1024 * 1024, 60, null);
+        service = new CatalogIndexService(catalogSourceService, true, 64L * 1024 * 1024, 60, null);
+    }
+
+    @Test
+    void testGetIndex_repeatedLookups_buildIndexOnce() throws IOException {
+        CatalogIndex first = service.getIndex("catalog.json");
+        CatalogIndex second = service.getIndex("https://example.org/catalogs/catalog.json");
+
+        assertSame(first, second);
+        assertEquals(1, service.size());
+        assertEquals("Access Control", first.familyTitleOf("ac-1.1"));
+    }
+
+    @Test
+    void testGetIndex_changedCatalog_buildsNewIndex() throws IOException {
+        CatalogIndex first = service.getIndex("catalog.json");
+
+        Files.writeString(catalogDir.resolve("catalog.json"), CATALOG_JSON.replace("Access Control", "Access"));
+        CatalogIndex second = service.getIndex("catalog.json");
+
+        assertNotSame(first, second);
+        assertEquals("Access", second.familyTitleOf("ac-1"));
+    }
+
+    @Test
+    void testGetIndex_profile_isRejected() {
+        assertThrows(IllegalArgumentException.class, () -> service.getIndex("profile.json"));
+    }
+
+    @Test
+    void testGetIndex_unknownCatalog_throws() {
+        assertThrows(IOException.class, () -> service.getIndex("unknown.json"));
+        assertThrows(IOException.class, () -> service.findControl("item-123", "ac-1"));
+    }
+
+    @Test
+    void testGetIndex_disabled_buildsWithoutCaching() throws IOException {
+        CatalogSourceService catalogSourceService = new CatalogSourceService(TestServices.deserializationService(),
+                new OscalDocumentDetector(), null, catalogDir.toString(), true, 64L * 1024 * 1024, 60, null);
+        CatalogIndexService disabled = new CatalogIndexService(catalogSourceService, false, 64L * 1024 * 1024, 60, null);
+
+        assertTrue(disabled.getIndex("catalog.json").contains("ac-1"));
+        assertEquals(0, disabled.size());
+    }
+}
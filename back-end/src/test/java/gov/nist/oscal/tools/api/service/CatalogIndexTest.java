@@ -0,0 +1,132 @@
+package gov.nist.oscal.tools.api.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogIndexTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String CATALOG = """
+        {
+          "catalog": {
+            "uuid": "c0000000-0000-4000-8000-000000000001",
+            "metadata": {"title": "Source", "last-modified": "2024-01-01T00:00:00Z", "version": "1", "oscal-version": "1.1.2"},
+            "controls": [{"id": "x-1", "title": "Ungrouped"}],
+            "groups": [
+              {
+                "id": "ac", "title": "Access Control",
+                "controls": [
+                  {
+                    "id": "ac-1", "title": "Policy",
+                    "params": [{"id": "ac-1_prm_1", "label": "frequency"}],
+                    "parts": [{"id": "ac-1_smt", "name": "statement", "prose": "Review."}]
+                  },
+                  {
+                    "id": "ac-2", "title": "Account Management",
+                    "controls": [
+                      {"id": "ac-2.1", "title": "Automated Management"},
+                      {"id": "ac-2.2", "title": "Temporary Accounts"}
+                    ]
+                  }
+                ]
+              },
+              {
+                "id": "au", "title": "Audit and Accountability",
+                "groups": [{"id": "au-sub", "title": "Audit Records", "controls": [{"id": "au-2", "title": "Event Logging"}]}]
+              }
+            ]
+          }
+        }
+        """;
+
+    @Test
+    void testFindControlWithFamilyParamsAndParts() throws IOException {
+        CatalogIndex index = CatalogIndex.build(MAPPER.readTree(CATALOG));
+
+        CatalogIndex.Control control = index.find("ac-1").orElseThrow();
+
+        assertEquals("Policy", control.title());
+        assertEquals("ac", control.familyId());
+        assertEquals("Access Control", control.familyTitle());
+        assertNull(control.parentId());
+        assertEquals(List.of(), control.childIds());
+        assertEquals("ac-1_prm_1", control.params().get(0).path("id").asText());
+        assertEquals("statement", control.parts().get(0).path("name").asText());
+    }
+
+    @Test
+    void testParentAndChildLinks() throws IOException {
+        CatalogIndex index = CatalogIndex.build(MAPPER.readTree(CATALOG));
+
+        CatalogIndex.Control parent = index.find("ac-2").orElseThrow();
+        CatalogIndex.Control child = index.find("ac-2.2").orElseThrow();
+
+        assertEquals(List.of("ac-2.1", "ac-2.2"), parent.childIds());
+        // Child controls are indexed on their own, not repeated in their parent's content
+        assertFalse(parent.control().has("controls"));
+        assertEquals("ac-2", child.parentId());
+        assertEquals("ac", child.familyId());
+        assertEquals(6, index.size());
+    }
+
+    @Test
+    void testFamilyIsTopLevelGroup() throws IOException {
+        CatalogIndex index = CatalogIndex.build(MAPPER.readTree(CATALOG));
+
+        assertEquals("au", index.familyIdOf("au-2"));
+        assertEquals("Audit and Accountability", index.familyTitleOf("au-2"));
+        assertNull(index.familyIdOf("x-1"));
+        assertNull(index.familyIdOf("missing"));
+        assertEquals(List.of(
+                new CatalogIndex.Family("ac", "Access Control", 4),
+                new CatalogIndex.Family("au", "Audit and Accountability", 1)), index.families());
+    }
+
+    @Test
+    void testUnknownControl() throws IOException {
+        CatalogIndex index = CatalogIndex.build(MAPPER.readTree(CATALOG));
+
+        assertTrue(index.find("ac-3").isEmpty());
+        assertTrue(index.find(null).isEmpty());
+        assertFalse(index.contains("AC-1"));
+        assertTrue(index.contains("ac-2.1"));
+    }
+
+    @Test
+    void testIndexIsSmallerThanTree() throws IOException {
+        StringBuilder controls = new StringBuilder();
+        for (int i = 1; i <= 500; i++) {
+            controls.append(i > 1 ? "," : "").append("""
+                {"id": "ac-%d", "title": "Control %d", "params": [{"id": "ac-%d_prm_1"}],
+                 "parts": [{"id": "ac-%d_smt", "name": "statement", "prose": "The organization does %d things."}]}
+                """.formatted(i, i, i, i, i));
+        }
+        String content = """
+            {"catalog": {"uuid": "u", "metadata": {"title": "t"},
+              "groups": [{"id": "ac", "title": "Access Control", "controls": [%s]}]}}
+            """.formatted(controls);
+        JsonNode tree = MAPPER.readTree(content);
+
+        CatalogIndex index = CatalogIndex.build(tree);
+
+        assertEquals(500, index.size());
+        // A JsonNode tree takes several times the document text; the index about its size
+        assertTrue(index.estimatedBytes() < 2L * content.length(), String.valueOf(index.estimatedBytes()));
+        assertEquals("The organization does 250 things.",
+                index.find("ac-250").orElseThrow().parts().get(0).path("prose").asText());
+    }
+
+    @Test
+    void testNotACatalog() throws IOException {
+        JsonNode profile = MAPPER.readTree("{\"profile\": {\"imports\": []}}");
+
+        assertThrows(IllegalArgumentException.class, () -> CatalogIndex.build(profile));
+    }
+}
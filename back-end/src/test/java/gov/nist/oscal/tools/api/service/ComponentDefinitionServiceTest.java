@@ -7,8 +7,10 @@ import gov.nist.oscal.tools.api.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
@@ -38,6 +40,12 @@ class ComponentDefinitionServiceTest {
     @Mock
     private AzureBlobService blobService;
 
+    @Mock
+    private StorageUploadQueue uploadQueue;
+
+    @Spy
+    private StorageReadCache readCache = new StorageReadCache(true, 1 << 20, null, 0, null);
+
     @InjectMocks
     private ComponentDefinitionService componentDefinitionService;
 
@@ -69,7 +77,6 @@ class ComponentDefinitionServiceTest {
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(mockUser));
         when(componentRepository.findByOscalUuid(testUuid)).thenReturn(Optional.empty());
         when(blobService.buildBlobPath("testuser", "component.json")).thenReturn("azure/blob/path");
-        when(blobService.getFileSize("azure/blob/path")).thenReturn(1024L);
         when(componentRepository.save(any(ComponentDefinition.class))).thenReturn(mockComponent);
 
         ComponentDefinition result = componentDefinitionService.createComponentDefinition(
@@ -92,7 +99,7 @@ class ComponentDefinitionServiceTest {
 
         verify(userRepository).findByUsername("testuser");
         verify(componentRepository).findByOscalUuid(testUuid);
-        verify(blobService).uploadComponent(eq("testuser"), eq("component.json"), anyString(), any());
+        verify(uploadQueue).enqueue(eq(StorageUploadQueue.Target.COMPONENT), any(), anyString(), any());
         verify(componentRepository).save(any(ComponentDefinition.class));
     }
 
@@ -101,7 +108,6 @@ class ComponentDefinitionServiceTest {
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(mockUser));
         when(componentRepository.findByOscalUuid(anyString())).thenReturn(Optional.empty());
         when(blobService.buildBlobPath(anyString(), anyString())).thenReturn("azure/blob/path");
-        when(blobService.getFileSize(anyString())).thenReturn(1024L);
         when(componentRepository.save(any(ComponentDefinition.class))).thenReturn(mockComponent);
 
         ComponentDefinition result = componentDefinitionService.createComponentDefinition(
@@ -175,7 +181,6 @@ class ComponentDefinitionServiceTest {
     void testUpdateComponentDefinition_success() {
         when(componentRepository.findById(1L)).thenReturn(Optional.of(mockComponent));
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(mockUser));
-        when(blobService.getFileSize(anyString())).thenReturn(2048L);
         when(componentRepository.save(any(ComponentDefinition.class))).thenReturn(mockComponent);
 
         ComponentDefinition result = componentDefinitionService.updateComponentDefinition(
@@ -192,7 +197,8 @@ class ComponentDefinitionServiceTest {
 
         assertNotNull(result);
         verify(componentRepository).findById(1L);
-        verify(blobService).uploadComponent(eq("testuser"), eq("component.json"), anyString(), isNull());
+        verify(uploadQueue).enqueue(eq(StorageUploadQueue.Target.COMPONENT), eq("azure/blob/path"), anyString(), isNull());
+        assertEquals(17L, mockComponent.getFileSize());
         verify(componentRepository).save(any(ComponentDefinition.class));
     }
 
@@ -217,7 +223,7 @@ class ComponentDefinitionServiceTest {
 
         assertNotNull(result);
         verify(componentRepository).save(any(ComponentDefinition.class));
-        verify(blobService, never()).uploadComponent(anyString(), anyString(), anyString(), any());
+        verify(uploadQueue, never()).enqueue(any(), any(), any(), any());
     }
 
     @Test
@@ -309,6 +315,31 @@ class ComponentDefinitionServiceTest {
         verify(blobService).downloadComponent("azure/blob/path");
     }
 
+    @Test
+    void testGetComponentContent_cachedUntilETagChanges() {
+        when(componentRepository.findById(1L)).thenReturn(Optional.of(mockComponent));
+        when(blobService.getVersionTag("azure/blob/path")).thenReturn("etag-1", "etag-1", "etag-2");
+        when(blobService.downloadComponent("azure/blob/path"))
+                .thenReturn("{\"component-definition\": {\"v\": 1}}", "{\"component-definition\": {\"v\": 2}}");
+
+        assertTrue(componentDefinitionService.getComponentContent(1L).contains("\"v\": 1"));
+        assertTrue(componentDefinitionService.getComponentContent(1L).contains("\"v\": 1"));
+        verify(blobService, times(1)).downloadComponent("azure/blob/path");
+
+        assertTrue(componentDefinitionService.getComponentContent(1L).contains("\"v\": 2"));
+        verify(blobService, times(2)).downloadComponent("azure/blob/path");
+    }
+
+    @Test
+    void testGetComponentContent_pendingUploadServedFromQueue() {
+        when(componentRepository.findById(1L)).thenReturn(Optional.of(mockComponent));
+        when(uploadQueue.getPendingContent(StorageUploadQueue.Target.COMPONENT, "azure/blob/path"))
+                .thenReturn("{\"component-definition\": {\"pending\": true}}");
+
+        assertTrue(componentDefinitionService.getComponentContent(1L).contains("pending"));
+        verify(blobService, never()).downloadComponent(anyString());
+    }
+
     @Test
     void testGetUserComponents_success() {
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(mockUser));
@@ -409,7 +440,9 @@ class ComponentDefinitionServiceTest {
         componentDefinitionService.deleteComponentDefinition(1L, "testuser");
 
         verify(componentRepository).findById(1L);
-        verify(blobService).deleteComponent("azure/blob/path");
+        InOrder inOrder = inOrder(uploadQueue, blobService);
+        inOrder.verify(uploadQueue).cancelUploads(StorageUploadQueue.Target.COMPONENT, "azure/blob/path");
+        inOrder.verify(blobService).deleteComponent("azure/blob/path");
         verify(componentRepository).delete(mockComponent);
     }
 
@@ -0,0 +1,106 @@
+package gov.nist.oscal.tools.api.service;
+
+import gov.nist.oscal.tools.api.model.OscalFormat;
+import gov.nist.oscal.tools.api.model.OscalModelType;
+import gov.nist.oscal.tools.api.model.ValidationError;
+import gov.nist.oscal.tools.api.service.ConstraintValidationService.ConstraintValidationReport;
+import gov.nist.secauto.metaschema.core.metapath.item.node.IDocumentNodeItem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConstraintValidationServiceTest {
+
+    private OscalDeserializationService deserializationService;
+    private ConstraintValidationService parallelService;
+    private ConstraintValidationService singlePassService;
+
+    @BeforeEach
+    void setUp() {
+        deserializationService = TestServices.deserializationService();
+        // Partition every document, however small
+        parallelService = new ConstraintValidationService(true, 4, 1);
+        singlePassService = new ConstraintValidationService(true, 1, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        parallelService.shutdown();
+        singlePassService.shutdown();
+    }
+
+    @Test
+    void testValidCatalogHasNoFindings() throws Exception {
+        IDocumentNodeItem document = parse(catalog(20, "organization"));
+
+        ConstraintValidationReport report = parallelService.validate(document, OscalModelType.CATALOG);
+
+        assertTrue(report.getErrors().isEmpty(), () -> "Unexpected errors: " + messages(report.getErrors()));
+        assertTrue(report.getPartitionCount() > 1);
+    }
+
+    @Test
+    void testAllowedValuesViolationReported() throws Exception {
+        IDocumentNodeItem document = parse(catalog(20, "robot"));
+
+        ConstraintValidationReport report = parallelService.validate(document, OscalModelType.CATALOG);
+
+        assertFalse(report.getErrors().isEmpty());
+        assertTrue(report.getErrors().stream().allMatch(error -> "error".equals(error.getSeverity())));
+    }
+
+    @Test
+    void testParallelAndSinglePassAgree() throws Exception {
+        String content = catalog(20, "robot");
+
+        ConstraintValidationReport parallel = parallelService.validate(parse(content), OscalModelType.CATALOG);
+        ConstraintValidationReport singlePass = singlePassService.validate(parse(content), OscalModelType.CATALOG);
+
+        assertEquals(1, singlePass.getPartitionCount());
+        assertEquals(messages(singlePass.getErrors()), messages(parallel.getErrors()));
+    }
+
+    @Test
+    void testDeferredChecksInPartitionsAgreeWithSinglePass() throws Exception {
+        // The responsible party's role is checked against the role index when the validator is finalized
+        String content = catalog(20, "organization")
+            .replace("\"parties\":[", "\"responsible-parties\":[{\"role-id\":\"no-such-role\","
+                + "\"party-uuids\":[\"3b2a5599-cc37-403f-ae36-5708fa804b27\"]}],\"parties\":[");
+
+        ConstraintValidationReport parallel = parallelService.validate(parse(content), OscalModelType.CATALOG);
+        ConstraintValidationReport singlePass = singlePassService.validate(parse(content), OscalModelType.CATALOG);
+
+        assertFalse(singlePass.getErrors().isEmpty());
+        assertEquals(messages(singlePass.getErrors()), messages(parallel.getErrors()));
+    }
+
+    private IDocumentNodeItem parse(String content) throws Exception {
+        return deserializationService.deserializeToNodeItem(content, OscalFormat.JSON, OscalModelType.CATALOG);
+    }
+
+    private static List<String> messages(List<ValidationError> errors) {
+        return errors.stream().map(ValidationError::getMessage).sorted().collect(Collectors.toList());
+    }
+
+    private static String catalog(int groups, String partyType) {
+        StringBuilder json = new StringBuilder();
+        json.append("{\"catalog\":{\"uuid\":\"74c8ba1e-5cd4-4ad1-bbfd-d888e2f6c724\",")
+            .append("\"metadata\":{\"title\":\"Partitioned Catalog\",\"last-modified\":\"2023-01-01T00:00:00.000Z\",")
+            .append("\"version\":\"1.0\",\"oscal-version\":\"1.0.4\",")
+            .append("\"parties\":[{\"uuid\":\"3b2a5599-cc37-403f-ae36-5708fa804b27\",\"type\":\"")
+            .append(partyType).append("\"}]},\"groups\":[");
+        for (int i = 1; i <= groups; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            json.append("{\"id\":\"g-").append(i).append("\",\"title\":\"Group ").append(i).append("\",\"controls\":[")
+                .append("{\"id\":\"c-").append(i).append("-1\",\"title\":\"Control ").append(i).append(".1\"}]}");
+        }
+        return json.append("]}}").toString();
+    }
+}
@@ -0,0 +1,148 @@
+package gov.nist.oscal.tools.api.service;
+
+import gov.nist.oscal.tools.api.repository.ContentBlobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContentStoreTest {
+
+    private static final String CONTENT = "{\"catalog\": {\"uuid\": \"abc\"}}";
+
+    @Mock
+    private StorageService storageService;
+
+    @Mock
+    private ContentBlobRepository blobRepository;
+
+    private ContentStore contentStore;
+    private String digest;
+    private String key;
+
+    @BeforeEach
+    void setUp() {
+        contentStore = new ContentStore(storageService, blobRepository, new StorageReadCache(false, 0, null, 0, null), 60, 100);
+        digest = ContentStore.digest(CONTENT.getBytes(StandardCharsets.UTF_8));
+        key = ContentStore.blobKey(digest);
+    }
+
+    @Test
+    void testBlobKey_isShardedByDigestPrefix() {
+        assertEquals(64, digest.length());
+        assertEquals("blobs/sha256/" + digest.substring(0, 2) + "/" + digest, key);
+    }
+
+    @Test
+    void testStore_newContent_uploadsOnce() {
+        when(blobRepository.acquire(digest)).thenReturn(0);
+        when(blobRepository.insertReferenced(eq(digest), eq((long) CONTENT.length()), any())).thenReturn(1);
+
+        assertEquals(digest, contentStore.store(CONTENT));
+
+        verify(storageService).uploadObject(key, CONTENT, Map.of("sha256", digest));
+        verify(storageService, never()).componentExists(anyString());
+    }
+
+    @Test
+    void testStore_existingContent_addsReferenceWithoutUpload() {
+        when(blobRepository.acquire(digest)).thenReturn(1);
+        when(storageService.componentExists(key)).thenReturn(true);
+
+        assertEquals(digest, contentStore.store(CONTENT));
+
+        verify(storageService, never()).uploadObject(anyString(), anyString(), anyMap());
+        verify(blobRepository, never()).insertReferenced(anyString(), anyLong(), any());
+    }
+
+    @Test
+    void testStore_existingRecordWithMissingContent_uploadsAgain() {
+        when(blobRepository.acquire(digest)).thenReturn(1);
+        when(storageService.componentExists(key)).thenReturn(false);
+
+        contentStore.store(CONTENT);
+
+        verify(storageService).uploadObject(eq(key), eq(CONTENT), anyMap());
+    }
+
+    @Test
+    void testStore_concurrentInsert_retriesAndReferencesExisting() {
+        when(blobRepository.acquire(digest)).thenReturn(0, 1);
+        when(blobRepository.insertReferenced(anyString(), anyLong(), any()))
+            .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(storageService.componentExists(key)).thenReturn(true);
+
+        assertEquals(digest, contentStore.store(CONTENT));
+
+        verify(blobRepository, times(2)).acquire(digest);
+        verify(storageService, never()).uploadObject(anyString(), anyString(), anyMap());
+    }
+
+    @Test
+    void testStore_uploadFailure_releasesReference() {
+        when(blobRepository.acquire(digest)).thenReturn(0);
+        when(blobRepository.insertReferenced(anyString(), anyLong(), any())).thenReturn(1);
+        when(storageService.uploadObject(anyString(), anyString(), anyMap()))
+            .thenThrow(new RuntimeException("Storage unavailable"));
+        when(blobRepository.release(eq(digest), any())).thenReturn(1);
+
+        assertThrows(RuntimeException.class, () -> contentStore.store(CONTENT));
+
+        verify(blobRepository).release(eq(digest), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testLoad_readsBlob() {
+        when(storageService.downloadComponent(key)).thenReturn(CONTENT);
+
+        assertEquals(CONTENT, contentStore.load(digest));
+    }
+
+    @Test
+    void testSweepOrphans_deletesClaimedBlobs() {
+        when(blobRepository.findOrphanedBefore(any(), any(Pageable.class))).thenReturn(List.of(digest));
+        when(blobRepository.claimForDeletion(eq(digest), any())).thenReturn(1);
+        when(storageService.deleteComponent(key)).thenReturn(true);
+
+        assertEquals(1, contentStore.sweepOrphans());
+
+        verify(blobRepository).deleteById(digest);
+    }
+
+    @Test
+    void testSweepOrphans_skipsBlobReferencedAgain() {
+        when(blobRepository.findOrphanedBefore(any(), any(Pageable.class))).thenReturn(List.of(digest));
+        when(blobRepository.claimForDeletion(eq(digest), any())).thenReturn(0);
+
+        assertEquals(0, contentStore.sweepOrphans());
+
+        verify(storageService, never()).deleteComponent(anyString());
+        verify(blobRepository, never()).deleteById(anyString());
+    }
+
+    @Test
+    void testSweepOrphans_failedDeleteUnclaims() {
+        when(blobRepository.findOrphanedBefore(any(), any(Pageable.class))).thenReturn(List.of(digest));
+        when(blobRepository.claimForDeletion(eq(digest), any())).thenReturn(1);
+        when(storageService.deleteComponent(key)).thenReturn(false);
+        when(storageService.componentExists(key)).thenReturn(true);
+
+        assertEquals(0, contentStore.sweepOrphans());
+
+        verify(blobRepository).unclaim(digest);
+        verify(blobRepository, never()).deleteById(anyString());
+    }
+}
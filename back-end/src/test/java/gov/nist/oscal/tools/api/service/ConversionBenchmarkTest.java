@@ -0,0 +1,125 @@
+package gov.nist.oscal.tools.api.service;
+
+import gov.nist.oscal.tools.api.model.ConversionRequest;
+import gov.nist.oscal.tools.api.model.ConversionResult;
+import gov.nist.oscal.tools.api.model.OscalFormat;
+import gov.nist.oscal.tools.api.model.OscalModelType;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Throughput of JSON <-> YAML conversion on the transcoding fast path versus the bound path
+ *
+ * Disabled by default. Run with a NIST SP 800-53 rev5 catalog (JSON, from usnistgov/oscal-content):
+ *
+ *   mvn test -Dtest=ConversionBenchmarkTest -Dbenchmark=true \
+ *       -Dbenchmark.catalog=/path/to/NIST_SP-800-53_rev5_catalog.json
+ *
+ * Without benchmark.catalog a synthetic catalog of similar shape (20 families, ~1,200 controls)
+ * is generated.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ConversionBenchmarkTest {
+
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURED_ITERATIONS = 10;
+
+    private static String catalogJson;
+    private static String catalogYaml;
+
+    @BeforeAll
+    static void loadCatalog() throws Exception {
+        String path = System.getProperty("benchmark.catalog");
+        catalogJson = path != null
+            ? Files.readString(Path.of(path), StandardCharsets.UTF_8)
+            : syntheticCatalog();
+        catalogYaml = newService(true).convert(request(catalogJson, OscalFormat.JSON, OscalFormat.YAML), "bench")
+            .getContent();
+    }
+
+    @Test
+    void benchmarkJsonToYaml() {
+        run("JSON -> YAML", catalogJson, OscalFormat.JSON, OscalFormat.YAML);
+    }
+
+    @Test
+    void benchmarkYamlToJson() {
+        run("YAML -> JSON", catalogYaml, OscalFormat.YAML, OscalFormat.JSON);
+    }
+
+    private static void run(String label, String content, OscalFormat from, OscalFormat to) {
+        double fastPath = measure(newService(true), content, from, to);
+        double boundPath = measure(newService(false), content, from, to);
+        System.out.printf("%s (%.1f MB): fast path %.1f MB/s, bound path %.1f MB/s (%.1fx)%n",
+            label, content.length() / 1e6, fastPath, boundPath, fastPath / boundPath);
+    }
+
+    private static double measure(ConversionService service, String content, OscalFormat from, OscalFormat to) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            convert(service, content, from, to);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            convert(service, content, from, to);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return content.length() * (double) MEASURED_ITERATIONS / 1e6 / seconds;
+    }
+
+    private static void convert(ConversionService service, String content, OscalFormat from, OscalFormat to) {
+        ConversionResult result = service.convert(request(content, from, to), "bench");
+        assertTrue(result.isSuccess(), result::getError);
+    }
+
+    private static ConversionService newService(boolean fastPath) {
+        return new ConversionService(mock(HistoryService.class), mock(FileStorageService.class),
+            TestServices.deserializationService(), new OscalDocumentDetector(), TestServices.admissionControl(),
+            fastPath, true, 0, 60000);
+    }
+
+    private static ConversionRequest request(String content, OscalFormat from, OscalFormat to) {
+        ConversionRequest request = new ConversionRequest();
+        request.setContent(content);
+        request.setModelType(OscalModelType.CATALOG);
+        request.setFromFormat(from);
+        request.setToFormat(to);
+        return request;
+    }
+
+    private static String syntheticCatalog() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\"catalog\":{\"uuid\":\"74c8ba1e-5cd4-4ad1-bbfd-d888e2f6c724\",\"metadata\":{")
+            .append("\"title\":\"Synthetic Catalog\",\"last-modified\":\"2024-01-01T00:00:00.000Z\",")
+            .append("\"version\":\"5.1.1\",\"oscal-version\":\"1.1.2\"},\"groups\":[");
+        for (int family = 0; family < 20; family++) {
+            String familyId = "f" + (char) ('a' + family);
+            json.append(family > 0 ? "," : "").append("{\"id\":\"").append(familyId)
+                .append("\",\"class\":\"family\",\"title\":\"Family ").append(family).append("\",\"controls\":[");
+            for (int control = 1; control <= 60; control++) {
+                String controlId = familyId + "-" + control;
+                json.append(control > 1 ? "," : "").append("{\"id\":\"").append(controlId)
+                    .append("\",\"class\":\"SP800-53\",\"title\":\"Control ").append(controlId).append("\",")
+                    .append("\"params\":[{\"id\":\"").append(controlId).append("_odp\",\"label\":\"frequency\"}],")
+                    .append("\"props\":[{\"name\":\"label\",\"value\":\"").append(controlId.toUpperCase())
+                    .append("\"}],\"parts\":[{\"id\":\"").append(controlId).append("_smt\",\"name\":\"statement\",")
+                    .append("\"prose\":\"The organization develops, documents, and disseminates to personnel ")
+                    .append("a policy that addresses purpose, scope, roles, responsibilities, management ")
+                    .append("commitment, coordination among organizational entities, and compliance.\"},")
+                    .append("{\"id\":\"").append(controlId).append("_gdn\",\"name\":\"guidance\",")
+                    .append("\"prose\":\"Policies and procedures contribute to security and privacy assurance ")
+                    .append("and should address the unique security and privacy requirements of the ")
+                    .append("organization and its systems.\"}]}");
+            }
+            json.append("]}");
+        }
+        return json.append("]}}").toString();
+    }
+}
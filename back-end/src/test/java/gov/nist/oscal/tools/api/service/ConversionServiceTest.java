@@ -8,8 +8,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -50,7 +60,8 @@ class ConversionServiceTest {
 
     @BeforeEach
     void setUp() {
-        conversionService = new ConversionService(historyService, fileStorageService);
+        conversionService = TestServices.conversionService(historyService, fileStorageService,
+            TestServices.deserializationService());
     }
 
     @Test
@@ -342,6 +353,40 @@ class ConversionServiceTest {
         assertNotNull(result.getError());
     }
 
+    @Test
+    void testConvertDetectsOmittedSourceFormatAndModelType() {
+        // Arrange
+        ConversionRequest request = new ConversionRequest();
+        request.setContent(VALID_CATALOG_XML);
+        request.setToFormat(OscalFormat.JSON);
+
+        // Act
+        ConversionResult result = conversionService.convert(request, "testuser");
+
+        // Assert
+        assertTrue(result.isSuccess(), () -> "Conversion failed: " + result.getError());
+        assertEquals(OscalFormat.XML, result.getFromFormat());
+        assertTrue(result.getContent().contains("\"catalog\""));
+    }
+
+    @Test
+    void testConvertWrongSourceFormatRejected() {
+        // Arrange
+        ConversionRequest request = new ConversionRequest();
+        request.setContent(VALID_CATALOG_XML);
+        request.setModelType(OscalModelType.CATALOG);
+        request.setFromFormat(OscalFormat.JSON);
+        request.setToFormat(OscalFormat.YAML);
+
+        // Act
+        ConversionResult result = conversionService.convert(request, "testuser");
+
+        // Assert
+        assertFalse(result.isSuccess());
+        assertTrue(result.getError().contains("XML"));
+        verify(fileStorageService, never()).saveFile(anyString(), anyString(), any(), any(), anyString());
+    }
+
     @Test
     void testConvertSameFormat() {
         // Arrange - converting from JSON to JSON
@@ -590,4 +635,324 @@ class ConversionServiceTest {
         assertNotNull(result.getContent());
         assertTrue(result.getContent().contains("catalog:"));
     }
+
+    @Test
+    void testConvertJsonToYamlTranscodedWithoutBinding() throws Exception {
+        // Arrange
+        OscalDeserializationService deserializer = mock(OscalDeserializationService.class);
+        ConversionService service = TestServices.conversionService(historyService, fileStorageService, deserializer);
+
+        ConversionRequest request = new ConversionRequest();
+        request.setContent(VALID_CATALOG_JSON);
+        request.setFromFormat(OscalFormat.JSON);
+        request.setToFormat(OscalFormat.YAML);
+
+        // Act
+        ConversionResult result = service.convert(request, "testuser");
+
+        // Assert
+        assertTrue(result.isSuccess());
+        assertTrue(result.getContent().contains("catalog:"));
+        assertTrue(result.getContent().contains("version: \"1.0\""));
+        verifyNoInteractions(deserializer);
+    }
+
+    @Test
+    void testConvertYamlWithUntypedScalarsUsesBoundPath() {
+        // Arrange - unquoted 1.0 is only known to be a string by the model
+        String yaml =
+            "catalog:\n" +
+            "  uuid: 74c8ba1e-5cd4-4ad1-bbfd-d888e2f6c724\n" +
+            "  metadata:\n" +
+            "    title: Sample Security Catalog\n" +
+            "    last-modified: 2023-01-01T00:00:00.000Z\n" +
+            "    version: 1.0\n" +
+            "    oscal-version: 1.0.4\n";
+
+        ConversionRequest request = new ConversionRequest();
+        request.setContent(yaml);
+        request.setFromFormat(OscalFormat.YAML);
+        request.setToFormat(OscalFormat.JSON);
+
+        // Act
+        ConversionResult result = conversionService.convert(request, "testuser");
+
+        // Assert
+        assertTrue(result.isSuccess());
+        assertTrue(result.getContent().contains("\"catalog\""));
+    }
+
+    @Test
+    void testConvertFastPathRejectsDuplicateKeys() {
+        // Arrange
+        ConversionRequest request = new ConversionRequest();
+        request.setContent("{\"catalog\": {\"uuid\": \"x\", \"uuid\": \"y\"}}");
+        request.setFromFormat(OscalFormat.JSON);
+        request.setToFormat(OscalFormat.YAML);
+
+        // Act
+        ConversionResult result = conversionService.convert(request, "testuser");
+
+        // Assert
+        assertFalse(result.isSuccess());
+        assertTrue(result.getError().contains("uuid"));
+    }
+
+    @Test
+    void testConvertFastPathDisabledUsesBinding() throws Exception {
+        // Arrange
+        OscalDeserializationService deserializer = mock(OscalDeserializationService.class);
+        ConversionService service = new ConversionService(historyService, fileStorageService, deserializer,
+            new OscalDocumentDetector(), TestServices.admissionControl(), false, true, 0, 60000);
+
+        ConversionRequest request = new ConversionRequest();
+        request.setContent(VALID_CATALOG_JSON);
+        request.setFromFormat(OscalFormat.JSON);
+        request.setToFormat(OscalFormat.YAML);
+
+        // Act
+        service.convert(request, "testuser");
+
+        // Assert
+        verify(deserializer).deserialize(VALID_CATALOG_JSON, OscalFormat.JSON, OscalModelType.CATALOG);
+    }
+
+    @Test
+    void testConvertStreamJsonToYamlWritesToOutput() throws Exception {
+        // Arrange
+        OscalDeserializationService deserializer = mock(OscalDeserializationService.class);
+        ConversionService service = TestServices.conversionService(historyService, fileStorageService, deserializer);
+        byte[] source = VALID_CATALOG_JSON.getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        StreamedConversion conversion = service.convertStream(new ByteArrayInputStream(source), source.length,
+            null, OscalFormat.YAML, null, "catalog.json", "testuser");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        conversion.writeTo(output);
+
+        // Assert
+        assertTrue(conversion.isSuccess());
+        assertEquals("catalog.yaml", conversion.getFileName());
+        assertEquals(OscalFormat.JSON, conversion.getResult().getFromFormat());
+        String yaml = output.toString(StandardCharsets.UTF_8);
+        assertTrue(yaml.contains("catalog:"));
+        assertTrue(yaml.contains("version: \"1.0\""));
+        verify(deserializer, never()).deserialize(any(InputStream.class), anyLong(), any(), any());
+    }
+
+    @Test
+    void testConvertStreamInvalidDocumentFailsBeforeOutput() {
+        // Arrange
+        byte[] source = "{\"catalog\": {\"uuid\": \"x\", \"uuid\": \"y\"}}".getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        StreamedConversion conversion = conversionService.convertStream(new ByteArrayInputStream(source),
+            source.length, OscalFormat.JSON, OscalFormat.YAML, null, null, "testuser");
+
+        // Assert
+        assertFalse(conversion.isSuccess());
+        assertTrue(conversion.getResult().getError().contains("uuid"));
+        assertThrows(IllegalStateException.class, () -> conversion.writeTo(new ByteArrayOutputStream()));
+    }
+
+    @Test
+    void testConvertStreamNeverWrittenIsReleasedAfterTimeout() throws Exception {
+        // Arrange
+        AdmissionControlService admission = TestServices.admissionControl(1024 * 1024, 0, 0, 1);
+        ConversionService service = new ConversionService(historyService, fileStorageService,
+            TestServices.deserializationService(), new OscalDocumentDetector(), admission, true, true, 0, 50);
+        byte[] source = VALID_CATALOG_JSON.getBytes(StandardCharsets.UTF_8);
+
+        try {
+            // Act
+            StreamedConversion conversion = service.convertStream(new ByteArrayInputStream(source), source.length,
+                OscalFormat.JSON, OscalFormat.YAML, null, null, "testuser");
+            assertTrue(conversion.isSuccess());
+            assertEquals(source.length, admission.getInFlightBytes());
+
+            // Assert
+            long deadline = System.currentTimeMillis() + 5000;
+            while (admission.getInFlightBytes() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, admission.getInFlightBytes());
+            assertThrows(IllegalStateException.class, () -> conversion.writeTo(new ByteArrayOutputStream()));
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void testConvertStreamWrittenIsDequeuedFromAbandonTimer() throws Exception {
+        // Arrange
+        ConversionService service = new ConversionService(historyService, fileStorageService,
+            TestServices.deserializationService(), new OscalDocumentDetector(), TestServices.admissionControl(),
+            true, true, 0, 60000);
+        byte[] source = VALID_CATALOG_JSON.getBytes(StandardCharsets.UTF_8);
+
+        try {
+            StreamedConversion conversion = service.convertStream(new ByteArrayInputStream(source), source.length,
+                OscalFormat.JSON, OscalFormat.YAML, null, null, "testuser");
+            assertEquals(1, service.getPendingStreamCount());
+
+            // Act
+            conversion.writeTo(new ByteArrayOutputStream());
+
+            // Assert: the timer no longer holds the written conversion
+            assertEquals(0, service.getPendingStreamCount());
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void testStreamedConversionClosedWhileWritingReleasesAfterWrite() throws Exception {
+        // Arrange
+        AtomicInteger released = new AtomicInteger();
+        StreamedConversion[] holder = new StreamedConversion[1];
+        holder[0] = new StreamedConversion(new ConversionResult(true, null, OscalFormat.JSON, OscalFormat.YAML),
+            "catalog.yaml", output -> {
+                // A request completion or timeout arriving mid-write must not release the source
+                holder[0].close();
+                assertEquals(0, released.get());
+                output.write('x');
+            }, released::incrementAndGet);
+
+        // Act
+        holder[0].writeTo(new ByteArrayOutputStream());
+        holder[0].close();
+
+        // Assert
+        assertEquals(1, released.get());
+    }
+
+    @Test
+    void testConvertMultiParsesOnceForAllBoundTargets() throws Exception {
+        // Arrange
+        OscalDeserializationService deserializer = spy(TestServices.deserializationService());
+        ConversionService service = TestServices.conversionService(historyService, fileStorageService, deserializer);
+
+        MultiConversionRequest request = new MultiConversionRequest();
+        request.setContent(VALID_CATALOG_XML);
+        request.setToFormats(EnumSet.of(OscalFormat.JSON, OscalFormat.YAML));
+        request.setFileName("catalog.xml");
+
+        // Act
+        MultiConversionResult result = service.convertMulti(request, "testuser");
+
+        // Assert
+        assertTrue(result.isSuccess());
+        assertEquals(2, result.getResults().size());
+        assertTrue(result.getResults().get(0).getContent().contains("\"catalog\""));
+        assertTrue(result.getResults().get(1).getContent().contains("catalog:"));
+        verify(deserializer, times(1)).deserialize(VALID_CATALOG_XML, OscalFormat.XML, OscalModelType.CATALOG);
+        verify(fileStorageService).saveFile(VALID_CATALOG_XML, "catalog.xml", OscalModelType.CATALOG,
+            OscalFormat.XML, "testuser");
+        verify(historyService, times(2)).saveOperation(any(OperationHistory.class));
+        service.shutdown();
+    }
+
+    @Test
+    void testConvertMultiStreamWritesEachTargetAfterParsingOnce() throws Exception {
+        // Arrange
+        OscalDeserializationService deserializer = spy(TestServices.deserializationService());
+        ConversionService service = TestServices.conversionService(historyService, fileStorageService, deserializer);
+
+        MultiConversionRequest request = new MultiConversionRequest();
+        request.setContent(VALID_CATALOG_XML);
+        request.setToFormats(EnumSet.of(OscalFormat.JSON, OscalFormat.YAML));
+
+        try {
+            // Act
+            StreamedMultiConversion conversion = service.convertMultiStream(request, "testuser");
+            Map<OscalFormat, String> written = new EnumMap<>(OscalFormat.class);
+            conversion.writeTo((format, body) -> {
+                ByteArrayOutputStream output = new ByteArrayOutputStream();
+                body.write(output);
+                written.put(format, output.toString(StandardCharsets.UTF_8));
+            });
+
+            // Assert
+            assertTrue(conversion.isSuccess());
+            assertTrue(written.get(OscalFormat.JSON).contains("\"catalog\""));
+            assertTrue(written.get(OscalFormat.YAML).contains("catalog:"));
+            verify(deserializer, times(1)).deserialize(VALID_CATALOG_XML, OscalFormat.XML, OscalModelType.CATALOG);
+            verify(historyService, times(2)).saveOperation(any(OperationHistory.class));
+            assertEquals(0, service.getPendingStreamCount());
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void testConvertMultiStreamReportsBindFailureBeforeOutput() throws Exception {
+        // Arrange
+        OscalDeserializationService deserializer = mock(OscalDeserializationService.class);
+        when(deserializer.deserialize(anyString(), any(OscalFormat.class), any(OscalModelType.class))).thenThrow(new java.io.IOException("bad model"));
+        ConversionService service = TestServices.conversionService(historyService, fileStorageService, deserializer);
+
+        MultiConversionRequest request = new MultiConversionRequest();
+        request.setContent(VALID_CATALOG_JSON);
+        request.setToFormats(EnumSet.of(OscalFormat.XML, OscalFormat.YAML));
+
+        try {
+            // Act
+            StreamedMultiConversion conversion = service.convertMultiStream(request, "testuser");
+
+            // Assert
+            assertFalse(conversion.isSuccess());
+            assertEquals("Conversion failed: bad model", conversion.getResult().getError());
+            assertThrows(IllegalStateException.class, () -> conversion.writeTo((format, body) -> { }));
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void testConvertMultiTranscodesWithoutBinding() throws Exception {
+        // Arrange
+        OscalDeserializationService deserializer = mock(OscalDeserializationService.class);
+        ConversionService service = TestServices.conversionService(historyService, fileStorageService, deserializer);
+
+        MultiConversionRequest request = new MultiConversionRequest();
+        request.setContent(VALID_CATALOG_JSON);
+        request.setToFormats(EnumSet.of(OscalFormat.YAML));
+
+        // Act
+        MultiConversionResult result = service.convertMulti(request, "testuser");
+
+        // Assert
+        assertTrue(result.isSuccess());
+        assertEquals(OscalFormat.JSON, result.getFromFormat());
+        assertEquals(OscalModelType.CATALOG, result.getModelType());
+        assertTrue(result.getResults().get(0).getContent().contains("catalog:"));
+        verifyNoInteractions(deserializer);
+        service.shutdown();
+    }
+
+    @Test
+    void testConvertMultiReportsEachTargetIndependently() throws Exception {
+        // Arrange
+        OscalDeserializationService deserializer = mock(OscalDeserializationService.class);
+        when(deserializer.deserialize(anyString(), any(OscalFormat.class), any(OscalModelType.class))).thenThrow(new java.io.IOException("bad model"));
+        ConversionService service = TestServices.conversionService(historyService, fileStorageService, deserializer);
+
+        MultiConversionRequest request = new MultiConversionRequest();
+        request.setContent(VALID_CATALOG_JSON);
+        request.setToFormats(EnumSet.of(OscalFormat.XML, OscalFormat.YAML));
+
+        // Act
+        MultiConversionResult result = service.convertMulti(request, "testuser");
+
+        // Assert
+        assertFalse(result.isSuccess());
+        assertEquals("Conversion failed: bad model", result.getError());
+        ConversionResult xml = result.getResults().get(0);
+        ConversionResult yaml = result.getResults().get(1);
+        assertEquals(OscalFormat.XML, xml.getToFormat());
+        assertFalse(xml.isSuccess());
+        assertEquals(OscalFormat.YAML, yaml.getToFormat());
+        assertTrue(yaml.isSuccess());
+        service.shutdown();
+    }
 }
@@ -0,0 +1,255 @@
+package gov.nist.oscal.tools.api.service;
+
+import gov.nist.oscal.tools.api.entity.CustomValidationRule;
+import gov.nist.oscal.tools.api.model.OscalFormat;
+import gov.nist.oscal.tools.api.model.OscalModelType;
+import gov.nist.oscal.tools.api.model.ValidationError;
+import gov.nist.oscal.tools.api.repository.CustomValidationRuleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomRuleEngineTest {
+
+    @Mock
+    private CustomValidationRuleRepository repository;
+
+    private OscalDeserializationService deserializationService;
+
+    private CustomRuleEngine engine;
+
+    private static final String CATALOG_JSON =
+        "{\"catalog\":{\"uuid\":\"74c8ba1e-5cd4-4ad1-bbfd-d888e2f6c724\"," +
+        "\"metadata\":{\"title\":\"Sample Catalog\",\"version\":\"1.0\"}," +
+        "\"groups\":[{\"id\":\"ac\",\"title\":\"Access Control\",\"controls\":[" +
+        "{\"id\":\"ac-1\",\"title\":\"Policy\"},{\"id\":\"AC_2\"}]}]}}";
+
+    private static final String CATALOG_XML =
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+        "<catalog xmlns=\"http://csrc.nist.gov/ns/oscal/1.0\" uuid=\"74c8ba1e-5cd4-4ad1-bbfd-d888e2f6c724\">\n" +
+        "  <metadata><title>Sample Catalog</title><last-modified>2023-01-01T00:00:00.000Z</last-modified>" +
+        "<version>1.0</version><oscal-version>1.1.2</oscal-version></metadata>\n" +
+        "  <group id=\"ac\"><title>Access Control</title>\n" +
+        "    <control id=\"ac-1\"><title>Policy</title></control>\n" +
+        "    <control id=\"AC_2\"/>\n" +
+        "  </group>\n" +
+        "</catalog>";
+
+    @BeforeEach
+    void setUp() {
+        deserializationService = TestServices.deserializationService();
+        engine = new CustomRuleEngine(repository, deserializationService, 300);
+    }
+
+    @Test
+    void testRequiredFieldPresent() throws Exception {
+        givenRules(rule("r-1", "required-field", "/metadata/title", null, "error"));
+
+        List<ValidationError> findings = engine.evaluate(CATALOG_JSON, null, OscalFormat.JSON, OscalModelType.CATALOG);
+
+        assertTrue(findings.isEmpty());
+    }
+
+    @Test
+    void testRequiredFieldCheckedOnEveryOccurrence() throws Exception {
+        givenRules(rule("r-1", "required-field", "/groups/controls/title", null, "warning"));
+
+        List<ValidationError> findings = engine.evaluate(CATALOG_JSON, null, OscalFormat.JSON, OscalModelType.CATALOG);
+
+        assertEquals(1, findings.size());
+        assertEquals("warning", findings.get(0).getSeverity());
+        assertEquals("/groups/controls", findings.get(0).getPath());
+        assertTrue(findings.get(0).getMessage().startsWith("[r-1]"));
+    }
+
+    @Test
+    void testPatternMatchAcceptsJsonPathStyleFieldPath() throws Exception {
+        givenRules(rule("r-1", "pattern-match", "$.catalog.groups[*].controls[*].id", "[a-z]{2}-\\d+", "ERROR"));
+
+        List<ValidationError> findings = engine.evaluate(CATALOG_JSON, null, OscalFormat.JSON, OscalModelType.CATALOG);
+
+        assertEquals(1, findings.size());
+        assertEquals("error", findings.get(0).getSeverity());
+        assertTrue(findings.get(0).getMessage().contains("AC_2"));
+    }
+
+    @Test
+    void testSimpleAndFilteredJsonPathRules() throws Exception {
+        givenRules(
+            rule("r-1", "jsonpath", null, "$.catalog.metadata.version", "error"),
+            rule("r-2", "jsonpath", null, "$.catalog.back-matter", "error"),
+            rule("r-3", "JSONPATH", null, "$..controls[?(@.id == 'ac-1')]", "error"),
+            rule("r-4", "jsonpath", null, "$..controls[?(@.id == 'ac-99')]", "error"));
+
+        List<ValidationError> findings = engine.evaluate(CATALOG_JSON, null, OscalFormat.JSON, OscalModelType.CATALOG);
+
+        assertEquals(List.of("r-2", "r-4"), ruleIds(findings));
+    }
+
+    @Test
+    void testSimpleXPathRuleAppliesToJsonDocuments() throws Exception {
+        givenRules(
+            rule("r-1", "xpath", null, "/catalog/metadata/title", "error"),
+            rule("r-2", "xpath", null, "/catalog/metadata/@oscal-version", "error"));
+
+        List<ValidationError> findings = engine.evaluate(CATALOG_JSON, null, OscalFormat.JSON, OscalModelType.CATALOG);
+
+        assertEquals(List.of("r-2"), ruleIds(findings));
+    }
+
+    @Test
+    void testRulesEvaluatedAgainstXmlDocuments() throws Exception {
+        // Rules use the JSON model's names whatever the format
+        givenRules(
+            rule("r-1", "required-field", "/groups/controls/title", null, "error"),
+            rule("r-2", "pattern-match", "/groups/controls/id", "[a-z]{2}-\\d+", "error"),
+            rule("r-3", "xpath", null, "count(//control) = 2", "error"),
+            rule("r-4", "xpath", null, "//control[@id = 'ac-99']", "warning"),
+            rule("r-5", "jsonpath", null, "$.groups[0].controls[?(@.id == 'ac-1')]", "error"));
+
+        List<ValidationError> findings = engine.evaluate(CATALOG_XML, bind(CATALOG_XML, OscalFormat.XML),
+            OscalFormat.XML, OscalModelType.CATALOG);
+
+        assertEquals(List.of("r-1", "r-2", "r-4"), ruleIds(findings));
+    }
+
+    @Test
+    void testSameRulesGiveSameFindingsForJsonAndXml() throws Exception {
+        givenRules(
+            rule("r-1", "required-field", "/groups/controls/title", null, "error"),
+            rule("r-2", "jsonpath", null, "$.catalog.groups[*].controls[?(@.id == 'AC_2')]", "error"),
+            rule("r-3", "jsonpath", null, "$.metadata.title", "error"),
+            rule("r-4", "jsonpath", null, "$..controls[?(@.id == 'ac-99')]", "error"));
+
+        List<ValidationError> json = engine.evaluate(CATALOG_JSON, null, OscalFormat.JSON, OscalModelType.CATALOG);
+        List<ValidationError> xml = engine.evaluate(CATALOG_XML, bind(CATALOG_XML, OscalFormat.XML),
+            OscalFormat.XML, OscalModelType.CATALOG);
+
+        assertEquals(List.of("r-1", "r-4"), ruleIds(json));
+        assertEquals(ruleIds(json), ruleIds(xml));
+    }
+
+    @Test
+    void testStreamedDocumentReadFromBoundDocument() throws Exception {
+        givenRules(rule("r-1", "pattern-match", "/groups/controls/id", "[a-z]{2}-\\d+", "error"));
+
+        List<ValidationError> findings = engine.evaluate(null, bind(CATALOG_XML, OscalFormat.XML),
+            OscalFormat.XML, OscalModelType.CATALOG);
+
+        assertEquals(List.of("r-1"), ruleIds(findings));
+    }
+
+    @Test
+    void testInvalidExpressionReportedAsWarning() throws Exception {
+        givenRules(rule("r-1", "pattern-match", "/metadata/title", "([unclosed", "error"));
+
+        List<ValidationError> findings = engine.evaluate(CATALOG_JSON, null, OscalFormat.JSON, OscalModelType.CATALOG);
+
+        assertEquals(1, findings.size());
+        assertEquals("warning", findings.get(0).getSeverity());
+        assertTrue(findings.get(0).getMessage().contains("could not be compiled"));
+    }
+
+    @Test
+    void testRulesForOtherModelTypesIgnored() {
+        CustomValidationRule sspOnly = rule("r-1", "required-field", "/back-matter", null, "error");
+        sspOnly.setApplicableModelTypes("system-security-plan");
+        givenRules(sspOnly);
+
+        assertTrue(engine.getRuleSet(OscalModelType.CATALOG).isEmpty());
+    }
+
+    @Test
+    void testRuleSetCompiledOnceUntilInvalidated() throws Exception {
+        givenRules(rule("r-1", "required-field", "/metadata/title", null, "error"));
+
+        engine.evaluate(CATALOG_JSON, null, OscalFormat.JSON, OscalModelType.CATALOG);
+        String fingerprint = engine.getRuleSet(OscalModelType.CATALOG).getFingerprint();
+        engine.evaluate(CATALOG_JSON, null, OscalFormat.JSON, OscalModelType.CATALOG);
+        verify(repository, times(1)).findEnabledRulesForModelType("catalog");
+
+        CustomValidationRule changed = rule("r-1", "required-field", "/metadata/remarks", null, "error");
+        changed.setUpdatedDate(changed.getUpdatedDate().plusMinutes(1));
+        givenRules(changed);
+        engine.invalidate();
+
+        List<ValidationError> findings = engine.evaluate(CATALOG_JSON, null, OscalFormat.JSON, OscalModelType.CATALOG);
+        assertEquals(1, findings.size());
+        assertNotEquals(fingerprint, engine.getRuleSet(OscalModelType.CATALOG).getFingerprint());
+        verify(repository, times(2)).findEnabledRulesForModelType("catalog");
+    }
+
+    @Test
+    void testHundredsOfRulesEvaluatedInOnePass() throws Exception {
+        List<CustomValidationRule> rules = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            rules.add(rule(String.format("r-%03d", i), "pattern-match", "/groups/controls/id", "ac-\\d+", "error"));
+        }
+        givenRules(rules.toArray(new CustomValidationRule[0]));
+
+        List<ValidationError> findings = engine.evaluate(CATALOG_JSON, null, OscalFormat.JSON, OscalModelType.CATALOG);
+
+        // Every rule flags the one non-conforming control id
+        assertEquals(300, findings.size());
+        assertEquals(300, engine.getRuleSet(OscalModelType.CATALOG).getRuleCount());
+    }
+
+    @Test
+    void testNoRulesSkipsParsing() throws Exception {
+        when(repository.findEnabledRulesForModelType(anyString())).thenReturn(List.of());
+
+        assertTrue(engine.evaluate("not even json", null, OscalFormat.JSON, OscalModelType.CATALOG).isEmpty());
+    }
+
+    @Test
+    void testNormalizePath() {
+        assertEquals("/metadata/title", CustomRuleEngine.normalizePath("/catalog/metadata/title", "catalog"));
+        assertEquals("/metadata/title", CustomRuleEngine.normalizePath("metadata/title", "catalog"));
+        assertEquals("/metadata/title", CustomRuleEngine.normalizePath("$.metadata.title", "catalog"));
+        assertEquals("/groups/controls/id", CustomRuleEngine.normalizePath("$.catalog.groups[*].controls[*].id", "catalog"));
+        assertEquals("/metadata/id", CustomRuleEngine.normalizePath("/metadata/@id", "catalog"));
+    }
+
+    @Test
+    void testJsonPathRelativeToRoot() {
+        assertEquals("$.metadata.title", CustomRuleEngine.relativeToRoot("$.catalog.metadata.title", "catalog"));
+        assertEquals("$[*]", CustomRuleEngine.relativeToRoot("$.catalog[*]", "catalog"));
+        assertEquals("$..controls", CustomRuleEngine.relativeToRoot("$..controls", "catalog"));
+        assertEquals("$.catalogue", CustomRuleEngine.relativeToRoot("$.catalogue", "catalog"));
+    }
+
+    private Object bind(String content, OscalFormat format) throws Exception {
+        return deserializationService.deserialize(content, format, OscalModelType.CATALOG);
+    }
+
+    private void givenRules(CustomValidationRule... rules) {
+        when(repository.findEnabledRulesForModelType("catalog")).thenReturn(List.of(rules));
+    }
+
+    private static CustomValidationRule rule(String ruleId, String type, String fieldPath, String expression,
+                                             String severity) {
+        CustomValidationRule rule = new CustomValidationRule(ruleId, "Rule " + ruleId, null, type, severity);
+        rule.setFieldPath(fieldPath);
+        rule.setRuleExpression(expression);
+        rule.setApplicableModelTypes("catalog");
+        return rule;
+    }
+
+    private static List<String> ruleIds(List<ValidationError> findings) {
+        List<String> ids = new ArrayList<>();
+        for (ValidationError finding : findings) {
+            ids.add(finding.getMessage().substring(1, finding.getMessage().indexOf(']')));
+        }
+        return ids;
+    }
+}
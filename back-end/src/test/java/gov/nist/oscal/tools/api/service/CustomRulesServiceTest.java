@@ -34,6 +34,9 @@ class CustomRulesServiceTest {
     @Mock
     private CustomValidationRuleRepository repository;
 
+    @Mock
+    private CustomRuleEngine ruleEngine;
+
     @InjectMocks
     private CustomRulesService customRulesService;
 
@@ -259,6 +262,7 @@ class CustomRulesServiceTest {
         CustomValidationRule updated = captor.getValue();
         assertEquals("New Rule", updated.getName());
         assertEquals("catalog,profile", updated.getApplicableModelTypes());
+        verify(ruleEngine).invalidate();
     }
 
     @Test
@@ -274,6 +278,7 @@ class CustomRulesServiceTest {
 
         assertTrue(exception.getMessage().contains("Rule ID already exists"));
         verify(repository, never()).save(any());
+        verify(ruleEngine, never()).invalidate();
     }
 
     @Test
@@ -314,6 +319,7 @@ class CustomRulesServiceTest {
 
         verify(repository).existsById(1L);
         verify(repository).deleteById(1L);
+        verify(ruleEngine).invalidate();
     }
 
     @Test
@@ -345,6 +351,7 @@ class CustomRulesServiceTest {
 
         CustomValidationRule toggled = captor.getValue();
         assertFalse(toggled.getEnabled());
+        verify(ruleEngine).invalidate();
     }
 
     @Test
@@ -0,0 +1,85 @@
+package gov.nist.oscal.tools.api.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import gov.nist.oscal.tools.api.entity.AsyncJobEntity;
+import gov.nist.oscal.tools.api.model.Job;
+import gov.nist.oscal.tools.api.model.JobStatus;
+import gov.nist.oscal.tools.api.model.JobType;
+import gov.nist.oscal.tools.api.model.ValidationResult;
+import gov.nist.oscal.tools.api.repository.AsyncJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DatabaseJobStoreTest {
+
+    @Mock
+    private AsyncJobRepository repository;
+
+    private DatabaseJobStore jobStore;
+
+    @BeforeEach
+    void setUp() {
+        jobStore = new DatabaseJobStore(repository, new ObjectMapper().registerModule(new JavaTimeModule()), 60);
+    }
+
+    @Test
+    void testResultRoundTripsAsJson() {
+        Job job = new Job("job-1", JobType.VALIDATE, "alice");
+        job.setStatus(JobStatus.SUCCEEDED);
+        job.setResult(new ValidationResult(true));
+        job.setVersion(3);
+
+        jobStore.save(job);
+
+        ArgumentCaptor<AsyncJobEntity> saved = ArgumentCaptor.forClass(AsyncJobEntity.class);
+        verify(repository).save(saved.capture());
+        assertEquals("SUCCEEDED", saved.getValue().getStatus());
+        assertTrue(saved.getValue().getResult().contains("\"valid\":true"));
+
+        when(repository.findById("job-1")).thenReturn(Optional.of(saved.getValue()));
+        Job loaded = jobStore.findById("job-1").orElseThrow();
+
+        assertEquals(JobType.VALIDATE, loaded.getType());
+        assertEquals("alice", loaded.getUsername());
+        assertEquals(3, loaded.getVersion());
+        assertTrue(((JsonNode) loaded.getResult()).get("valid").asBoolean());
+    }
+
+    @Test
+    void testLongErrorTruncated() {
+        Job job = new Job("job-1", JobType.CONVERT, "alice");
+        job.setError("x".repeat(5000));
+
+        jobStore.save(job);
+
+        ArgumentCaptor<AsyncJobEntity> saved = ArgumentCaptor.forClass(AsyncJobEntity.class);
+        verify(repository).save(saved.capture());
+        assertEquals(2000, saved.getValue().getError().length());
+        assertNull(saved.getValue().getResult());
+    }
+
+    @Test
+    void testPurgeDeletesJobsOlderThanTtl() {
+        when(repository.deleteExpired(any(LocalDateTime.class))).thenReturn(2);
+
+        jobStore.purgeExpiredJobs();
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository).deleteExpired(cutoff.capture());
+        assertTrue(cutoff.getValue().isBefore(LocalDateTime.now().minusMinutes(59)));
+    }
+}
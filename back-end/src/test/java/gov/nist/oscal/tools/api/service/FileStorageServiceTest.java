@@ -6,6 +6,7 @@
 package gov.nist.oscal.tools.api.service;
 
 import com.azure.core.http.rest.PagedIterable;
+import com.azure.core.http.rest.PagedResponse;
 import com.azure.core.util.BinaryData;
 import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobContainerClient;
@@ -17,6 +18,9 @@ import com.azure.storage.blob.models.ListBlobsOptions;
 import gov.nist.oscal.tools.api.model.OscalFormat;
 import gov.nist.oscal.tools.api.model.OscalModelType;
 import gov.nist.oscal.tools.api.model.SavedFile;
+import gov.nist.oscal.tools.api.model.SavedFilePage;
+import gov.nist.oscal.tools.api.util.CompressionCodec;
+import gov.nist.oscal.tools.api.util.ContentHasher;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -59,7 +63,7 @@ class FileStorageServiceTest {
     @BeforeEach
     void setUp() {
         // Create a new service instance for each test
-        service = new FileStorageService();
+        service = TestServices.fileStorageService();
 
         // Force local storage mode by not setting connection string
         ReflectionTestUtils.setField(service, "connectionString", "");
@@ -352,6 +356,19 @@ class FileStorageServiceTest {
         assertEquals(OscalModelType.SYSTEM_SECURITY_PLAN, file.getModelType());
     }
 
+    @Test
+    void testModelTypeDetection_missingModelType_detectedFromContent() {
+        // Given: File saved without a model type and with a name that gives no hint
+        SavedFile saved = service.saveFile("{\"$schema\": \"oscal.json\", \"system-security-plan\": {\"uuid\": \"x\"}}",
+            "upload.json", null, OscalFormat.JSON, "user");
+
+        // When: Reading the file metadata back
+        SavedFile retrieved = service.getFile(saved.getId(), "user");
+
+        // Then: Model type is detected from the document root
+        assertEquals(OscalModelType.SYSTEM_SECURITY_PLAN, retrieved.getModelType());
+    }
+
     @Test
     void testFileOrdering_multipleFiles_orderedByMostRecent() throws InterruptedException {
         // Given: Multiple files saved at different times
@@ -415,7 +432,7 @@ class FileStorageServiceTest {
     @Test
     void testSaveFile_azureStorage_success() {
         // Given: Service configured for Azure
-        FileStorageService azureService = new FileStorageService();
+        FileStorageService azureService = TestServices.fileStorageService();
         ReflectionTestUtils.setField(azureService, "useLocalStorage", false);
         ReflectionTestUtils.setField(azureService, "containerClient", containerClient);
 
@@ -446,7 +463,7 @@ class FileStorageServiceTest {
     @Test
     void testListFiles_azureStorage_returnsFiles() {
         // Given: Service configured for Azure with files
-        FileStorageService azureService = new FileStorageService();
+        FileStorageService azureService = TestServices.fileStorageService();
         ReflectionTestUtils.setField(azureService, "useLocalStorage", false);
         ReflectionTestUtils.setField(azureService, "containerClient", containerClient);
 
@@ -469,31 +486,26 @@ class FileStorageServiceTest {
         when(containerClient.listBlobs(any(ListBlobsOptions.class), any())).thenReturn(pagedIterable);
         when(pagedIterable.iterator()).thenReturn(Arrays.asList(blobItem1, blobItem2).iterator());
 
-        BlobClient blobClient1 = mock(BlobClient.class);
-        BlobProperties blobProps1 = mock(BlobProperties.class);
-        when(containerClient.getBlobClient("testuser/file-id-1_test1.json")).thenReturn(blobClient1);
-        when(blobClient1.getProperties()).thenReturn(blobProps1);
-        when(blobProps1.getMetadata()).thenReturn(Map.of("format", "JSON", "modelType", "CATALOG"));
-
-        BlobClient blobClient2 = mock(BlobClient.class);
-        BlobProperties blobProps2 = mock(BlobProperties.class);
-        when(containerClient.getBlobClient("testuser/file-id-2_test2.xml")).thenReturn(blobClient2);
-        when(blobClient2.getProperties()).thenReturn(blobProps2);
-        when(blobProps2.getMetadata()).thenReturn(Map.of("format", "XML", "modelType", "PROFILE"));
+        // Metadata is returned with the listing
+        when(blobItem1.getMetadata()).thenReturn(Map.of("format", "JSON", "modelType", "CATALOG"));
+        when(blobItem2.getMetadata()).thenReturn(Map.of("format", "XML", "modelType", "PROFILE"));
 
         // When: Listing files
         List<SavedFile> result = azureService.listFiles("testuser");
 
-        // Then: Should return both files
+        // Then: Should return both files from a single listing that includes metadata
         assertNotNull(result);
         assertEquals(2, result.size());
-        verify(containerClient).listBlobs(any(ListBlobsOptions.class), any());
+        assertTrue(result.stream().anyMatch(f -> f.getModelType() == OscalModelType.PROFILE
+            && f.getFormat() == OscalFormat.XML));
+        verify(containerClient).listBlobs(argThat(o -> o.getDetails().getRetrieveMetadata()), any());
+        verify(containerClient, never()).getBlobClient(anyString());
     }
 
     @Test
     void testListFiles_azureStorage_emptyResult() {
         // Given: Service configured for Azure with no files
-        FileStorageService azureService = new FileStorageService();
+        FileStorageService azureService = TestServices.fileStorageService();
         ReflectionTestUtils.setField(azureService, "useLocalStorage", false);
         ReflectionTestUtils.setField(azureService, "containerClient", containerClient);
 
@@ -512,7 +524,7 @@ class FileStorageServiceTest {
     @Test
     void testGetFileContent_azureStorage_success() {
         // Given: Service configured for Azure
-        FileStorageService azureService = new FileStorageService();
+        FileStorageService azureService = TestServices.fileStorageService();
         ReflectionTestUtils.setField(azureService, "useLocalStorage", false);
         ReflectionTestUtils.setField(azureService, "containerClient", containerClient);
 
@@ -542,7 +554,7 @@ class FileStorageServiceTest {
     @Test
     void testGetFileContent_azureStorage_fileNotFound() {
         // Given: Service configured for Azure
-        FileStorageService azureService = new FileStorageService();
+        FileStorageService azureService = TestServices.fileStorageService();
         ReflectionTestUtils.setField(azureService, "useLocalStorage", false);
         ReflectionTestUtils.setField(azureService, "containerClient", containerClient);
 
@@ -559,7 +571,7 @@ class FileStorageServiceTest {
     @Test
     void testGetFile_azureStorage_success() {
         // Given: Service configured for Azure
-        FileStorageService azureService = new FileStorageService();
+        FileStorageService azureService = TestServices.fileStorageService();
         ReflectionTestUtils.setField(azureService, "useLocalStorage", false);
         ReflectionTestUtils.setField(azureService, "containerClient", containerClient);
 
@@ -599,7 +611,7 @@ class FileStorageServiceTest {
     @Test
     void testDeleteFile_azureStorage_success() {
         // Given: Service configured for Azure
-        FileStorageService azureService = new FileStorageService();
+        FileStorageService azureService = TestServices.fileStorageService();
         ReflectionTestUtils.setField(azureService, "useLocalStorage", false);
         ReflectionTestUtils.setField(azureService, "containerClient", containerClient);
 
@@ -628,7 +640,7 @@ class FileStorageServiceTest {
     @Test
     void testDeleteFile_azureStorage_fileNotFound() {
         // Given: Service configured for Azure
-        FileStorageService azureService = new FileStorageService();
+        FileStorageService azureService = TestServices.fileStorageService();
         ReflectionTestUtils.setField(azureService, "useLocalStorage", false);
         ReflectionTestUtils.setField(azureService, "containerClient", containerClient);
 
@@ -647,7 +659,7 @@ class FileStorageServiceTest {
     @Test
     void testSaveFile_azureStorage_withNullModelType() {
         // Given: Service configured for Azure
-        FileStorageService azureService = new FileStorageService();
+        FileStorageService azureService = TestServices.fileStorageService();
         ReflectionTestUtils.setField(azureService, "useLocalStorage", false);
         ReflectionTestUtils.setField(azureService, "containerClient", containerClient);
 
@@ -666,7 +678,7 @@ class FileStorageServiceTest {
     @Test
     void testListFiles_azureStorage_handlesInvalidBlobName() {
         // Given: Service configured for Azure
-        FileStorageService azureService = new FileStorageService();
+        FileStorageService azureService = TestServices.fileStorageService();
         ReflectionTestUtils.setField(azureService, "useLocalStorage", false);
         ReflectionTestUtils.setField(azureService, "containerClient", containerClient);
 
@@ -689,7 +701,7 @@ class FileStorageServiceTest {
     @Test
     void testGetFile_azureStorage_withoutMetadata_usesDetection() {
         // Given: Service configured for Azure
-        FileStorageService azureService = new FileStorageService();
+        FileStorageService azureService = TestServices.fileStorageService();
         ReflectionTestUtils.setField(azureService, "useLocalStorage", false);
         ReflectionTestUtils.setField(azureService, "containerClient", containerClient);
 
@@ -723,7 +735,7 @@ class FileStorageServiceTest {
     @Test
     void testListFiles_azureStorage_handlesException() {
         // Given: Service configured for Azure that throws exception
-        FileStorageService azureService = new FileStorageService();
+        FileStorageService azureService = TestServices.fileStorageService();
         ReflectionTestUtils.setField(azureService, "useLocalStorage", false);
         ReflectionTestUtils.setField(azureService, "containerClient", containerClient);
 
@@ -737,4 +749,350 @@ class FileStorageServiceTest {
         assertNotNull(result);
         assertTrue(result.isEmpty());
     }
+
+    // ==================== Deduplicated Storage Tests ====================
+
+    private FileStorageService dedupService(ContentStore contentStore) {
+        FileStorageService dedup = TestServices.fileStorageService(contentStore, true);
+        ReflectionTestUtils.setField(dedup, "connectionString", "");
+        dedup.init();
+        return dedup;
+    }
+
+    @Test
+    void testSaveFile_dedup_storesContentOnceAndWritesReference() throws IOException {
+        ContentStore contentStore = mock(ContentStore.class);
+        String content = "{\"catalog\": {\"uuid\": \"abc\"}}";
+        when(contentStore.store(content)).thenReturn("d1gest");
+        FileStorageService dedup = dedupService(contentStore);
+
+        SavedFile first = dedup.saveFile(content, "a.json", null, OscalFormat.JSON, "testuser");
+        SavedFile second = dedup.saveFile(content, "b.json", OscalModelType.CATALOG, OscalFormat.JSON, "testuser");
+
+        verify(contentStore, times(2)).store(content);
+        assertEquals(OscalModelType.CATALOG, first.getModelType());  // Detected from content
+        assertEquals(content.length(), first.getFileSize());
+
+        // The per-user entry is an empty reference; size comes from the metadata
+        Path reference = Paths.get(System.getProperty("user.home"), ".oscal-hub/files", first.getFilePath());
+        assertEquals(0, Files.size(reference));
+        String meta = Files.readString(Paths.get(reference + ".meta"));
+        assertTrue(meta.contains("contentDigest=d1gest"));
+
+        List<SavedFile> files = dedup.listFiles("testuser");
+        assertEquals(2, files.size());
+        assertTrue(files.stream().allMatch(f -> f.getFileSize() == content.length()));
+        assertEquals(content.length(), dedup.getFile(second.getId(), "testuser").getFileSize());
+    }
+
+    @Test
+    void testGetFileContent_dedup_loadsFromContentStore() {
+        ContentStore contentStore = mock(ContentStore.class);
+        when(contentStore.store(anyString())).thenReturn("d1gest");
+        when(contentStore.load("d1gest")).thenReturn("{\"catalog\": {}}");
+        FileStorageService dedup = dedupService(contentStore);
+
+        SavedFile saved = dedup.saveFile("{\"catalog\": {}}", "a.json", OscalModelType.CATALOG, OscalFormat.JSON, "testuser");
+
+        assertEquals("{\"catalog\": {}}", dedup.getFileContent(saved.getId(), "testuser"));
+        verify(contentStore).load("d1gest");
+    }
+
+    @Test
+    void testGetFileContent_dedup_readsLegacyInlineFiles() {
+        ContentStore contentStore = mock(ContentStore.class);
+        SavedFile legacy = service.saveFile("{\"profile\": {}}", "p.json", OscalModelType.PROFILE, OscalFormat.JSON, "testuser");
+
+        FileStorageService dedup = dedupService(contentStore);
+
+        assertEquals("{\"profile\": {}}", dedup.getFileContent(legacy.getId(), "testuser"));
+        assertTrue(dedup.deleteFile(legacy.getId(), "testuser"));
+        verify(contentStore, never()).load(anyString());
+        verify(contentStore, never()).release(anyString());
+    }
+
+    @Test
+    void testDeleteFile_dedup_releasesContent() {
+        ContentStore contentStore = mock(ContentStore.class);
+        when(contentStore.store(anyString())).thenReturn("d1gest");
+        FileStorageService dedup = dedupService(contentStore);
+
+        SavedFile saved = dedup.saveFile("{\"catalog\": {}}", "a.json", OscalModelType.CATALOG, OscalFormat.JSON, "testuser");
+
+        assertTrue(dedup.deleteFile(saved.getId(), "testuser"));
+        verify(contentStore).release("d1gest");
+        assertTrue(dedup.listFiles("testuser").isEmpty());
+    }
+
+    @Test
+    void testSaveFile_dedupDisabled_writesContentInline() throws IOException {
+        ContentStore contentStore = mock(ContentStore.class);
+        FileStorageService inline = TestServices.fileStorageService(contentStore, false);
+        ReflectionTestUtils.setField(inline, "connectionString", "");
+        inline.init();
+
+        SavedFile saved = inline.saveFile("{\"catalog\": {}}", "a.json", OscalModelType.CATALOG, OscalFormat.JSON, "testuser");
+
+        verifyNoInteractions(contentStore);
+        assertEquals("{\"catalog\": {}}", inline.getFileContent(saved.getId(), "testuser"));
+    }
+
+    @Test
+    void testGetContentHash_inlineFile_readsRecordedHash() throws IOException {
+        String content = "{\"catalog\": {}}";
+        SavedFile saved = service.saveFile(content, "a.json", OscalModelType.CATALOG, OscalFormat.JSON, "testuser");
+        Path stored = Paths.get(System.getProperty("user.home"), ".oscal-hub/files", saved.getFilePath());
+        String hash = ContentHasher.sha256Hex(content);
+        assertTrue(Files.readString(Paths.get(stored + ".meta")).contains("contentHash=" + hash));
+
+        // The recorded hash is served without reading the content
+        Files.write(stored, "changed outside the service".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(hash, service.getContentHash(saved.getId(), "testuser"));
+    }
+
+    @Test
+    void testGetContentHash_fileSavedWithoutHash_recordsIt() throws IOException {
+        String content = "{\"catalog\": {}}";
+        SavedFile saved = service.saveFile(content, "a.json", OscalModelType.CATALOG, OscalFormat.JSON, "testuser");
+        Path meta = Paths.get(System.getProperty("user.home"), ".oscal-hub/files", saved.getFilePath() + ".meta");
+        Files.writeString(meta, Files.readString(meta).replaceAll("\ncontentHash=\\w+", ""));
+
+        String hash = service.getContentHash(saved.getId(), "testuser");
+
+        assertEquals(ContentHasher.sha256Hex(content), hash);
+        assertTrue(Files.readString(meta).contains("contentHash=" + hash));
+    }
+
+    @Test
+    void testSaveFile_dedupDisabled_compressesContentInline() throws IOException {
+        FileStorageService compressing = new FileStorageService(new OscalDocumentDetector(), null, false, null, "zstd", 0);
+        ReflectionTestUtils.setField(compressing, "connectionString", "");
+        compressing.init();
+        String content = "{\"catalog\": {\"uuid\": \"abc\", \"metadata\": {\"title\": \"Compressed\"}}}";
+
+        SavedFile saved = compressing.saveFile(content, "c.json", null, OscalFormat.JSON, "testuser");
+
+        Path stored = Paths.get(System.getProperty("user.home"), ".oscal-hub/files", saved.getFilePath());
+        byte[] data = Files.readAllBytes(stored);
+        assertEquals(CompressionCodec.ZSTD, CompressionCodec.detect(data, data.length));
+        String meta = Files.readString(Paths.get(stored + ".meta"));
+        assertTrue(meta.contains("contentEncoding=zstd"));
+        assertTrue(meta.contains("modelType=CATALOG"));
+
+        assertEquals(content, compressing.getFileContent(saved.getId(), "testuser"));
+        assertEquals(CompressionCodec.ZSTD, compressing.getStoredFileContent(saved.getId(), "testuser").getCodec());
+        SavedFile listed = compressing.listFiles("testuser").get(0);
+        assertEquals(content.length(), listed.getFileSize());
+        assertEquals(OscalModelType.CATALOG, listed.getModelType());
+    }
+
+    @Test
+    void testSaveFile_azureDedup_uploadsEmptyReference() {
+        ContentStore contentStore = mock(ContentStore.class);
+        when(contentStore.store(anyString())).thenReturn("d1gest");
+        FileStorageService azureService = TestServices.fileStorageService(contentStore, true);
+        ReflectionTestUtils.setField(azureService, "useLocalStorage", false);
+        ReflectionTestUtils.setField(azureService, "containerClient", containerClient);
+        when(containerClient.getBlobClient(anyString())).thenReturn(blobClient);
+
+        SavedFile result = azureService.saveFile("{\"catalog\": {}}", "c.json", OscalModelType.CATALOG,
+            OscalFormat.JSON, "testuser");
+
+        assertEquals(15, result.getFileSize());
+        verify(blobClient).upload(any(ByteArrayInputStream.class), eq(0L), eq(true));
+        verify(blobClient).setMetadata(argThat(m -> "d1gest".equals(m.get("contentDigest"))
+            && "15".equals(m.get("contentSize"))));
+    }
+
+    @Test
+    void testSaveFile_azureDedup_releasesContentWhenReferenceFails() {
+        ContentStore contentStore = mock(ContentStore.class);
+        when(contentStore.store(anyString())).thenReturn("d1gest");
+        FileStorageService azureService = TestServices.fileStorageService(contentStore, true);
+        ReflectionTestUtils.setField(azureService, "useLocalStorage", false);
+        ReflectionTestUtils.setField(azureService, "containerClient", containerClient);
+        when(containerClient.getBlobClient(anyString())).thenReturn(blobClient);
+        doThrow(new RuntimeException("Azure error")).when(blobClient)
+            .upload(any(ByteArrayInputStream.class), anyLong(), anyBoolean());
+
+        assertThrows(RuntimeException.class, () -> azureService.saveFile("{\"catalog\": {}}", "c.json",
+            OscalModelType.CATALOG, OscalFormat.JSON, "testuser"));
+        verify(contentStore).release("d1gest");
+    }
+
+    @Test
+    void testGetFileContent_azureDedup_loadsFromContentStore() {
+        ContentStore contentStore = mock(ContentStore.class);
+        when(contentStore.load("d1gest")).thenReturn("{\"catalog\": {}}");
+        FileStorageService azureService = TestServices.fileStorageService(contentStore, true);
+        ReflectionTestUtils.setField(azureService, "useLocalStorage", false);
+        ReflectionTestUtils.setField(azureService, "containerClient", containerClient);
+
+        String blobName = "testuser/file-id_c.json";
+        BlobItem blobItem = mock(BlobItem.class);
+        when(blobItem.getName()).thenReturn(blobName);
+        PagedIterable<BlobItem> pagedIterable = mock(PagedIterable.class);
+        when(containerClient.listBlobs(any(ListBlobsOptions.class), any())).thenReturn(pagedIterable);
+        when(pagedIterable.iterator()).thenReturn(Collections.singletonList(blobItem).iterator());
+        when(containerClient.getBlobClient(blobName)).thenReturn(blobClient);
+        BlobProperties blobProps = mock(BlobProperties.class);
+        when(blobClient.getProperties()).thenReturn(blobProps);
+        when(blobProps.getMetadata()).thenReturn(Map.of("contentDigest", "d1gest"));
+
+        assertEquals("{\"catalog\": {}}", azureService.getFileContent("file-id", "testuser"));
+        verify(blobClient, never()).downloadContent();
+    }
+
+    // ==================== Saved File Index Tests ====================
+
+    private FileStorageService indexedService(SavedFileIndex fileIndex) {
+        FileStorageService indexed = new FileStorageService(new OscalDocumentDetector(), null, false, fileIndex, null, 0);
+        ReflectionTestUtils.setField(indexed, "connectionString", "");
+        indexed.init();
+        return indexed;
+    }
+
+    @Test
+    void testSaveFile_index_recordsAndResolvesWithoutScan() {
+        SavedFileIndex fileIndex = mock(SavedFileIndex.class);
+        FileStorageService indexed = indexedService(fileIndex);
+
+        SavedFile saved = indexed.saveFile("{\"catalog\": {}}", "a.json", OscalModelType.CATALOG, OscalFormat.JSON, "testuser");
+        verify(fileIndex).record(saved);
+
+        // Resolves through the index; the indexed path need not match the scan naming
+        when(fileIndex.findPath("other-id", "testuser")).thenReturn(Optional.of(saved.getFilePath()));
+        assertEquals("{\"catalog\": {}}", indexed.getFileContent("other-id", "testuser"));
+    }
+
+    @Test
+    void testGetFileContent_indexMiss_scansWhenAllowed() {
+        SavedFileIndex fileIndex = mock(SavedFileIndex.class);
+        SavedFile legacy = service.saveFile("{\"catalog\": {}}", "a.json", OscalModelType.CATALOG, OscalFormat.JSON, "testuser");
+        when(fileIndex.findPath(anyString(), anyString())).thenReturn(Optional.empty());
+        when(fileIndex.isScanOnMiss()).thenReturn(true);
+
+        assertEquals("{\"catalog\": {}}", indexedService(fileIndex).getFileContent(legacy.getId(), "testuser"));
+    }
+
+    @Test
+    void testGetFile_indexMiss_notFoundWhenScanDisabled() {
+        SavedFileIndex fileIndex = mock(SavedFileIndex.class);
+        SavedFile legacy = service.saveFile("{\"catalog\": {}}", "a.json", OscalModelType.CATALOG, OscalFormat.JSON, "testuser");
+        when(fileIndex.findPath(anyString(), anyString())).thenReturn(Optional.empty());
+        when(fileIndex.isScanOnMiss()).thenReturn(false);
+
+        assertThrows(RuntimeException.class, () -> indexedService(fileIndex).getFile(legacy.getId(), "testuser"));
+    }
+
+    @Test
+    void testGetFile_staleIndexEntry_evictsAndScans() {
+        SavedFileIndex fileIndex = mock(SavedFileIndex.class);
+        SavedFile legacy = service.saveFile("{\"catalog\": {}}", "a.json", OscalModelType.CATALOG, OscalFormat.JSON, "testuser");
+        when(fileIndex.findPath(legacy.getId(), "testuser")).thenReturn(Optional.of("testuser/missing_a.json"));
+        when(fileIndex.isScanOnMiss()).thenReturn(true);
+
+        SavedFile found = indexedService(fileIndex).getFile(legacy.getId(), "testuser");
+
+        assertEquals(legacy.getId(), found.getId());
+        verify(fileIndex).evict(legacy.getId(), "testuser");
+    }
+
+    @Test
+    void testGetFileContent_azureStaleIndexEntry_evictsAndScans() {
+        SavedFileIndex fileIndex = mock(SavedFileIndex.class);
+        FileStorageService azureService = new FileStorageService(new OscalDocumentDetector(), null, false, fileIndex, null, 0);
+        ReflectionTestUtils.setField(azureService, "useLocalStorage", false);
+        ReflectionTestUtils.setField(azureService, "containerClient", containerClient);
+        when(fileIndex.findPath("file-id", "testuser")).thenReturn(Optional.of("testuser/moved_a.json"));
+        when(fileIndex.isScanOnMiss()).thenReturn(true);
+
+        BlobClient staleClient = mock(BlobClient.class);
+        when(staleClient.exists()).thenReturn(false);
+        when(containerClient.getBlobClient("testuser/moved_a.json")).thenReturn(staleClient);
+        when(containerClient.getBlobClient("testuser/file-id_a.json")).thenReturn(blobClient);
+        BlobItem blobItem = mock(BlobItem.class);
+        when(blobItem.getName()).thenReturn("testuser/file-id_a.json");
+        PagedIterable<BlobItem> pagedIterable = mock(PagedIterable.class);
+        when(containerClient.listBlobs(any(ListBlobsOptions.class), any())).thenReturn(pagedIterable);
+        when(pagedIterable.iterator()).thenReturn(List.of(blobItem).iterator());
+        when(blobClient.downloadContent()).thenReturn(BinaryData.fromString("{\"catalog\": {}}"));
+
+        assertEquals("{\"catalog\": {}}", azureService.getFileContent("file-id", "testuser"));
+        verify(fileIndex).evict("file-id", "testuser");
+    }
+
+    @Test
+    void testDeleteFile_index_removesEntry() {
+        SavedFileIndex fileIndex = mock(SavedFileIndex.class);
+        FileStorageService indexed = indexedService(fileIndex);
+        SavedFile saved = indexed.saveFile("{\"catalog\": {}}", "a.json", OscalModelType.CATALOG, OscalFormat.JSON, "testuser");
+        when(fileIndex.findPath(saved.getId(), "testuser")).thenReturn(Optional.of(saved.getFilePath()));
+
+        assertTrue(indexed.deleteFile(saved.getId(), "testuser"));
+
+        verify(fileIndex).remove(saved.getId(), "testuser");
+    }
+
+    // ==================== Paged Listing Tests ====================
+
+    @Test
+    void testListFilesPage_local_followsCursor() {
+        for (int i = 0; i < 5; i++) {
+            service.saveFile("{\"catalog\": {}}", "file" + i + ".json", OscalModelType.CATALOG, OscalFormat.JSON, "testuser");
+        }
+
+        Set<String> seen = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            SavedFilePage page = service.listFiles("testuser", cursor, 2);
+            assertTrue(page.getFiles().size() <= 2);
+            page.getFiles().forEach(f -> assertTrue(seen.add(f.getId())));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(5, seen.size());
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void testListFilesPage_invalidCursor_throws() {
+        assertThrows(IllegalArgumentException.class, () -> service.listFiles("testuser", "not base64!", 10));
+        assertThrows(IllegalArgumentException.class, () -> service.listFiles("testuser", null, 0));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testListFilesPage_azure_requestsOnePageWithContinuation() {
+        FileStorageService azureService = TestServices.fileStorageService();
+        ReflectionTestUtils.setField(azureService, "useLocalStorage", false);
+        ReflectionTestUtils.setField(azureService, "containerClient", containerClient);
+
+        BlobItem blobItem = mock(BlobItem.class);
+        BlobItemProperties props = mock(BlobItemProperties.class);
+        when(blobItem.getName()).thenReturn("testuser/file-id-1_ssp.json");
+        when(blobItem.getProperties()).thenReturn(props);
+        when(blobItem.getMetadata()).thenReturn(Map.of("modelType", "SYSTEM_SECURITY_PLAN", "contentSize", "1234"));
+        when(props.getContentLength()).thenReturn(0L);
+        when(props.getLastModified()).thenReturn(OffsetDateTime.now());
+
+        PagedResponse<BlobItem> response = mock(PagedResponse.class);
+        when(response.getValue()).thenReturn(List.of(blobItem));
+        when(response.getContinuationToken()).thenReturn("token-2");
+        PagedIterable<BlobItem> pagedIterable = mock(PagedIterable.class);
+        when(containerClient.listBlobs(any(ListBlobsOptions.class), any())).thenReturn(pagedIterable);
+        when(pagedIterable.iterableByPage(eq("token-1"), eq(50))).thenReturn(List.of(response));
+
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString("token-1".getBytes(StandardCharsets.UTF_8));
+        SavedFilePage page = azureService.listFiles("testuser", cursor, 50);
+
+        assertEquals(1, page.getFiles().size());
+        assertEquals(OscalModelType.SYSTEM_SECURITY_PLAN, page.getFiles().get(0).getModelType());
+        assertEquals(1234, page.getFiles().get(0).getFileSize());
+        assertEquals("token-2", new String(Base64.getUrlDecoder().decode(page.getNextCursor()), StandardCharsets.UTF_8));
+        verify(containerClient, never()).getBlobClient(anyString());
+    }
 }
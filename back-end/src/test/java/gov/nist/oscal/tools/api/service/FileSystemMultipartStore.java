@@ -0,0 +1,181 @@
+package gov.nist.oscal.tools.api.service;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Filesystem stand-in for a cloud object store. Parts are written to files under an upload
+ * directory and concatenated on completion; the version tag is the object's generation, bumped
+ * on every write. Records the highest number of concurrent calls and can fail a chosen part.
+ */
+class FileSystemMultipartStore implements MultipartObjectStore {
+
+    private final Path root;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicInteger rangeReads = new AtomicInteger();
+    private final AtomicInteger generation = new AtomicInteger();
+
+    private volatile int failPart = -1;
+    private volatile boolean aborted;
+    private volatile Runnable afterFirstRead;
+
+    FileSystemMultipartStore(Path root) {
+        this.root = root;
+    }
+
+    void failPart(int partNumber) {
+        this.failPart = partNumber;
+    }
+
+    void afterFirstRead(Runnable action) {
+        this.afterFirstRead = action;
+    }
+
+    int getMaxInFlight() {
+        return maxInFlight.get();
+    }
+
+    int getRangeReads() {
+        return rangeReads.get();
+    }
+
+    boolean isAborted() {
+        return aborted;
+    }
+
+    void put(String key, byte[] data) {
+        try {
+            Files.write(objectPath(key), data);
+            Files.writeString(versionPath(key), String.valueOf(generation.incrementAndGet()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    byte[] get(String key) {
+        try {
+            return Files.readAllBytes(objectPath(key));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String startUpload(String key, Map<String, String> metadata) {
+        String uploadId = UUID.randomUUID().toString();
+        try {
+            Files.createDirectories(root.resolve("uploads").resolve(uploadId));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return uploadId;
+    }
+
+    @Override
+    public String uploadPart(String key, String uploadId, int partNumber, byte[] data, int offset, int length) {
+        enter();
+        try {
+            pause();
+            if (partNumber == failPart) {
+                throw new IllegalStateException("Injected failure of part " + partNumber);
+            }
+            Path part = root.resolve("uploads").resolve(uploadId).resolve(String.valueOf(partNumber));
+            Files.write(part, Arrays.copyOfRange(data, offset, offset + length));
+            return part.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void completeUpload(String key, String uploadId, List<String> partTags, Map<String, String> metadata) {
+        try {
+            Path assembled = root.resolve("uploads").resolve(uploadId + ".assembled");
+            Files.deleteIfExists(assembled);
+            for (String tag : partTags) {
+                Files.write(assembled, Files.readAllBytes(Path.of(tag)),
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            Files.move(assembled, objectPath(key), StandardCopyOption.REPLACE_EXISTING);
+            Files.writeString(versionPath(key), String.valueOf(generation.incrementAndGet()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void abortUpload(String key, String uploadId) {
+        aborted = true;
+    }
+
+    @Override
+    public RangeRead readRange(String key, long offset, int length, String versionTag) {
+        enter();
+        try {
+            pause();
+            rangeReads.incrementAndGet();
+            Path object = objectPath(key);
+            if (!Files.exists(object)) {
+                throw new RuntimeException("Object not found: " + key);
+            }
+            String current = Files.readString(versionPath(key));
+            if (versionTag != null && !versionTag.equals(current)) {
+                throw new RuntimeException("Precondition failed: " + key + " changed");
+            }
+            byte[] data;
+            long size;
+            try (RandomAccessFile file = new RandomAccessFile(object.toFile(), "r")) {
+                size = file.length();
+                int available = (int) Math.max(0, Math.min(length, size - offset));
+                data = new byte[available];
+                file.seek(offset);
+                file.readFully(data);
+            }
+            Runnable action = afterFirstRead;
+            if (versionTag == null && action != null) {
+                afterFirstRead = null;
+                action.run();
+            }
+            return new RangeRead(data, size, current);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private void enter() {
+        int now = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(now, Math::max);
+    }
+
+    private static void pause() {
+        // Give other workers a chance to overlap so concurrency is observable
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Path objectPath(String key) {
+        return root.resolve(key.replace('/', '_'));
+    }
+
+    private Path versionPath(String key) {
+        return root.resolve(key.replace('/', '_') + ".version");
+    }
+}
@@ -0,0 +1,151 @@
+package gov.nist.oscal.tools.api.service;
+
+import gov.nist.oscal.tools.api.model.Job;
+import gov.nist.oscal.tools.api.model.JobStatus;
+import gov.nist.oscal.tools.api.model.JobType;
+import gov.nist.oscal.tools.api.model.ValidationResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobServiceTest {
+
+    private InMemoryJobStore jobStore;
+    private JobService jobService;
+
+    @BeforeEach
+    void setUp() {
+        jobStore = new InMemoryJobStore(60, 1000);
+        jobService = new JobService(jobStore, 1, 1, 1000, 60000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobService.shutdown();
+    }
+
+    @Test
+    void testSubmittedJobRunsToCompletion() throws Exception {
+        Job submitted = jobService.submit(JobType.VALIDATE, "alice", 0, () -> new ValidationResult(true));
+
+        assertEquals(JobStatus.QUEUED, submitted.getStatus());
+        Job completed = awaitTerminal(submitted.getId(), "alice");
+        assertEquals(JobStatus.SUCCEEDED, completed.getStatus());
+        assertEquals(100, completed.getProgress());
+        assertTrue(((ValidationResult) completed.getResult()).isValid());
+        assertNotNull(completed.getCompletedAt());
+        // queued, running, completed
+        assertEquals(2, completed.getVersion());
+    }
+
+    @Test
+    void testFailedTaskRecordsError() throws Exception {
+        Job submitted = jobService.submit(JobType.CONVERT, "alice", 0, () -> {
+            throw new IllegalStateException("Boom");
+        });
+
+        Job failed = awaitTerminal(submitted.getId(), "alice");
+        assertEquals(JobStatus.FAILED, failed.getStatus());
+        assertEquals("Boom", failed.getError());
+        assertNull(failed.getResult());
+    }
+
+    @Test
+    void testJobsVisibleOnlyToOwner() throws Exception {
+        Job submitted = jobService.submit(JobType.VISUALIZE_SSP, "alice", 0, () -> "done");
+        awaitTerminal(submitted.getId(), "alice");
+
+        assertTrue(jobService.getJob(submitted.getId(), "bob").isEmpty());
+        assertTrue(jobService.getJob("unknown", "alice").isEmpty());
+    }
+
+    @Test
+    void testFullQueueRejectedWith429() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        JobService.JobTask blocking = () -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        };
+
+        jobService.submit(JobType.VALIDATE, "alice", 0, blocking);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        jobService.submit(JobType.VALIDATE, "alice", 0, blocking);
+
+        AdmissionRejectedException e = assertThrows(AdmissionRejectedException.class,
+            () -> jobService.submit(JobType.VALIDATE, "alice", 0, blocking));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, e.getStatus());
+        release.countDown();
+    }
+
+    @Test
+    void testPendingPayloadBytesBoundSubmissions() throws Exception {
+        JobService budgeted = new JobService(jobStore, 1, 10, 1000, 60000);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        JobService.JobTask blocking = () -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        };
+
+        try {
+            // Larger than the whole budget, but admitted because nothing else is pending
+            Job large = budgeted.submit(JobType.VALIDATE, "alice", 1500, blocking);
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // The queue has room, but the payload budget does not
+            AdmissionRejectedException e = assertThrows(AdmissionRejectedException.class,
+                () -> budgeted.submit(JobType.VALIDATE, "alice", 10, () -> "done"));
+            assertEquals(HttpStatus.TOO_MANY_REQUESTS, e.getStatus());
+            assertEquals(1500, budgeted.getPendingBytes());
+
+            release.countDown();
+            Job completed = awaitTerminal(budgeted, large.getId(), "alice");
+            assertEquals(JobStatus.SUCCEEDED, completed.getStatus());
+            long deadline = System.currentTimeMillis() + 5000;
+            while (budgeted.getPendingBytes() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, budgeted.getPendingBytes());
+            Job next = budgeted.submit(JobType.VALIDATE, "alice", 600, () -> "done");
+            assertEquals(JobStatus.SUCCEEDED, awaitTerminal(budgeted, next.getId(), "alice").getStatus());
+        } finally {
+            release.countDown();
+            budgeted.shutdown();
+        }
+    }
+
+    @Test
+    void testSubscribeToFinishedJobCompletesImmediately() throws Exception {
+        Job submitted = jobService.submit(JobType.VALIDATE, "alice", 0, () -> "done");
+        Job completed = awaitTerminal(submitted.getId(), "alice");
+
+        // Sends the final state and completes without registering a subscription
+        assertNotNull(jobService.subscribe(completed));
+        jobService.pollSubscribedJobs();
+    }
+
+    private Job awaitTerminal(String id, String username) throws InterruptedException {
+        return awaitTerminal(jobService, id, username);
+    }
+
+    private Job awaitTerminal(JobService service, String id, String username) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            Job job = service.getJob(id, username).orElseThrow();
+            if (job.getStatus().isTerminal()) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        return fail("Job " + id + " did not finish");
+    }
+}
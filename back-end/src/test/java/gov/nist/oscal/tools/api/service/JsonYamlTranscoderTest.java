@@ -0,0 +1,120 @@
+package gov.nist.oscal.tools.api.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import gov.nist.oscal.tools.api.model.OscalFormat;
+import gov.nist.oscal.tools.api.model.OscalModelType;
+import gov.nist.oscal.tools.api.service.JsonYamlTranscoder.UnsupportedContentException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonYamlTranscoderTest {
+
+    private static final String CATALOG_JSON =
+        "{\"$schema\": \"https://example.com/oscal_catalog_schema.json\", \"catalog\": {" +
+        "\"uuid\": \"74c8ba1e-5cd4-4ad1-bbfd-d888e2f6c724\"," +
+        "\"metadata\": {\"title\": \"Sample\", \"version\": \"1.0\", \"oscal-version\": \"1.1.2\"}," +
+        "\"groups\": [{\"id\": \"ac\", \"title\": \"Access Control\", \"controls\": [" +
+        "{\"id\": \"ac-1\", \"title\": \"Policy\", \"parts\": [{\"name\": \"statement\", " +
+        "\"prose\": \"Line one\\nLine two: with colon\"}]}]}]}}";
+
+    private JsonYamlTranscoder transcoder;
+
+    @BeforeEach
+    void setUp() {
+        transcoder = new JsonYamlTranscoder(true);
+    }
+
+    @Test
+    void testJsonToYamlRoundTripsToSameTree() throws Exception {
+        String yaml = transcode(CATALOG_JSON, OscalFormat.JSON, OscalFormat.YAML);
+
+        assertTrue(yaml.contains("catalog:"));
+        // Numeric-looking strings stay strings
+        assertTrue(yaml.contains("version: \"1.0\""));
+        String json = transcode(yaml, OscalFormat.YAML, OscalFormat.JSON);
+
+        ObjectMapper mapper = new ObjectMapper();
+        assertEquals(mapper.readTree(CATALOG_JSON), mapper.readTree(json));
+    }
+
+    @Test
+    void testYamlToJsonPreservesQuotedScalars() throws Exception {
+        String yaml = "---\ncatalog:\n  uuid: 74c8ba1e-5cd4-4ad1-bbfd-d888e2f6c724\n  metadata:\n" +
+            "    title: Sample\n    last-modified: 2023-01-01T00:00:00.000Z\n    version: '1.0'\n";
+
+        String json = transcode(yaml, OscalFormat.YAML, OscalFormat.JSON);
+
+        JsonNode tree = new ObjectMapper().readTree(json);
+        assertEquals("1.0", tree.at("/catalog/metadata/version").textValue());
+        assertEquals("2023-01-01T00:00:00.000Z", tree.at("/catalog/metadata/last-modified").textValue());
+        assertEquals(new YAMLMapper().readTree(yaml), tree);
+    }
+
+    @Test
+    void testUntypedYamlScalarRequiresBoundPath() {
+        String yaml = "catalog:\n  uuid: x\n  metadata:\n    version: 1.0\n";
+
+        assertThrows(UnsupportedContentException.class, () -> transcode(yaml, OscalFormat.YAML, OscalFormat.JSON));
+    }
+
+    @Test
+    void testYamlAliasRequiresBoundPath() {
+        String yaml = "catalog:\n  uuid: &id x\n  metadata:\n    title: *id\n";
+
+        assertThrows(UnsupportedContentException.class, () -> transcode(yaml, OscalFormat.YAML, OscalFormat.JSON));
+    }
+
+    @Test
+    void testJsonNumbersAndBooleansCopiedVerbatim() throws Exception {
+        String json = "{\"catalog\": {\"uuid\": \"x\", \"props\": [{\"value\": 1.50}, {\"value\": true}]}}";
+
+        String yaml = transcode(json, OscalFormat.JSON, OscalFormat.YAML);
+
+        assertTrue(yaml.contains("value: 1.50"));
+        assertTrue(yaml.contains("value: true"));
+    }
+
+    @Test
+    void testStructuralValidation() {
+        assertThrows(IOException.class, () -> transcode("{\"profile\": {}}", OscalFormat.JSON, OscalFormat.YAML));
+        assertThrows(IOException.class,
+            () -> transcode("{\"catalog\": {}, \"profile\": {}}", OscalFormat.JSON, OscalFormat.YAML));
+        assertThrows(IOException.class, () -> transcode("{\"catalog\": \"x\"}", OscalFormat.JSON, OscalFormat.YAML));
+        assertThrows(IOException.class,
+            () -> transcode("{\"catalog\": {\"uuid\": \"a\", \"uuid\": \"b\"}}", OscalFormat.JSON, OscalFormat.YAML));
+        assertThrows(IOException.class, () -> transcode("{}", OscalFormat.JSON, OscalFormat.YAML));
+        assertThrows(IOException.class, () -> transcode("{\"catalog\": {", OscalFormat.JSON, OscalFormat.YAML));
+    }
+
+    @Test
+    void testStructuralValidationCanBeDisabled() throws Exception {
+        StringWriter writer = new StringWriter();
+        new JsonYamlTranscoder(false).transcode(new StringReader("{\"anything\": [\"goes\"]}"), OscalFormat.JSON,
+            writer, OscalFormat.YAML, OscalModelType.CATALOG);
+
+        assertTrue(writer.toString().contains("anything:"));
+    }
+
+    @Test
+    void testSupports() {
+        assertTrue(JsonYamlTranscoder.supports(OscalFormat.JSON, OscalFormat.YAML));
+        assertTrue(JsonYamlTranscoder.supports(OscalFormat.YAML, OscalFormat.JSON));
+        assertFalse(JsonYamlTranscoder.supports(OscalFormat.JSON, OscalFormat.JSON));
+        assertFalse(JsonYamlTranscoder.supports(OscalFormat.XML, OscalFormat.JSON));
+        assertFalse(JsonYamlTranscoder.supports(OscalFormat.YAML, OscalFormat.XML));
+    }
+
+    private String transcode(String content, OscalFormat from, OscalFormat to) throws Exception {
+        StringWriter writer = new StringWriter();
+        transcoder.transcode(new StringReader(content), from, writer, to, OscalModelType.CATALOG);
+        return writer.toString();
+    }
+}
@@ -13,6 +13,7 @@ import gov.nist.oscal.tools.api.repository.LibraryItemRepository;
 import gov.nist.oscal.tools.api.repository.LibraryTagRepository;
 import gov.nist.oscal.tools.api.repository.LibraryVersionRepository;
 import gov.nist.oscal.tools.api.repository.UserRepository;
+import gov.nist.oscal.tools.api.util.ContentHasher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -45,6 +46,12 @@ class LibraryServiceTest {
     @Mock
     private LibraryStorageService storageService;
 
+    @Mock
+    private StorageUploadQueue uploadQueue;
+
+    @Mock
+    private ResolvedProfileCache resolvedProfileCache;
+
     @InjectMocks
     private LibraryService libraryService;
 
@@ -92,7 +99,6 @@ class LibraryServiceTest {
         when(libraryItemRepository.save(any(LibraryItem.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(libraryVersionRepository.save(any(LibraryVersion.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(storageService.buildBlobPath(anyString(), anyString(), anyString())).thenReturn("/library/test/path");
-        when(storageService.saveLibraryFile(anyString(), anyString(), anyMap())).thenReturn(true);
 
         // When
         LibraryItem result = libraryService.createLibraryItem(
@@ -111,7 +117,7 @@ class LibraryServiceTest {
         verify(userRepository).findByUsername("testuser");
         verify(libraryItemRepository, times(2)).save(any(LibraryItem.class));
         verify(libraryVersionRepository).save(any(LibraryVersion.class));
-        verify(storageService).saveLibraryFile(eq(fileContent), anyString(), anyMap());
+        verify(uploadQueue).enqueue(eq(StorageUploadQueue.Target.LIBRARY), anyString(), eq(fileContent), anyMap());
     }
 
     @Test
@@ -139,7 +145,6 @@ class LibraryServiceTest {
         when(libraryItemRepository.save(any(LibraryItem.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(libraryVersionRepository.save(any(LibraryVersion.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(storageService.buildBlobPath(anyString(), anyString(), anyString())).thenReturn("/library/test/path");
-        when(storageService.saveLibraryFile(anyString(), anyString(), anyMap())).thenReturn(true);
 
         // When
         LibraryItem result = libraryService.createLibraryItem(
@@ -213,7 +218,6 @@ class LibraryServiceTest {
         when(libraryVersionRepository.save(any(LibraryVersion.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(libraryItemRepository.save(any(LibraryItem.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(storageService.buildBlobPath(anyString(), anyString(), anyString())).thenReturn("/library/test/path-v2");
-        when(storageService.saveLibraryFile(anyString(), anyString(), anyMap())).thenReturn(true);
 
         // When
         LibraryVersion result = libraryService.addVersion(
@@ -225,8 +229,10 @@ class LibraryServiceTest {
         assertEquals(2, result.getVersionNumber());
         assertEquals("catalog-v2.xml", result.getFileName());
         assertEquals("Updated content", result.getChangeDescription());
-        verify(storageService).saveLibraryFile(eq(fileContent), anyString(), anyMap());
+        assertEquals(ContentHasher.sha256Hex(fileContent), result.getContentHash());
+        verify(uploadQueue).enqueue(eq(StorageUploadQueue.Target.LIBRARY), anyString(), eq(fileContent), anyMap());
         verify(libraryItemRepository).save(testItem);
+        verify(resolvedProfileCache).invalidateSource("library:item-123");
     }
 
     @Test
@@ -299,6 +305,21 @@ class LibraryServiceTest {
         verify(storageService).getLibraryFileContent(testVersion.getFilePath());
     }
 
+    @Test
+    void testGetVersionContent_pendingUploadServedFromQueue() {
+        // Given
+        when(libraryVersionRepository.findByVersionId("version-123")).thenReturn(Optional.of(testVersion));
+        when(uploadQueue.getPendingContent(StorageUploadQueue.Target.LIBRARY, testVersion.getFilePath()))
+                .thenReturn("pending content");
+
+        // When
+        String result = libraryService.getVersionContent("version-123");
+
+        // Then
+        assertEquals("pending content", result);
+        verify(storageService, never()).getLibraryFileContent(anyString());
+    }
+
     @Test
     void testGetVersionContent_notFound() {
         // Given
@@ -310,6 +331,65 @@ class LibraryServiceTest {
         });
     }
 
+    @Test
+    void testGetContentHash_recordedHashIsNotRecomputed() {
+        // Given
+        testVersion.setContentHash("abc123");
+
+        // When
+        String result = libraryService.getContentHash(testVersion);
+
+        // Then
+        assertEquals("abc123", result);
+        verify(storageService, never()).getLibraryFileContent(anyString());
+        verify(libraryVersionRepository, never()).save(any(LibraryVersion.class));
+    }
+
+    @Test
+    void testGetContentHash_olderVersionIsHashedOnceAndSaved() {
+        // Given
+        when(storageService.getLibraryFileContent(testVersion.getFilePath())).thenReturn("file content");
+
+        // When
+        String result = libraryService.getContentHash(testVersion);
+
+        // Then
+        assertEquals(ContentHasher.sha256Hex("file content"), result);
+        assertEquals(result, testVersion.getContentHash());
+        verify(libraryVersionRepository).save(testVersion);
+    }
+
+    // ========== GET CURRENT VERSION TESTS ==========
+
+    @Test
+    void testGetCurrentVersion_doesNotCountDownload() {
+        // Given
+        when(libraryItemRepository.findByItemId("item-123")).thenReturn(Optional.of(testItem));
+        Long initialDownloadCount = testItem.getDownloadCount();
+
+        // When
+        LibraryVersion result = libraryService.getCurrentVersion("item-123");
+
+        // Then
+        assertEquals(testVersion, result);
+        assertEquals(initialDownloadCount, testItem.getDownloadCount());
+        verify(libraryItemRepository, never()).save(any(LibraryItem.class));
+    }
+
+    @Test
+    void testRecordDownload_incrementsDownloadCount() {
+        // Given
+        when(libraryItemRepository.findByItemId("item-123")).thenReturn(Optional.of(testItem));
+        Long initialDownloadCount = testItem.getDownloadCount();
+
+        // When
+        libraryService.recordDownload("item-123");
+
+        // Then
+        assertEquals(initialDownloadCount + 1, testItem.getDownloadCount());
+        verify(libraryItemRepository).save(testItem);
+    }
+
     // ========== GET CURRENT VERSION CONTENT TESTS ==========
 
     @Test
@@ -402,8 +482,10 @@ class LibraryServiceTest {
         libraryService.deleteLibraryItem("item-123", "testuser");
 
         // Then
+        verify(uploadQueue).cancelUploads(StorageUploadQueue.Target.LIBRARY, testVersion.getFilePath());
         verify(storageService).deleteLibraryFile(testVersion.getFilePath());
         verify(libraryItemRepository).delete(testItem);
+        verify(resolvedProfileCache).invalidateSource("library:item-123");
     }
 
     @Test
@@ -417,6 +499,7 @@ class LibraryServiceTest {
         });
 
         verify(libraryItemRepository, never()).delete(any());
+        verifyNoInteractions(resolvedProfileCache);
     }
 
     @Test
@@ -3,6 +3,8 @@ package gov.nist.oscal.tools.api.service;
 import com.azure.core.util.BinaryData;
 import com.azure.storage.blob.*;
 import com.azure.storage.blob.models.BlobProperties;
+import gov.nist.oscal.tools.api.model.StoredContent;
+import gov.nist.oscal.tools.api.util.CompressionCodec;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -60,6 +62,7 @@ class LibraryStorageServiceTest {
         // Set upload directory to temp directory
         ReflectionTestUtils.setField(libraryStorageService, "uploadDir", tempDir.toString());
         ReflectionTestUtils.setField(libraryStorageService, "libraryContainerName", "oscal-library");
+        ReflectionTestUtils.setField(libraryStorageService, "readCache", new StorageReadCache(true, 1 << 20, null, 0, null));
     }
 
     // ==================== Initialization Tests ====================
@@ -189,6 +192,25 @@ class LibraryStorageServiceTest {
         assertTrue(Files.exists(expectedPath.getParent()));
     }
 
+    @Test
+    void testOverwriteExistsAndDelete_localStorageMode() throws IOException {
+        ReflectionTestUtils.setField(libraryStorageService, "useLocalStorage", true);
+        Path localLibraryPath = tempDir.resolve("library");
+        Files.createDirectories(localLibraryPath);
+        ReflectionTestUtils.setField(libraryStorageService, "localLibraryPath", localLibraryPath);
+        String blobPath = "resolved-profiles/abc.json";
+
+        libraryStorageService.saveLibraryFile("first", blobPath, null);
+        assertEquals("first", libraryStorageService.getLibraryFileContent(blobPath));
+        libraryStorageService.saveLibraryFile("second", blobPath, null);
+
+        assertTrue(libraryStorageService.fileExists(blobPath));
+        assertEquals("second", libraryStorageService.getLibraryFileContent(blobPath));
+        assertTrue(libraryStorageService.deleteLibraryFile(blobPath));
+        assertFalse(libraryStorageService.fileExists(blobPath));
+        assertFalse(libraryStorageService.deleteLibraryFile(blobPath));
+    }
+
     @Test
     void testGetLibraryFileContent_localStorageMode_success() throws IOException {
         ReflectionTestUtils.setField(libraryStorageService, "useLocalStorage", true);
@@ -208,6 +230,38 @@ class LibraryStorageServiceTest {
         assertEquals(expectedContent, result);
     }
 
+    @Test
+    void testSaveLibraryFile_localStorageMode_compressesContent() {
+        ReflectionTestUtils.setField(libraryStorageService, "useLocalStorage", true);
+        ReflectionTestUtils.setField(libraryStorageService, "localLibraryPath", tempDir.resolve("library"));
+        ReflectionTestUtils.setField(libraryStorageService, "compressionCodec", "zstd");
+
+        String content = "{ \"catalog\": { \"uuid\": \"test\", \"groups\": [] } }";
+        String blobPath = "item123/v1/catalog.json";
+        libraryStorageService.saveLibraryFile(content, blobPath, null);
+
+        StoredContent stored = libraryStorageService.getStoredLibraryFile(blobPath);
+        assertEquals(CompressionCodec.ZSTD, stored.getCodec());
+        assertEquals(content, stored.decode());
+        assertEquals(content, libraryStorageService.getLibraryFileContent(blobPath));
+    }
+
+    @Test
+    void testSaveLibraryFile_azure_compressesAboveMinSize() {
+        ReflectionTestUtils.setField(libraryStorageService, "containerClient", containerClient);
+        ReflectionTestUtils.setField(libraryStorageService, "compressionCodec", "gzip");
+        ReflectionTestUtils.setField(libraryStorageService, "compressionMinSize", 1024L);
+        when(containerClient.getBlobClient(anyString())).thenReturn(blobClient);
+
+        libraryStorageService.saveLibraryFile("{}", "item/v1/small.json", Map.of("version", "1"));
+        verify(blobClient).upload(any(ByteArrayInputStream.class), eq(2L), eq(true));
+        verify(blobClient).setMetadata(Map.of("version", "1"));
+
+        String large = "{\"catalog\": {\"controls\": [" + "{\"id\": \"ac-1\"},".repeat(100) + "{}]}}";
+        libraryStorageService.saveLibraryFile(large, "item/v2/large.json", Map.of("version", "2"));
+        verify(blobClient).setMetadata(Map.of("version", "2", CompressionCodec.METADATA_KEY, "gzip"));
+    }
+
     @Test
     void testGetLibraryFileContent_localStorageMode_fileNotFound_throwsException() {
         ReflectionTestUtils.setField(libraryStorageService, "useLocalStorage", true);
@@ -300,6 +354,20 @@ class LibraryStorageServiceTest {
         verify(containerClient).getBlobClient("item123/v1/test.json");
     }
 
+    @Test
+    void testGetLibraryFileContent_azureStorage_servedFromCacheAfterFirstDownload() {
+        ReflectionTestUtils.setField(libraryStorageService, "useLocalStorage", false);
+        ReflectionTestUtils.setField(libraryStorageService, "containerClient", containerClient);
+        when(containerClient.getBlobClient(anyString())).thenReturn(blobClient);
+        when(blobClient.exists()).thenReturn(true);
+        when(blobClient.downloadContent()).thenReturn(BinaryData.fromString("{\"catalog\": {}}"));
+
+        assertEquals("{\"catalog\": {}}", libraryStorageService.getLibraryFileContent("item123/v1/catalog.json"));
+        assertEquals("{\"catalog\": {}}", libraryStorageService.getLibraryFileContent("item123/v1/catalog.json"));
+
+        verify(blobClient, times(1)).downloadContent();
+    }
+
     @Test
     void testGetLibraryFileContent_azureStorage_blobNotFound_throwsException() {
         ReflectionTestUtils.setField(libraryStorageService, "useLocalStorage", false);
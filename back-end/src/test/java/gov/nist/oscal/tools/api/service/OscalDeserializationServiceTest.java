@@ -0,0 +1,162 @@
+package gov.nist.oscal.tools.api.service;
+
+import gov.nist.oscal.tools.api.model.OscalFormat;
+import gov.nist.oscal.tools.api.model.OscalModelType;
+import gov.nist.secauto.oscal.lib.model.Catalog;
+import gov.nist.secauto.oscal.lib.model.Profile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OscalDeserializationServiceTest {
+
+    private static final String VALID_CATALOG_JSON =
+        "{\n" +
+        "  \"catalog\": {\n" +
+        "    \"uuid\": \"74c8ba1e-5cd4-4ad1-bbfd-d888e2f6c724\",\n" +
+        "    \"metadata\": {\n" +
+        "      \"title\": \"Sample Security Catalog\",\n" +
+        "      \"last-modified\": \"2023-01-01T00:00:00.000Z\",\n" +
+        "      \"version\": \"1.0\",\n" +
+        "      \"oscal-version\": \"1.0.4\"\n" +
+        "    }\n" +
+        "  }\n" +
+        "}";
+
+    private static final String VALID_CATALOG_XML =
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+        "<catalog xmlns=\"http://csrc.nist.gov/ns/oscal/1.0\" uuid=\"74c8ba1e-5cd4-4ad1-bbfd-d888e2f6c724\">\n" +
+        "  <metadata>\n" +
+        "    <title>Sample Security Catalog</title>\n" +
+        "    <last-modified>2023-01-01T00:00:00.000Z</last-modified>\n" +
+        "    <version>1.0</version>\n" +
+        "    <oscal-version>1.0.4</oscal-version>\n" +
+        "  </metadata>\n" +
+        "</catalog>";
+
+    @TempDir
+    Path spillDir;
+
+    private OscalDeserializationService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.cleanup();
+        }
+    }
+
+    @Test
+    void testDeserializeInMemoryJson() throws IOException {
+        service = new OscalDeserializationService(1024 * 1024, spillDir.toString(), 2);
+
+        Object result = service.deserialize(VALID_CATALOG_JSON, OscalFormat.JSON, OscalModelType.CATALOG);
+
+        assertInstanceOf(Catalog.class, result);
+        assertEquals(0, countFiles(spillDir), "In-memory path must not touch the spill directory");
+    }
+
+    @Test
+    void testDeserializeInMemoryXml() throws IOException {
+        service = new OscalDeserializationService(1024 * 1024, spillDir.toString(), 2);
+
+        Catalog catalog = service.deserialize(VALID_CATALOG_XML, OscalFormat.XML, Catalog.class);
+
+        assertNotNull(catalog);
+        assertNotNull(catalog.getMetadata());
+    }
+
+    @Test
+    void testDeserializeAboveThresholdSpillsAndRecyclesBuffer() throws IOException {
+        service = new OscalDeserializationService(16, spillDir.toString(), 2);
+
+        Object first = service.deserialize(VALID_CATALOG_JSON, OscalFormat.JSON, OscalModelType.CATALOG);
+        Object second = service.deserialize(VALID_CATALOG_JSON, OscalFormat.JSON, OscalModelType.CATALOG);
+
+        assertInstanceOf(Catalog.class, first);
+        assertInstanceOf(Catalog.class, second);
+        // The same pooled buffer is reused and truncated after each use
+        assertEquals(1, countFiles(spillDir));
+        try (Stream<Path> files = Files.list(spillDir)) {
+            Path buffer = files.findFirst().orElseThrow();
+            assertEquals(0, Files.size(buffer));
+        }
+    }
+
+    @Test
+    void testDeserializeStreamWithUnknownLengthSpills() throws IOException {
+        service = new OscalDeserializationService(1024 * 1024, spillDir.toString(), 2);
+        byte[] bytes = VALID_CATALOG_JSON.getBytes(StandardCharsets.UTF_8);
+
+        Object result = service.deserialize(new ByteArrayInputStream(bytes), -1, OscalFormat.JSON, OscalModelType.CATALOG);
+
+        assertInstanceOf(Catalog.class, result);
+        assertEquals(1, countFiles(spillDir));
+    }
+
+    @Test
+    void testThresholdComparesEncodedBytes() throws IOException {
+        String multiByte = VALID_CATALOG_JSON.replace("Sample Security Catalog", "\u00c9chantillon \u2014 \u76ee\u5f55 \ud835\udc9e");
+        int chars = multiByte.length();
+        int bytes = multiByte.getBytes(StandardCharsets.UTF_8).length;
+        assertTrue(bytes > chars);
+
+        assertTrue(OscalDeserializationService.utf8LengthAtMost(multiByte, bytes));
+        assertFalse(OscalDeserializationService.utf8LengthAtMost(multiByte, bytes - 1));
+
+        // Within the threshold in chars but not in bytes, so the document is spilled
+        service = new OscalDeserializationService(chars, spillDir.toString(), 2);
+        Catalog catalog = service.deserialize(multiByte, OscalFormat.JSON, Catalog.class);
+
+        assertEquals("\u00c9chantillon \u2014 \u76ee\u5f55 \ud835\udc9e", catalog.getMetadata().getTitle().toString());
+        assertEquals(1, countFiles(spillDir));
+    }
+
+    @Test
+    void testCleanupDeletesPooledBuffers() throws IOException {
+        service = new OscalDeserializationService(16, spillDir.toString(), 2);
+        service.deserialize(VALID_CATALOG_JSON, OscalFormat.JSON, OscalModelType.CATALOG);
+
+        service.cleanup();
+
+        assertEquals(0, countFiles(spillDir));
+    }
+
+    @Test
+    void testDeserializeMalformedContentThrows() {
+        service = new OscalDeserializationService(1024 * 1024, spillDir.toString(), 2);
+
+        assertThrows(Exception.class,
+            () -> service.deserialize("{invalid json}", OscalFormat.JSON, OscalModelType.CATALOG));
+    }
+
+    @Test
+    void testGetModelClass() {
+        service = TestServices.deserializationService();
+
+        assertEquals(Catalog.class, service.getModelClass(OscalModelType.CATALOG));
+        assertEquals(Profile.class, service.getModelClass(OscalModelType.PROFILE));
+    }
+
+    @Test
+    void testDefaultSpillDirectoryFallsBackToWritableDirectory() {
+        service = TestServices.deserializationService();
+
+        assertTrue(Files.isDirectory(service.getSpillDirectory()));
+    }
+
+    private long countFiles(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package gov.nist.oscal.tools.api.service;
+
+import gov.nist.oscal.tools.api.model.OscalFormat;
+import gov.nist.oscal.tools.api.model.OscalModelType;
+import gov.nist.oscal.tools.api.service.OscalDocumentDetector.DetectedDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OscalDocumentDetectorTest {
+
+    private OscalDocumentDetector detector;
+
+    @BeforeEach
+    void setUp() {
+        detector = new OscalDocumentDetector();
+    }
+
+    @Test
+    void testDetectJsonSkipsSchemaKey() {
+        DetectedDocument detected = detector.detect(
+            "\n  {\"$schema\": \"https://example.com/oscal.json\", \"system-security-plan\": {\"uuid\": \"x\"}}");
+
+        assertEquals(OscalFormat.JSON, detected.getFormat());
+        assertEquals(OscalModelType.SYSTEM_SECURITY_PLAN, detected.getModelType());
+    }
+
+    @Test
+    void testDetectXmlRootAfterPrologAndComments() {
+        DetectedDocument detected = detector.detect(
+            "\uFEFF<?xml version=\"1.0\"?>\n<!-- generated -->\n" +
+            "<profile xmlns=\"http://csrc.nist.gov/ns/oscal/1.0\" uuid=\"x\"><metadata/></profile>");
+
+        assertEquals(OscalFormat.XML, detected.getFormat());
+        assertEquals(OscalModelType.PROFILE, detected.getModelType());
+    }
+
+    @Test
+    void testDetectYaml() {
+        DetectedDocument detected = detector.detect(
+            "---\n# exported\ncomponent-definition:\n  uuid: x\n  metadata:\n    title: Components\n");
+
+        assertEquals(OscalFormat.YAML, detected.getFormat());
+        assertEquals(OscalModelType.COMPONENT_DEFINITION, detected.getModelType());
+    }
+
+    @Test
+    void testUnknownRootHasFormatOnly() {
+        DetectedDocument detected = detector.detect("{\"not-oscal\": {\"catalog\": {}}}");
+
+        assertEquals(OscalFormat.JSON, detected.getFormat());
+        assertNull(detected.getModelType());
+    }
+
+    @Test
+    void testDetectStopsAtRootOfTruncatedDocument() {
+        // Only the head is well-formed; detection never reaches the broken part
+        DetectedDocument detected = detector.detect("{\"assessment-results\": {\"uuid\": \"x\", \"results\": [");
+
+        assertEquals(OscalModelType.ASSESSMENT_RESULTS, detected.getModelType());
+    }
+
+    @Test
+    void testDetectStreamResetsForParsing() throws Exception {
+        String content = "<plan-of-action-and-milestones uuid=\"x\">" + "<!-- padding -->".repeat(1000) +
+            "</plan-of-action-and-milestones>";
+        InputStream input = new BufferedInputStream(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+
+        DetectedDocument detected = detector.detect(input);
+
+        assertEquals(OscalModelType.PLAN_OF_ACTION_AND_MILESTONES, detected.getModelType());
+        assertEquals(content, new String(input.readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testResolveFillsMissingValues() {
+        DetectedDocument resolved = detector.resolve("<catalog uuid=\"x\"/>", null, null);
+
+        assertEquals(OscalFormat.XML, resolved.getFormat());
+        assertEquals(OscalModelType.CATALOG, resolved.getModelType());
+    }
+
+    @Test
+    void testResolveRejectsContradictingValues() {
+        IllegalArgumentException modelMismatch = assertThrows(IllegalArgumentException.class,
+            () -> detector.resolve("{\"catalog\": {}}", OscalFormat.JSON, OscalModelType.PROFILE));
+        assertTrue(modelMismatch.getMessage().contains("catalog"));
+
+        assertThrows(IllegalArgumentException.class,
+            () -> detector.resolve("<catalog/>", OscalFormat.JSON, OscalModelType.CATALOG));
+    }
+
+    @Test
+    void testResolveAcceptsJsonDeclaredAsYaml() {
+        DetectedDocument resolved = detector.resolve("{\"catalog\": {}}", OscalFormat.YAML, null);
+
+        assertEquals(OscalFormat.YAML, resolved.getFormat());
+        assertEquals(OscalModelType.CATALOG, resolved.getModelType());
+    }
+
+    @Test
+    void testResolveFailsWhenModelTypeUndetectable() {
+        assertThrows(IllegalArgumentException.class, () -> detector.resolve("{\"unknown\": {}}", null, null));
+        assertThrows(IllegalArgumentException.class, () -> detector.resolve("   ", null, OscalModelType.CATALOG));
+    }
+}
@@ -0,0 +1,124 @@
+package gov.nist.oscal.tools.api.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelTransferTest {
+
+    private static final int CHUNK_SIZE = 1024;
+    private static final long THRESHOLD = 4 * CHUNK_SIZE;
+
+    @TempDir
+    Path tempDir;
+
+    private FileSystemMultipartStore store;
+    private ParallelTransfer transfer;
+
+    @BeforeEach
+    void setUp() {
+        store = new FileSystemMultipartStore(tempDir);
+        transfer = new ParallelTransfer(store, THRESHOLD, CHUNK_SIZE, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transfer.close();
+    }
+
+    @Test
+    void testLargeObjectRoundTrip() {
+        byte[] data = randomBytes(20 * CHUNK_SIZE + 17);
+
+        transfer.upload("library/item/v1/catalog.json", data, Map.of("format", "JSON"));
+
+        assertArrayEquals(data, store.get("library/item/v1/catalog.json"));
+        assertArrayEquals(data, transfer.download("library/item/v1/catalog.json"));
+        assertFalse(store.isAborted());
+    }
+
+    @Test
+    void testPartsAreTransferredInParallel() {
+        byte[] data = randomBytes(16 * CHUNK_SIZE);
+
+        transfer.upload("large.json", data, null);
+        transfer.download("large.json");
+
+        assertTrue(store.getMaxInFlight() > 1, "Expected overlapping part transfers");
+        assertTrue(store.getMaxInFlight() <= 4, "Parallelism must bound transfers in flight");
+    }
+
+    @Test
+    void testSmallObjectIsReadInOneRange() {
+        byte[] data = randomBytes(CHUNK_SIZE / 2);
+        store.put("small.json", data);
+
+        assertArrayEquals(data, transfer.download("small.json"));
+        assertEquals(1, store.getRangeReads());
+    }
+
+    @Test
+    void testObjectBelowThresholdIsReadInTwoRanges() {
+        byte[] data = randomBytes(3 * CHUNK_SIZE);
+        store.put("medium.json", data);
+
+        assertArrayEquals(data, transfer.download("medium.json"));
+        assertEquals(2, store.getRangeReads());
+    }
+
+    @Test
+    void testDownloadWithKnownSize() {
+        byte[] data = randomBytes(10 * CHUNK_SIZE + 3);
+        store.put("known.json", data);
+
+        assertArrayEquals(data, transfer.download("known.json", data.length, null));
+    }
+
+    @Test
+    void testEmptyObject() {
+        store.put("empty.json", new byte[0]);
+
+        assertEquals(0, transfer.download("empty.json").length);
+        assertFalse(transfer.isLarge(0));
+    }
+
+    @Test
+    void testFailedPartAbortsUpload() {
+        store.failPart(3);
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> transfer.upload("broken.json", randomBytes(8 * CHUNK_SIZE), null));
+
+        assertTrue(e.getMessage().contains("part 3"));
+        assertTrue(store.isAborted());
+    }
+
+    @Test
+    void testObjectChangedDuringDownloadFails() {
+        byte[] original = randomBytes(8 * CHUNK_SIZE);
+        store.put("changing.json", original);
+        store.afterFirstRead(() -> store.put("changing.json", randomBytes(8 * CHUNK_SIZE)));
+
+        assertThrows(RuntimeException.class, () -> transfer.download("changing.json"));
+    }
+
+    @Test
+    void testParseTotalSize() {
+        assertEquals(1234, MultipartObjectStore.RangeRead.parseTotalSize("bytes 0-99/1234"));
+        assertEquals(-1, MultipartObjectStore.RangeRead.parseTotalSize("bytes 0-99/*"));
+        assertEquals(-1, MultipartObjectStore.RangeRead.parseTotalSize(null));
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+}
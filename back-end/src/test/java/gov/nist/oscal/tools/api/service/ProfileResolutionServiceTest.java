@@ -8,22 +8,83 @@ package gov.nist.oscal.tools.api.service;
 import gov.nist.oscal.tools.api.model.OscalFormat;
 import gov.nist.oscal.tools.api.model.ProfileResolutionRequest;
 import gov.nist.oscal.tools.api.model.ProfileResolutionResult;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class ProfileResolutionServiceTest {
 
+    private static final String CATALOG_XML = """
+        <?xml version="1.0" encoding="UTF-8"?>
+        <catalog xmlns="http://csrc.nist.gov/ns/oscal/1.0" uuid="74c8ba1e-5cd4-4ad1-bbfd-d888e2f6c724">
+            <metadata>
+                <title>Example Catalog</title>
+                <last-modified>2023-10-24T00:00:00.000000-00:00</last-modified>
+                <version>1.0</version>
+                <oscal-version>1.1.1</oscal-version>
+            </metadata>
+            <control id="control-1">
+                <title>Control 1</title>
+            </control>
+            <control id="control-2">
+                <title>Control 2</title>
+            </control>
+        </catalog>
+        """;
+
+    private static final String CATALOG_JSON = """
+        {
+          "catalog": {
+            "uuid": "0b5c4d8e-2b8e-4b8a-9c3c-7b9f7a1e2d3f",
+            "metadata": {
+              "title": "Example Catalog",
+              "last-modified": "2023-10-24T00:00:00.000000-00:00",
+              "version": "1.0",
+              "oscal-version": "1.1.1"
+            },
+            "controls": [
+              {"id": "control-1", "title": "Control 1"},
+              {"id": "control-2", "title": "Control 2"},
+              {"id": "control-3", "title": "Control 3"}
+            ]
+          }
+        }
+        """;
+
+    @TempDir
+    Path catalogDir;
+
+    private CatalogSourceService catalogSourceService;
+    private ResolvedProfileCache resolvedProfileCache;
     private ProfileResolutionService service;
 
     @BeforeEach
-    void setUp() {
-        service = new ProfileResolutionService();
+    void setUp() throws IOException {
+        Files.writeString(catalogDir.resolve("example_catalog_valid.xml"), CATALOG_XML);
+        Files.writeString(catalogDir.resolve("catalog.json"), CATALOG_JSON);
+
+        OscalDeserializationService deserializationService = TestServices.deserializationService();
+        catalogSourceService = new CatalogSourceService(deserializationService, new OscalDocumentDetector(), null,
+                catalogDir.toString(), true, 64L * 1024 * 1024, 60, null);
+        resolvedProfileCache = new ResolvedProfileCache(true, 64L * 1024 * 1024, 60, false, null, null);
+        service = new ProfileResolutionService(deserializationService, catalogSourceService, resolvedProfileCache, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
     }
 
     @Test
-    void testResolveProfile_withValidProfileWithImports_returnsNotImplementedMessage() {
+    void testResolveProfile_withValidProfileWithImports_resolvesCatalog() {
         // Given: A valid profile with imports
         String profileContent = """
             <?xml version="1.0" encoding="UTF-8"?>
@@ -54,12 +115,13 @@ class ProfileResolutionServiceTest {
         // When: Resolving the profile
         ProfileResolutionResult result = service.resolveProfile(request, "testuser");
 
-        // Then: Should return not implemented message with import count
+        // Then: Should return the resolved catalog in XML with the selected control
         assertNotNull(result);
-        assertFalse(result.isSuccess());
-        assertNotNull(result.getError());
-        assertTrue(result.getError().contains("not yet implemented"));
-        assertTrue(result.getError().contains("1 catalog(s)"));
+        assertTrue(result.isSuccess(), result.getError());
+        assertEquals(1, result.getControlCount());
+        assertTrue(result.getResolvedCatalog().contains("<catalog"));
+        assertTrue(result.getResolvedCatalog().contains("control-1"));
+        assertFalse(result.getResolvedCatalog().contains("control-2"));
     }
 
     @Test
@@ -156,15 +218,16 @@ class ProfileResolutionServiceTest {
         // When: Resolving the profile
         ProfileResolutionResult result = service.resolveProfile(request, "testuser");
 
-        // Then: Should handle JSON format correctly
+        // Then: Should return the resolved catalog as JSON
         assertNotNull(result);
-        assertFalse(result.isSuccess());
-        assertNotNull(result.getError());
-        assertTrue(result.getError().contains("not yet implemented"));
+        assertTrue(result.isSuccess(), result.getError());
+        assertEquals(1, result.getControlCount());
+        assertTrue(result.getResolvedCatalog().contains("\"catalog\""));
+        assertTrue(result.getResolvedCatalog().contains("Valid OSCAL Profile"));
     }
 
     @Test
-    void testResolveProfile_withMultipleImports_countsCorrectly() {
+    void testResolveProfile_withMissingBackMatterResource_returnsError() {
         // Given: A profile with multiple imports
         String profileContent = """
             <?xml version="1.0" encoding="UTF-8"?>
@@ -200,11 +263,11 @@ class ProfileResolutionServiceTest {
         // When: Resolving the profile
         ProfileResolutionResult result = service.resolveProfile(request, "testuser");
 
-        // Then: Should count all 3 imports
+        // Then: Should report the unresolvable import
         assertNotNull(result);
         assertFalse(result.isSuccess());
         assertNotNull(result.getError());
-        assertTrue(result.getError().contains("3 catalog(s)"));
+        assertTrue(result.getError().contains("catalog1"));
     }
 
     @Test
@@ -219,10 +282,11 @@ class ProfileResolutionServiceTest {
                 version: '1.0'
                 oscal-version: 1.1.1
               imports:
-                - href: '#fa585705-f386-4e3d-98d9-69a39fb26a0b'
+                - href: catalog.json
                   include-controls:
                     - with-ids:
                         - control-1
+                        - control-3
             """;
 
         ProfileResolutionRequest request = new ProfileResolutionRequest();
@@ -232,11 +296,12 @@ class ProfileResolutionServiceTest {
         // When: Resolving the profile
         ProfileResolutionResult result = service.resolveProfile(request, "testuser");
 
-        // Then: Should handle YAML format correctly
+        // Then: Should return the resolved catalog as YAML
         assertNotNull(result);
-        assertFalse(result.isSuccess());
-        assertNotNull(result.getError());
-        assertTrue(result.getError().contains("not yet implemented"));
+        assertTrue(result.isSuccess(), result.getError());
+        assertEquals(2, result.getControlCount());
+        assertTrue(result.getResolvedCatalog().contains("catalog:"));
+        assertTrue(result.getResolvedCatalog().contains("control-3"));
     }
 
     @Test
@@ -255,4 +320,132 @@ class ProfileResolutionServiceTest {
         assertNotNull(result.getError());
         assertTrue(result.getError().contains("failed"));
     }
+
+    @Test
+    void testResolveProfile_repeatedResolutions_parseCatalogOnce() {
+        // Given: Two profiles importing the same catalog
+        ProfileResolutionRequest first = jsonProfile("control-1");
+        ProfileResolutionRequest second = jsonProfile("control-2");
+
+        // When: Resolving both, and the first again
+        assertTrue(service.resolveProfile(first, "testuser").isSuccess());
+        assertTrue(service.resolveProfile(second, "testuser").isSuccess());
+        assertTrue(service.resolveProfile(first, "testuser").isSuccess());
+
+        // Then: The catalog was parsed once, and the repeated profile was not resolved again
+        assertEquals(1, catalogSourceService.size());
+        assertEquals(1, catalogSourceService.getNativeCache().stats().missCount());
+        assertEquals(1, catalogSourceService.getNativeCache().stats().hitCount());
+        assertEquals(1, resolvedProfileCache.getNativeCache().stats().hitCount());
+    }
+
+    @Test
+    void testResolveProfile_changedCatalog_invalidatesResolvedProfile() throws IOException {
+        // Given: A resolved profile
+        ProfileResolutionRequest request = jsonProfile("control-1");
+        ProfileResolutionResult first = service.resolveProfile(request, "testuser");
+        assertTrue(first.isSuccess());
+        assertEquals(Set.of(resolvedProfileCache.buildKey(request.getProfileContent(), OscalFormat.JSON)),
+                resolvedProfileCache.getDependents("file:catalog.json"));
+
+        // When: The catalog changes and its dependents are invalidated
+        Files.writeString(catalogDir.resolve("catalog.json"), CATALOG_JSON.replace("Control 1", "Renamed Control"));
+        assertEquals(1, resolvedProfileCache.invalidateSource("file:catalog.json"));
+        ProfileResolutionResult second = service.resolveProfile(request, "testuser");
+
+        // Then: The profile is resolved again from the new catalog
+        assertTrue(second.isSuccess());
+        assertTrue(second.getResolvedCatalog().contains("Renamed Control"));
+    }
+
+    @Test
+    void testResolveProfile_editedCatalogFile_isResolvedAgain() throws IOException {
+        // Given: A resolved profile
+        ProfileResolutionRequest request = jsonProfile("control-1");
+        assertTrue(service.resolveProfile(request, "testuser").isSuccess());
+
+        // When: The catalog file is edited, with no invalidation
+        Files.writeString(catalogDir.resolve("catalog.json"), CATALOG_JSON.replace("Control 1", "Renamed Control"));
+        ProfileResolutionResult second = service.resolveProfile(request, "testuser");
+
+        // Then: The cached resolution is not served
+        assertTrue(second.isSuccess());
+        assertTrue(second.getResolvedCatalog().contains("Renamed Control"));
+    }
+
+    @Test
+    void testResolveProfile_overlayOnBaselines_loadsSharedCatalogOnce() throws IOException {
+        // Given: An overlay importing two baselines that both import catalog.json
+        Files.writeString(catalogDir.resolve("baseline-1.json"), jsonProfile("control-1").getProfileContent());
+        Files.writeString(catalogDir.resolve("baseline-2.json"), jsonProfile("control-2").getProfileContent());
+        ProfileResolutionRequest overlay = jsonProfile("control-3");
+        overlay.setProfileContent(overlay.getProfileContent().replace(
+                "{\"href\": \"catalog.json\", \"include-controls\": [{\"with-ids\": [\"control-3\"]}]}",
+                "{\"href\": \"baseline-1.json\", \"include-all\": {}}, {\"href\": \"baseline-2.json\", \"include-all\": {}}"));
+
+        // When: Resolving the overlay
+        ProfileResolutionResult result = service.resolveProfile(overlay, "testuser");
+
+        // Then: Both baselines are resolved, and each source was loaded once
+        assertTrue(result.isSuccess(), result.getError());
+        assertEquals(2, result.getControlCount());
+        assertEquals(3, catalogSourceService.getNativeCache().stats().missCount());
+        assertEquals(0, catalogSourceService.getNativeCache().stats().hitCount());
+        assertEquals(Set.of(resolvedProfileCache.buildKey(overlay.getProfileContent(), OscalFormat.JSON)),
+                resolvedProfileCache.getDependents("file:catalog.json"));
+    }
+
+    @Test
+    void testResolveProfile_withImportCycle_returnsError() throws IOException {
+        // Given: A baseline that imports itself
+        ProfileResolutionRequest request = jsonProfile("control-1");
+        Files.writeString(catalogDir.resolve("baseline.json"),
+                request.getProfileContent().replace("catalog.json", "baseline.json"));
+        request.setProfileContent(request.getProfileContent().replace("catalog.json", "baseline.json"));
+
+        // When: Resolving a profile importing it
+        ProfileResolutionResult result = service.resolveProfile(request, "testuser");
+
+        // Then: Should report the cycle
+        assertFalse(result.isSuccess());
+        assertTrue(result.getError().contains("baseline.json -> baseline.json"), result.getError());
+    }
+
+    @Test
+    void testResolveProfile_withUnknownCatalog_returnsError() {
+        // Given: A profile importing a catalog that is neither local nor in the library
+        ProfileResolutionRequest request = jsonProfile("control-1");
+        request.setProfileContent(request.getProfileContent()
+                .replace("catalog.json", "https://example.org/unknown_catalog.json"));
+
+        // When: Resolving the profile
+        ProfileResolutionResult result = service.resolveProfile(request, "testuser");
+
+        // Then: Should report that the catalog could not be found, without fetching it
+        assertFalse(result.isSuccess());
+        assertTrue(result.getError().contains("unknown_catalog.json"));
+        assertTrue(result.getError().contains("not fetched"));
+    }
+
+    private static ProfileResolutionRequest jsonProfile(String controlId) {
+        ProfileResolutionRequest request = new ProfileResolutionRequest();
+        request.setProfileContent("""
+            {
+              "profile": {
+                "uuid": "531e37ca-9ab8-435f-915d-e96c7f4361d2",
+                "metadata": {
+                  "title": "Profile",
+                  "last-modified": "2023-10-24T00:00:00.000000-00:00",
+                  "version": "1.0",
+                  "oscal-version": "1.1.1"
+                },
+                "imports": [
+                  {"href": "catalog.json", "include-controls": [{"with-ids": ["%s"]}]}
+                ]
+              }
+            }
+            """.formatted(controlId));
+        request.setFormat(OscalFormat.JSON);
+        return request;
+    }
 }
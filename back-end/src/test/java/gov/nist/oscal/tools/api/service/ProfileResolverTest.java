@@ -0,0 +1,341 @@
+package gov.nist.oscal.tools.api.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProfileResolverTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String CATALOG = """
+        {
+          "catalog": {
+            "uuid": "c0000000-0000-4000-8000-000000000001",
+            "metadata": {"title": "Source", "last-modified": "2024-01-01T00:00:00Z", "version": "1", "oscal-version": "1.1.2"},
+            "groups": [
+              {
+                "id": "ac", "title": "Access Control",
+                "controls": [
+                  {
+                    "id": "ac-1", "title": "Policy",
+                    "params": [{"id": "ac-1_prm_1", "label": "frequency"}],
+                    "parts": [
+                      {"id": "ac-1_smt", "name": "statement", "prose": "Review {{ insert: param, ac-1_prm_1 }}."},
+                      {"id": "ac-1_gdn", "name": "guidance", "prose": "Guidance."}
+                    ]
+                  },
+                  {
+                    "id": "ac-2", "title": "Account Management",
+                    "props": [{"name": "label", "value": "AC-2"}],
+                    "controls": [
+                      {"id": "ac-2.1", "title": "Automated Management"},
+                      {"id": "ac-2.2", "title": "Temporary Accounts"}
+                    ]
+                  }
+                ]
+              },
+              {
+                "id": "au", "title": "Audit",
+                "controls": [{"id": "au-1", "title": "Audit Policy"}]
+              }
+            ],
+            "back-matter": {"resources": [{"uuid": "r0000000-0000-4000-8000-000000000001", "title": "Reference"}]}
+          }
+        }
+        """;
+
+    @Test
+    void testIncludeControlsWithFlatMerge() throws IOException {
+        JsonNode resolved = resolve(profile("""
+            "imports": [{"href": "catalog.json", "include-controls": [{"with-ids": ["ac-1", "ac-2.1"]}]}]
+            """));
+
+        JsonNode catalog = resolved.path("catalog");
+        assertFalse(catalog.has("groups"));
+        assertEquals(List.of("ac-1", "ac-2.1"), ids(catalog.path("controls")));
+        assertEquals(2, ProfileResolver.countControls(resolved));
+        assertEquals("Profile", catalog.path("metadata").path("title").asText());
+        assertNotEquals("c0000000-0000-4000-8000-000000000001", catalog.path("uuid").asText());
+        assertEquals(1, catalog.path("back-matter").path("resources").size());
+    }
+
+    @Test
+    void testChildControlsAndMatchingPatterns() throws IOException {
+        JsonNode resolved = resolve(profile("""
+            "imports": [{"href": "catalog.json", "include-controls": [
+              {"with-ids": ["ac-2"], "with-child-controls": "yes"},
+              {"matching": [{"pattern": "au-*"}]}
+            ]}]
+            """));
+
+        assertEquals(List.of("ac-2", "ac-2.1", "ac-2.2", "au-1"), ids(resolved.path("catalog").path("controls")));
+    }
+
+    @Test
+    void testExclusionsTakePrecedence() throws IOException {
+        JsonNode resolved = resolve(profile("""
+            "imports": [{"href": "catalog.json", "include-all": {},
+                         "exclude-controls": [{"with-ids": ["ac-2"], "with-child-controls": "yes"}]}]
+            """));
+
+        assertEquals(List.of("ac-1", "au-1"), ids(resolved.path("catalog").path("controls")));
+    }
+
+    @Test
+    void testAsIsMergeKeepsStructure() throws IOException {
+        JsonNode resolved = resolve(profile("""
+            "imports": [{"href": "catalog.json", "include-controls": [{"with-ids": ["ac-1", "ac-2.1"]}]}],
+            "merge": {"as-is": true}
+            """));
+
+        JsonNode groups = resolved.path("catalog").path("groups");
+        assertEquals(1, groups.size());
+        assertEquals("ac", groups.get(0).path("id").asText());
+        // ac-2 is not selected, so its selected child takes its place
+        assertEquals(List.of("ac-1", "ac-2.1"), ids(groups.get(0).path("controls")));
+    }
+
+    @Test
+    void testCustomMergeGroups() throws IOException {
+        JsonNode resolved = resolve(profile("""
+            "imports": [{"href": "catalog.json", "include-all": {}}],
+            "merge": {"custom": {"groups": [
+              {"id": "baseline", "title": "Baseline", "insert-controls": [
+                {"order": "descending", "include-controls": [{"matching": [{"pattern": "ac-?"}]}]}
+              ]}
+            ]}}
+            """));
+
+        JsonNode catalog = resolved.path("catalog");
+        assertFalse(catalog.has("controls"));
+        assertEquals("Baseline", catalog.path("groups").get(0).path("title").asText());
+        assertEquals(List.of("ac-2", "ac-1"), ids(catalog.path("groups").get(0).path("controls")));
+    }
+
+    @Test
+    void testSetParametersAndAlters() throws IOException {
+        JsonNode resolved = resolve(profile("""
+            "imports": [{"href": "catalog.json", "include-controls": [{"with-ids": ["ac-1", "ac-2"]}]}],
+            "modify": {
+              "set-parameters": [{"param-id": "ac-1_prm_1", "values": ["annually"], "props": [{"name": "p", "value": "v"}]}],
+              "alters": [
+                {"control-id": "ac-1",
+                 "removes": [{"by-name": "guidance"}],
+                 "adds": [{"position": "after", "by-id": "ac-1_smt", "parts": [{"id": "ac-1_obj", "name": "objective"}]}]},
+                {"control-id": "ac-2",
+                 "removes": [{"by-item-name": "prop"}],
+                 "adds": [{"position": "starting", "props": [{"name": "priority", "value": "P1"}]}]}
+              ]
+            }
+            """));
+
+        JsonNode controls = resolved.path("catalog").path("controls");
+        JsonNode param = controls.get(0).path("params").get(0);
+        assertEquals("annually", param.path("values").get(0).asText());
+        assertEquals("p", param.path("props").get(0).path("name").asText());
+        assertEquals(List.of("ac-1_smt", "ac-1_obj"), ids(controls.get(0).path("parts")));
+        assertEquals(1, controls.get(1).path("props").size());
+        assertEquals("priority", controls.get(1).path("props").get(0).path("name").asText());
+    }
+
+    @Test
+    void testSourceIsNotModified() throws IOException {
+        JsonNode source = MAPPER.readTree(CATALOG);
+        JsonNode original = source.deepCopy();
+        ProfileResolver resolver = new ProfileResolver(href -> source);
+
+        resolver.resolve(MAPPER.readTree(profile("""
+            "imports": [{"href": "catalog.json", "include-all": {}}],
+            "modify": {"alters": [{"control-id": "ac-1", "removes": [{"by-id": "ac-1_gdn"}]}]}
+            """)));
+
+        assertEquals(original, source);
+    }
+
+    @Test
+    void testBackMatterReferenceAndDuplicateImports() throws IOException {
+        List<String> loaded = new ArrayList<>();
+        JsonNode source = MAPPER.readTree(CATALOG);
+        ProfileResolver resolver = new ProfileResolver(href -> {
+            loaded.add(href);
+            return source;
+        });
+
+        JsonNode resolved = resolver.resolve(MAPPER.readTree(profile("""
+            "imports": [
+              {"href": "#r1", "include-controls": [{"with-ids": ["ac-1"]}]},
+              {"href": "catalog.json", "include-controls": [{"with-ids": ["ac-1", "au-1"]}]}
+            ],
+            "back-matter": {"resources": [{"uuid": "r1", "rlinks": [{"href": "https://example.org/catalog.json"}]}]}
+            """)));
+
+        assertEquals(List.of("https://example.org/catalog.json", "catalog.json"), loaded);
+        assertEquals(List.of("ac-1", "au-1"), ids(resolved.path("catalog").path("controls")));
+    }
+
+    @Test
+    void testImportedProfileIsResolvedFirst() throws IOException {
+        Map<String, JsonNode> documents = new HashMap<>();
+        documents.put("catalog.json", MAPPER.readTree(CATALOG));
+        documents.put("base.json", MAPPER.readTree(profile("""
+            "imports": [{"href": "catalog.json", "include-controls": [{"with-ids": ["ac-1", "ac-2"]}]}]
+            """)));
+        ProfileResolver resolver = new ProfileResolver(documents::get);
+
+        JsonNode resolved = resolver.resolve(MAPPER.readTree(profile("""
+            "imports": [{"href": "base.json", "exclude-controls": [{"with-ids": ["ac-2"]}]}]
+            """)));
+
+        assertEquals(List.of("ac-1"), ids(resolved.path("catalog").path("controls")));
+    }
+
+    @Test
+    void testMissingBackMatterResourceFails() {
+        ProfileResolver resolver = new ProfileResolver(href -> MAPPER.readTree(CATALOG));
+
+        assertThrows(IllegalArgumentException.class, () -> resolver.resolve(MAPPER.readTree(profile("""
+            "imports": [{"href": "#missing", "include-all": {}}]
+            """))));
+    }
+
+    @Test
+    void testSharedSourceIsLoadedOncePerResolution() throws IOException {
+        Map<String, JsonNode> documents = new HashMap<>();
+        documents.put("catalog.json", MAPPER.readTree(CATALOG));
+        documents.put("access.json", MAPPER.readTree(profile("""
+            "imports": [{"href": "catalog.json", "include-controls": [{"with-ids": ["ac-1", "ac-2"]}]}]
+            """)));
+        documents.put("audit.json", MAPPER.readTree(profile("""
+            "imports": [{"href": "catalog.json", "include-controls": [{"with-ids": ["au-1"]}]}]
+            """)));
+        Map<String, Integer> loads = new ConcurrentHashMap<>();
+        ProfileResolver resolver = new ProfileResolver(href -> {
+            loads.merge(href, 1, Integer::sum);
+            return documents.get(href);
+        });
+
+        JsonNode resolved = resolver.resolve(MAPPER.readTree(profile("""
+            "imports": [
+              {"href": "access.json", "include-all": {}},
+              {"href": "audit.json", "include-all": {}},
+              {"href": "catalog.json", "include-controls": [{"with-ids": ["ac-2.1"]}]}
+            ]
+            """)));
+
+        assertEquals(Map.of("catalog.json", 1, "access.json", 1, "audit.json", 1), loads);
+        assertEquals(List.of("ac-1", "ac-2", "au-1", "ac-2.1"), ids(resolved.path("catalog").path("controls")));
+    }
+
+    @Test
+    void testImportCycleIsRejected() throws IOException {
+        Map<String, JsonNode> documents = new HashMap<>();
+        documents.put("catalog.json", MAPPER.readTree(CATALOG));
+        documents.put("a.json", MAPPER.readTree(profile("""
+            "imports": [{"href": "catalog.json", "include-all": {}}, {"href": "b.json", "include-all": {}}]
+            """)));
+        documents.put("b.json", MAPPER.readTree(profile("""
+            "imports": [{"href": "a.json", "include-all": {}}]
+            """)));
+        ProfileResolver resolver = new ProfileResolver(documents::get);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> resolver.resolve(MAPPER.readTree(profile("""
+                    "imports": [{"href": "a.json", "include-all": {}}]
+                    """))));
+
+        assertTrue(e.getMessage().contains("a.json -> b.json -> a.json"), e.getMessage());
+    }
+
+    @Test
+    void testIndependentImportsResolveInParallel() throws IOException {
+        Map<String, JsonNode> documents = new HashMap<>();
+        documents.put("catalog.json", MAPPER.readTree(CATALOG));
+        documents.put("access.json", MAPPER.readTree(profile("""
+            "imports": [{"href": "catalog.json", "include-controls": [{"with-ids": ["ac-1"]}]}]
+            """)));
+        documents.put("audit.json", MAPPER.readTree(profile("""
+            "imports": [{"href": "catalog.json", "include-controls": [{"with-ids": ["au-1"]}]}]
+            """)));
+        // Each baseline load waits for the other, which only completes if they are loaded concurrently
+        CountDownLatch bothLoading = new CountDownLatch(2);
+        AtomicBoolean overlapped = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            ProfileResolver resolver = new ProfileResolver(href -> {
+                if (!href.equals("catalog.json")) {
+                    bothLoading.countDown();
+                    try {
+                        if (!bothLoading.await(5, TimeUnit.SECONDS)) {
+                            overlapped.set(false);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return documents.get(href);
+            }, executor);
+
+            JsonNode resolved = resolver.resolve(MAPPER.readTree(profile("""
+                "imports": [{"href": "access.json", "include-all": {}}, {"href": "audit.json", "include-all": {}}]
+                """)));
+
+            assertTrue(overlapped.get());
+            assertEquals(List.of("ac-1", "au-1"), ids(resolved.path("catalog").path("controls")));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testLoadFailureInParallelResolutionIsReported() {
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            ProfileResolver resolver = new ProfileResolver(href -> {
+                throw new IOException("Unavailable: " + href);
+            }, executor);
+
+            IOException e = assertThrows(IOException.class, () -> resolver.resolve(MAPPER.readTree(profile("""
+                "imports": [{"href": "catalog.json", "include-all": {}}]
+                """))));
+            assertEquals("Unavailable: catalog.json", e.getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static JsonNode resolve(String profile) throws IOException {
+        JsonNode source = MAPPER.readTree(CATALOG);
+        return new ProfileResolver(href -> source).resolve(MAPPER.readTree(profile));
+    }
+
+    private static String profile(String body) {
+        return """
+            {"profile": {
+              "uuid": "p0000000-0000-4000-8000-000000000001",
+              "metadata": {"title": "Profile", "last-modified": "2024-01-01T00:00:00Z", "version": "1", "oscal-version": "1.1.2"},
+            """ + body + "}}";
+    }
+
+    private static List<String> ids(JsonNode items) {
+        List<String> ids = new ArrayList<>();
+        for (JsonNode item : items) {
+            ids.add(item.path("id").asText());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,145 @@
+package gov.nist.oscal.tools.api.service;
+
+import gov.nist.oscal.tools.api.model.OscalFormat;
+import gov.nist.oscal.tools.api.service.CatalogSourceService.SourceVersion;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ResolvedProfileCacheTest {
+
+    private static final SourceVersion CATALOG_V1 = new SourceVersion("catalog.json", "library:cat", "hash1");
+    private static final SourceVersion BASELINE = new SourceVersion("baseline.json", "library:base", "hash2");
+    private static final SourceVersion LOCAL = new SourceVersion("local.json", "file:local.json", "hash3");
+
+    @Test
+    void testBuildKeyDependsOnContentAndFormat() {
+        ResolvedProfileCache cache = new ResolvedProfileCache(true, 1024 * 1024, 60, false, null, null);
+
+        String key = cache.buildKey("{\"profile\":{}}", OscalFormat.JSON);
+
+        assertEquals(key, cache.buildKey("{\"profile\":{}}", OscalFormat.JSON));
+        assertNotEquals(key, cache.buildKey("{\"profile\":{} }", OscalFormat.JSON));
+        assertNotEquals(key, cache.buildKey("{\"profile\":{}}", OscalFormat.XML));
+    }
+
+    @Test
+    void testNewSourceVersionInvalidatesExactlyItsDependents() {
+        ResolvedProfileCache cache = new ResolvedProfileCache(true, 1024 * 1024, 60, false, null, null);
+        long stamp = cache.currentStamp();
+        cache.put("moderate", entry(CATALOG_V1), stamp);
+        cache.put("overlay", entry(BASELINE, CATALOG_V1), stamp);
+        cache.put("local", entry(LOCAL), stamp);
+
+        assertEquals(Set.of("moderate", "overlay"), cache.getDependents("library:cat"));
+        assertEquals(2, cache.invalidateSource("library:cat"));
+
+        assertTrue(cache.get("moderate", sources -> true).isEmpty());
+        assertTrue(cache.get("overlay", sources -> true).isEmpty());
+        assertTrue(cache.get("local", sources -> true).isPresent());
+        assertEquals(Set.of(), cache.getDependents("library:cat"));
+        // The overlay is gone, so it no longer depends on the baseline either
+        assertEquals(Set.of(), cache.getDependents("library:base"));
+        assertEquals(0, cache.invalidateSource("library:unrelated"));
+    }
+
+    @Test
+    void testResultResolvedBeforeInvalidationIsNotCached() {
+        ResolvedProfileCache cache = new ResolvedProfileCache(true, 1024 * 1024, 60, false, null, null);
+        long stamp = cache.currentStamp();
+
+        // A new catalog version lands while the profile is being resolved
+        cache.invalidateSource("library:cat");
+        cache.put("moderate", entry(CATALOG_V1), stamp);
+
+        assertTrue(cache.get("moderate", sources -> true).isEmpty());
+        assertEquals(Set.of(), cache.getDependents("library:cat"));
+
+        cache.put("moderate", entry(CATALOG_V1), cache.currentStamp());
+        assertTrue(cache.get("moderate", sources -> true).isPresent());
+    }
+
+    @Test
+    void testStoredEntryIsServedAfterRestartWhenSourcesAreCurrent() {
+        Map<String, String> storage = new ConcurrentHashMap<>();
+        ResolvedProfileCache cache = new ResolvedProfileCache(true, 1024 * 1024, 60, true, storageBackedBy(storage), null);
+        cache.put("moderate", entry(CATALOG_V1), cache.currentStamp());
+        assertEquals(1, storage.size());
+
+        // A restarted instance has an empty heap tier
+        ResolvedProfileCache restarted = new ResolvedProfileCache(true, 1024 * 1024, 60, true, storageBackedBy(storage), null);
+        ResolvedProfileCache.Entry entry = restarted.get("moderate", sources -> sources.equals(List.of(CATALOG_V1)))
+                .orElseThrow();
+
+        assertEquals("{\"catalog\":{}}", entry.resolvedCatalog());
+        assertEquals(3, entry.controlCount());
+        assertEquals(Set.of("moderate"), restarted.getDependents("library:cat"));
+
+        // The stored copy is removed along with the heap entry
+        restarted.invalidateSource("library:cat");
+        assertTrue(storage.isEmpty());
+    }
+
+    @Test
+    void testOutdatedStoredEntryIsDeleted() {
+        Map<String, String> storage = new ConcurrentHashMap<>();
+        ResolvedProfileCache cache = new ResolvedProfileCache(true, 1024 * 1024, 60, true, storageBackedBy(storage), null);
+        cache.put("moderate", entry(CATALOG_V1), cache.currentStamp());
+
+        ResolvedProfileCache restarted = new ResolvedProfileCache(true, 1024 * 1024, 60, true, storageBackedBy(storage), null);
+
+        assertTrue(restarted.get("moderate", sources -> false).isEmpty());
+        assertTrue(storage.isEmpty());
+    }
+
+    @Test
+    void testHeapEntryWithOutdatedSourcesIsRemoved() {
+        Map<String, String> storage = new ConcurrentHashMap<>();
+        ResolvedProfileCache cache = new ResolvedProfileCache(true, 1024 * 1024, 60, true, storageBackedBy(storage), null);
+        cache.put("local", entry(LOCAL), cache.currentStamp());
+
+        // The file changed without an invalidation reaching this instance
+        assertTrue(cache.get("local", sources -> false).isEmpty());
+
+        assertTrue(cache.get("local", sources -> true).isEmpty());
+        assertEquals(Set.of(), cache.getDependents("file:local.json"));
+        assertTrue(storage.isEmpty());
+    }
+
+    @Test
+    void testDisabledCacheNeverReturnsResults() {
+        LibraryStorageService storageService = mock(LibraryStorageService.class);
+        ResolvedProfileCache cache = new ResolvedProfileCache(false, 1024 * 1024, 60, true, storageService, null);
+
+        cache.put("moderate", entry(CATALOG_V1), cache.currentStamp());
+
+        assertTrue(cache.get("moderate", sources -> true).isEmpty());
+        verifyNoInteractions(storageService);
+    }
+
+    private static ResolvedProfileCache.Entry entry(SourceVersion... sources) {
+        return new ResolvedProfileCache.Entry("{\"catalog\":{}}", 3, List.of(sources));
+    }
+
+    private static LibraryStorageService storageBackedBy(Map<String, String> storage) {
+        LibraryStorageService storageService = mock(LibraryStorageService.class);
+        when(storageService.saveLibraryFile(anyString(), anyString(), any())).thenAnswer(invocation -> {
+            storage.put(invocation.getArgument(1), invocation.getArgument(0));
+            return true;
+        });
+        when(storageService.fileExists(anyString()))
+                .thenAnswer(invocation -> storage.containsKey(invocation.<String>getArgument(0)));
+        when(storageService.getLibraryFileContent(anyString()))
+                .thenAnswer(invocation -> storage.get(invocation.<String>getArgument(0)));
+        when(storageService.deleteLibraryFile(anyString()))
+                .thenAnswer(invocation -> storage.remove(invocation.<String>getArgument(0)) != null);
+        return storageService;
+    }
+}
@@ -0,0 +1,160 @@
+package gov.nist.oscal.tools.api.service;
+
+import gov.nist.oscal.tools.api.entity.SavedFileEntity;
+import gov.nist.oscal.tools.api.entity.User;
+import gov.nist.oscal.tools.api.model.OscalFormat;
+import gov.nist.oscal.tools.api.model.OscalModelType;
+import gov.nist.oscal.tools.api.model.SavedFile;
+import gov.nist.oscal.tools.api.repository.SavedFileRepository;
+import gov.nist.oscal.tools.api.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SavedFileIndexTest {
+
+    @Mock
+    private SavedFileRepository savedFileRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SavedFileIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SavedFileIndex(savedFileRepository, userRepository, true, 10000, 60, null);
+    }
+
+    private SavedFile savedFile(String fileId, String username) {
+        SavedFile file = new SavedFile(fileId, "catalog.json", OscalModelType.CATALOG, OscalFormat.JSON, 42,
+            LocalDateTime.of(2024, 1, 2, 3, 4), username + "/" + fileId + "_catalog.json");
+        file.setUsername(username);
+        return file;
+    }
+
+    @Test
+    void testFindPath_cachesDatabaseLookup() {
+        when(savedFileRepository.findFilePathByFileIdAndUsername("f1", "alice"))
+            .thenReturn(Optional.of("alice/f1_catalog.json"));
+
+        assertEquals(Optional.of("alice/f1_catalog.json"), index.findPath("f1", "alice"));
+        assertEquals(Optional.of("alice/f1_catalog.json"), index.findPath("f1", "alice"));
+
+        verify(savedFileRepository, times(1)).findFilePathByFileIdAndUsername("f1", "alice");
+    }
+
+    @Test
+    void testFindPath_missIsNotCached() {
+        when(savedFileRepository.findFilePathByFileIdAndUsername("f1", "alice")).thenReturn(Optional.empty());
+
+        assertTrue(index.findPath("f1", "alice").isEmpty());
+        assertTrue(index.findPath("f1", "alice").isEmpty());
+
+        verify(savedFileRepository, times(2)).findFilePathByFileIdAndUsername("f1", "alice");
+    }
+
+    @Test
+    void testFindPath_otherUsersFileIsNotFound() {
+        when(savedFileRepository.findFilePathByFileIdAndUsername("f1", "mallory")).thenReturn(Optional.empty());
+
+        assertTrue(index.findPath("f1", "mallory").isEmpty());
+    }
+
+    @Test
+    void testRecord_savesEntityAndCachesPath() {
+        User alice = new User();
+        alice.setUsername("alice");
+        when(savedFileRepository.existsByFileId("f1")).thenReturn(false);
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(alice));
+
+        assertTrue(index.record(savedFile("f1", "alice")));
+
+        ArgumentCaptor<SavedFileEntity> saved = ArgumentCaptor.forClass(SavedFileEntity.class);
+        verify(savedFileRepository).save(saved.capture());
+        assertEquals("f1", saved.getValue().getFileId());
+        assertEquals("alice/f1_catalog.json", saved.getValue().getFilePath());
+        assertEquals("CATALOG", saved.getValue().getModelType());
+        assertEquals(42L, saved.getValue().getFileSize());
+        assertEquals(LocalDateTime.of(2024, 1, 2, 3, 4), saved.getValue().getUploadedAt());
+        assertSame(alice, saved.getValue().getUser());
+
+        // Served from the cache without a query
+        assertEquals(Optional.of("alice/f1_catalog.json"), index.findPath("f1", "alice"));
+        verify(savedFileRepository, never()).findFilePathByFileIdAndUsername(anyString(), anyString());
+    }
+
+    @Test
+    void testRecord_skipsIndexedFilesAndUnknownUsers() {
+        when(savedFileRepository.existsByFileId("f1")).thenReturn(true);
+        when(savedFileRepository.existsByFileId("f2")).thenReturn(false);
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertFalse(index.record(savedFile("f1", "alice")));
+        assertFalse(index.record(savedFile("f2", "ghost")));
+
+        verify(savedFileRepository, never()).save(any());
+    }
+
+    @Test
+    void testRecord_databaseFailureDoesNotPropagate() {
+        when(savedFileRepository.existsByFileId("f1")).thenThrow(new RuntimeException("DB down"));
+
+        assertFalse(index.record(savedFile("f1", "alice")));
+    }
+
+    @Test
+    void testRemove_deletesRowAndCachedPath() {
+        when(savedFileRepository.findFilePathByFileIdAndUsername("f1", "alice"))
+            .thenReturn(Optional.of("alice/f1_catalog.json"), Optional.empty());
+        index.findPath("f1", "alice");
+
+        index.remove("f1", "alice");
+
+        verify(savedFileRepository).deleteByFileIdAndUsername("f1", "alice");
+        assertTrue(index.findPath("f1", "alice").isEmpty());
+    }
+
+    @Test
+    void testBackfill_recordsFilesListedFromStorage() {
+        User alice = new User();
+        alice.setUsername("alice");
+        User bob = new User();
+        bob.setUsername("bob");
+        FileStorageService fileStorageService = mock(FileStorageService.class);
+        when(userRepository.findAll()).thenReturn(List.of(alice, bob));
+        when(fileStorageService.listFiles("alice")).thenReturn(List.of(savedFile("f1", "alice"), savedFile("f2", "alice")));
+        when(fileStorageService.listFiles("bob")).thenThrow(new RuntimeException("Storage error"));
+        when(savedFileRepository.existsByFileId("f1")).thenReturn(true);
+        when(savedFileRepository.existsByFileId("f2")).thenReturn(false);
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(alice));
+
+        SavedFileIndexBackfill backfill = new SavedFileIndexBackfill(index, fileStorageService, userRepository, true);
+
+        assertEquals(1, backfill.backfill());
+        verify(savedFileRepository, times(1)).save(argThat(e -> "f2".equals(e.getFileId())));
+    }
+
+    @Test
+    void testBackfill_skippedWhenIndexPopulated() {
+        FileStorageService fileStorageService = mock(FileStorageService.class);
+        when(savedFileRepository.count()).thenReturn(3L);
+
+        new SavedFileIndexBackfill(index, fileStorageService, userRepository, true).run(null);
+
+        verifyNoInteractions(fileStorageService);
+        verify(userRepository, never()).findAll();
+    }
+}
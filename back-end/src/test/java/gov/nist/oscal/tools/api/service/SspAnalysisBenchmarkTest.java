@@ -0,0 +1,177 @@
+package gov.nist.oscal.tools.api.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gov.nist.oscal.tools.api.model.OscalFormat;
+import gov.nist.oscal.tools.api.model.SspVisualizationRequest;
+import gov.nist.oscal.tools.api.model.SspVisualizationResult;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Heap used to read an SSP for visualization: the streaming reader versus a full JsonNode tree
+ * (the previous implementation, {@code ObjectMapper.readTree})
+ *
+ * Disabled by default. Run with an SSP in OSCAL JSON:
+ *
+ *   mvn test -Dtest=SspAnalysisBenchmarkTest -Dbenchmark=true -Dbenchmark.ssp=/path/to/ssp.json
+ *
+ * Without benchmark.ssp a synthetic SSP is generated, with benchmark.ssp.requirements implemented
+ * requirements (default 20,000, about 50 MB) carrying statements, inventory items, components and
+ * back-matter of the usual proportions.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SspAnalysisBenchmarkTest {
+
+    private static final int WARMUP_ITERATIONS = 2;
+    private static final int MEASURED_ITERATIONS = 5;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static String sspJson;
+
+    @BeforeAll
+    static void loadSsp() throws Exception {
+        String path = System.getProperty("benchmark.ssp");
+        sspJson = path != null
+            ? Files.readString(Path.of(path), StandardCharsets.UTF_8)
+            : syntheticSsp(Integer.getInteger("benchmark.ssp.requirements", 20_000));
+    }
+
+    @Test
+    void benchmarkReadMemory() throws Exception {
+        SspStreamReader reader = new SspStreamReader();
+        Measurement tree = measure(() -> MAPPER.readTree(sspJson));
+        Measurement streamed = measure(() -> reader.read(sspJson, OscalFormat.JSON));
+
+        System.out.printf("SSP (%.1f MB): readTree retains %.1f MB, allocates %.1f MB, %.0f ms; "
+                + "streaming retains %.1f MB, allocates %.1f MB, %.0f ms (%.1fx less retained)%n",
+            sspJson.length() / 1e6,
+            tree.retainedBytes / 1e6, tree.allocatedBytes / 1e6, tree.millis,
+            streamed.retainedBytes / 1e6, streamed.allocatedBytes / 1e6, streamed.millis,
+            tree.retainedBytes / (double) Math.max(1, streamed.retainedBytes));
+        assertTrue(streamed.retainedBytes < tree.retainedBytes);
+    }
+
+    @Test
+    void benchmarkAnalyzeSsp() {
+        VisualizationService service = TestServices.visualizationService();
+        SspVisualizationRequest request = new SspVisualizationRequest();
+        request.setContent(sspJson);
+        request.setFormat(OscalFormat.JSON);
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            assertTrue(service.analyzeSSP(request, "bench").isSuccess());
+        }
+        long start = System.nanoTime();
+        SspVisualizationResult result = null;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            result = service.analyzeSSP(request, "bench");
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        assertTrue(result.isSuccess(), result.getMessage());
+        System.out.printf("analyzeSSP (%.1f MB): %.1f MB/s, %d families%n", sspJson.length() / 1e6,
+            sspJson.length() * (double) MEASURED_ITERATIONS / 1e6 / seconds, result.getControlsByFamily().size());
+    }
+
+    @FunctionalInterface
+    private interface Read {
+        JsonNode read() throws Exception;
+    }
+
+    private record Measurement(long retainedBytes, long allocatedBytes, double millis) {
+    }
+
+    private static Measurement measure(Read read) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            read.read();
+        }
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+
+        long before = usedHeap();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        JsonNode result = read.read();
+        double millis = (System.nanoTime() - start) / 1e6;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        long retained = usedHeap() - before;
+        // Keep the result reachable until the heap is measured
+        assertTrue(result != null);
+        return new Measurement(retained, allocated, millis);
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static String syntheticSsp(int requirements) {
+        String[] families = {"ac", "at", "au", "ca", "cm", "cp", "ia", "ir", "ma", "mp",
+            "pe", "pl", "pm", "ps", "pt", "ra", "sa", "sc", "si", "sr"};
+        String prose = "The organization implements this requirement through documented procedures, "
+            + "automated mechanisms and periodic review by the responsible roles. ".repeat(8);
+        StringBuilder json = new StringBuilder(requirements * 5_000);
+        json.append("{\"system-security-plan\":{\"uuid\":\"ssp\",\"metadata\":{\"title\":\"Benchmark SSP\",")
+            .append("\"roles\":[{\"id\":\"admin\",\"title\":\"Administrator\"}],")
+            .append("\"parties\":[{\"uuid\":\"p-1\",\"type\":\"person\",\"name\":\"Admin\"}],")
+            .append("\"responsible-parties\":[{\"role-id\":\"admin\",\"party-uuids\":[\"p-1\"]}]},")
+            .append("\"import-profile\":{\"href\":\"profile.json\"},")
+            .append("\"system-characteristics\":{\"system-name\":\"Benchmark\",\"description\":\"")
+            .append(prose).append("\",\"status\":{\"state\":\"operational\"}},");
+
+        json.append("\"system-implementation\":{\"components\":[");
+        for (int i = 0; i < requirements / 20; i++) {
+            json.append(i > 0 ? "," : "").append("{\"uuid\":\"comp-").append(i)
+                .append("\",\"type\":\"software\",\"title\":\"Component ").append(i)
+                .append("\",\"description\":\"").append(prose).append("\"}");
+        }
+        json.append("],\"inventory-items\":[");
+        for (int i = 0; i < requirements / 10; i++) {
+            json.append(i > 0 ? "," : "").append("{\"uuid\":\"inv-").append(i)
+                .append("\",\"description\":\"Host ").append(i).append("\",\"props\":[")
+                .append("{\"name\":\"asset-type\",\"value\":\"os\"},")
+                .append("{\"name\":\"ipv4-address\",\"value\":\"10.0.").append(i / 256 % 256).append('.')
+                .append(i % 256).append("\"}],\"implemented-components\":[{\"component-uuid\":\"comp-")
+                .append(i / 2).append("\"}]}");
+        }
+        json.append("]},\"control-implementation\":{\"description\":\"Controls\",\"implemented-requirements\":[");
+        for (int i = 0; i < requirements; i++) {
+            String controlId = families[i % families.length] + "-" + (i / families.length + 1);
+            json.append(i > 0 ? "," : "").append("{\"uuid\":\"req-").append(i)
+                .append("\",\"control-id\":\"").append(controlId).append("\",\"props\":[")
+                .append("{\"name\":\"implementation-status\",\"value\":\"")
+                .append(i % 3 == 0 ? "planned" : "implemented").append("\"},")
+                .append("{\"name\":\"control-origination\",\"value\":\"sp-system\"}],\"statements\":[");
+            for (int s = 0; s < 3; s++) {
+                json.append(s > 0 ? "," : "").append("{\"statement-id\":\"").append(controlId).append("_smt.")
+                    .append((char) ('a' + s)).append("\",\"uuid\":\"stmt-").append(i).append('-').append(s)
+                    .append("\",\"by-components\":[{\"component-uuid\":\"comp-").append(i % 50)
+                    .append("\",\"uuid\":\"bc-").append(i).append('-').append(s)
+                    .append("\",\"description\":\"").append(prose).append("\"}]}");
+            }
+            json.append("]}");
+        }
+        json.append("]},\"back-matter\":{\"resources\":[");
+        for (int i = 0; i < requirements / 100; i++) {
+            json.append(i > 0 ? "," : "").append("{\"uuid\":\"res-").append(i)
+                .append("\",\"title\":\"Evidence ").append(i).append("\",\"description\":\"")
+                .append(prose).append("\"}");
+        }
+        json.append("]}}}");
+        return json.toString();
+    }
+}
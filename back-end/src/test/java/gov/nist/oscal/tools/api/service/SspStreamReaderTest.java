@@ -0,0 +1,165 @@
+package gov.nist.oscal.tools.api.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import gov.nist.oscal.tools.api.model.OscalFormat;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SspStreamReaderTest {
+
+    private static final String SSP_JSON = """
+        {
+          "system-security-plan": {
+            "uuid": "ssp-uuid",
+            "metadata": {
+              "title": "SSP",
+              "roles": [{"id": "admin", "title": "Administrator"}],
+              "parties": [{"uuid": "party-1", "type": "person", "name": "Jane"}],
+              "responsible-parties": [{"role-id": "admin", "party-uuids": ["party-1"]}]
+            },
+            "import-profile": {"href": "profile.json"},
+            "system-characteristics": {
+              "system-name": "System",
+              "description": "A system",
+              "status": {"state": "operational"},
+              "system-information": {"information-types": [{"uuid": "it-1", "title": "Data"}]},
+              "authorization-boundary": {"description": "Boundary", "diagrams": [{"uuid": "d-1"}]}
+            },
+            "system-implementation": {
+              "users": [{"uuid": "user-1"}],
+              "components": [{"uuid": "comp-1", "description": "Component"}],
+              "inventory-items": [
+                {"uuid": "inv-1", "description": "Server",
+                 "props": [{"name": "asset-type", "value": "os"}],
+                 "implemented-components": [{"component-uuid": "comp-1"}]}
+              ]
+            },
+            "control-implementation": {
+              "description": "Controls",
+              "implemented-requirements": [
+                {"uuid": "req-1", "control-id": "ac-1",
+                 "props": [{"name": "implementation-status", "value": "implemented"}],
+                 "statements": [{"statement-id": "ac-1_smt", "by-components": [{"description": "Long prose"}]}]},
+                {"uuid": "req-2", "control-id": "au-2"}
+              ]
+            },
+            "back-matter": {"resources": [{"uuid": "res-1", "base64": {"value": "AAAA"}}]}
+          }
+        }
+        """;
+
+    private final SspStreamReader reader = new SspStreamReader();
+
+    @Test
+    void testJson_keepsOnlyAnalyzedSections() throws IOException {
+        JsonNode root = reader.read(SSP_JSON, OscalFormat.JSON);
+        JsonNode ssp = root.path("system-security-plan");
+        JsonNode tree = new ObjectMapper().readTree(SSP_JSON).path("system-security-plan");
+
+        assertEquals("ssp-uuid", ssp.path("uuid").asText());
+        assertEquals(tree.path("metadata").path("roles"), ssp.path("metadata").path("roles"));
+        assertEquals(tree.path("metadata").path("parties"), ssp.path("metadata").path("parties"));
+        assertEquals(tree.path("system-characteristics").path("system-information"),
+                ssp.path("system-characteristics").path("system-information"));
+        assertEquals("operational", ssp.path("system-characteristics").path("status").path("state").asText());
+
+        JsonNode requirement = ssp.path("control-implementation").path("implemented-requirements").get(0);
+        assertEquals("ac-1", requirement.path("control-id").asText());
+        assertEquals("implemented", requirement.path("props").get(0).path("value").asText());
+        JsonNode item = ssp.path("system-implementation").path("inventory-items").get(0);
+        assertEquals("Server", item.path("description").asText());
+
+        // Sections the analysis does not use are skipped
+        assertFalse(ssp.has("back-matter"));
+        assertFalse(ssp.has("import-profile"));
+        assertFalse(ssp.path("metadata").has("title"));
+        assertFalse(ssp.path("system-characteristics").has("authorization-boundary"));
+        assertFalse(ssp.path("system-implementation").has("components"));
+        assertFalse(requirement.has("statements"));
+        assertFalse(item.has("implemented-components"));
+    }
+
+    @Test
+    void testXml_repeatedElementsAreMergedLikeTheTreeReader() throws IOException {
+        String xml = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <system-security-plan xmlns="http://csrc.nist.gov/ns/oscal/1.0" uuid="ssp-xml">
+              <system-characteristics>
+                <system-name>XML System</system-name>
+              </system-characteristics>
+              <control-implementation>
+                <description><p>Controls</p></description>
+                <implemented-requirement uuid="req-1" control-id="ac-1">
+                  <prop name="implementation-status" value="implemented"/>
+                  <statement statement-id="ac-1_smt" uuid="s-1"/>
+                </implemented-requirement>
+                <implemented-requirement uuid="req-2" control-id="ac-2">
+                  <prop name="implementation-status" value="planned"/>
+                  <prop name="control-origination" value="sp-system"/>
+                </implemented-requirement>
+              </control-implementation>
+            </system-security-plan>
+            """;
+
+        JsonNode ssp = reader.read(xml, OscalFormat.XML);
+        JsonNode tree = new XmlMapper().readTree(xml);
+
+        assertEquals("ssp-xml", ssp.path("uuid").asText());
+        assertEquals("XML System", ssp.path("system-characteristics").path("system-name").asText());
+        JsonNode requirements = ssp.path("control-implementation").path("implemented-requirement");
+        JsonNode treeRequirements = tree.path("control-implementation").path("implemented-requirement");
+        assertTrue(requirements.isArray());
+        assertEquals(List.of("ac-1", "ac-2"), controlIds(requirements));
+        assertEquals(controlIds(treeRequirements), controlIds(requirements));
+        assertEquals(treeRequirements.get(0).path("prop"), requirements.get(0).path("prop"));
+        assertEquals(treeRequirements.get(1).path("prop"), requirements.get(1).path("prop"));
+        assertFalse(requirements.get(0).has("statement"));
+    }
+
+    @Test
+    void testYaml() throws IOException {
+        String yaml = """
+            ---
+            system-security-plan:
+              uuid: yaml-uuid
+              system-characteristics:
+                system-name: YAML System
+              back-matter:
+                resources:
+                  - uuid: res-1
+            """;
+
+        JsonNode ssp = reader.read(yaml, OscalFormat.YAML).path("system-security-plan");
+
+        assertEquals("yaml-uuid", ssp.path("uuid").asText());
+        assertEquals("YAML System", ssp.path("system-characteristics").path("system-name").asText());
+        assertFalse(ssp.has("back-matter"));
+    }
+
+    @Test
+    void testMalformedContentInSkippedSectionIsRejected() {
+        String truncated = SSP_JSON.substring(0, SSP_JSON.indexOf("\"back-matter\"") + 20);
+
+        assertThrows(IOException.class, () -> reader.read(truncated, OscalFormat.JSON));
+    }
+
+    @Test
+    void testEmptyContent() throws IOException {
+        assertNull(reader.read("", OscalFormat.JSON));
+    }
+
+    private static List<String> controlIds(JsonNode requirements) {
+        List<String> ids = new ArrayList<>();
+        for (JsonNode requirement : requirements) {
+            ids.add(requirement.path("control-id").asText());
+        }
+        return ids;
+    }
+}
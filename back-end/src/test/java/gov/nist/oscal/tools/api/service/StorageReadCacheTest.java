@@ -0,0 +1,130 @@
+package gov.nist.oscal.tools.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StorageReadCacheTest {
+
+    private static final String CATALOG = "{\"catalog\": {\"uuid\": \"abc\"}}";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testImmutableContentIsDownloadedOnce() {
+        StorageReadCache cache = new StorageReadCache(true, 1024 * 1024, null, 0, null);
+        CountingLoader loader = new CountingLoader(CATALOG);
+
+        assertEquals(CATALOG, cache.getImmutable("library:item/v1/catalog.json", loader));
+        assertEquals(CATALOG, cache.getImmutable("library:item/v1/catalog.json", loader));
+
+        assertEquals(1, loader.calls.get());
+    }
+
+    @Test
+    void testValidatedContentIsReloadedWhenTagChanges() {
+        StorageReadCache cache = new StorageReadCache(true, 1024 * 1024, null, 0, null);
+        CountingLoader loader = new CountingLoader(CATALOG);
+
+        cache.getValidated("build/user/c.json", "etag-1", loader);
+        cache.getValidated("build/user/c.json", "etag-1", loader);
+        assertEquals(1, loader.calls.get());
+
+        cache.getValidated("build/user/c.json", "etag-2", loader);
+        assertEquals(2, loader.calls.get());
+        assertEquals(1L, cache.stats().get("staleCount"));
+    }
+
+    @Test
+    void testValidatedContentWithoutTagBypassesCache() {
+        StorageReadCache cache = new StorageReadCache(true, 1024 * 1024, null, 0, null);
+        CountingLoader loader = new CountingLoader(CATALOG);
+
+        cache.getValidated("build/user/c.json", null, loader);
+        cache.getValidated("build/user/c.json", null, loader);
+
+        assertEquals(2, loader.calls.get());
+    }
+
+    @Test
+    void testDiskTierSurvivesRestart() {
+        String dir = tempDir.resolve("cache").toString();
+        StorageReadCache first = new StorageReadCache(true, 1024 * 1024, dir, 1024 * 1024, null);
+        first.getImmutable("blobs/sha256/ab/abc", new CountingLoader(CATALOG));
+
+        StorageReadCache second = new StorageReadCache(true, 1024 * 1024, dir, 1024 * 1024, new SimpleMeterRegistry());
+        CountingLoader loader = new CountingLoader("unused");
+
+        assertEquals(CATALOG, second.getImmutable("blobs/sha256/ab/abc", loader));
+        assertEquals(0, loader.calls.get());
+        Map<String, Object> stats = second.stats();
+        assertEquals(1L, stats.get("diskHitCount"));
+        assertEquals(1L, stats.get("heapMissCount"));
+    }
+
+    @Test
+    void testDiskTierEvictsLeastRecentlyUsedBeyondMaxBytes() throws IOException {
+        Path dir = tempDir.resolve("cache");
+        String content = "x".repeat(400);
+        StorageReadCache cache = new StorageReadCache(true, 1024 * 1024, dir.toString(), 1000, null);
+
+        cache.getImmutable("a", () -> content);
+        cache.getImmutable("b", () -> content);
+        cache.getImmutable("c", () -> content);
+
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(2, files.count());
+        }
+        assertTrue((Long) cache.stats().get("diskBytes") <= 1000);
+    }
+
+    @Test
+    void testInvalidateRemovesFromAllTiers() {
+        StorageReadCache cache = new StorageReadCache(true, 1024 * 1024, tempDir.toString(), 1024 * 1024, null);
+        CountingLoader loader = new CountingLoader(CATALOG);
+
+        cache.getImmutable("library:item/v1/catalog.json", loader);
+        cache.invalidate("library:item/v1/catalog.json");
+        cache.getImmutable("library:item/v1/catalog.json", loader);
+
+        assertEquals(2, loader.calls.get());
+    }
+
+    @Test
+    void testDisabledCacheAlwaysLoads() {
+        StorageReadCache cache = new StorageReadCache(false, 1024 * 1024, tempDir.toString(), 1024 * 1024, null);
+        CountingLoader loader = new CountingLoader(CATALOG);
+
+        cache.getImmutable("key", loader);
+        cache.getImmutable("key", loader);
+
+        assertEquals(2, loader.calls.get());
+        assertEquals(false, cache.stats().get("diskEnabled"));
+    }
+
+    private static final class CountingLoader implements Supplier<String> {
+        private final String content;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private CountingLoader(String content) {
+            this.content = content;
+        }
+
+        @Override
+        public String get() {
+            calls.incrementAndGet();
+            return content;
+        }
+    }
+}
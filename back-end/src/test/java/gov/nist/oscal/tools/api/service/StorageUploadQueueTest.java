@@ -0,0 +1,281 @@
+package gov.nist.oscal.tools.api.service;
+
+import gov.nist.oscal.tools.api.model.StoredContent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StorageUploadQueueTest {
+
+    private static final String CONTENT = "{\"component-definition\": {\"uuid\": \"abc\"}}";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testUploadIsStoredThroughLocalAsyncStorage() throws Exception {
+        Path storageDir = tempDir.resolve("build");
+        StorageUploadQueue queue = queue(new LocalAsyncStorage(storageDir, "build", "gzip", 16), true, 1);
+
+        String key = queue.enqueue(StorageUploadQueue.Target.COMPONENT, "build/user/c.json", CONTENT, Map.of("title", "C"))
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals("build/user/c.json", key);
+        byte[] stored = Files.readAllBytes(storageDir.resolve("user/c.json"));
+        assertEquals(CONTENT, StoredContent.of(stored).decode());
+        assertEquals(0, spooledFiles());
+        assertNull(queue.getPendingContent(StorageUploadQueue.Target.COMPONENT, "build/user/c.json"));
+    }
+
+    @Test
+    void testPendingContentIsServedUntilUploadCompletes() throws Exception {
+        FakeAsyncStorage storage = new FakeAsyncStorage();
+        CompletableFuture<Void> gate = new CompletableFuture<>();
+        storage.gate = gate;
+        StorageUploadQueue queue = queue(storage, true, 1);
+
+        CompletableFuture<String> upload = queue.enqueue(StorageUploadQueue.Target.COMPONENT, "build/u/c.json", CONTENT, null);
+
+        assertEquals(1, spooledFiles());
+        assertEquals(CONTENT, queue.getPendingContent(StorageUploadQueue.Target.COMPONENT, "build/u/c.json"));
+        assertNull(queue.getPendingContent(StorageUploadQueue.Target.LIBRARY, "build/u/c.json"));
+
+        gate.complete(null);
+        upload.get(5, TimeUnit.SECONDS);
+
+        assertNull(queue.getPendingContent(StorageUploadQueue.Target.COMPONENT, "build/u/c.json"));
+        assertEquals(0, queue.getPendingCount());
+        assertEquals(0, spooledFiles());
+    }
+
+    @Test
+    void testUploadsOfSameKeyRunInOrder() throws Exception {
+        FakeAsyncStorage storage = new FakeAsyncStorage();
+        CompletableFuture<Void> gate = new CompletableFuture<>();
+        storage.gate = gate;
+        StorageUploadQueue queue = queue(storage, true, 1);
+
+        queue.enqueue(StorageUploadQueue.Target.COMPONENT, "k", "v1", null);
+        queue.enqueue(StorageUploadQueue.Target.COMPONENT, "k", "v2", null);
+        CompletableFuture<String> last = queue.enqueue(StorageUploadQueue.Target.COMPONENT, "k", "v3", null);
+        assertEquals("v3", queue.getPendingContent(StorageUploadQueue.Target.COMPONENT, "k"));
+
+        gate.complete(null);
+        last.get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("v1", "v2", "v3"), storage.uploads);
+        assertEquals("v3", storage.objects.get("k"));
+    }
+
+    @Test
+    void testFailedUploadIsRetried() throws Exception {
+        FakeAsyncStorage storage = new FakeAsyncStorage();
+        storage.failuresLeft.set(2);
+        StorageUploadQueue queue = queue(storage, true, 3);
+
+        queue.enqueue(StorageUploadQueue.Target.LIBRARY, "item/v1/catalog.json", CONTENT, null).get(5, TimeUnit.SECONDS);
+
+        assertEquals(3, storage.attempts.get());
+        assertEquals(CONTENT, storage.objects.get("item/v1/catalog.json"));
+        assertEquals(0, spooledFiles());
+    }
+
+    @Test
+    void testSpooledUploadIsResumedOnStartup() throws Exception {
+        FakeAsyncStorage stalled = new FakeAsyncStorage();
+        stalled.gate = new CompletableFuture<>();
+        StorageUploadQueue queue = queue(stalled, true, 1);
+        queue.enqueue(StorageUploadQueue.Target.LIBRARY, "item/v1/catalog.json", CONTENT, Map.of("versionNumber", "1"));
+        assertEquals(1, spooledFiles());
+
+        // A restarted application picks the upload up from the spool
+        FakeAsyncStorage working = new FakeAsyncStorage();
+        StorageUploadQueue restarted = queue(working, true, 2);
+        restarted.awaitUploads(StorageUploadQueue.Target.LIBRARY, "item/v1/catalog.json");
+
+        assertEquals(CONTENT, working.objects.get("item/v1/catalog.json"));
+        assertEquals(Map.of("versionNumber", "1"), working.metadata.get("item/v1/catalog.json"));
+        assertEquals(0, spooledFiles());
+    }
+
+    @Test
+    void testUploadFailingEveryAttemptIsDeadLettered() throws Exception {
+        FakeAsyncStorage failing = new FakeAsyncStorage();
+        failing.failuresLeft.set(Integer.MAX_VALUE);
+        StorageUploadQueue queue = queue(failing, true, 2);
+
+        CompletableFuture<String> upload = queue.enqueue(StorageUploadQueue.Target.LIBRARY, "item/v1/catalog.json",
+                CONTENT, Map.of("versionNumber", "1"));
+        assertThrows(Exception.class, () -> upload.get(5, TimeUnit.SECONDS));
+
+        assertEquals(0, spooledFiles());
+        assertEquals(0, queue.getPendingCount());
+        assertNull(queue.getPendingContent(StorageUploadQueue.Target.LIBRARY, "item/v1/catalog.json"));
+        try (Stream<Path> files = Files.list(tempDir.resolve("spool/dead-letter"))) {
+            assertEquals(1, files.count());
+        }
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> queue.awaitUploads(StorageUploadQueue.Target.LIBRARY, "item/v1/catalog.json"));
+        assertEquals("Service unavailable", e.getCause().getMessage());
+
+        // Dead letters are not replayed on startup
+        FakeAsyncStorage working = new FakeAsyncStorage();
+        queue(working, true, 2);
+        assertEquals(0, working.attempts.get());
+    }
+
+    @Test
+    void testCancelledUploadsAreDropped() throws Exception {
+        FakeAsyncStorage storage = new FakeAsyncStorage();
+        CompletableFuture<Void> gate = new CompletableFuture<>();
+        storage.gate = gate;
+        StorageUploadQueue queue = queue(storage, true, 1);
+
+        queue.enqueue(StorageUploadQueue.Target.COMPONENT, "k", "v1", null);
+        CompletableFuture<String> queued = queue.enqueue(StorageUploadQueue.Target.COMPONENT, "k", "v2", null);
+
+        // The attempt in flight is waited for, the queued upload never starts
+        CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS).execute(() -> gate.complete(null));
+        queue.cancelUploads(StorageUploadQueue.Target.COMPONENT, "k");
+
+        assertThrows(Exception.class, () -> queued.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of("v1"), storage.uploads);
+        assertEquals(0, spooledFiles());
+        assertEquals(0, queue.getPendingCount());
+
+        // Uploads enqueued after the cancellation run as usual
+        queue.enqueue(StorageUploadQueue.Target.COMPONENT, "k", "v3", null).get(5, TimeUnit.SECONDS);
+        assertEquals("v3", storage.objects.get("k"));
+    }
+
+    @Test
+    void testContentOverPendingBudgetIsReadFromSpool() throws Exception {
+        FakeAsyncStorage storage = new FakeAsyncStorage();
+        CompletableFuture<Void> gate = new CompletableFuture<>();
+        storage.gate = gate;
+        StorageUploadQueue queue = queue(storage, true, 1, CONTENT.length());
+
+        queue.enqueue(StorageUploadQueue.Target.COMPONENT, "a", CONTENT, null);
+        CompletableFuture<String> last = queue.enqueue(StorageUploadQueue.Target.COMPONENT, "b", CONTENT + " ", null);
+
+        assertEquals(CONTENT, queue.getPendingContent(StorageUploadQueue.Target.COMPONENT, "a"));
+        assertEquals(CONTENT + " ", queue.getPendingContent(StorageUploadQueue.Target.COMPONENT, "b"));
+
+        gate.complete(null);
+        last.get(5, TimeUnit.SECONDS);
+
+        assertEquals(CONTENT + " ", storage.objects.get("b"));
+        assertEquals(0, spooledFiles());
+    }
+
+    @Test
+    void testDisabledQueueUploadsBeforeReturning() {
+        FakeAsyncStorage storage = new FakeAsyncStorage();
+        StorageUploadQueue queue = queue(storage, false, 1);
+        queue.init();
+
+        queue.enqueue(StorageUploadQueue.Target.COMPONENT, "k", CONTENT, null);
+
+        assertEquals(CONTENT, storage.objects.get("k"));
+        assertFalse(Files.exists(tempDir.resolve("spool")));
+    }
+
+    @Test
+    void testUnconfiguredStorageFailsUpload() {
+        StorageService storageService = mock(StorageService.class);
+        StorageUploadQueue queue = new StorageUploadQueue(storageService, mock(LibraryStorageService.class),
+                false, tempDir.resolve("spool").toString(), 1, 1, Long.MAX_VALUE, null);
+
+        assertThrows(RuntimeException.class,
+                () -> queue.enqueue(StorageUploadQueue.Target.COMPONENT, "k", CONTENT, null));
+    }
+
+    private StorageUploadQueue queue(AsyncStorageService storage, boolean enabled, int maxAttempts) {
+        return queue(storage, enabled, maxAttempts, Long.MAX_VALUE);
+    }
+
+    private StorageUploadQueue queue(AsyncStorageService storage, boolean enabled, int maxAttempts,
+                                     long maxPendingBytes) {
+        StorageService storageService = mock(StorageService.class);
+        when(storageService.async()).thenReturn(storage);
+        LibraryStorageService libraryStorageService = mock(LibraryStorageService.class);
+        when(libraryStorageService.async()).thenReturn(storage);
+
+        StorageUploadQueue queue = new StorageUploadQueue(storageService, libraryStorageService,
+                enabled, tempDir.resolve("spool").toString(), maxAttempts, 1, maxPendingBytes, null);
+        if (enabled) {
+            queue.init();
+        }
+        return queue;
+    }
+
+    private long spooledFiles() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir.resolve("spool"))) {
+            return files.filter(file -> file.toString().endsWith(".upload")).count();
+        }
+    }
+
+    /**
+     * In-memory storage that can hold uploads back and fail a number of attempts
+     */
+    private static class FakeAsyncStorage implements AsyncStorageService {
+        final Map<String, String> objects = new ConcurrentHashMap<>();
+        final Map<String, Map<String, String>> metadata = new ConcurrentHashMap<>();
+        final List<String> uploads = new ArrayList<>();
+        final AtomicInteger attempts = new AtomicInteger();
+        final AtomicInteger failuresLeft = new AtomicInteger();
+        volatile CompletableFuture<Void> gate = CompletableFuture.completedFuture(null);
+
+        @Override
+        public CompletableFuture<String> uploadObject(String key, String content, Map<String, String> objectMetadata) {
+            attempts.incrementAndGet();
+            if (failuresLeft.getAndDecrement() > 0) {
+                return CompletableFuture.failedFuture(new RuntimeException("Service unavailable"));
+            }
+            return gate.thenApply(ignored -> {
+                synchronized (uploads) {
+                    uploads.add(content);
+                }
+                objects.put(key, content);
+                if (objectMetadata != null) {
+                    metadata.put(key, objectMetadata);
+                }
+                return key;
+            });
+        }
+
+        @Override
+        public CompletableFuture<StoredContent> downloadStored(String key) {
+            String content = objects.get(key);
+            return content != null
+                    ? CompletableFuture.completedFuture(StoredContent.of(content.getBytes(StandardCharsets.UTF_8)))
+                    : CompletableFuture.failedFuture(new RuntimeException("Not found: " + key));
+        }
+
+        @Override
+        public CompletableFuture<Boolean> deleteObject(String key) {
+            return CompletableFuture.completedFuture(objects.remove(key) != null);
+        }
+
+        @Override
+        public String getStorageProvider() {
+            return "In-memory";
+        }
+    }
+}
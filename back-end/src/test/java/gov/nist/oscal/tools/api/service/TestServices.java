@@ -0,0 +1,45 @@
+package gov.nist.oscal.tools.api.service;
+
+/**
+ * Service instances with the default configuration, for tests that construct services directly
+ */
+final class TestServices {
+
+    private TestServices() {
+    }
+
+    static OscalDeserializationService deserializationService() {
+        return new OscalDeserializationService(16L * 1024 * 1024, "", 8);
+    }
+
+    /**
+     * An admission controller that admits everything immediately
+     */
+    static AdmissionControlService admissionControl() {
+        return new AdmissionControlService(false, Long.MAX_VALUE, 0, 0, 0, 0, null);
+    }
+
+    static AdmissionControlService admissionControl(long maxInFlightBytes, int maxQueueDepth, long maxWaitMs,
+                                                    long retryAfterSeconds) {
+        return new AdmissionControlService(true, maxInFlightBytes, maxQueueDepth, maxWaitMs, retryAfterSeconds,
+            maxInFlightBytes, null);
+    }
+
+    static FileStorageService fileStorageService() {
+        return fileStorageService(null, false);
+    }
+
+    static FileStorageService fileStorageService(ContentStore contentStore, boolean dedupEnabled) {
+        return new FileStorageService(new OscalDocumentDetector(), contentStore, dedupEnabled, null, null, 0);
+    }
+
+    static ConversionService conversionService(HistoryService historyService, FileStorageService fileStorageService,
+                                               OscalDeserializationService deserializationService) {
+        return new ConversionService(historyService, fileStorageService, deserializationService,
+            new OscalDocumentDetector(), admissionControl(), true, true, 0, 60000);
+    }
+
+    static VisualizationService visualizationService() {
+        return new VisualizationService(admissionControl(), null);
+    }
+}
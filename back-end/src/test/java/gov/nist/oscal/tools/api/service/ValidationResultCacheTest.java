@@ -0,0 +1,99 @@
+package gov.nist.oscal.tools.api.service;
+
+import gov.nist.oscal.tools.api.model.OscalFormat;
+import gov.nist.oscal.tools.api.model.OscalModelType;
+import gov.nist.oscal.tools.api.model.ValidationError;
+import gov.nist.oscal.tools.api.model.ValidationResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationResultCacheTest {
+
+    private static final String CONTENT = "{\"catalog\":{}}";
+
+    @Test
+    void testBuildKeyDependsOnAllComponents() {
+        ValidationResultCache cache = new ValidationResultCache(true, 1024 * 1024, 60, null);
+
+        String key = cache.buildKey(CONTENT, OscalModelType.CATALOG, OscalFormat.JSON, "1");
+
+        assertEquals(key, cache.buildKey(CONTENT, OscalModelType.CATALOG, OscalFormat.JSON, "1"));
+        assertNotEquals(key, cache.buildKey(CONTENT + " ", OscalModelType.CATALOG, OscalFormat.JSON, "1"));
+        assertNotEquals(key, cache.buildKey(CONTENT, OscalModelType.PROFILE, OscalFormat.JSON, "1"));
+        assertNotEquals(key, cache.buildKey(CONTENT, OscalModelType.CATALOG, OscalFormat.YAML, "1"));
+        assertNotEquals(key, cache.buildKey(CONTENT, OscalModelType.CATALOG, OscalFormat.JSON, "2"));
+    }
+
+    @Test
+    void testPutAndGetReturnsIndependentCopy() {
+        ValidationResultCache cache = new ValidationResultCache(true, 1024 * 1024, 60, null);
+        ValidationResult result = new ValidationResult(false);
+        result.setModelType(OscalModelType.CATALOG);
+        result.setFormat(OscalFormat.JSON);
+        result.addError(new ValidationError("bad document", "error"));
+
+        cache.put("key", result);
+        result.addError(new ValidationError("mutated after put", "error"));
+
+        Optional<ValidationResult> cached = cache.get("key");
+        assertTrue(cached.isPresent());
+        assertFalse(cached.get().isValid());
+        assertEquals(1, cached.get().getErrors().size());
+        assertEquals("bad document", cached.get().getErrors().get(0).getMessage());
+
+        cached.get().addError(new ValidationError("mutated after get", "error"));
+        assertEquals(1, cache.get("key").orElseThrow().getErrors().size());
+    }
+
+    @Test
+    void testDisabledCacheNeverReturnsResults() {
+        ValidationResultCache cache = new ValidationResultCache(false, 1024 * 1024, 60, null);
+
+        cache.put("key", new ValidationResult(true));
+
+        assertTrue(cache.get("key").isEmpty());
+    }
+
+    @Test
+    void testInvalidateAllFlushesEntries() {
+        ValidationResultCache cache = new ValidationResultCache(true, 1024 * 1024, 60, null);
+        cache.put("a", new ValidationResult(true));
+        cache.put("b", new ValidationResult(true));
+
+        long removed = cache.invalidateAll();
+
+        assertEquals(2, removed);
+        assertEquals(0, cache.size());
+        assertTrue(cache.get("a").isEmpty());
+    }
+
+    @Test
+    void testWeightBoundEvictsEntries() {
+        ValidationResultCache cache = new ValidationResultCache(true, 4096, 60, null);
+
+        for (int i = 0; i < 50; i++) {
+            cache.put("key-" + i, new ValidationResult(true));
+        }
+
+        assertTrue(cache.size() < 50);
+    }
+
+    @Test
+    void testHitAndMissMetricsRegistered() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ValidationResultCache cache = new ValidationResultCache(true, 1024 * 1024, 60, registry);
+        cache.put("key", new ValidationResult(true));
+
+        cache.get("key");
+        cache.get("missing");
+
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", ValidationResultCache.CACHE_NAME)
+            .tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", ValidationResultCache.CACHE_NAME)
+            .tag("result", "miss").functionCounter().count());
+    }
+}
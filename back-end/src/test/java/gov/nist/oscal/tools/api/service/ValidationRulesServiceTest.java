@@ -13,6 +13,7 @@ import org.mockito.quality.Strictness;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -521,4 +522,136 @@ public class ValidationRulesServiceTest {
         assertTrue(hasXmlStructure);
         assertTrue(hasSchemaCompliance);
     }
+
+    // ========== Built-in Rule Evaluation Tests ==========
+
+    private static final String CATALOG_JSON =
+        "{\"catalog\":{\"uuid\":\"74c8ba1e-5cd4-4ad1-bbfd-d888e2f6c724\"," +
+        "\"metadata\":{\"title\":\"Catalog\",\"last-modified\":\"2023-01-01T00:00:00.000Z\"," +
+        "\"version\":\"1.0\",\"oscal-version\":\"1.0.4\"}," +
+        "\"groups\":[{\"id\":\"ac\",\"title\":\"Access Control\",\"controls\":[" +
+        "{\"id\":\"ac-1\",\"title\":\"Policy\",\"params\":[{\"id\":\"ac-1_prm_1\"}]}," +
+        "{\"id\":\"ac-2\",\"title\":\"Account Management\"}]}]}}";
+
+    @Test
+    void testEvaluateBuiltInRules_validCatalogHasNoFindings() {
+        List<ValidationError> findings =
+            validationRulesService.evaluateBuiltInRules(CATALOG_JSON, OscalFormat.JSON, OscalModelType.CATALOG);
+
+        assertTrue(findings.isEmpty(), () -> "Unexpected findings: " + findings);
+    }
+
+    @Test
+    void testEvaluateBuiltInRules_jsonViolations() {
+        String catalog = CATALOG_JSON
+            .replace("\"version\":\"1.0\",", "")
+            .replace("\"id\":\"ac-2\",\"title\":\"Account Management\"", "\"id\":\"ac-1\"")
+            .replace("2023-01-01T00:00:00.000Z", "01/01/2023");
+
+        List<ValidationError> findings =
+            validationRulesService.evaluateBuiltInRules(catalog, OscalFormat.JSON, OscalModelType.CATALOG);
+
+        assertEquals(List.of("metadata-last-modified-format", "metadata-version-required",
+            "control-id-unique", "control-title-required"), ruleIds(findings));
+        ValidationError duplicate = findings.get(2);
+        assertEquals("/catalog/group/control/id", duplicate.getPath());
+        assertEquals(1, duplicate.getLine());
+        assertEquals("error", duplicate.getSeverity());
+    }
+
+    @Test
+    void testEvaluateBuiltInRules_xmlAttributesAndElements() {
+        String catalog = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+            "<catalog xmlns=\"http://csrc.nist.gov/ns/oscal/1.0\" uuid=\"not-a-uuid\">\n" +
+            "  <metadata>\n" +
+            "    <title>Catalog</title>\n" +
+            "    <last-modified>2023-01-01T00:00:00.000Z</last-modified>\n" +
+            "    <version>1.0</version>\n" +
+            "    <oscal-version>1.0.4</oscal-version>\n" +
+            "    <link rel=\"home\"/>\n" +
+            "  </metadata>\n" +
+            "  <control id=\"1-bad id\"><title>Policy</title></control>\n" +
+            "</catalog>";
+
+        List<ValidationError> findings =
+            validationRulesService.evaluateBuiltInRules(catalog, OscalFormat.XML, OscalModelType.CATALOG);
+
+        assertEquals(List.of("uuid-format", "link-href-required", "id-format"), ruleIds(findings));
+        assertEquals(8, findings.get(1).getLine());
+    }
+
+    @Test
+    void testEvaluateBuiltInRules_yamlProfile() {
+        String profile = "profile:\n" +
+            "  uuid: 74c8ba1e-5cd4-4ad1-bbfd-d888e2f6c724\n" +
+            "  metadata:\n" +
+            "    title: Profile\n" +
+            "    last-modified: 2023-01-01T00:00:00.000Z\n" +
+            "    version: '1.0'\n" +
+            "    oscal-version: 1.0.4\n" +
+            "  merge:\n" +
+            "    combine:\n" +
+            "      method: overwrite\n";
+
+        List<ValidationError> findings =
+            validationRulesService.evaluateBuiltInRules(profile, OscalFormat.YAML, OscalModelType.PROFILE);
+
+        assertEquals(List.of("profile-merge-method", "profile-import-required"), ruleIds(findings));
+    }
+
+    @Test
+    void testEvaluateBuiltInRules_acceptsAnyUuidVersion() {
+        // Version 1 (time-based) UUID
+        String catalog = CATALOG_JSON.replace("74c8ba1e-5cd4-4ad1-bbfd-d888e2f6c724",
+            "c9bf9e58-0e6a-11ee-be56-0242ac120002");
+
+        List<ValidationError> findings =
+            validationRulesService.evaluateBuiltInRules(catalog, OscalFormat.JSON, OscalModelType.CATALOG);
+
+        assertTrue(findings.isEmpty(), () -> "Unexpected findings: " + findings);
+    }
+
+    @Test
+    void testJsonGroupNamesMapToXmlMemberNames() {
+        assertEquals("address", BuiltInRuleEvaluator.singular("addresses"));
+        assertEquals("hash", BuiltInRuleEvaluator.singular("hashes"));
+        assertEquals("party", BuiltInRuleEvaluator.singular("parties"));
+        assertEquals("response", BuiltInRuleEvaluator.singular("remediations"));
+        assertEquals("include-controls", BuiltInRuleEvaluator.singular("include-controls"));
+        assertEquals("exclude-controls", BuiltInRuleEvaluator.singular("exclude-controls"));
+    }
+
+    @Test
+    void testEvaluateBuiltInRules_malformedDocumentReportedByStructuralRule() {
+        List<ValidationError> findings = validationRulesService.evaluateBuiltInRules(
+            "{\"catalog\": {\"uuid\": ", OscalFormat.JSON, OscalModelType.CATALOG);
+
+        assertEquals("valid-json-structure", ruleIds(findings).get(findings.size() - 1));
+    }
+
+    @Test
+    void testEvaluateBuiltInRules_recordsPerRuleStats() {
+        validationRulesService.evaluateBuiltInRules(CATALOG_JSON, OscalFormat.JSON, OscalModelType.CATALOG);
+        validationRulesService.evaluateBuiltInRules(CATALOG_JSON.replace("\"title\":\"Policy\",", ""),
+            OscalFormat.JSON, OscalModelType.CATALOG);
+
+        Map<String, RuleEvaluationStats> stats = validationRulesService.getRuleEvaluationStats();
+
+        assertEquals(2, validationRulesService.getDocumentsEvaluated());
+        RuleEvaluationStats controlTitle = stats.get("control-title-required");
+        assertEquals(2, controlTitle.getDocumentsEvaluated());
+        assertEquals(4, controlTitle.getInvocations());
+        assertEquals(1, controlTitle.getFindings());
+        // Rules for other model types are not evaluated against catalogs
+        assertEquals(0, stats.get("profile-import-required").getDocumentsEvaluated());
+        assertFalse(stats.containsKey("schema-compliance"));
+    }
+
+    private static List<String> ruleIds(List<ValidationError> findings) {
+        List<String> ids = new ArrayList<>();
+        for (ValidationError finding : findings) {
+            ids.add(finding.getMessage().substring(1, finding.getMessage().indexOf(']')));
+        }
+        return ids;
+    }
 }
@@ -2,12 +2,19 @@ package gov.nist.oscal.tools.api.service;
 
 import gov.nist.oscal.tools.api.entity.OperationHistory;
 import gov.nist.oscal.tools.api.model.*;
+import gov.nist.oscal.tools.api.repository.CustomValidationRuleRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -22,6 +29,14 @@ class ValidationServiceTest {
     @Mock
     private FileStorageService fileStorageService;
 
+    @Mock
+    private CustomValidationRuleRepository customRuleRepository;
+
+    @Mock
+    private CustomRulesService customRulesService;
+
+    private OscalDeserializationService deserializationService;
+
     private ValidationService validationService;
 
     private static final String VALID_CATALOG_XML =
@@ -50,7 +65,85 @@ class ValidationServiceTest {
 
     @BeforeEach
     void setUp() {
-        validationService = new ValidationService(historyService, fileStorageService);
+        deserializationService = spy(TestServices.deserializationService());
+        ValidationRulesService validationRulesService = new ValidationRulesService(customRulesService);
+        validationRulesService.initialize();
+        validationService = new ValidationService(historyService, fileStorageService, deserializationService,
+            new ValidationResultCache(true, 1024 * 1024, 60, null), new ConstraintValidationService(true, 0, 16),
+            new CustomRuleEngine(customRuleRepository, deserializationService, 300), validationRulesService,
+            new OscalDocumentDetector(), TestServices.admissionControl());
+    }
+
+    @Test
+    void testValidateIdenticalContentServedFromCache() throws Exception {
+        // Arrange
+        ValidationRequest request = new ValidationRequest(VALID_CATALOG_JSON, OscalModelType.CATALOG, OscalFormat.JSON, "catalog.json");
+        request.setFileId("existing-file-id");
+
+        // Act
+        ValidationResult first = validationService.validate(request, "testuser");
+        ValidationResult second = validationService.validate(request, "otheruser");
+
+        // Assert
+        assertTrue(first.isValid());
+        assertTrue(second.isValid());
+        assertNotSame(first, second);
+
+        // Parsed once, but both calls are recorded in history
+        verify(deserializationService, times(1)).deserializeToNodeItem(anyString(), any(OscalFormat.class), any(OscalModelType.class));
+        verify(historyService, times(2)).saveOperation(any(OperationHistory.class));
+    }
+
+    @Test
+    void testValidateSameContentDifferentFormatNotServedFromCache() throws Exception {
+        // Arrange
+        ValidationRequest asJson = new ValidationRequest(VALID_CATALOG_JSON, OscalModelType.CATALOG, OscalFormat.JSON);
+        ValidationRequest asYaml = new ValidationRequest(VALID_CATALOG_JSON, OscalModelType.CATALOG, OscalFormat.YAML);
+        asJson.setFileId("existing-file-id");
+        asYaml.setFileId("existing-file-id");
+
+        // Act
+        validationService.validate(asJson, "testuser");
+        validationService.validate(asYaml, "testuser");
+
+        // Assert
+        verify(deserializationService, times(2)).deserializeToNodeItem(anyString(), any(OscalFormat.class), any(OscalModelType.class));
+    }
+
+    @Test
+    void testValidateInvalidContentCachedAsInvalid() throws Exception {
+        // Arrange
+        ValidationRequest request = new ValidationRequest("{invalid json}", OscalModelType.CATALOG, OscalFormat.JSON);
+
+        // Act
+        ValidationResult first = validationService.validate(request, "testuser");
+        ValidationResult second = validationService.validate(request, "testuser");
+
+        // Assert
+        assertFalse(first.isValid());
+        assertFalse(second.isValid());
+        assertEquals(first.getErrors().size(), second.getErrors().size());
+        verify(deserializationService, times(1)).deserializeToNodeItem(anyString(), any(OscalFormat.class), any(OscalModelType.class));
+        verify(fileStorageService, never()).saveFile(anyString(), anyString(), any(), any(), anyString());
+    }
+
+    @Test
+    void testValidateSpillFailureNotCached() throws Exception {
+        // Arrange
+        ValidationRequest request = new ValidationRequest(VALID_CATALOG_JSON, OscalModelType.CATALOG, OscalFormat.JSON);
+        request.setFileId("existing-file-id");
+        doThrow(new OscalDeserializationService.SpillException("No space left on device", null))
+            .doCallRealMethod()
+            .when(deserializationService).deserializeToNodeItem(anyString(), any(OscalFormat.class), any(OscalModelType.class));
+
+        // Act
+        ValidationResult first = validationService.validate(request, "testuser");
+        ValidationResult second = validationService.validate(request, "testuser");
+
+        // Assert
+        assertFalse(first.isValid());
+        assertTrue(second.isValid(), () -> "Unexpected errors: " + second.getErrors());
+        verify(deserializationService, times(2)).deserializeToNodeItem(anyString(), any(OscalFormat.class), any(OscalModelType.class));
     }
 
     @Test
@@ -547,4 +640,212 @@ class ValidationServiceTest {
             anyString()
         );
     }
+
+    @Test
+    void testValidateRecordsStageTimings() {
+        // Arrange
+        ValidationRequest request = new ValidationRequest(VALID_CATALOG_JSON, OscalModelType.CATALOG, OscalFormat.JSON);
+        request.setFileId("existing-file-id");
+
+        // Act
+        ValidationResult result = validationService.validate(request, "testuser");
+
+        // Assert
+        assertTrue(result.isValid());
+        assertEquals(List.of("parse", "constraints", "built-in-rules", "custom-rules"),
+            new ArrayList<>(result.getStageTimings().keySet()));
+        assertTrue(result.getWarnings().isEmpty());
+    }
+
+    @Test
+    void testValidateReportsBuiltInRuleFindingsAsWarnings() {
+        // Arrange - binds cleanly, but the OSCAL version is not a semantic version
+        String catalog = VALID_CATALOG_JSON.replace("\"oscal-version\": \"1.0.4\"", "\"oscal-version\": \"1.0\"");
+        ValidationRequest request = new ValidationRequest(catalog, OscalModelType.CATALOG, OscalFormat.JSON);
+        request.setFileId("existing-file-id");
+
+        // Act
+        ValidationResult result = validationService.validate(request, "testuser");
+
+        // Assert
+        assertTrue(result.isValid());
+        assertEquals(1, result.getWarnings().size());
+        assertTrue(result.getWarnings().get(0).getMessage().startsWith("[metadata-oscal-version-format]"));
+        assertEquals("error", result.getWarnings().get(0).getSeverity());
+    }
+
+    @Test
+    void testValidateReportsConstraintViolations() {
+        // Arrange - binds cleanly, but party type is constrained to person/organization
+        String catalog = VALID_CATALOG_JSON.replace("\"oscal-version\": \"1.0.4\"\n",
+            "\"oscal-version\": \"1.0.4\",\n" +
+            "      \"parties\": [{\"uuid\": \"3b2a5599-cc37-403f-ae36-5708fa804b27\", \"type\": \"robot\"}]\n");
+        ValidationRequest request = new ValidationRequest(catalog, OscalModelType.CATALOG, OscalFormat.JSON);
+
+        // Act
+        ValidationResult result = validationService.validate(request, "testuser");
+
+        // Assert
+        assertFalse(result.isValid());
+        assertFalse(result.getErrors().isEmpty());
+        assertTrue(result.getStageTimings().containsKey("constraints"));
+        verify(fileStorageService, never()).saveFile(anyString(), anyString(), any(), any(), anyString());
+    }
+
+    @Test
+    void testValidateDetectsOmittedModelTypeAndFormat() {
+        // Arrange
+        ValidationRequest request = new ValidationRequest(VALID_CATALOG_XML, null, null);
+        request.setFileId("existing-file-id");
+
+        // Act
+        ValidationResult result = validationService.validate(request, "testuser");
+
+        // Assert
+        assertTrue(result.isValid());
+        assertEquals(OscalModelType.CATALOG, result.getModelType());
+        assertEquals(OscalFormat.XML, result.getFormat());
+    }
+
+    @Test
+    void testValidateWrongModelTypeRejectedBeforeParsing() throws Exception {
+        // Arrange
+        ValidationRequest request = new ValidationRequest(VALID_CATALOG_JSON, OscalModelType.PROFILE, OscalFormat.JSON);
+
+        // Act
+        ValidationResult result = validationService.validate(request, "testuser");
+
+        // Assert
+        assertFalse(result.isValid());
+        assertTrue(result.getErrors().get(0).getMessage().contains("catalog"));
+        verify(deserializationService, never()).deserializeToNodeItem(anyString(), any(OscalFormat.class), any(OscalModelType.class));
+        verify(historyService).saveOperation(any(OperationHistory.class));
+    }
+
+    @Test
+    void testValidateStreamDetectsOmittedModelTypeAndFormat() {
+        // Arrange
+        byte[] bytes = VALID_CATALOG_JSON.getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        ValidationResult result = validationService.validateStream(new ByteArrayInputStream(bytes), bytes.length,
+            null, null, "catalog.json", "testuser");
+
+        // Assert
+        assertTrue(result.isValid(), () -> "Unexpected errors: " + result.getErrors());
+        assertEquals(OscalModelType.CATALOG, result.getModelType());
+        assertEquals(OscalFormat.JSON, result.getFormat());
+    }
+
+    @Test
+    void testValidateStreamValidCatalog() {
+        // Arrange
+        byte[] bytes = VALID_CATALOG_JSON.getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        ValidationResult result = validationService.validateStream(new ByteArrayInputStream(bytes), bytes.length,
+            OscalModelType.CATALOG, OscalFormat.JSON, "catalog.json", "testuser");
+
+        // Assert
+        assertTrue(result.isValid());
+        assertEquals(OscalModelType.CATALOG, result.getModelType());
+        verify(historyService, times(1)).saveOperation(any(OperationHistory.class));
+        // Streamed documents are never materialized, so they are not saved to storage
+        verify(fileStorageService, never()).saveFile(anyString(), anyString(), any(), any(), anyString());
+        assertEquals(List.of("built-in-rules"), result.getSkippedStages());
+    }
+
+    @Test
+    void testValidateStreamMalformedDocument() {
+        // Arrange
+        byte[] bytes = "{invalid json}".getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        ValidationResult result = validationService.validateStream(new ByteArrayInputStream(bytes), bytes.length,
+            OscalModelType.CATALOG, OscalFormat.JSON, null, "testuser");
+
+        // Assert
+        assertFalse(result.isValid());
+        assertFalse(result.getErrors().isEmpty());
+    }
+
+    @Test
+    void testValidateStreamLargeGeneratedCatalog() throws Exception {
+        // The document is generated lazily, so it never exists as a String or byte[] in the test either.
+        // Scale it up with -Doscal.test.stream-size-mb=500 (and -Xmx512m) to exercise very large documents.
+        long targetBytes = Long.getLong("oscal.test.stream-size-mb", 8L) * 1024 * 1024;
+
+        // Act
+        ValidationResult result = validationService.validateStream(new GeneratedCatalogInputStream(targetBytes), -1,
+            OscalModelType.CATALOG, OscalFormat.JSON, "generated-catalog.json", "testuser");
+
+        // Assert
+        assertTrue(result.isValid(), () -> "Generated catalog should be valid: " + result.getErrors());
+        verify(deserializationService, never()).deserializeToNodeItem(anyString(), any(OscalFormat.class), any(OscalModelType.class));
+    }
+
+    /**
+     * Produces a syntactically valid JSON catalog of roughly the requested size, one group at a time
+     */
+    private static class GeneratedCatalogInputStream extends InputStream {
+
+        private static final String HEADER =
+            "{\"catalog\":{\"uuid\":\"74c8ba1e-5cd4-4ad1-bbfd-d888e2f6c724\"," +
+            "\"metadata\":{\"title\":\"Generated Catalog\",\"last-modified\":\"2023-01-01T00:00:00.000Z\"," +
+            "\"version\":\"1.0\",\"oscal-version\":\"1.0.4\"},\"groups\":[";
+        private static final String FOOTER = "]}}";
+
+        private final long targetBytes;
+        private long produced;
+        private int groupIndex;
+        private byte[] chunk = HEADER.getBytes(StandardCharsets.UTF_8);
+        private int position;
+        private boolean finished;
+
+        GeneratedCatalogInputStream(long targetBytes) {
+            this.targetBytes = targetBytes;
+        }
+
+        @Override
+        public int read() {
+            if (!ensureChunk()) {
+                return -1;
+            }
+            return chunk[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!ensureChunk()) {
+                return -1;
+            }
+            int n = Math.min(len, chunk.length - position);
+            System.arraycopy(chunk, position, b, off, n);
+            position += n;
+            return n;
+        }
+
+        private boolean ensureChunk() {
+            if (position < chunk.length) {
+                return true;
+            }
+            if (finished) {
+                return false;
+            }
+            produced += chunk.length;
+            position = 0;
+            if (produced >= targetBytes && groupIndex > 0) {
+                chunk = FOOTER.getBytes(StandardCharsets.UTF_8);
+                finished = true;
+                return true;
+            }
+            groupIndex++;
+            String group = (groupIndex > 1 ? "," : "") +
+                "{\"id\":\"g-" + groupIndex + "\",\"title\":\"Group " + groupIndex + "\",\"controls\":[" +
+                "{\"id\":\"c-" + groupIndex + "-1\",\"title\":\"Control " + groupIndex + ".1\"}," +
+                "{\"id\":\"c-" + groupIndex + "-2\",\"title\":\"Control " + groupIndex + ".2\"}]}";
+            chunk = group.getBytes(StandardCharsets.UTF_8);
+            return true;
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package gov.nist.oscal.tools.api.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import gov.nist.oscal.tools.api.model.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,6 +11,7 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -20,7 +22,7 @@ public class VisualizationServiceTest {
 
     @BeforeEach
     void setUp() {
-        visualizationService = new VisualizationService();
+        visualizationService = TestServices.visualizationService();
     }
 
     // ========== analyzeSSP Tests ==========
@@ -353,6 +355,28 @@ public class VisualizationServiceTest {
         assertEquals(1, acFamily.getExcludedCount());
     }
 
+    @Test
+    void testAnalyzeProfile_indexedCatalog_familiesFromCatalogGroups() throws Exception {
+        CatalogIndex catalogIndex = CatalogIndex.build(new ObjectMapper().readTree(
+            "{\"catalog\": {\"uuid\": \"u\", \"metadata\": {\"title\": \"Catalog\"}, \"groups\": [" +
+            "{\"id\": \"access\", \"title\": \"Access Management\", \"controls\": [{\"id\": \"ac-1\"}]}]}}"));
+        CatalogIndexService catalogIndexService = mock(CatalogIndexService.class);
+        when(catalogIndexService.getIndex("catalog.json")).thenReturn(catalogIndex);
+        VisualizationService service = new VisualizationService(TestServices.admissionControl(), catalogIndexService);
+
+        ProfileVisualizationRequest request = new ProfileVisualizationRequest();
+        request.setContent("{\"profile\": {\"uuid\": \"profile-uuid\", \"metadata\": {\"title\": \"Test Profile\"}, " +
+            "\"imports\": [{\"href\": \"catalog.json\", \"include-controls\": [{\"with-ids\": [\"ac-1\", \"au-1\"]}]}]}}");
+        request.setFormat(OscalFormat.JSON);
+
+        ProfileVisualizationResult result = service.analyzeProfile(request, "testuser");
+
+        assertTrue(result.isSuccess());
+        assertEquals("Access Management", result.getControlsByFamily().get("access").getFamilyName());
+        // Controls the catalog does not have fall back to the SP 800-53 family names
+        assertEquals("Audit and Accountability", result.getControlsByFamily().get("au").getFamilyName());
+    }
+
     @Test
     void testAnalyzeProfile_withIncludeAll() {
         String profileJson = "{\n" +
@@ -825,4 +849,21 @@ public class VisualizationServiceTest {
         assertEquals("high", infoType.getConfidentiality().getSelected());
         assertEquals("low", infoType.getIntegrity().getBase());
     }
+
+    @Test
+    void testAnalyzeSSP_overCapacity_rejectedBeforeParsing() {
+        AdmissionControlService admission = TestServices.admissionControl(1024, 0, 0, 5);
+        VisualizationService service = new VisualizationService(admission, null);
+
+        SspVisualizationRequest request = new SspVisualizationRequest();
+        request.setContent("{\"system-security-plan\": {}}");
+        request.setFormat(OscalFormat.JSON);
+
+        try (AdmissionControlService.Permit held = admission.admit("validation", 1024)) {
+            AdmissionRejectedException e = assertThrows(AdmissionRejectedException.class,
+                () -> service.analyzeSSP(request, "testuser"));
+            assertEquals(5, e.getRetryAfterSeconds());
+        }
+        assertEquals(0, admission.getInFlightBytes());
+    }
 }
@@ -0,0 +1,72 @@
+package gov.nist.oscal.tools.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressionCodecTest {
+
+    private static final String CATALOG = "{\"catalog\": {\"uuid\": \"abc\", \"metadata\": {\"title\": \"Test\"}, " +
+        "\"groups\": [" + "{\"id\": \"ac\", \"title\": \"Access Control\"},".repeat(50) + "{\"id\": \"au\"}]}}";
+
+    @Test
+    void testGzipRoundTrip() throws IOException {
+        byte[] encoded = CompressionCodec.GZIP.encode(CATALOG.getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(encoded.length < CATALOG.length());
+        assertEquals(CompressionCodec.GZIP, CompressionCodec.detect(encoded, encoded.length));
+        assertEquals(CATALOG, CompressionCodec.decodeToString(encoded));
+        assertEquals(CATALOG, CompressionCodec.decodeToString(new ByteArrayInputStream(encoded)));
+    }
+
+    @Test
+    void testZstdRoundTrip() throws IOException {
+        byte[] encoded = CompressionCodec.ZSTD.encode(CATALOG.getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(encoded.length < CATALOG.length());
+        assertEquals(CompressionCodec.ZSTD, CompressionCodec.detect(encoded, encoded.length));
+        assertEquals(CATALOG, CompressionCodec.decodeToString(encoded));
+        assertEquals(CATALOG, CompressionCodec.decodeToString(new ByteArrayInputStream(encoded)));
+    }
+
+    @Test
+    void testUncompressedContentIsReadAsIs() throws IOException {
+        byte[] plain = CATALOG.getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(CompressionCodec.NONE, CompressionCodec.detect(plain, plain.length));
+        assertEquals(CATALOG, CompressionCodec.decodeToString(plain));
+        assertEquals(CATALOG, CompressionCodec.decodeToString(new ByteArrayInputStream(plain)));
+        assertEquals("", CompressionCodec.decodeToString(new byte[0]));
+        assertEquals("x", CompressionCodec.decodeToString(new ByteArrayInputStream(new byte[] {'x'})));
+    }
+
+    @Test
+    void testFromName() {
+        assertEquals(CompressionCodec.GZIP, CompressionCodec.fromName("gzip"));
+        assertEquals(CompressionCodec.ZSTD, CompressionCodec.fromName(" ZSTD "));
+        assertEquals(CompressionCodec.NONE, CompressionCodec.fromName("none"));
+        assertEquals(CompressionCodec.NONE, CompressionCodec.fromName("identity"));
+        assertEquals(CompressionCodec.NONE, CompressionCodec.fromName(null));
+        assertEquals(CompressionCodec.NONE, CompressionCodec.fromName(""));
+        assertThrows(IllegalArgumentException.class, () -> CompressionCodec.fromName("brotli"));
+    }
+
+    @Test
+    void testForContent_smallContentIsNotCompressed() {
+        assertEquals(CompressionCodec.NONE, CompressionCodec.forContent("gzip", 100, 1024));
+        assertEquals(CompressionCodec.GZIP, CompressionCodec.forContent("gzip", 1024, 1024));
+    }
+
+    @Test
+    void testWithMetadata_recordsCodec() {
+        assertEquals(Map.of("title", "T", CompressionCodec.METADATA_KEY, "zstd"),
+            CompressionCodec.ZSTD.withMetadata(Map.of("title", "T")));
+        assertEquals(Map.of(CompressionCodec.METADATA_KEY, "gzip"), CompressionCodec.GZIP.withMetadata(null));
+        assertEquals(Map.of("title", "T"), CompressionCodec.NONE.withMetadata(Map.of("title", "T")));
+    }
+}
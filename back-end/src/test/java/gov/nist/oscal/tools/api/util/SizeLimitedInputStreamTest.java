@@ -0,0 +1,45 @@
+package gov.nist.oscal.tools.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SizeLimitedInputStreamTest {
+
+    @Test
+    void testReadWithinLimit() throws IOException {
+        byte[] data = "hello world".getBytes();
+        try (SizeLimitedInputStream in = new SizeLimitedInputStream(new ByteArrayInputStream(data), data.length)) {
+            assertArrayEquals(data, in.readAllBytes());
+            assertEquals(data.length, in.getBytesRead());
+        }
+    }
+
+    @Test
+    void testReadBeyondLimitThrows() {
+        byte[] data = new byte[1024];
+        InputStream in = new SizeLimitedInputStream(new ByteArrayInputStream(data), 100);
+
+        assertThrows(SizeLimitedInputStream.SizeLimitExceededException.class, in::readAllBytes);
+    }
+
+    @Test
+    void testSingleByteReadsAreCounted() throws IOException {
+        SizeLimitedInputStream in = new SizeLimitedInputStream(new ByteArrayInputStream(new byte[3]), 2);
+
+        in.read();
+        in.read();
+        assertThrows(SizeLimitedInputStream.SizeLimitExceededException.class, in::read);
+    }
+
+    @Test
+    void testSkipIsCounted() throws IOException {
+        SizeLimitedInputStream in = new SizeLimitedInputStream(new ByteArrayInputStream(new byte[10]), 5);
+
+        assertThrows(SizeLimitedInputStream.SizeLimitExceededException.class, () -> in.skip(10));
+    }
+}
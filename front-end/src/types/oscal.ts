@@ -44,6 +44,23 @@ export interface ConversionResult {
   toFormat: OscalFormat;
 }
 
+export interface MultiConversionRequest {
+  content: string;
+  fromFormat?: OscalFormat;
+  toFormats: OscalFormat[];
+  modelType?: OscalModelType;
+  fileName?: string;
+}
+
+export interface MultiConversionResult {
+  success: boolean;
+  error?: string;
+  fromFormat: OscalFormat;
+  modelType: OscalModelType;
+  results: ConversionResult[];
+  durationMs: number;
+}
+
 export interface ProfileResolutionRequest {
   profileContent: string;
   format: OscalFormat;
@@ -117,13 +134,14 @@ export interface BatchOperationRequest {
   files: BatchFileContent[];
   fromFormat?: OscalFormat; // For CONVERT operations
   toFormat?: OscalFormat; // For CONVERT operations
+  toFormats?: OscalFormat[]; // For CONVERT operations; parses each file once for all formats
 }
 
 export interface BatchFileResult {
   filename: string;
   success: boolean;
   error?: string;
-  result?: ValidationResult | ConversionResult;
+  result?: ValidationResult | ConversionResult | MultiConversionResult;
   durationMs: number;
 }
 
@@ -137,6 +155,25 @@ export interface BatchOperationResult {
   totalDurationMs: number;
 }
 
+// Async Job Types
+export type JobType = 'VALIDATE' | 'CONVERT' | 'VISUALIZE_SSP' | 'VISUALIZE_PROFILE' | 'VISUALIZE_SAR';
+
+export type JobStatus = 'QUEUED' | 'RUNNING' | 'SUCCEEDED' | 'FAILED';
+
+export interface Job<T = unknown> {
+  id: string;
+  type: JobType;
+  status: JobStatus;
+  progress: number; // 0-100
+  message?: string;
+  result?: T;
+  error?: string;
+  createdAt: string; // ISO 8601 date string
+  updatedAt: string; // ISO 8601 date string
+  completedAt?: string; // ISO 8601 date string
+  version: number;
+}
+
 // Saved File Types
 export interface SavedFile {
   id: string;
@@ -188,6 +225,17 @@ export interface ValidationRulesStats {
   customRules: number;
   rulesByModelType: Record<string, number>;
   rulesByCategory: Record<string, number>;
+  documentsEvaluated: number;
+  ruleEvaluation: Record<string, RuleEvaluationStats>;
+}
+
+export interface RuleEvaluationStats {
+  ruleId: string;
+  documentsEvaluated: number;
+  invocations: number;
+  totalTimeMicros: number;
+  averageTimeMicros: number;
+  findings: number;
 }
 
 export interface ValidationRulesResponse {